@@ -10,7 +10,10 @@ import hu.bioinformatics.biolaboratory.utils.datahandlers.implementation.DnaRowL
 import hu.bioinformatics.biolaboratory.utils.datahandlers.implementation.DnaSetRowLoader;
 
 /**
- * Provides dependency injection for the normal run.
+ * Provides dependency injection for the normal run. The library reads its parallelism from
+ * {@link hu.bioinformatics.biolaboratory.utils.ComputeContext#current()}, which is not bound by the module, so the
+ * callers install their context by {@link hu.bioinformatics.biolaboratory.utils.ComputeContext#call} around the
+ * library calls or by {@link hu.bioinformatics.biolaboratory.utils.ComputeContext#setDefault}.
  *
  * @author Attila Radi
  */
@@ -3,19 +3,24 @@ package hu.bioinformatics.biolaboratory.sequence;
 import hu.bioinformatics.biolaboratory.utils.ArgumentValidator;
 import hu.bioinformatics.biolaboratory.utils.SequenceUtils;
 import hu.bioinformatics.biolaboratory.utils.datastructures.CountableOccurrenceMap;
+import hu.bioinformatics.biolaboratory.utils.datastructures.LongOccurrenceMap;
 import hu.bioinformatics.biolaboratory.utils.datastructures.OccurrenceMap;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
 
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotBlankString;
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNegativeNumber;
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkPositiveNumber;
@@ -25,17 +30,23 @@ import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmall
 /**
  * Represents an immutable abstract biological sequence, which can be a DNA, RNA or a protein. Contains all of the common
  * operations, what are interpretable for all biological sequences.
+ * <p>
+ * The sequence is stored either as a {@link String} or as a {@link PackedSequence}, where the code of every element is
+ * its {@link SequenceElement#ordinal()}. The packed representation is used by the biological sequences which have
+ * exactly 4 elements, the {@link String} representation is created from the codes only on request.
  *
  * @author Attila Radi
  */
 public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMENT extends SequenceElement> {
 
-    protected final String sequence;
+    private final String sequence;
+    private final PackedSequence packedSequence;
     protected final int sequenceLength;
     private final String name;
 
-    private ELEMENT[] sequenceAsElements;
-    private CountableOccurrenceMap<ELEMENT> elementOccurrences = null;
+    private volatile byte[] elementOrdinals = null;
+    private int hashCode = 0;
+    private volatile int[] elementOrdinalCounts = null;
 
     /**
      * Validates the name is not null.
@@ -49,14 +60,18 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
     }
 
     /**
-     * Executes initial validation and format on the input sequence.
+     * Creates the packing alphabet from the possible elements. The index of a letter in the alphabet is the
+     * {@link SequenceElement#ordinal()} of the element.
      *
-     * @param sequence The sequence to validate and format.
-     * @return The formatted sequence.
-     * @throws IllegalArgumentException If sequence is blank.
+     * @param elements All possible elements of a biological sequence type.
+     * @return The letters of the elements ordered by their ordinal.
      */
-    protected static String formatSequence(final String sequence) {
-        return checkNotBlankString("Biological sequence", sequence).trim().toUpperCase();
+    protected static char[] createPackingAlphabet(final SequenceElement[] elements) {
+        char[] alphabet = new char[elements.length];
+        for (SequenceElement element : elements) {
+            alphabet[element.ordinal()] = element.getLetter();
+        }
+        return alphabet;
     }
 
     /**
@@ -78,7 +93,13 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
     @SafeVarargs
     protected BiologicalSequence(final String name, final ELEMENT... sequenceElements) {
         this(name, Arrays.asList(sequenceElements));
-        this.sequenceAsElements = sequenceElements.clone();
+        if (!isPacked()) {
+            byte[] ordinals = new byte[sequenceElements.length];
+            for (int index = 0; index < ordinals.length; index++) {
+                ordinals[index] = (byte) sequenceElements[index].ordinal();
+            }
+            this.elementOrdinals = ordinals;
+        }
     }
 
     /**
@@ -97,9 +118,7 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @param sequenceElementList The elements of the biological sequence in {@link List} collection.
      */
     protected BiologicalSequence(final String name, final List<ELEMENT> sequenceElementList) {
-        this.sequence = new String(createLetterList(sequenceElementList));
-        this.sequenceLength = sequence.length();
-        this.name = name;
+        this(name, new String(createLetterList(sequenceElementList)));
     }
 
     /**
@@ -119,10 +138,50 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      */
     protected BiologicalSequence(final String name, final String sequence) {
         this.sequence = sequence;
+        this.packedSequence = null;
         this.sequenceLength = sequence.length();
         this.name = name;
     }
 
+    /**
+     * Creates a biological sequence from the result of a {@link SequenceEncoder}. The element ordinals and their counts
+     * are taken over from the encoding, so they are not calculated again.
+     *
+     * @param name The name of the biological sequence.
+     * @param encodedSequence The encoded biological sequence.
+     */
+    protected BiologicalSequence(final String name, final SequenceEncoder.EncodedSequence encodedSequence) {
+        this.sequence = encodedSequence.getSequence();
+        this.packedSequence = encodedSequence.getPackedSequence();
+        this.sequenceLength = encodedSequence.length();
+        this.name = name;
+        this.elementOrdinals = encodedSequence.getOrdinals();
+        this.elementOrdinalCounts = encodedSequence.getOrdinalCounts();
+    }
+
+    /**
+     * Creates a biological sequence from {@link PackedSequence}. The name will be empty.
+     *
+     * @param packedSequence The biological sequence as {@link PackedSequence}.
+     */
+    protected BiologicalSequence(final PackedSequence packedSequence) {
+        this("", packedSequence);
+    }
+
+    /**
+     * Creates a biological sequence from {@link PackedSequence}. The codes of the packed sequence are the
+     * {@link SequenceElement#ordinal()}s of the elements.
+     *
+     * @param name The name of the biological sequence.
+     * @param packedSequence The biological sequence as {@link PackedSequence}.
+     */
+    protected BiologicalSequence(final String name, final PackedSequence packedSequence) {
+        this.sequence = null;
+        this.packedSequence = packedSequence;
+        this.sequenceLength = packedSequence.length();
+        this.name = name;
+    }
+
     /**
      * Construct a TYPE {@link BiologicalSequence} from name and sequence element array.
      *
@@ -167,12 +226,12 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
         return construct(name, new String(createLetterList(sequenceElementList)));
     }
 
-    private char[] createLetterList(final List<ELEMENT> sequenceElementList) {
+    private static char[] createLetterList(final List<? extends SequenceElement> sequenceElementList) {
         int length = sequenceElementList.size();
         char[] letters = new char[length];
 
         int i = 0;
-        for (ELEMENT element : sequenceElementList) {
+        for (SequenceElement element : sequenceElementList) {
             letters[i++] = element.getLetter();
         }
         return letters;
@@ -197,20 +256,60 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      */
     protected abstract TYPE construct(final String name, final String sequence);
 
+    /**
+     * Construct a TYPE {@link BiologicalSequence} from the given {@link PackedSequence}.
+     *
+     * @param packedSequence The {@link PackedSequence} of the sequence.
+     * @return The TYPE {@link BiologicalSequence} from the sequence.
+     */
+    protected final TYPE construct(final PackedSequence packedSequence) {
+        return construct("", packedSequence);
+    }
+
+    /**
+     * Calls the constructor of the inherited class with a {@link PackedSequence}. The default implementation decodes
+     * the packed sequence, the inherited classes which store packed sequences should override it.
+     *
+     * @param name The name of the sequence.
+     * @param packedSequence The {@link PackedSequence} of the biological sequence.
+     * @return The instance of the inherited class
+     */
+    protected TYPE construct(final String name, final PackedSequence packedSequence) {
+        return construct(name, packedSequence.decode(createPackingAlphabet(getElementArray())));
+    }
+
     /**
      * Creates a copy of the {@link BiologicalSequence}.
      *
      * @return The copy of the {@link BiologicalSequence}.
      */
-    public final TYPE copy() { return construct(name, sequence); }
+    public final TYPE copy() { return changeName(name); }
 
     /**
-     * Getter of the biological sequence.
+     * Getter of the biological sequence. If the sequence is packed, it creates the {@link String} from the codes.
      *
      * @return sequence
      */
     public final String getSequence() {
-        return sequence;
+        return isPacked() ? packedSequence.decode(createPackingAlphabet(getElementArray())) : sequence;
+    }
+
+    /**
+     * Returns true, if the sequence is stored in a {@link PackedSequence}.
+     *
+     * @return True if the sequence is packed.
+     */
+    protected final boolean isPacked() {
+        return packedSequence != null;
+    }
+
+    /**
+     * Getter of the packed sequence.
+     *
+     * @return packedSequence or null, if the sequence is not packed.
+     */
+    protected final PackedSequence getPackedSequence() {
+        return packedSequence;
     }
 
     /**
@@ -231,7 +330,7 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      */
     public TYPE changeName(final String name) {
         checkNotNullArgument("Sequence", name);
-        return construct(name.trim(), sequence);
+        return isPacked() ? construct(name.trim(), packedSequence) : construct(name.trim(), sequence);
     }
 
     /**
@@ -243,27 +342,99 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If index is greater than sequence length.
      */
     public final ELEMENT getElement(final int index) {
+        return getElementArray()[getElementOrdinal(index)];
+    }
+
+    /**
+     * Get the {@link SequenceElement#ordinal()} of the element at the target index.
+     *
+     * @param index The index which should smaller than length.
+     * @return The ordinal of the element at the target index.
+     * @throws IllegalArgumentException If index is smaller than 0.
+     * @throws IllegalArgumentException If index is greater than sequence length.
+     */
+    public final int getElementOrdinal(final int index) {
         checkNotNegativeNumber("Index", index);
         checkSmallerNumberTo("Index", index, "sequence length", sequenceLength);
-        return loadSequenceAsElements()[index];
+        return isPacked() ? packedSequence.get(index) : loadElementOrdinals()[index];
     }
 
     /**
-     * Get the biological sequence as an immutable typed array of its elements. The method realizes a lazy loading method.
+     * Get the biological sequence as a typed array of its elements. Every call creates a new array.
      *
-     * @return An immutable map of typed elements.
+     * @return A new array of typed elements.
      */
     public final ELEMENT[] getSequenceAsElements() {
-        return Arrays.copyOf(loadSequenceAsElements(), sequenceLength);
+        ELEMENT[] elementArray = getElementArray();
+        ELEMENT[] sequenceAsElements = createEmptyElementArray();
+        int[] index = { 0 };
+        forEachElementOrdinal(ordinal -> sequenceAsElements[index[0]++] = elementArray[ordinal]);
+        return sequenceAsElements;
     }
 
-    private synchronized ELEMENT[] loadSequenceAsElements() {
-        if (sequenceAsElements == null) {
-            sequenceAsElements = createEmptyElementArray();
-            IntStream.range(0, sequenceLength)
-                    .forEach(index -> sequenceAsElements[index] = findSequenceElement(sequence.charAt(index)));
+    /**
+     * Passes the {@link SequenceElement#ordinal()} of every element to the consumer from the first element to the
+     * last one without creating the elements.
+     *
+     * @param ordinalConsumer The consumer of the ordinals.
+     * @throws IllegalArgumentException If ordinalConsumer is null.
+     */
+    public final void forEachElementOrdinal(final IntConsumer ordinalConsumer) {
+        checkNotNullArgument("Ordinal consumer", ordinalConsumer);
+        if (isPacked()) {
+            packedSequence.forEachCode(1, code -> ordinalConsumer.accept((int) code));
+        } else {
+            for (byte ordinal : loadElementOrdinals()) {
+                ordinalConsumer.accept(ordinal);
+            }
         }
-        return sequenceAsElements;
+    }
+
+    /**
+     * Returns the {@link SequenceElement#ordinal()}s of the elements in sequence order.
+     *
+     * @return An {@link IntStream} of the element ordinals.
+     */
+    public final IntStream elementOrdinalStream() {
+        return IntStream.range(0, sequenceLength).map(createElementCodeProvider());
+    }
+
+    /**
+     * Loads the ordinals of a not packed sequence, one byte per element. The array is created without lock: more
+     * threads may create it at the same time, but they create the same content and the volatile field publishes a
+     * fully filled array.
+     */
+    private byte[] loadElementOrdinals() {
+        byte[] ordinals = elementOrdinals;
+        if (ordinals == null) {
+            byte[] letterOrdinals = createLetterOrdinals(getElementArray());
+            ordinals = new byte[sequenceLength];
+            for (int index = 0; index < sequenceLength; index++) {
+                char letter = sequence.charAt(index);
+                ordinals[index] = letter < letterOrdinals.length && letterOrdinals[letter] >= 0
+                        ? letterOrdinals[letter]
+                        : (byte) findSequenceElement(letter).ordinal();
+            }
+            elementOrdinals = ordinals;
+        }
+        return ordinals;
+    }
+
+    /**
+     * Creates a table which is indexed by letter and gives the ordinal of the element, or -1 if no element has the
+     * letter.
+     */
+    private static byte[] createLetterOrdinals(final SequenceElement[] elements) {
+        char maximumLetter = 0;
+        for (SequenceElement element : elements) {
+            maximumLetter = (char) Math.max(maximumLetter, element.getLetter());
+        }
+        byte[] letterOrdinals = new byte[maximumLetter + 1];
+        Arrays.fill(letterOrdinals, (byte) -1);
+        for (SequenceElement element : elements) {
+            letterOrdinals[element.getLetter()] = (byte) element.ordinal();
+        }
+        return letterOrdinals;
     }
 
     /**
@@ -283,12 +454,21 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
     }
 
     /**
-     * Immutable getter of the element occurrences. It calculates the occurrences at the first call.
+     * Getter of the element occurrences. Every call counts the elements and returns a new map, so the caller can
+     * modify it without affecting the sequence.
      *
-     * @return The element occurrences.
+     * @return A new map of the element occurrences.
      */
     public final CountableOccurrenceMap<ELEMENT> getElementOccurrences() {
-        return collectSequenceElementOccurrences().copy();
+        int[] ordinalCounts = collectElementOrdinalCounts();
+        ELEMENT[] elementArray = getElementArray();
+        CountableOccurrenceMap<ELEMENT> occurrences = CountableOccurrenceMap.build(getElementSet());
+        for (int ordinal = 0; ordinal < ordinalCounts.length; ordinal++) {
+            if (ordinalCounts[ordinal] > 0) {
+                occurrences.add(elementArray[ordinal], ordinalCounts[ordinal]);
+            }
+        }
+        return occurrences;
     }
 
     /**
@@ -299,7 +479,7 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If element is null.
      */
     public final double getElementRatio(final ELEMENT element) {
-        return collectSequenceElementOccurrences().occurrenceRatio(element);
+        return (double) getElementNumber(element) / sequenceLength;
     }
 
     /**
@@ -311,7 +491,7 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      */
     @SafeVarargs
     public final double getElementsRatio(final ELEMENT... elements) {
-        return collectSequenceElementOccurrences().accumulatedOccurrenceRatio(elements);
+        return (double) getElementsNumber(elements) / sequenceLength;
     }
 
     /**
@@ -322,7 +502,7 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If elementSet contains null value.
      */
     public final double getElementsRatio(final Set<ELEMENT> elementSet) {
-        return collectSequenceElementOccurrences().accumulatedOccurrenceRatio(elementSet);
+        return (double) getElementsNumber(elementSet) / sequenceLength;
     }
 
     /**
@@ -333,7 +513,7 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If element is null.
      */
     public final int getElementNumber(final ELEMENT element) {
-        return collectSequenceElementOccurrences().getOccurrence(element);
+        return collectElementOrdinalCounts()[validateElement(element).ordinal()];
     }
 
     /**
@@ -345,7 +525,7 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      */
     @SafeVarargs
     public final int getElementsNumber(final ELEMENT... elements) {
-        return collectSequenceElementOccurrences().sumOccurrences(elements);
+        return sumElementOrdinalCounts(Arrays.asList(ArgumentValidator.checkNotNullVarargs("Elements", elements)));
     }
 
     /**
@@ -356,26 +536,52 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If elementSet contains null value.
      */
     public final int getElementsNumber(final Set<ELEMENT> elementSet) {
-        return collectSequenceElementOccurrences().sumOccurrences(elementSet);
+        return sumElementOrdinalCounts(ArgumentValidator.checkNotNullCollection("Element set", elementSet));
     }
 
     /**
-     * Create a {@link CountableOccurrenceMap} about the sequence elements.
+     * Sums the counts of the given elements. An element is counted once even if it is given more times.
+     */
+    private int sumElementOrdinalCounts(final Collection<ELEMENT> elements) {
+        int[] ordinalCounts = collectElementOrdinalCounts();
+        boolean[] summed = new boolean[ordinalCounts.length];
+        int sum = 0;
+        for (ELEMENT element : elements) {
+            int ordinal = validateElement(element).ordinal();
+            if (!summed[ordinal]) {
+                summed[ordinal] = true;
+                sum += ordinalCounts[ordinal];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Counts the sequence elements into an array indexed by the element ordinals. A packed sequence is counted by
+     * words, see {@link PackedSequence#countCodes()}, the other sequences by their element ordinals. The counts are
+     * published through a volatile field without lock, so the array should not be modified.
      *
-     * @return A {@link CountableOccurrenceMap} about the occurrences.
+     * @return The element counts indexed by the element ordinals.
      */
-    protected final synchronized CountableOccurrenceMap<ELEMENT> collectSequenceElementOccurrences() {
-        if (elementOccurrences == null) {
-            elementOccurrences = CountableOccurrenceMap.build(getElementSet());
-            ELEMENT[] sequenceAsElements = loadSequenceAsElements();
-            IntStream.range(0, sequenceLength)
-                    .forEach(index -> elementOccurrences.increase(sequenceAsElements[index]));
+    private int[] collectElementOrdinalCounts() {
+        int[] ordinalCounts = elementOrdinalCounts;
+        if (ordinalCounts == null) {
+            if (isPacked()) {
+                ordinalCounts = packedSequence.countCodes();
+            } else {
+                ordinalCounts = new int[getElementArray().length];
+                for (byte ordinal : loadElementOrdinals()) {
+                    ordinalCounts[ordinal]++;
+                }
+            }
+            elementOrdinalCounts = ordinalCounts;
         }
-        return elementOccurrences;
+        return ordinalCounts;
     }
 
     /**
-     * Return the possible {@link SequenceElement}s for this {@link BiologicalSequence} type.
+     * Return the possible {@link SequenceElement}s for this {@link BiologicalSequence} type ordered by their
+     * {@link SequenceElement#ordinal()}.
      *
      * @return All possible {@link SequenceElement} for this {@link BiologicalSequence}.
      */
@@ -401,17 +607,25 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
         if (obj == this) return true;
         if (obj == null || !obj.getClass().equals(getClass())) return false;
         BiologicalSequence rightHand = (BiologicalSequence) obj;
-        return sequenceLength == rightHand.sequenceLength && sequence.equals(rightHand.sequence);
+        if (sequenceLength != rightHand.sequenceLength) return false;
+        if (isPacked() && rightHand.isPacked()) return packedSequence.equals(rightHand.packedSequence);
+        return getSequence().equals(rightHand.getSequence());
     }
 
     @Override
     public int hashCode() {
-        return sequence.hashCode();
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = isPacked() ? packedSequence.decodedHashCode(createPackingAlphabet(getElementArray()))
+                              : sequence.hashCode();
+            hashCode = hash;
+        }
+        return hash;
     }
 
     @Override
     public String toString() {
-        return getBiologicalSequenceTypeName() + " = {" + sequence + "}";
+        return getBiologicalSequenceTypeName() + " = {" + getSequence() + "}";
     }
 
     /**
@@ -430,8 +644,13 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If otherBiologicalSequence is null.
      * @throws IllegalArgumentException If otherBiological sequence type differs than the objects type.
      */
+    @SuppressWarnings("unchecked")
     public final TYPE append(final TYPE otherBiologicalSequence) {
-        return construct(sequence + validateType(otherBiologicalSequence).getSequence());
+        BiologicalSequence<TYPE, ELEMENT> other = validateType(otherBiologicalSequence);
+        if (isPacked() && other.isPacked()) {
+            return construct(packedSequence.append(other.packedSequence));
+        }
+        return construct(getSequence() + other.getSequence());
     }
 
     /**
@@ -443,7 +662,9 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If element is null.
      */
     public final TYPE append(final ELEMENT element) {
-        return construct(sequence + validateElement(element).getLetter());
+        validateElement(element);
+        return isPacked() ? construct(packedSequence.append(element.ordinal()))
+                          : construct(sequence + element.getLetter());
     }
 
     private ELEMENT validateElement(final ELEMENT element) {
@@ -479,7 +700,26 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
         checkNotNegativeNumber("Start position", startPosition);
         checkSmallerOrEqualNumberTo("End position", endPosition, "sequence length", sequenceLength);
         checkSmallerNumberTo("Start position", startPosition, "end position", endPosition);
-        return construct(sequence.substring(startPosition, endPosition));
+        return isPacked() ? construct(packedSequence.subSequence(startPosition, endPosition))
+                          : construct(sequence.substring(startPosition, endPosition));
+    }
+
+    /**
+     * Creates a {@link SequenceView} about a part of the {@link BiologicalSequence} without copying its elements. The
+     * view includes the start position, but excludes the end position.
+     *
+     * @param startPosition The beginning element position in the {@link BiologicalSequence} inclusive.
+     * @param endPosition The end element position in the {@link BiologicalSequence} exclusive.
+     * @return The {@link SequenceView} from start position (inclusive) to end position (exclusive).
+     * @throws IllegalArgumentException If startPosition is negative number.
+     * @throws IllegalArgumentException If endPosition is bigger than sequence length.
+     * @throws IllegalArgumentException If startPosition is greater or equal than endPosition.
+     */
+    public final SequenceView<TYPE, ELEMENT> view(final int startPosition, final int endPosition) {
+        checkNotNegativeNumber("Start position", startPosition);
+        checkSmallerOrEqualNumberTo("End position", endPosition, "sequence length", sequenceLength);
+        checkSmallerNumberTo("Start position", startPosition, "end position", endPosition);
+        return new SequenceView<>(this, startPosition, endPosition - startPosition);
     }
 
     /**
@@ -492,7 +732,7 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If pattern is null.
      */
     public int patternCount(final TYPE pattern) {
-        return patternMatching(pattern).size();
+        return patternCountWithMismatches(pattern, 0);
     }
 
     /**
@@ -508,7 +748,8 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If <i>d</i> is negative number.
      */
     public int patternCountWithMismatches(final TYPE pattern, final int d) {
-        return patternMatchingWithMismatches(pattern, d).size();
+        checkNotNegativeNumber("Maximum different value (d)", d);
+        return createPatternMatcher(validatePattern(pattern), d).countMatches(sequenceLength, createElementCodeProvider());
     }
 
     /**
@@ -553,30 +794,24 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @return The minimum mismatches between pattern and the subsequences.
      * @throws IllegalArgumentException If pattern is null.
      */
+    @SuppressWarnings("unchecked")
     public int findMinimumMismatchSubSequenceNumber(final TYPE pattern) {
-        validatePattern(pattern);
+        BiologicalSequence<TYPE, ELEMENT> validPattern = validatePattern(pattern);
+        if (isPacked() && validPattern.isPacked()) {
+            return SequenceUtils.minimumHammingDistance(packedSequence, validPattern.packedSequence);
+        }
         final int patternLength = pattern.sequenceLength;
-        return IntStream.rangeClosed(0, sequenceLength - patternLength)
-                .parallel()
-                .map(index -> SequenceUtils.hammingDistance(
-                        sequence.substring(index, index + patternLength), pattern.sequence))
-                .min()
-                .orElse(Integer.MAX_VALUE);
+        int minimumMismatchNumber = Integer.MAX_VALUE;
+        for (int index = 0; index <= sequenceLength - patternLength && minimumMismatchNumber > 0; index++) {
+            minimumMismatchNumber = Math.min(minimumMismatchNumber,
+                    view(index, index + patternLength).getMismatchNumber(pattern));
+        }
+        return minimumMismatchNumber;
     }
 
     /**
-     * The work of the algorithm:
-     * <ol>
-     *     <li>Cut a template sequence from the beginning of the biological sequence which length equals to
-     *     the pattern's length.</li>
-     *     <li>Compares the template with the pattern.</li>
-     *     <li>If the pattern against the template has at most <i>d</i> mismatches then add the
-     *     first index of the template inside the biological sequence to the return values.</li>
-     *     <li>The next template will be constructed from the second element to the end of
-     *     the template concatenated with the next character of the biological sequence after this template.</li>
-     *     <li>Returns to the 2. point until the loop variable reaches the difference of the
-     *     biological sequence length and the pattern length.</li>
-     * </ol>
+     * Scans the sequence once with a {@link BitParallelMatcher} which is built from the element codes of the
+     * pattern, and returns the start positions where the pattern has at most <i>d</i> mismatches.
      *
      * @param pattern The pattern to find.
      * @return The first indices of the occurrences inside the {@link TYPE} sequence.
@@ -584,16 +819,31 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If <i>d</i> is negative number.
      */
     private List<Integer> findPatternsWithMismatch(final TYPE pattern, final int d) {
-        int lengthDiff = sequenceLength - pattern.sequenceLength;
-        return IntStream.rangeClosed(0, lengthDiff)
-                .parallel()
-                .filter(index -> SequenceUtils.hammingDistanceMismatchComparator(
-                        sequence.substring(index, index + pattern.sequenceLength), pattern.sequence, d) != SequenceUtils.GREATER)
-                .sorted()
+        return Arrays.stream(createPatternMatcher(pattern, d).findMatches(sequenceLength, createElementCodeProvider()))
                 .boxed()
                 .collect(Collectors.toList());
     }
 
+    @SuppressWarnings("unchecked")
+    BitParallelMatcher createPatternMatcher(final TYPE pattern, final int d) {
+        IntUnaryOperator patternCodeProvider = ((BiologicalSequence<TYPE, ELEMENT>) pattern).createElementCodeProvider();
+        int[] patternCodes = IntStream.range(0, pattern.sequenceLength).map(patternCodeProvider).toArray();
+        return BitParallelMatcher.build(patternCodes, getElementArray().length, d);
+    }
+
+    /**
+     * Creates a provider which gives the {@link SequenceElement#ordinal()} of the element at the given index.
+     *
+     * @return The element code provider.
+     */
+    IntUnaryOperator createElementCodeProvider() {
+        if (isPacked()) {
+            return packedSequence::get;
+        }
+        byte[] ordinals = loadElementOrdinals();
+        return index -> ordinals[index];
+    }
+
     /**
      * Get the most frequent <i>k</i> occurrences in the biological sequence.
      *
@@ -618,6 +868,12 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If <i>d</i> is negative number.
      */
     public Set<TYPE> findMostFrequentMismatchSubSequences(final int k, final int d) {
+        if (d == 0 && isCountableByCodes(k)) {
+            return constructKmers(countKmers(k).filterMostFrequentOccurrences(), k);
+        }
+        if (isCountableByCodes(k)) {
+            return findMostFrequentMismatchKmers(k, d, false);
+        }
         return getMismatchOccurrenceMap(k, d).filterMostFrequentOccurrences();
     }
 
@@ -677,35 +933,122 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @throws IllegalArgumentException If <i>t</i> is smaller than 1.
      */
     public Set<TYPE> findFrequentMismatchSubSequences(final int k, final int d, final int t) {
+        if (d == 0 && isCountableByCodes(k)) {
+            return constructKmers(countKmers(k).filterGreaterOrEqualsOccurrences(t), k);
+        }
+        if (isCountableByCodes(k)) {
+            return findFrequentMismatchKmers(k, d, t, false);
+        }
         return getMismatchOccurrenceMap(k, d).filterGreaterOrEqualsOccurrences(t);
     }
 
+    /**
+     * Get all <i>k</i> long sequences which has at most <i>d</i> different elements against the windows of the
+     * sequence and are greater or equals than <i>t</i>. The <i>k</i>-mers are counted by their integer codes. If
+     * includeReverseComplements is true, the reverse complement windows are counted too, where the complement of
+     * the element code <i>c</i> is 3 - <i>c</i>.
+     *
+     * @see BiologicalSequence#isCountableByCodes(int)
+     * @param k The findable <i>k</i> long sequences.
+     * @param d The maximum permitted different elements.
+     * @param t The threshold of the occurrences.
+     * @param includeReverseComplements Counts the reverse complement windows too.
+     * @return All <i>k</i> long sequences at most <i>d</i> mismatches which occurrences are greater or equals than
+     *          <i>t</i>.
+     * @throws IllegalArgumentException If <i>k</i> is smaller than 1.
+     * @throws IllegalArgumentException If <i>k</i> is bigger than sequence length.
+     * @throws IllegalArgumentException If <i>d</i> is negative number.
+     * @throws IllegalArgumentException If <i>t</i> is smaller than 1.
+     */
+    protected final Set<TYPE> findFrequentMismatchKmers(final int k, final int d, final int t,
+                                                        final boolean includeReverseComplements) {
+        MismatchKmerCounter counter = countMismatchKmers(k, d, includeReverseComplements);
+        return constructKmers(counter.filterGreaterOrEqualsOccurrences(checkPositiveNumber("Threshold", t)), k);
+    }
+
+    /**
+     * Get the most frequent <i>k</i> long sequences which has at most <i>d</i> different elements against the
+     * windows of the sequence. The <i>k</i>-mers are counted by their integer codes.
+     *
+     * @see BiologicalSequence#findFrequentMismatchKmers(int, int, int, boolean)
+     * @param k The findable <i>k</i> long sequences.
+     * @param d The maximum permitted different elements.
+     * @param includeReverseComplements Counts the reverse complement windows too.
+     * @return The most frequent <i>k</i> long sequences with at most <i>d</i> mismatches.
+     * @throws IllegalArgumentException If <i>k</i> is smaller than 1.
+     * @throws IllegalArgumentException If <i>k</i> is bigger than sequence length.
+     * @throws IllegalArgumentException If <i>d</i> is negative number.
+     */
+    protected final Set<TYPE> findMostFrequentMismatchKmers(final int k, final int d,
+                                                            final boolean includeReverseComplements) {
+        return constructKmers(countMismatchKmers(k, d, includeReverseComplements).filterMostFrequentOccurrences(), k);
+    }
+
+    private MismatchKmerCounter countMismatchKmers(final int k, final int d, final boolean includeReverseComplements) {
+        checkPositiveNumber("Findable subsequence (k)", k);
+        checkSmallerOrEqualNumberTo("Findable subsequence (k)", k, "sequence length", sequenceLength);
+        checkNotNegativeNumber("Maximum mismatch number (d)", d);
+        return MismatchKmerCounter.count(packedSequence, k, d, includeReverseComplements);
+    }
+
+    /**
+     * Returns true, if the <i>k</i> long subsequences can be counted by their integer codes. It needs a packed
+     * sequence and a <i>k</i> which fits into a long code.
+     *
+     * @param k The length of the subsequences.
+     * @return True if the subsequences can be counted by their codes.
+     */
+    protected final boolean isCountableByCodes(final int k) {
+        return isPacked() && k <= PackedSequence.CODES_PER_WORD;
+    }
+
+    /**
+     * Counts the <i>k</i> long subsequences by their integer codes.
+     *
+     * @see BiologicalSequence#isCountableByCodes(int)
+     * @param k The length of the subsequences.
+     * @return The occurrences of the <i>k</i>-mer codes.
+     * @throws IllegalArgumentException If <i>k</i> is smaller than 1.
+     * @throws IllegalArgumentException If <i>k</i> is bigger than sequence length.
+     */
+    protected final LongOccurrenceMap countKmers(final int k) {
+        checkPositiveNumber("Findable subsequence (k)", k);
+        checkSmallerOrEqualNumberTo("Findable subsequence (k)", k, "sequence length", sequenceLength);
+        return KmerCounter.countKmers(packedSequence, k);
+    }
+
+    /**
+     * Constructs the TYPE {@link BiologicalSequence}s about the given <i>k</i>-mer codes.
+     *
+     * @param kmerCodes The <i>k</i>-mer codes.
+     * @param k The length of the <i>k</i>-mers.
+     * @return The {@link BiologicalSequence}s of the codes.
+     */
+    protected final Set<TYPE> constructKmers(final long[] kmerCodes, final int k) {
+        Set<TYPE> kmers = new HashSet<>(kmerCodes.length * 2);
+        for (long kmerCode : kmerCodes) {
+            kmers.add(construct(PackedSequence.packCode(kmerCode, k)));
+        }
+        return kmers;
+    }
+
     /**
      * This method finds the burst frequency of the DNA parts. The <i>L</i> parameter defines a
      * window where the method finds the occurrences of the <i>k</i> long DNA parts.
      * If the occurrence of a particular DNA part in this <i>L</i> window is greater or equals
      * than <i>t</i> the DNA part appears in the return set.
      * <p>
-     * The work of the algorithm:
+     * Packed sequences slide the window over the integer codes of the <i>k</i>-mers with a {@link ClumpFinder}, the
+     * other sequences count {@link SequenceView}s of the <i>k</i>-mers, so only the found patterns are copied:
      * <ol>
-     *     <li>Picks the window from the first element to <i>L</i> in the DNA.</li>
-     *     <li>Determines the first window part from the first position to the <i>k</i> position.</li>
-     *     <li>Determines the last window part from <i>L</i> - <i>k</i> to <i>L</i>.</li>
-     *     <li>Calculates the occurrence map of the window.</li>
-     *     <li>Adds all elements from the occurrence map to the return set which occurrence is
-     *     greater or equals than <i>t</i>.</li>
-     *     <li>Decrease or remove the first window part from the occurrence list.</li>
-     *     <li>Shift the first window part with one position, the next first window part will be
-     *     from the second element from the first window part concatenated with the next element
-     *     of the DNA sequence.
-     *     <li>Shift the last window part with one position, the next first window part will be
-     *     from the second element from the last window part concatenated with the next element
-     *     of the DNA sequence.</li>
-     *     <li>Increase or put the last window part inside the occurrence map.</li>
-     *     <li>Add the last window part to the return set if it's occurrence is greater or
-     *     equal than <i>t</i></li>
-     *     <li>Return to the 6. point until the window position reaches the difference of
-     *     the DNA sequence and <i>L</i>.</li>
+     *     <li>Counts the views of the <i>k</i>-mers in the first window from the first element to <i>L</i>, and adds
+     *     the views which occurrence is greater or equals than <i>t</i> to the found views.</li>
+     *     <li>Shifts the window with one position: decreases the occurrence of the view of the first <i>k</i>-mer and
+     *     increases the occurrence of the view of the new last <i>k</i>-mer.</li>
+     *     <li>Adds the view of the last <i>k</i>-mer to the found views if its occurrence is greater or equal than
+     *     <i>t</i>.</li>
+     *     <li>Returns to the 2. point until the window reaches the end of the sequence.</li>
+     *     <li>Creates the {@link BiologicalSequence}s of the found views.</li>
      * </ol>
      *
      * @param k The findable <i>k</i> long sequences inside the DNA sequence.
@@ -725,26 +1068,31 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
         checkSmallerOrEqualNumberTo("Clump length (L)", L, "sequence length", sequenceLength);
         checkPositiveNumber("Findable subsequence length (k)", k);
         checkSmallerOrEqualNumberTo("Findable subsequence length (k)", k, "clump length", L);
+        if (isCountableByCodes(k)) {
+            checkPositiveNumber("Threshold", t);
+            return constructKmers(ClumpFinder.findClumpCodes(packedSequence, k, L, t), k);
+        }
 
         int lengthDiff = sequenceLength - L;
-        TYPE window = construct(sequence.substring(0, L));
-        String firstWindowPart = window.sequence.substring(0, k);
-        String lastWindowPart = window.sequence.substring(L - k, L);
-        OccurrenceMap<TYPE> occurrenceMap = window.getOccurrenceMap(k);
-        Set<TYPE> patternSet = new HashSet<>();
-        patternSet.addAll(occurrenceMap.filterGreaterOrEqualsOccurrences(t));
+        OccurrenceMap<SequenceView<TYPE, ELEMENT>> occurrenceMap = OccurrenceMap.build();
+        Set<SequenceView<TYPE, ELEMENT>> patternViewSet = new HashSet<>();
+        for (int i = 0; i <= L - k; i++) {
+            SequenceView<TYPE, ELEMENT> windowPart = view(i, i + k);
+            if (occurrenceMap.increase(windowPart) >= t) {
+                patternViewSet.add(windowPart);
+            }
+        }
 
         for(int i = 0; i < lengthDiff; i++) {
-            occurrenceMap.decrease(construct(firstWindowPart));
-            firstWindowPart = firstWindowPart.substring(1) + sequence.charAt(i + k);
-            lastWindowPart = lastWindowPart.substring(1) + sequence.charAt(i + L);
-
-            TYPE lastWindowDna = construct(lastWindowPart);
-            if (occurrenceMap.increase(lastWindowDna) >= t) {
-                patternSet.add(lastWindowDna);
+            occurrenceMap.decrease(view(i, i + k));
+            SequenceView<TYPE, ELEMENT> lastWindowPart = view(i + L - k + 1, i + L + 1);
+            if (occurrenceMap.increase(lastWindowPart) >= t) {
+                patternViewSet.add(lastWindowPart);
             }
         }
-        return patternSet;
+        return patternViewSet.stream()
+                .map(SequenceView::materialize)
+                .collect(Collectors.toSet());
     }
 
     /**
@@ -803,6 +1151,7 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
 
         OccurrenceMap<TYPE> occurrenceMap = OccurrenceMap.build();
         int lengthDiff = sequenceLength - k;
+        String sequence = getSequence();
         Set<TYPE> mismatchSet = construct(sequence.substring(0, k))
                                     .generateMismatches(d);
 
@@ -812,8 +1161,9 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
 
             for (TYPE mismatchPattern : mismatchSet) {
                 occurrenceMap.increase(mismatchPattern);
-                TYPE nextMismatchPattern = construct(mismatchPattern.sequence.substring(1) + sequence.charAt(i + k));
-                if (sequence.charAt(i) == mismatchPattern.sequence.charAt(0))
+                String mismatchSequence = mismatchPattern.getSequence();
+                TYPE nextMismatchPattern = construct(mismatchSequence.substring(1) + sequence.charAt(i + k));
+                if (sequence.charAt(i) == mismatchSequence.charAt(0))
                     nextMismatchesSet.add(nextMismatchPattern);
                 else
                     generatedMismatchesSet.add(nextMismatchPattern);
@@ -824,7 +1174,7 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
             }
 
             for (TYPE generatedMismatchPattern : generatedMismatchesSet) {
-                char[] charArray = generatedMismatchPattern.sequence.toCharArray();
+                char[] charArray = generatedMismatchPattern.getSequence().toCharArray();
                 ELEMENT[] elementArray = getElementArray();
                 for (ELEMENT element : elementArray) {
                     charArray[k - 1] = element.getLetter();
@@ -841,41 +1191,84 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * Generate {@link BiologicalSequence}s from this sequence which have at most <i>d</i> different
      * elements.
      *
+     * @see BiologicalSequence#generateMismatchStream(int)
      * @param d The maximum permitted different elements.
      * @return All elements which are different at most <i>d</i> elements.
      * @throws IllegalArgumentException If <i>d</i> is negative number.
      */
     public Set<TYPE> generateMismatches(final int d) {
-        checkNotNegativeNumber("Maximum mismatch number (d)", d);
+        return generateMismatchStream(d).collect(Collectors.toSet());
+    }
+
+    /**
+     * Generate {@link BiologicalSequence}s lazily from this sequence which have at most <i>d</i> different elements.
+     * Every element of the stream is calculated from its rank in the neighborhood, so the stream can be stopped early
+     * and a parallel stream divides the neighborhood evenly.
+     *
+     * @see NeighborhoodEnumerator
+     * @param d The maximum permitted different elements.
+     * @return The stream of the {@link BiologicalSequence}s which are different at most <i>d</i> elements.
+     * @throws IllegalArgumentException If <i>d</i> is negative number.
+     * @throws IllegalArgumentException If the size of the neighborhood does not fit into a long.
+     */
+    public Stream<TYPE> generateMismatchStream(final int d) {
+        return StreamSupport.stream(createNeighborhoodEnumerator(d).spliterator(this::constructFromCodes), false);
+    }
 
-        Map<String, Integer> mismatchMap = new HashMap<>();
+    /**
+     * Generate the codes of the {@link BiologicalSequence}s lazily which have at most <i>d</i> different elements from
+     * this sequence. The code is written by the {@link SequenceElement#ordinal()}s of the elements in base of the
+     * alphabet size, the first element is the most significant. The code is unsigned, about DNA and RNA it is the
+     * same as the 2-bit packed code.
+     *
+     * @see BiologicalSequence#constructFromCode(long, int)
+     * @param d The maximum permitted different elements.
+     * @return The stream of the codes which are different at most <i>d</i> elements.
+     * @throws IllegalArgumentException If <i>d</i> is negative number.
+     * @throws IllegalArgumentException If the size of the neighborhood or the codes do not fit into a long.
+     */
+    public LongStream generateMismatchCodes(final int d) {
+        return StreamSupport.longStream(createNeighborhoodEnumerator(d).codeSpliterator(), false);
+    }
 
-        ELEMENT[] elementArray = getElementArray();
-        for (ELEMENT element : elementArray) {
-            char elementLetter = element.getLetter();
-            if (sequence.charAt(0) == elementLetter) {
-                mismatchMap.put(Character.toString(elementLetter), 0);
-            } else if (d > 0) {
-                mismatchMap.put(Character.toString(elementLetter), 1);
-            }
+    private NeighborhoodEnumerator createNeighborhoodEnumerator(final int d) {
+        checkNotNegativeNumber("Maximum mismatch number (d)", d);
+        IntUnaryOperator elementCodeProvider = createElementCodeProvider();
+        int[] codes = IntStream.range(0, sequenceLength).map(elementCodeProvider).toArray();
+        return NeighborhoodEnumerator.build(getElementArray().length, codes, d);
+    }
+
+    /**
+     * Construct a {@link BiologicalSequence} with the same type from a code.
+     *
+     * @see BiologicalSequence#generateMismatchCodes(int)
+     * @param code The code of the elements.
+     * @param length The length of the constructed sequence.
+     * @return A new {@link BiologicalSequence} with the given code.
+     * @throws IllegalArgumentException If length is smaller than 1.
+     */
+    public TYPE constructFromCode(final long code, final int length) {
+        checkPositiveNumber("Length", length);
+        int alphabetSize = getElementArray().length;
+        int[] codes = new int[length];
+        long remainingCode = code;
+        for (int i = length - 1; i >= 0; i--) {
+            codes[i] = (int) Long.remainderUnsigned(remainingCode, alphabetSize);
+            remainingCode = Long.divideUnsigned(remainingCode, alphabetSize);
         }
+        return constructFromCodes(codes);
+    }
 
-        for (int i = 1; i < sequenceLength; i++) {
-            Map<String, Integer> newMismatchMap = new HashMap<>();
-            for (String prefix : mismatchMap.keySet()){
-                int mismatchCount = mismatchMap.get(prefix);
-                for (ELEMENT element : elementArray) {
-                    char elementLetter = element.getLetter();
-                    if (sequence.charAt(i) == elementLetter) {
-                        newMismatchMap.put(prefix + elementLetter, mismatchCount);
-                    } else if (mismatchCount < d) {
-                        newMismatchMap.put(prefix + elementLetter, mismatchCount + 1);
-                    }
-                }
-            }
-            mismatchMap = newMismatchMap;
+    private TYPE constructFromCodes(final int[] codes) {
+        if (isPacked()) {
+            return construct(PackedSequence.pack(codes.length, index -> codes[index]));
+        }
+        ELEMENT[] elementArray = getElementArray();
+        char[] letters = new char[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            letters[i] = elementArray[codes[i]].getLetter();
         }
-        return mismatchMap.keySet().stream().map(this::construct).collect(Collectors.toSet());
+        return construct(new String(letters));
     }
 
     /**
@@ -886,9 +1279,13 @@ public abstract class BiologicalSequence<TYPE extends BiologicalSequence, ELEMEN
      * @return The number of the different elements at the same positions.
      * @throws IllegalArgumentException If otherBiologicalSequence has different length.
      */
+    @SuppressWarnings("unchecked")
     public int getMismatchNumber(final TYPE otherBiologicalSequence) {
-        validateType(otherBiologicalSequence);
-        return SequenceUtils.hammingDistance(sequence, otherBiologicalSequence.sequence);
+        BiologicalSequence<TYPE, ELEMENT> other = validateType(otherBiologicalSequence);
+        if (isPacked() && other.isPacked()) {
+            return packedSequence.hammingDistance(other.packedSequence);
+        }
+        return SequenceUtils.hammingDistance(getSequence(), other.getSequence());
     }
 
     private TYPE validateType(final TYPE otherBiologicalSequence) {
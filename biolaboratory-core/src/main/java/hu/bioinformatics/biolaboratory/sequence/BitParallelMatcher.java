@@ -0,0 +1,155 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Finds the occurrences of a pattern with at most <i>d</i> mismatches with the bit-parallel (bitap) algorithm. The
+ * pattern is described by a bitmask per letter, the bit <i>i</i> of the state word <i>R<sub>j</sub></i> is set if
+ * the first <i>i</i> + 1 letters of the pattern match the text ending at the current position with at most <i>j</i>
+ * mismatches. For every text letter:
+ * <ul>
+ *     <li><i>R<sub>0</sub></i> = ((<i>R<sub>0</sub></i> &lt;&lt; 1) | 1) &amp; <i>B[c]</i></li>
+ *     <li><i>R<sub>j</sub></i> = (((<i>R<sub>j</sub></i> &lt;&lt; 1) | 1) &amp; <i>B[c]</i>) |
+ *     ((<i>R<sub>j-1</sub></i> &lt;&lt; 1) | 1), where <i>R<sub>j-1</sub></i> is the previous state.</li>
+ * </ul>
+ * A pattern up to 64 letters fits into a single word, longer patterns use multiple words with carry.
+ * <p>
+ * The letters are given by their codes between 0 and alphabet size - 1. A {@link BitParallelMatcher} is immutable,
+ * it can be reused and shared between threads.
+ *
+ * @author Attila Radi
+ */
+final class BitParallelMatcher {
+    private final int patternLength;
+    private final int d;
+    private final int wordNumber;
+    private final long[][] letterMasks;
+
+    /**
+     * Builds a {@link BitParallelMatcher} about the pattern codes.
+     *
+     * @param patternCodes The codes of the pattern letters, the pattern should not be empty.
+     * @param alphabetSize The number of the different codes.
+     * @param d The maximum permitted mismatches, which should not be negative.
+     * @return A new {@link BitParallelMatcher}.
+     */
+    static BitParallelMatcher build(final int[] patternCodes, final int alphabetSize, final int d) {
+        return new BitParallelMatcher(patternCodes, alphabetSize, d);
+    }
+
+    private BitParallelMatcher(final int[] patternCodes, final int alphabetSize, final int d) {
+        this.patternLength = patternCodes.length;
+        this.d = Math.min(d, patternLength);
+        this.wordNumber = (patternLength + Long.SIZE - 1) / Long.SIZE;
+        this.letterMasks = new long[alphabetSize][wordNumber];
+        for (int i = 0; i < patternLength; i++) {
+            letterMasks[patternCodes[i]][i / Long.SIZE] |= 1L << (i % Long.SIZE);
+        }
+    }
+
+    /**
+     * Finds the start positions of the matches in the text.
+     *
+     * @param textLength The length of the text.
+     * @param textCode Gives the code of the text letter at the index.
+     * @return The start positions of the matches in ascending order.
+     */
+    int[] findMatches(final int textLength, final IntUnaryOperator textCode) {
+        int[][] matches = { new int[16] };
+        int[] matchNumber = { 0 };
+        scan(textLength, textCode, position -> {
+            if (matchNumber[0] == matches[0].length) {
+                matches[0] = Arrays.copyOf(matches[0], matchNumber[0] * 2);
+            }
+            matches[0][matchNumber[0]++] = position;
+        });
+        return Arrays.copyOf(matches[0], matchNumber[0]);
+    }
+
+    /**
+     * Counts the matches in the text.
+     *
+     * @param textLength The length of the text.
+     * @param textCode Gives the code of the text letter at the index.
+     * @return The number of matches.
+     */
+    int countMatches(final int textLength, final IntUnaryOperator textCode) {
+        int[] matchNumber = { 0 };
+        scan(textLength, textCode, position -> matchNumber[0]++);
+        return matchNumber[0];
+    }
+
+    private void scan(final int textLength, final IntUnaryOperator textCode, final IntConsumer matchConsumer) {
+        if (wordNumber == 1) {
+            scanSingleWord(textLength, textCode, matchConsumer);
+        } else {
+            scanMultipleWords(textLength, textCode, matchConsumer);
+        }
+    }
+
+    private void scanSingleWord(final int textLength, final IntUnaryOperator textCode, final IntConsumer matchConsumer) {
+        long[] states = new long[d + 1];
+        long matchBit = 1L << (patternLength - 1);
+        for (int i = 0; i < textLength; i++) {
+            long letterMask = letterMasks[textCode.applyAsInt(i)][0];
+            long previousState = states[0];
+            states[0] = ((previousState << 1) | 1) & letterMask;
+            for (int j = 1; j <= d; j++) {
+                long state = states[j];
+                states[j] = (((state << 1) | 1) & letterMask) | ((previousState << 1) | 1);
+                previousState = state;
+            }
+            if ((states[d] & matchBit) != 0) {
+                matchConsumer.accept(i - patternLength + 1);
+            }
+        }
+    }
+
+    private void scanMultipleWords(final int textLength, final IntUnaryOperator textCode, final IntConsumer matchConsumer) {
+        long[][] states = new long[d + 1][wordNumber];
+        long[] previousState = new long[wordNumber];
+        long[] state = new long[wordNumber];
+        int matchWord = (patternLength - 1) / Long.SIZE;
+        long matchBit = 1L << ((patternLength - 1) % Long.SIZE);
+        for (int i = 0; i < textLength; i++) {
+            long[] letterMask = letterMasks[textCode.applyAsInt(i)];
+            System.arraycopy(states[0], 0, previousState, 0, wordNumber);
+            shiftInOne(states[0]);
+            and(states[0], letterMask);
+            for (int j = 1; j <= d; j++) {
+                System.arraycopy(states[j], 0, state, 0, wordNumber);
+                shiftInOne(states[j]);
+                and(states[j], letterMask);
+                shiftInOne(previousState);
+                or(states[j], previousState);
+                System.arraycopy(state, 0, previousState, 0, wordNumber);
+            }
+            if ((states[d][matchWord] & matchBit) != 0) {
+                matchConsumer.accept(i - patternLength + 1);
+            }
+        }
+    }
+
+    private static void shiftInOne(final long[] words) {
+        long carry = 1;
+        for (int w = 0; w < words.length; w++) {
+            long nextCarry = words[w] >>> (Long.SIZE - 1);
+            words[w] = (words[w] << 1) | carry;
+            carry = nextCarry;
+        }
+    }
+
+    private static void and(final long[] words, final long[] mask) {
+        for (int w = 0; w < words.length; w++) {
+            words[w] &= mask[w];
+        }
+    }
+
+    private static void or(final long[] words, final long[] mask) {
+        for (int w = 0; w < words.length; w++) {
+            words[w] |= mask[w];
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.utils.ComputeContext;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Finds the <i>k</i>-mers which form clumps in a {@link PackedSequence}: they appear at least <i>t</i> times in an
+ * <i>L</i> long window. The <i>k</i>-mers are identified by their integer codes, the window counts are kept in an int
+ * array and the hits are recorded in a {@link BitSet}, so the sliding does not create any object.
+ * <p>
+ * If 4<sup><i>k</i></sup> is small, the code itself is the index of the counter. Otherwise the distinct codes of the
+ * sequence are sorted and the rank of a code is its index.
+ *
+ * @author Attila Radi
+ */
+final class ClumpFinder {
+    private static final int MAXIMUM_DIRECT_K = 11;
+
+    /**
+     * Finds the codes of the <i>k</i>-mers which appear at least <i>t</i> times in an <i>L</i> long window.
+     *
+     * @param packedSequence The sequence to search in.
+     * @param k The length of the <i>k</i>-mers, which should be between 1 and 32 and at most <i>L</i>.
+     * @param L The window length, which should be at most the sequence length.
+     * @param t The positive threshold of the occurrences.
+     * @return The <i>k</i>-mer codes in ascending order.
+     */
+    static long[] findClumpCodes(final PackedSequence packedSequence, final int k, final int L, final int t) {
+        long[] kmerCodes = new long[packedSequence.length() - k + 1];
+        int[] position = { 0 };
+        packedSequence.forEachCode(k, code -> kmerCodes[position[0]++] = code);
+
+        long[] distinctCodes = null;
+        int[] kmerIndices = new int[kmerCodes.length];
+        int indexNumber;
+        if (isDirectlyIndexable(k, kmerCodes.length)) {
+            for (int i = 0; i < kmerCodes.length; i++) {
+                kmerIndices[i] = (int) kmerCodes[i];
+            }
+            indexNumber = 1 << (k * PackedSequence.BITS_PER_CODE);
+        } else {
+            distinctCodes = sortDistinct(kmerCodes);
+            for (int i = 0; i < kmerCodes.length; i++) {
+                kmerIndices[i] = Arrays.binarySearch(distinctCodes, kmerCodes[i]);
+            }
+            indexNumber = distinctCodes.length;
+        }
+
+        BitSet clumpIndices = slideWindow(kmerIndices, indexNumber, L - k + 1, t);
+
+        long[] clumpCodes = new long[clumpIndices.cardinality()];
+        int clumpNumber = 0;
+        for (int index = clumpIndices.nextSetBit(0); index >= 0; index = clumpIndices.nextSetBit(index + 1)) {
+            clumpCodes[clumpNumber++] = distinctCodes == null ? index : distinctCodes[index];
+        }
+        return clumpCodes;
+    }
+
+    private static boolean isDirectlyIndexable(final int k, final int kmerNumber) {
+        return k <= MAXIMUM_DIRECT_K && (1 << (k * PackedSequence.BITS_PER_CODE)) <= Math.max(4 * kmerNumber, 1 << 16);
+    }
+
+    private static long[] sortDistinct(final long[] codes) {
+        long[] sortedCodes = codes.clone();
+        ComputeContext.current().sort(sortedCodes, 0, sortedCodes.length);
+        int distinctNumber = 0;
+        for (int i = 0; i < sortedCodes.length; i++) {
+            if (i == 0 || sortedCodes[i] != sortedCodes[i - 1]) {
+                sortedCodes[distinctNumber++] = sortedCodes[i];
+            }
+        }
+        return Arrays.copyOf(sortedCodes, distinctNumber);
+    }
+
+    /**
+     * Slides a window of windowKmerNumber <i>k</i>-mers over the indices and marks every index which reaches the
+     * threshold in a window. While the first window fills up there is no decrease, so the partial counts never
+     * exceed the counts of the first full window.
+     */
+    private static BitSet slideWindow(final int[] kmerIndices, final int indexNumber, final int windowKmerNumber,
+                                      final int t) {
+        int[] windowOccurrences = new int[indexNumber];
+        BitSet clumpIndices = new BitSet(indexNumber);
+        for (int i = 0; i < kmerIndices.length; i++) {
+            if (i >= windowKmerNumber) {
+                windowOccurrences[kmerIndices[i - windowKmerNumber]]--;
+            }
+            int index = kmerIndices[i];
+            if (++windowOccurrences[index] >= t) {
+                clumpIndices.set(index);
+            }
+        }
+        return clumpIndices;
+    }
+
+    private ClumpFinder() {
+    }
+}
@@ -0,0 +1,45 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.utils.datastructures.LongOccurrenceMap;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
+/**
+ * Counts the <i>k</i>-mers of a {@link PackedSequence} by their integer codes. Every window is encoded into a long
+ * value which is updated with a rolling shift and mask, and the codes are counted in a {@link LongOccurrenceMap}, so
+ * the counting does not create objects about the windows.
+ *
+ * @author Attila Radi
+ */
+final class KmerCounter {
+
+    /**
+     * Counts the occurrences of every <i>k</i>-mer code in the packed sequence.
+     *
+     * @param packedSequence The sequence to count in.
+     * @param k The length of the <i>k</i>-mers, which should be between 1 and 32.
+     * @return The occurrences of the <i>k</i>-mer codes.
+     */
+    static LongOccurrenceMap countKmers(final PackedSequence packedSequence, final int k) {
+        LongOccurrenceMap occurrenceMap = LongOccurrenceMap.build(expectedKmerNumber(packedSequence.length(), k));
+        packedSequence.forEachCode(k, occurrenceMap::increase);
+        return occurrenceMap;
+    }
+
+    /**
+     * Estimates the number of different <i>k</i>-mers in a sequence, which is at most the number of windows and at
+     * most 4<sup><i>k</i></sup>.
+     *
+     * @param sequenceLength The length of the sequence.
+     * @param k The length of the <i>k</i>-mers.
+     * @return The maximum number of different <i>k</i>-mers.
+     */
+    static int expectedKmerNumber(final int sequenceLength, final int k) {
+        int windowNumber = Math.max(sequenceLength - k + 1, 0);
+        return k < PackedSequence.CODES_PER_WORD / 2
+                ? (int) Math.min(windowNumber, 1L << (k * PackedSequence.BITS_PER_CODE))
+                : windowNumber;
+    }
+
+    private KmerCounter() {
+    }
+}
@@ -0,0 +1,279 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.utils.ComputeContext;
+import hu.bioinformatics.biolaboratory.utils.datastructures.LongOccurrenceMap;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Counts the <i>k</i>-mers which have at most <i>d</i> mismatches against the windows of a {@link PackedSequence}.
+ * Every window is encoded into a long code, and its Hamming neighborhood is enumerated by
+ * {@link PackedSequence#forEachNeighbor(long, int, int, LongConsumer)}, so the counting does not create objects about
+ * the patterns.
+ * <p>
+ * If the reverse complements are counted too, the occurrence of a <i>k</i>-mer is the sum of its forward occurrence
+ * and the forward occurrence of its reverse complement, so a <i>k</i>-mer and its reverse complement always have the
+ * same occurrence. The counter keeps only the canonical <i>k</i>-mer, the smaller code of the pair: the forward and
+ * the reverse complement codes of every window are rolled together, and the substitution masks are mirrored for the
+ * reverse complement, so every neighbor is counted once under its canonical code. A palindromic <i>k</i>-mer is its
+ * own reverse complement, so its count is doubled. The pairs are expanded to both orientations only by the filters.
+ * <p>
+ * The counter chooses its strategy according to <i>k</i>, <i>d</i> and the sequence length:
+ * <ul>
+ *     <li>{@link Strategy#DIRECT}: If 4<sup><i>k</i></sup> is small and not much bigger than the number of all
+ *     neighbors, the occurrences are counted in an array indexed by the codes.</li>
+ *     <li>{@link Strategy#SORT}: If the number of all neighbors is small enough to hold them in memory, the neighbor
+ *     codes are collected, sorted and the runs of equal codes are counted.</li>
+ *     <li>{@link Strategy#HASH}: Otherwise the neighbors are counted in a {@link LongOccurrenceMap}.</li>
+ * </ul>
+ *
+ * @author Attila Radi
+ */
+final class MismatchKmerCounter {
+    private static final int MAXIMUM_DIRECT_K = 11;
+    private static final int DIRECT_TABLE_RATIO = 4;
+    private static final long MAXIMUM_SORTED_NEIGHBOR_NUMBER = 1L << 23;
+    private static final int SUBSTITUTION_NUMBER = PackedSequence.ALPHABET_SIZE - 1;
+
+    /**
+     * The counting strategy of the {@link MismatchKmerCounter}.
+     */
+    enum Strategy {
+        DIRECT, SORT, HASH
+    }
+
+    private final int k;
+    private final int d;
+    private final long[] substitutionMasks;
+    private final long[] mirroredSubstitutionMasks;
+    private final boolean canonical;
+    private final Strategy strategy;
+
+    private int[] directOccurrences;
+    private long[] sortedNeighbors;
+    private int sortedNeighborNumber;
+    private LongOccurrenceMap hashOccurrences;
+
+    /**
+     * Counts the <i>d</i>-neighborhoods of every <i>k</i> long window of the packed sequence. If
+     * includeReverseComplements is true, the neighborhoods of the reverse complement windows are counted too, where the
+     * complement of a code <i>c</i> is 3 - <i>c</i>. The pairs of reverse complements are counted under their canonical
+     * code.
+     *
+     * @param packedSequence The sequence to count in.
+     * @param k The length of the <i>k</i>-mers, which should be between 1 and 32.
+     * @param d The maximum permitted mismatches, which should not be negative.
+     * @param includeReverseComplements Counts the reverse complement windows too.
+     * @return The {@link MismatchKmerCounter} which contains the occurrences.
+     */
+    static MismatchKmerCounter count(final PackedSequence packedSequence, final int k, final int d,
+                                     final boolean includeReverseComplements) {
+        int windowNumber = windowNumber(packedSequence, k);
+        return count(packedSequence, k, d, includeReverseComplements, chooseStrategy(k, Math.min(d, k), windowNumber));
+    }
+
+    /**
+     * Counts the <i>d</i>-neighborhoods of every <i>k</i> long window of the packed sequence with the given strategy.
+     *
+     * @see MismatchKmerCounter#count(PackedSequence, int, int, boolean)
+     * @param packedSequence The sequence to count in.
+     * @param k The length of the <i>k</i>-mers, which should be between 1 and 32.
+     * @param d The maximum permitted mismatches, which should not be negative.
+     * @param includeReverseComplements Counts the reverse complement windows too.
+     * @param strategy The counting strategy.
+     * @return The {@link MismatchKmerCounter} which contains the occurrences.
+     */
+    static MismatchKmerCounter count(final PackedSequence packedSequence, final int k, final int d,
+                                     final boolean includeReverseComplements, final Strategy strategy) {
+        MismatchKmerCounter counter = new MismatchKmerCounter(k, Math.min(d, k), includeReverseComplements, strategy);
+        counter.countWindows(packedSequence, windowNumber(packedSequence, k));
+        return counter;
+    }
+
+    private static int windowNumber(final PackedSequence packedSequence, final int k) {
+        return Math.max(packedSequence.length() - k + 1, 0);
+    }
+
+    /**
+     * Chooses the counting strategy.
+     *
+     * @param k The length of the <i>k</i>-mers.
+     * @param d The maximum permitted mismatches.
+     * @param windowNumber The number of the counted windows.
+     * @return The counting strategy.
+     */
+    static Strategy chooseStrategy(final int k, final int d, final int windowNumber) {
+        double neighborNumber = (double) PackedSequence.neighborhoodSize(k, d) * windowNumber;
+        if (k <= MAXIMUM_DIRECT_K && (1L << (k * PackedSequence.BITS_PER_CODE)) <= DIRECT_TABLE_RATIO * neighborNumber) {
+            return Strategy.DIRECT;
+        }
+        return neighborNumber <= MAXIMUM_SORTED_NEIGHBOR_NUMBER ? Strategy.SORT : Strategy.HASH;
+    }
+
+    private MismatchKmerCounter(final int k, final int d, final boolean canonical, final Strategy strategy) {
+        this.k = k;
+        this.d = d;
+        this.canonical = canonical;
+        this.strategy = strategy;
+        this.substitutionMasks = new long[k * SUBSTITUTION_NUMBER];
+        this.mirroredSubstitutionMasks = new long[k * SUBSTITUTION_NUMBER];
+        for (int position = 0; position < k; position++) {
+            for (int substitution = 1; substitution <= SUBSTITUTION_NUMBER; substitution++) {
+                int index = position * SUBSTITUTION_NUMBER + substitution - 1;
+                substitutionMasks[index] = (long) substitution << ((k - 1 - position) * PackedSequence.BITS_PER_CODE);
+                mirroredSubstitutionMasks[index] = (long) substitution << (position * PackedSequence.BITS_PER_CODE);
+            }
+        }
+    }
+
+    private void countWindows(final PackedSequence packedSequence, final int windowNumber) {
+        LongConsumer neighborConsumer = createNeighborConsumer(windowNumber);
+        if (canonical) {
+            long mask = PackedSequence.codeMask(k);
+            int reverseShift = (k - 1) * PackedSequence.BITS_PER_CODE;
+            long forwardCode = 0;
+            long reverseComplementCode = 0;
+            for (int i = 0; i < packedSequence.length(); i++) {
+                int code = packedSequence.get(i);
+                forwardCode = ((forwardCode << PackedSequence.BITS_PER_CODE) | code) & mask;
+                reverseComplementCode = (reverseComplementCode >>> PackedSequence.BITS_PER_CODE)
+                        | ((long) (PackedSequence.ALPHABET_SIZE - 1 - code) << reverseShift);
+                if (i >= k - 1) {
+                    visitCanonicalNeighbors(forwardCode, reverseComplementCode, 0, d, neighborConsumer);
+                }
+            }
+        } else {
+            packedSequence.forEachCode(k, code -> PackedSequence.forEachNeighbor(code, k, d, neighborConsumer));
+        }
+        if (strategy == Strategy.SORT) {
+            ComputeContext.current().sort(sortedNeighbors, 0, sortedNeighborNumber);
+        }
+    }
+
+    private LongConsumer createNeighborConsumer(final int windowNumber) {
+        switch (strategy) {
+            case DIRECT:
+                directOccurrences = new int[1 << (k * PackedSequence.BITS_PER_CODE)];
+                return code -> directOccurrences[(int) code]++;
+            case SORT:
+                sortedNeighbors = new long[(int) (PackedSequence.neighborhoodSize(k, d) * windowNumber)];
+                return code -> sortedNeighbors[sortedNeighborNumber++] = code;
+            default:
+                hashOccurrences = LongOccurrenceMap.build(KmerCounter.expectedKmerNumber(windowNumber + k - 1, k));
+                return hashOccurrences::increase;
+        }
+    }
+
+    /**
+     * Visits the canonical code of every neighbor like
+     * {@link PackedSequence#forEachNeighbor(long, int, int, LongConsumer)}. The reverse complement of a neighbor is the
+     * neighbor of the reverse complement code with the mirrored substitution.
+     */
+    private void visitCanonicalNeighbors(final long code, final long reverseComplementCode, final int startPosition,
+                                         final int remaining, final LongConsumer neighborConsumer) {
+        neighborConsumer.accept(Math.min(code, reverseComplementCode));
+        if (remaining == 0) return;
+        for (int i = startPosition * SUBSTITUTION_NUMBER; i < substitutionMasks.length; i++) {
+            visitCanonicalNeighbors(code ^ substitutionMasks[i], reverseComplementCode ^ mirroredSubstitutionMasks[i],
+                    i / SUBSTITUTION_NUMBER + 1, remaining - 1, neighborConsumer);
+        }
+    }
+
+    /**
+     * Calculates the code of the reverse complement <i>k</i>-mer.
+     *
+     * @param code The <i>k</i>-mer code.
+     * @param k The length of the <i>k</i>-mer.
+     * @return The code of the reverse complement <i>k</i>-mer.
+     */
+    static long reverseComplement(final long code, final int k) {
+        long reversed = Long.reverse(~code);
+        long pairSwapped = ((reversed >>> 1) & 0x5555555555555555L) | ((reversed & 0x5555555555555555L) << 1);
+        return pairSwapped >>> (Long.SIZE - k * PackedSequence.BITS_PER_CODE);
+    }
+
+    /**
+     * Getter of the chosen strategy.
+     *
+     * @return strategy
+     */
+    Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Get the codes which occurrences are the most frequent.
+     *
+     * @return The most frequent codes in ascending order.
+     */
+    long[] filterMostFrequentOccurrences() {
+        int[] maximumOccurrence = { 0 };
+        forEachOccurrence((code, occurrence) -> maximumOccurrence[0] = Math.max(maximumOccurrence[0], occurrence));
+        return maximumOccurrence[0] == 0 ? new long[0] : filterGreaterOrEqualsOccurrences(maximumOccurrence[0]);
+    }
+
+    /**
+     * Get the codes which occurrences are greater or equal than the threshold.
+     *
+     * @param threshold The minimum occurrence, which should be positive.
+     * @return The codes in ascending order.
+     */
+    long[] filterGreaterOrEqualsOccurrences(final int threshold) {
+        LongStream.Builder codes = LongStream.builder();
+        forEachOccurrence((code, occurrence) -> {
+            if (occurrence >= threshold) {
+                codes.add(code);
+                if (canonical) {
+                    codes.add(reverseComplement(code, k));
+                }
+            }
+        });
+        return codes.build().sorted().distinct().toArray();
+    }
+
+    /**
+     * Visits every counted code with its occurrence. A canonical code stands for itself and its reverse complement,
+     * and the occurrence of a palindromic code is doubled.
+     */
+    private void forEachOccurrence(final OccurrenceConsumer occurrenceConsumer) {
+        switch (strategy) {
+            case DIRECT:
+                for (int code = 0; code < directOccurrences.length; code++) {
+                    if (directOccurrences[code] > 0) {
+                        acceptOccurrence(code, directOccurrences[code], occurrenceConsumer);
+                    }
+                }
+                break;
+            case SORT:
+                for (int start = 0, end; start < sortedNeighborNumber; start = end) {
+                    end = runEnd(start);
+                    acceptOccurrence(sortedNeighbors[start], end - start, occurrenceConsumer);
+                }
+                break;
+            default:
+                for (long code : hashOccurrences.keys()) {
+                    acceptOccurrence(code, hashOccurrences.getOccurrence(code), occurrenceConsumer);
+                }
+        }
+    }
+
+    private void acceptOccurrence(final long code, final int count, final OccurrenceConsumer occurrenceConsumer) {
+        boolean palindrome = canonical && reverseComplement(code, k) == code;
+        occurrenceConsumer.accept(code, palindrome ? 2 * count : count);
+    }
+
+    private int runEnd(final int start) {
+        int end = start + 1;
+        while (end < sortedNeighborNumber && sortedNeighbors[end] == sortedNeighbors[start]) {
+            end++;
+        }
+        return end;
+    }
+
+    @FunctionalInterface
+    private interface OccurrenceConsumer {
+        void accept(long code, int occurrence);
+    }
+}
@@ -0,0 +1,187 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.IntUnaryOperator;
+
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotEmptyCollection;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullCollection;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSameTypeTo;
+
+/**
+ * Finds every occurrence of a set of patterns inside {@link BiologicalSequence}s in a single pass with the
+ * Aho-Corasick automaton. The patterns are inserted into a trie, then the trie is completed into a deterministic
+ * automaton by the failure links, so every sequence element is processed by one table lookup. Every state knows the
+ * pattern which ends there and the nearest suffix state which ends a pattern, so reporting an occurrence costs O(1).
+ * <p>
+ * The {@link MultiPatternMatcher} is immutable, it can be reused on many sequences and shared between threads.
+ *
+ * @param <TYPE> The type of the patterns and the searched sequences.
+ * @author Attila Radi
+ */
+public final class MultiPatternMatcher<TYPE extends BiologicalSequence> {
+    private static final int ROOT_STATE = 0;
+    private static final int NO_PATTERN = -1;
+
+    private final List<TYPE> patterns;
+    private final TYPE firstPattern;
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[] endingPatterns;
+    private final int[] outputLinks;
+
+    /**
+     * Compiles the patterns into a {@link MultiPatternMatcher}. Equal patterns are compiled only once.
+     *
+     * @param patterns The patterns to find.
+     * @param <TYPE> The type of the patterns.
+     * @return The {@link MultiPatternMatcher} about the patterns.
+     * @throws IllegalArgumentException If patterns is null or empty.
+     * @throws IllegalArgumentException If patterns contains null.
+     * @throws IllegalArgumentException If the patterns have different types.
+     */
+    public static <TYPE extends BiologicalSequence> MultiPatternMatcher<TYPE> build(final Collection<TYPE> patterns) {
+        checkNotNullCollection("Patterns", checkNotEmptyCollection("Patterns", patterns));
+        TYPE firstPattern = patterns.iterator().next();
+        patterns.forEach(pattern -> checkSameTypeTo("Pattern", pattern, "first pattern", firstPattern));
+        return new MultiPatternMatcher<>(new ArrayList<>(new LinkedHashSet<>(patterns)), firstPattern);
+    }
+
+    private MultiPatternMatcher(final List<TYPE> patterns, final TYPE firstPattern) {
+        this.patterns = patterns;
+        this.firstPattern = firstPattern;
+        this.alphabetSize = firstPattern.getElementArray().length;
+
+        int maximumStateNumber = 1 + patterns.stream().mapToInt(BiologicalSequence::getSequenceLength).sum();
+        int[] trie = new int[maximumStateNumber * alphabetSize];
+        int[] patternEnds = new int[maximumStateNumber];
+        Arrays.fill(patternEnds, NO_PATTERN);
+        int stateNumber = 1;
+        for (int patternIndex = 0; patternIndex < patterns.size(); patternIndex++) {
+            TYPE pattern = patterns.get(patternIndex);
+            IntUnaryOperator patternCodes = pattern.createElementCodeProvider();
+            int state = ROOT_STATE;
+            for (int i = 0; i < pattern.getSequenceLength(); i++) {
+                int transition = state * alphabetSize + patternCodes.applyAsInt(i);
+                if (trie[transition] == ROOT_STATE) {
+                    trie[transition] = stateNumber++;
+                }
+                state = trie[transition];
+            }
+            patternEnds[state] = patternIndex;
+        }
+        this.transitions = Arrays.copyOf(trie, stateNumber * alphabetSize);
+        this.endingPatterns = Arrays.copyOf(patternEnds, stateNumber);
+        this.outputLinks = new int[stateNumber];
+        completeTransitions(stateNumber);
+    }
+
+    /**
+     * Replaces the missing trie edges with the transitions of the failure state in breadth-first order, and sets the
+     * output link of every state to the nearest proper suffix state which ends a pattern.
+     */
+    private void completeTransitions(final int stateNumber) {
+        int[] failureLinks = new int[stateNumber];
+        int[] queue = new int[stateNumber];
+        int queueHead = 0;
+        int queueTail = 0;
+        outputLinks[ROOT_STATE] = NO_PATTERN;
+        for (int code = 0; code < alphabetSize; code++) {
+            int child = transitions[code];
+            if (child != ROOT_STATE) {
+                failureLinks[child] = ROOT_STATE;
+                outputLinks[child] = NO_PATTERN;
+                queue[queueTail++] = child;
+            }
+        }
+        while (queueHead < queueTail) {
+            int state = queue[queueHead++];
+            for (int code = 0; code < alphabetSize; code++) {
+                int transition = state * alphabetSize + code;
+                int child = transitions[transition];
+                int failureTransition = transitions[failureLinks[state] * alphabetSize + code];
+                if (child == ROOT_STATE) {
+                    transitions[transition] = failureTransition;
+                } else {
+                    failureLinks[child] = failureTransition;
+                    outputLinks[child] = endingPatterns[failureTransition] != NO_PATTERN
+                            ? failureTransition
+                            : outputLinks[failureTransition];
+                    queue[queueTail++] = child;
+                }
+            }
+        }
+    }
+
+    /**
+     * Getter of the distinct patterns in the order of the compilation.
+     *
+     * @return patterns
+     */
+    public List<TYPE> getPatterns() {
+        return new ArrayList<>(patterns);
+    }
+
+    /**
+     * Finds the beginning index of all occurrences of every pattern inside the sequence. The occurrences can overlap.
+     *
+     * @see BiologicalSequence#patternMatching(BiologicalSequence)
+     * @param sequence The sequence to search in.
+     * @return The beginning indices of the occurrences in ascending order about every pattern. A pattern which does
+     * not occur has an empty list.
+     * @throws IllegalArgumentException If sequence is null.
+     * @throws IllegalArgumentException If sequence has different type than the patterns.
+     */
+    public Map<TYPE, List<Integer>> findMatches(final TYPE sequence) {
+        List<List<Integer>> matches = new ArrayList<>(patterns.size());
+        patterns.forEach(pattern -> matches.add(new ArrayList<>()));
+        scan(sequence, (patternIndex, position) -> matches.get(patternIndex).add(position));
+
+        Map<TYPE, List<Integer>> patternMatches = new LinkedHashMap<>();
+        for (int patternIndex = 0; patternIndex < patterns.size(); patternIndex++) {
+            patternMatches.put(patterns.get(patternIndex), matches.get(patternIndex));
+        }
+        return patternMatches;
+    }
+
+    /**
+     * Streams every occurrence of the patterns inside the sequence to the consumer, without collecting them. The
+     * occurrences are reported in the ascending order of their ending index.
+     *
+     * @param sequence The sequence to search in.
+     * @param matchConsumer Accepts the found pattern and the beginning index of the occurrence.
+     * @throws IllegalArgumentException If sequence or matchConsumer is null.
+     * @throws IllegalArgumentException If sequence has different type than the patterns.
+     */
+    public void findMatches(final TYPE sequence, final BiConsumer<TYPE, Integer> matchConsumer) {
+        checkNotNullArgument("Match consumer", matchConsumer);
+        scan(sequence, (patternIndex, position) -> matchConsumer.accept(patterns.get(patternIndex), position));
+    }
+
+    private void scan(final TYPE sequence, final MatchConsumer matchConsumer) {
+        checkSameTypeTo("Sequence", checkNotNullArgument("Sequence", sequence), "patterns", firstPattern);
+        IntUnaryOperator sequenceCodes = sequence.createElementCodeProvider();
+        int state = ROOT_STATE;
+        for (int i = 0; i < sequence.getSequenceLength(); i++) {
+            state = transitions[state * alphabetSize + sequenceCodes.applyAsInt(i)];
+            int outputState = endingPatterns[state] != NO_PATTERN ? state : outputLinks[state];
+            while (outputState != NO_PATTERN) {
+                int patternIndex = endingPatterns[outputState];
+                matchConsumer.accept(patternIndex, i - patterns.get(patternIndex).getSequenceLength() + 1);
+                outputState = outputLinks[outputState];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface MatchConsumer {
+        void accept(int patternIndex, int position);
+    }
+}
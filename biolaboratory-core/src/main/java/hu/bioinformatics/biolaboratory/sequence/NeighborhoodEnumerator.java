@@ -0,0 +1,267 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Enumerates the <i>d</i>-neighborhood of a pattern lazily: every pattern which differs at most <i>d</i> positions
+ * from the center. The neighbors are numbered from 0 to size - 1:
+ * <ul>
+ *     <li>The neighbors are grouped by their distance from the center in increasing order.</li>
+ *     <li>Inside a group of distance <i>j</i>, the rank is <i>combination</i> * (<i>a</i> - 1)<sup><i>j</i></sup> +
+ *     <i>substitution</i>, where <i>combination</i> is the lexicographic rank of the changed positions and the digits
+ *     of <i>substitution</i> in base <i>a</i> - 1 choose the new elements. <i>a</i> is the alphabet size.</li>
+ * </ul>
+ * Every neighbor is calculated from its rank in O(<i>k</i>) time, so the {@link Spliterator}s of the enumerator split
+ * the rank range exactly in halves and a parallel stream divides the neighborhood evenly.
+ * <p>
+ * The patterns are given by element codes between 0 and alphabet size - 1. A pattern can be identified by a long code
+ * too, which is the unsigned number written by the element codes in base <i>a</i>, the first element is the most
+ * significant. About DNA this is the same code as {@link hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence#getCode(int, int)}.
+ * The {@link NeighborhoodEnumerator} is immutable.
+ *
+ * @author Attila Radi
+ */
+final class NeighborhoodEnumerator {
+    private final int alphabetSize;
+    private final int[] centerCodes;
+    private final int d;
+    private final long[][] binomials;
+    private final long[] substitutionNumbers;
+    private final long[] distanceStarts;
+    private final long centerCode;
+    private final long[] positionValues;
+
+    /**
+     * Creates a {@link NeighborhoodEnumerator} about the center pattern.
+     *
+     * @param alphabetSize The number of the different element codes.
+     * @param centerCodes The element codes of the center pattern.
+     * @param d The maximum permitted mismatches, which should not be negative.
+     * @return A new {@link NeighborhoodEnumerator}.
+     * @throws IllegalArgumentException If the size of the neighborhood does not fit into a long.
+     */
+    static NeighborhoodEnumerator build(final int alphabetSize, final int[] centerCodes, final int d) {
+        return new NeighborhoodEnumerator(alphabetSize, centerCodes, Math.min(d, centerCodes.length));
+    }
+
+    private NeighborhoodEnumerator(final int alphabetSize, final int[] centerCodes, final int d) {
+        this.alphabetSize = alphabetSize;
+        this.centerCodes = centerCodes.clone();
+        this.d = d;
+        int k = centerCodes.length;
+        this.binomials = new long[k + 1][d + 1];
+        for (int n = 0; n <= k; n++) {
+            binomials[n][0] = 1;
+            for (int j = 1; j <= Math.min(n, d); j++) {
+                binomials[n][j] = Math.addExact(binomials[n - 1][j - 1], j <= n - 1 ? binomials[n - 1][j] : 0);
+            }
+        }
+        this.substitutionNumbers = new long[d + 1];
+        this.distanceStarts = new long[d + 2];
+        try {
+            for (int j = 0; j <= d; j++) {
+                substitutionNumbers[j] = j == 0 ? 1 : Math.multiplyExact(substitutionNumbers[j - 1], alphabetSize - 1);
+                distanceStarts[j + 1] = Math.addExact(distanceStarts[j],
+                        Math.multiplyExact(binomials[k][j], substitutionNumbers[j]));
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("The neighborhood is too large to enumerate", e);
+        }
+        this.positionValues = createPositionValues(alphabetSize, k);
+        long code = 0;
+        if (positionValues != null) {
+            for (int i = 0; i < k; i++) {
+                code += centerCodes[i] * positionValues[i];
+            }
+        }
+        this.centerCode = code;
+    }
+
+    /**
+     * Calculates the value of every position in the long code, or returns null if the codes do not fit into a long.
+     * The codes are unsigned, so 32 long DNA patterns fit too.
+     */
+    private static long[] createPositionValues(final int alphabetSize, final int k) {
+        if (k * Math.log(alphabetSize) > Long.SIZE * Math.log(2) + 1e-9) return null;
+        long[] positionValues = new long[k];
+        long value = 1;
+        for (int i = k - 1; i >= 0; i--) {
+            positionValues[i] = value;
+            value *= alphabetSize;
+        }
+        return positionValues;
+    }
+
+    /**
+     * Returns the number of the neighbors.
+     *
+     * @return The size of the neighborhood.
+     */
+    long size() {
+        return distanceStarts[d + 1];
+    }
+
+    /**
+     * Decides the neighbors can be identified by long codes.
+     *
+     * @return True if every pattern code fits into a long.
+     */
+    boolean hasLongCodes() {
+        return positionValues != null;
+    }
+
+    /**
+     * Writes the element codes of the neighbor into the codes array.
+     *
+     * @param rank The rank of the neighbor between 0 and size - 1.
+     * @param codes The array of the element codes with the length of the center.
+     */
+    void unrank(final long rank, final int[] codes) {
+        System.arraycopy(centerCodes, 0, codes, 0, codes.length);
+        visitChanges(rank, (position, code) -> codes[position] = code);
+    }
+
+    /**
+     * Calculates the long code of the neighbor.
+     *
+     * @param rank The rank of the neighbor between 0 and size - 1.
+     * @return The long code of the neighbor.
+     */
+    long unrankCode(final long rank) {
+        long[] code = { centerCode };
+        visitChanges(rank, (position, elementCode) ->
+                code[0] += (elementCode - centerCodes[position]) * positionValues[position]);
+        return code[0];
+    }
+
+    private void visitChanges(final long rank, final ChangeConsumer changeConsumer) {
+        int distance = 0;
+        while (rank >= distanceStarts[distance + 1]) {
+            distance++;
+        }
+        long distanceRank = rank - distanceStarts[distance];
+        long combinationRank = distanceRank / substitutionNumbers[distance];
+        long substitutionRank = distanceRank % substitutionNumbers[distance];
+
+        int k = centerCodes.length;
+        int position = 0;
+        for (int remaining = distance; remaining > 0; remaining--) {
+            while (combinationRank >= binomials[k - 1 - position][remaining - 1]) {
+                combinationRank -= binomials[k - 1 - position][remaining - 1];
+                position++;
+            }
+            int substitution = (int) (substitutionRank % (alphabetSize - 1));
+            substitutionRank /= alphabetSize - 1;
+            changeConsumer.accept(position, substitution < centerCodes[position] ? substitution : substitution + 1);
+            position++;
+        }
+    }
+
+    /**
+     * Creates a {@link Spliterator} over the long codes of the neighbors.
+     *
+     * @return The {@link Spliterator.OfLong} of the neighbor codes.
+     * @throws IllegalArgumentException If the codes do not fit into a long.
+     */
+    Spliterator.OfLong codeSpliterator() {
+        checkArgument(hasLongCodes(), "The pattern codes do not fit into a long");
+        return new CodeSpliterator(0, size());
+    }
+
+    /**
+     * Creates a {@link Spliterator} which materializes every neighbor from its element codes.
+     *
+     * @param materializer Creates the neighbor from the element codes, the array is reused between the calls.
+     * @param <T> The type of the neighbors.
+     * @return The {@link Spliterator} of the neighbors.
+     */
+    <T> Spliterator<T> spliterator(final Function<int[], T> materializer) {
+        return new MaterializingSpliterator<>(0, size(), materializer);
+    }
+
+    @FunctionalInterface
+    private interface ChangeConsumer {
+        void accept(int position, int code);
+    }
+
+    /**
+     * Iterates a rank range. The characteristics are the same as the range of {@link java.util.stream.LongStream}.
+     */
+    private abstract static class RankSpliterator {
+        long rank;
+        final long endRank;
+
+        RankSpliterator(final long rank, final long endRank) {
+            this.rank = rank;
+            this.endRank = endRank;
+        }
+
+        long splitRank() {
+            return endRank - rank < 2 ? -1 : rank + (endRank - rank) / 2;
+        }
+
+        public long estimateSize() {
+            return endRank - rank;
+        }
+
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.DISTINCT | Spliterator.IMMUTABLE
+                    | Spliterator.NONNULL;
+        }
+    }
+
+    private final class CodeSpliterator extends RankSpliterator implements Spliterator.OfLong {
+
+        CodeSpliterator(final long rank, final long endRank) {
+            super(rank, endRank);
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            if (rank >= endRank) return false;
+            action.accept(unrankCode(rank++));
+            return true;
+        }
+
+        @Override
+        public OfLong trySplit() {
+            long splitRank = splitRank();
+            if (splitRank < 0) return null;
+            CodeSpliterator prefix = new CodeSpliterator(rank, splitRank);
+            rank = splitRank;
+            return prefix;
+        }
+    }
+
+    private final class MaterializingSpliterator<T> extends RankSpliterator implements Spliterator<T> {
+        private final Function<int[], T> materializer;
+        private final int[] codes = new int[centerCodes.length];
+
+        MaterializingSpliterator(final long rank, final long endRank, final Function<int[], T> materializer) {
+            super(rank, endRank);
+            this.materializer = materializer;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            if (rank >= endRank) return false;
+            unrank(rank++, codes);
+            action.accept(materializer.apply(codes));
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long splitRank = splitRank();
+            if (splitRank < 0) return null;
+            MaterializingSpliterator<T> prefix = new MaterializingSpliterator<>(rank, splitRank, materializer);
+            rank = splitRank;
+            return prefix;
+        }
+    }
+}
@@ -20,4 +20,12 @@ public interface SequenceElement {
      * @return The letter identifier of the sequence element.
      */
     char getLetter();
+
+    /**
+     * Get the position of the sequence element among all elements of its type. This is the code of the element in the
+     * packed representation of a {@link BiologicalSequence}.
+     *
+     * @return The position of the sequence element.
+     */
+    int ordinal();
 }
@@ -0,0 +1,265 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotEmptyVarargs;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmallerOrEqualNumberTo;
+
+/**
+ * Validates and encodes the letters of a biological sequence in one pass. Every ASCII letter is looked up in a table,
+ * which gives the {@link SequenceElement#ordinal()} of the upper or lower case letter, or marks the letter as invalid.
+ * The same pass:
+ * <ul>
+ *     <li>skips the blank characters at the beginning and the end of the input,</li>
+ *     <li>writes the ordinals into a {@link PackedSequence} if the biological sequence type has 4 elements, otherwise
+ *     into a byte array beside the upper case letters,</li>
+ *     <li>counts the elements by their ordinals.</li>
+ * </ul>
+ * The input can be a {@link CharSequence}, a char array, an ASCII byte array or an ASCII {@link ByteBuffer}, none of
+ * them is converted to an intermediate {@link String}.
+ * <p>
+ * A {@link SequenceEncoder} is immutable and thread safe.
+ *
+ * @author Attila Radi
+ */
+public final class SequenceEncoder {
+    private static final int ASCII_SIZE = 128;
+    private static final byte NO_ORDINAL = -1;
+    private static final int LAST_BLANK_CHARACTER = ' ';
+
+    private final char[] letters;
+    private final byte[] letterOrdinals;
+    private final String invalidLetterMessage;
+
+    /**
+     * Creates a {@link SequenceEncoder} about the possible elements of a biological sequence type.
+     *
+     * @param elements All possible elements of the biological sequence type.
+     * @param invalidLetterMessage The message of the exception if the input contains an invalid letter.
+     * @return A new {@link SequenceEncoder}.
+     * @throws IllegalArgumentException If elements is empty or contains null element.
+     * @throws IllegalArgumentException If invalidLetterMessage is null.
+     * @throws IllegalArgumentException If an element has not ASCII letter.
+     */
+    public static SequenceEncoder build(final SequenceElement[] elements, final String invalidLetterMessage) {
+        checkNotEmptyVarargs("Elements", elements);
+        checkNotNullArgument("Invalid letter message", invalidLetterMessage);
+        for (SequenceElement element : elements) {
+            checkSmallerOrEqualNumberTo("Element letter", element.getLetter(), "last ASCII letter", ASCII_SIZE - 1);
+        }
+        return new SequenceEncoder(elements, invalidLetterMessage);
+    }
+
+    private SequenceEncoder(final SequenceElement[] elements, final String invalidLetterMessage) {
+        this.letters = BiologicalSequence.createPackingAlphabet(elements);
+        this.letterOrdinals = new byte[ASCII_SIZE];
+        Arrays.fill(letterOrdinals, NO_ORDINAL);
+        for (int ordinal = 0; ordinal < letters.length; ordinal++) {
+            letterOrdinals[Character.toUpperCase(letters[ordinal])] = (byte) ordinal;
+            letterOrdinals[Character.toLowerCase(letters[ordinal])] = (byte) ordinal;
+        }
+        this.invalidLetterMessage = invalidLetterMessage;
+    }
+
+    /**
+     * Encodes the letters of a {@link CharSequence}.
+     *
+     * @param sequence The letters of the biological sequence.
+     * @return The encoded sequence.
+     * @throws IllegalArgumentException If sequence is null or blank.
+     * @throws IllegalArgumentException If sequence contains an invalid letter.
+     */
+    public EncodedSequence encode(final CharSequence sequence) {
+        checkNotNullArgument("Biological sequence", sequence);
+        int start = 0;
+        int end = sequence.length();
+        while (start < end && sequence.charAt(start) <= LAST_BLANK_CHARACTER) {
+            start++;
+        }
+        while (end > start && sequence.charAt(end - 1) <= LAST_BLANK_CHARACTER) {
+            end--;
+        }
+        OrdinalCollector collector = new OrdinalCollector(end - start);
+        for (int index = start; index < end; index++) {
+            collector.add(sequence.charAt(index));
+        }
+        return collector.build();
+    }
+
+    /**
+     * Encodes the letters of a char array.
+     *
+     * @param sequence The letters of the biological sequence.
+     * @return The encoded sequence.
+     * @throws IllegalArgumentException If sequence is null or blank.
+     * @throws IllegalArgumentException If sequence contains an invalid letter.
+     */
+    public EncodedSequence encode(final char[] sequence) {
+        checkNotNullArgument("Biological sequence", sequence);
+        int start = 0;
+        int end = sequence.length;
+        while (start < end && sequence[start] <= LAST_BLANK_CHARACTER) {
+            start++;
+        }
+        while (end > start && sequence[end - 1] <= LAST_BLANK_CHARACTER) {
+            end--;
+        }
+        OrdinalCollector collector = new OrdinalCollector(end - start);
+        for (int index = start; index < end; index++) {
+            collector.add(sequence[index]);
+        }
+        return collector.build();
+    }
+
+    /**
+     * Encodes the ASCII letters of a byte array.
+     *
+     * @param sequence The ASCII letters of the biological sequence.
+     * @return The encoded sequence.
+     * @throws IllegalArgumentException If sequence is null or blank.
+     * @throws IllegalArgumentException If sequence contains an invalid letter.
+     */
+    public EncodedSequence encode(final byte[] sequence) {
+        checkNotNullArgument("Biological sequence", sequence);
+        return encode(sequence, 0, sequence.length);
+    }
+
+    /**
+     * Encodes the ASCII letters of a {@link ByteBuffer} between its position and limit. The position of the buffer is
+     * not changed. The backing array of a heap buffer is read directly.
+     *
+     * @param sequence The ASCII letters of the biological sequence.
+     * @return The encoded sequence.
+     * @throws IllegalArgumentException If sequence is null or blank.
+     * @throws IllegalArgumentException If sequence contains an invalid letter.
+     */
+    public EncodedSequence encode(final ByteBuffer sequence) {
+        checkNotNullArgument("Biological sequence", sequence);
+        if (sequence.hasArray()) {
+            int offset = sequence.arrayOffset() + sequence.position();
+            return encode(sequence.array(), offset, offset + sequence.remaining());
+        }
+        int start = sequence.position();
+        int end = sequence.limit();
+        while (start < end && (sequence.get(start) & 0xFF) <= LAST_BLANK_CHARACTER) {
+            start++;
+        }
+        while (end > start && (sequence.get(end - 1) & 0xFF) <= LAST_BLANK_CHARACTER) {
+            end--;
+        }
+        OrdinalCollector collector = new OrdinalCollector(end - start);
+        for (int index = start; index < end; index++) {
+            collector.add(sequence.get(index) & 0xFF);
+        }
+        return collector.build();
+    }
+
+    private EncodedSequence encode(final byte[] sequence, final int offset, final int limit) {
+        int start = offset;
+        int end = limit;
+        while (start < end && (sequence[start] & 0xFF) <= LAST_BLANK_CHARACTER) {
+            start++;
+        }
+        while (end > start && (sequence[end - 1] & 0xFF) <= LAST_BLANK_CHARACTER) {
+            end--;
+        }
+        OrdinalCollector collector = new OrdinalCollector(end - start);
+        for (int index = start; index < end; index++) {
+            collector.add(sequence[index] & 0xFF);
+        }
+        return collector.build();
+    }
+
+    private int findOrdinal(final int letter) {
+        int ordinal = letter < ASCII_SIZE ? letterOrdinals[letter] : NO_ORDINAL;
+        checkArgument(ordinal != NO_ORDINAL, invalidLetterMessage);
+        return ordinal;
+    }
+
+    /**
+     * Collects the ordinals of the trimmed letters in input order. Every input type has its own loop which calls
+     * {@link #add(int)}, so the letters are not read through a shared functional interface.
+     */
+    private final class OrdinalCollector {
+        private final int[] ordinalCounts = new int[letters.length];
+        private final PackedSequence.Builder packedSequenceBuilder;
+        private final char[] upperCaseLetters;
+        private final byte[] ordinals;
+        private int index;
+
+        private OrdinalCollector(final int sequenceLength) {
+            checkArgument(sequenceLength > 0, "Biological sequence should not be blank");
+            if (letters.length == PackedSequence.ALPHABET_SIZE) {
+                packedSequenceBuilder = PackedSequence.builder(sequenceLength);
+                upperCaseLetters = null;
+                ordinals = null;
+            } else {
+                packedSequenceBuilder = null;
+                upperCaseLetters = new char[sequenceLength];
+                ordinals = new byte[sequenceLength];
+            }
+        }
+
+        private void add(final int letter) {
+            int ordinal = findOrdinal(letter);
+            ordinalCounts[ordinal]++;
+            if (packedSequenceBuilder != null) {
+                packedSequenceBuilder.append(ordinal);
+            } else {
+                ordinals[index] = (byte) ordinal;
+                upperCaseLetters[index] = letters[ordinal];
+                index++;
+            }
+        }
+
+        private EncodedSequence build() {
+            return packedSequenceBuilder != null
+                    ? new EncodedSequence(null, packedSequenceBuilder.build(), null, ordinalCounts)
+                    : new EncodedSequence(new String(upperCaseLetters), null, ordinals, ordinalCounts);
+        }
+    }
+
+    /**
+     * The result of a {@link SequenceEncoder}, which can be given to the constructor of a {@link BiologicalSequence}.
+     * Exactly one of the upper case letters and the {@link PackedSequence} is set.
+     */
+    public static final class EncodedSequence {
+        private final String sequence;
+        private final PackedSequence packedSequence;
+        private final byte[] ordinals;
+        private final int[] ordinalCounts;
+
+        private EncodedSequence(final String sequence, final PackedSequence packedSequence, final byte[] ordinals,
+                                final int[] ordinalCounts) {
+            this.sequence = sequence;
+            this.packedSequence = packedSequence;
+            this.ordinals = ordinals;
+            this.ordinalCounts = ordinalCounts;
+        }
+
+        String getSequence() {
+            return sequence;
+        }
+
+        PackedSequence getPackedSequence() {
+            return packedSequence;
+        }
+
+        byte[] getOrdinals() {
+            return ordinals;
+        }
+
+        int[] getOrdinalCounts() {
+            return ordinalCounts;
+        }
+
+        int length() {
+            return sequence != null ? sequence.length() : packedSequence.length();
+        }
+    }
+}
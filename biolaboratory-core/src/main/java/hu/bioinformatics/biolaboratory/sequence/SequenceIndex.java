@@ -0,0 +1,389 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmallerOrEqualNumberTo;
+
+/**
+ * An FM-index about a {@link BiologicalSequence} which answers exact pattern queries without scanning the sequence.
+ * The index contains:
+ * <ul>
+ *     <li>The suffix array of the sequence closed with a sentinel, which is smaller than every element.</li>
+ *     <li>The Burrows-Wheeler transform of the sequence.</li>
+ *     <li>The occurrence table of every element in the Burrows-Wheeler transform, sampled at every
+ *     {@value #OCCURRENCE_SAMPLE_RATE}. row.</li>
+ * </ul>
+ * The count query is a backward search in O(pattern length), the locate query reads the suffix array in
+ * O(pattern length + occurrences) and sorts the found positions in O(occurrences * log(occurrences)).
+ * <p>
+ * The index can be written into a local file and memory-mapped from it, so the suffix array construction is needed
+ * only once about a reference sequence. The file is mapped in one piece, which limits the sequence length to about
+ * 400 million elements. The {@link SequenceIndex} is immutable and thread-safe.
+ *
+ * @param <TYPE> The type of the indexed {@link BiologicalSequence}.
+ * @author Attila Radi
+ */
+public final class SequenceIndex<TYPE extends BiologicalSequence> {
+    /**
+     * The distance of the occurrence table samples in the Burrows-Wheeler transform.
+     */
+    public static final int OCCURRENCE_SAMPLE_RATE = 64;
+
+    private static final int FILE_MAGIC_NUMBER = 0x53514958;
+    private static final int FILE_VERSION = 1;
+    static final long MAXIMUM_FILE_SIZE = Integer.MAX_VALUE;
+
+    private final Class<?> sequenceType;
+    private final int sequenceLength;
+    private final int alphabetSize;
+    private final int[] firstRows;
+    private final IntBuffer suffixArray;
+    private final IntBuffer sampledOccurrences;
+    private final ByteBuffer burrowsWheelerTransform;
+
+    /**
+     * Builds the index about the given {@link BiologicalSequence}.
+     *
+     * @param sequence The sequence to index.
+     * @param <TYPE> The type of the sequence.
+     * @return The {@link SequenceIndex} about the sequence.
+     * @throws IllegalArgumentException If sequence is null.
+     */
+    public static <TYPE extends BiologicalSequence> SequenceIndex<TYPE> build(final TYPE sequence) {
+        checkNotNullArgument("Sequence", sequence);
+        int alphabetSize = sequence.getElementArray().length;
+        int textLength = sequence.getSequenceLength() + 1;
+        IntUnaryOperator elementCodes = sequence.createElementCodeProvider();
+        int[] text = new int[textLength];
+        for (int i = 0; i < textLength - 1; i++) {
+            text[i] = elementCodes.applyAsInt(i) + 1;
+        }
+
+        int[] suffixArray = createSuffixArray(text, alphabetSize + 1);
+        byte[] burrowsWheelerTransform = new byte[textLength];
+        for (int row = 0; row < textLength; row++) {
+            burrowsWheelerTransform[row] = (byte) text[suffixArray[row] == 0 ? textLength - 1 : suffixArray[row] - 1];
+        }
+        return new SequenceIndex<>(sequence.getClass(), textLength - 1, alphabetSize,
+                createFirstRows(text, alphabetSize + 1), IntBuffer.wrap(suffixArray),
+                IntBuffer.wrap(createSampledOccurrences(burrowsWheelerTransform, alphabetSize + 1)),
+                ByteBuffer.wrap(burrowsWheelerTransform));
+    }
+
+    /**
+     * Sorts the cyclic rotations of the text with prefix doubling. The last element of the text is the unique
+     * smallest sentinel, so the order of the rotations equals the order of the suffixes.
+     */
+    private static int[] createSuffixArray(final int[] text, final int symbolNumber) {
+        int length = text.length;
+        int[] suffixes = new int[length];
+        int[] classes = new int[length];
+        int[] counts = new int[Math.max(symbolNumber, length)];
+
+        for (int symbol : text) {
+            counts[symbol]++;
+        }
+        for (int i = 1; i < symbolNumber; i++) {
+            counts[i] += counts[i - 1];
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            suffixes[--counts[text[i]]] = i;
+        }
+        int classNumber = 1;
+        classes[suffixes[0]] = 0;
+        for (int i = 1; i < length; i++) {
+            if (text[suffixes[i]] != text[suffixes[i - 1]]) classNumber++;
+            classes[suffixes[i]] = classNumber - 1;
+        }
+
+        int[] shiftedSuffixes = new int[length];
+        int[] newClasses = new int[length];
+        for (int shift = 1; shift < length && classNumber < length; shift <<= 1) {
+            for (int i = 0; i < length; i++) {
+                shiftedSuffixes[i] = suffixes[i] - shift < 0 ? suffixes[i] - shift + length : suffixes[i] - shift;
+            }
+            Arrays.fill(counts, 0, classNumber, 0);
+            for (int suffix : shiftedSuffixes) {
+                counts[classes[suffix]]++;
+            }
+            for (int i = 1; i < classNumber; i++) {
+                counts[i] += counts[i - 1];
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                suffixes[--counts[classes[shiftedSuffixes[i]]]] = shiftedSuffixes[i];
+            }
+            classNumber = 1;
+            newClasses[suffixes[0]] = 0;
+            for (int i = 1; i < length; i++) {
+                int current = suffixes[i];
+                int previous = suffixes[i - 1];
+                if (classes[current] != classes[previous]
+                        || classes[(current + shift) % length] != classes[(previous + shift) % length]) {
+                    classNumber++;
+                }
+                newClasses[current] = classNumber - 1;
+            }
+            System.arraycopy(newClasses, 0, classes, 0, length);
+        }
+        return suffixes;
+    }
+
+    private static int[] createFirstRows(final int[] text, final int symbolNumber) {
+        int[] firstRows = new int[symbolNumber + 1];
+        for (int symbol : text) {
+            firstRows[symbol + 1]++;
+        }
+        for (int i = 1; i <= symbolNumber; i++) {
+            firstRows[i] += firstRows[i - 1];
+        }
+        return firstRows;
+    }
+
+    private static int[] createSampledOccurrences(final byte[] burrowsWheelerTransform, final int symbolNumber) {
+        int sampleNumber = burrowsWheelerTransform.length / OCCURRENCE_SAMPLE_RATE + 1;
+        int[] sampledOccurrences = new int[sampleNumber * symbolNumber];
+        int[] occurrences = new int[symbolNumber];
+        for (int row = 0; row <= burrowsWheelerTransform.length; row++) {
+            if (row % OCCURRENCE_SAMPLE_RATE == 0) {
+                System.arraycopy(occurrences, 0, sampledOccurrences, row / OCCURRENCE_SAMPLE_RATE * symbolNumber, symbolNumber);
+            }
+            if (row < burrowsWheelerTransform.length) {
+                occurrences[burrowsWheelerTransform[row]]++;
+            }
+        }
+        return sampledOccurrences;
+    }
+
+    /**
+     * Memory-maps a {@link SequenceIndex} from the given index file.
+     *
+     * @see SequenceIndex#write(Path)
+     * @param indexPath The path of the index file.
+     * @param sequenceType The type of the indexed sequence.
+     * @param <TYPE> The type of the indexed sequence.
+     * @return The memory-mapped {@link SequenceIndex}.
+     * @throws IllegalArgumentException If indexPath or sequenceType is null.
+     * @throws IllegalArgumentException If the file is not an index file or it indexes a different sequence type.
+     * @throws IllegalArgumentException If the file is truncated or corrupt.
+     * @throws UncheckedIOException If {@link IOException} occurs.
+     */
+    public static <TYPE extends BiologicalSequence> SequenceIndex<TYPE> load(final Path indexPath,
+                                                                             final Class<TYPE> sequenceType) {
+        checkNotNullArgument("Index path", indexPath);
+        checkNotNullArgument("Sequence type", sequenceType);
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            checkArgument(channel.size() <= MAXIMUM_FILE_SIZE, indexPath + " is larger than " + MAXIMUM_FILE_SIZE
+                    + " bytes, which can be mapped in one piece");
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            checkRemaining(buffer, 3L * Integer.BYTES, indexPath);
+            checkArgument(buffer.getInt() == FILE_MAGIC_NUMBER && buffer.getInt() == FILE_VERSION,
+                    indexPath + " is not a sequence index file");
+            int typeNameLength = buffer.getInt();
+            checkRemaining(buffer, typeNameLength, indexPath);
+            byte[] typeName = new byte[typeNameLength];
+            buffer.get(typeName);
+            checkArgument(sequenceType.getName().equals(new String(typeName, StandardCharsets.UTF_8)),
+                    indexPath + " does not index " + sequenceType.getName());
+            checkRemaining(buffer, 2L * Integer.BYTES, indexPath);
+            int sequenceLength = buffer.getInt();
+            int alphabetSize = buffer.getInt();
+            checkArgument(sequenceLength > 0 && alphabetSize > 0 && alphabetSize < Byte.MAX_VALUE,
+                    indexPath + " is corrupt");
+            int symbolNumber = alphabetSize + 1;
+            long sampledOccurrenceNumber = ((sequenceLength + 1L) / OCCURRENCE_SAMPLE_RATE + 1) * symbolNumber;
+            checkRemaining(buffer, (symbolNumber + 1L + sequenceLength + 1L + sampledOccurrenceNumber) * Integer.BYTES
+                    + sequenceLength + 1L, indexPath);
+            int[] firstRows = new int[symbolNumber + 1];
+            buffer.asIntBuffer().get(firstRows);
+            buffer.position(buffer.position() + firstRows.length * Integer.BYTES);
+            IntBuffer suffixArray = sliceIntBuffer(buffer, sequenceLength + 1);
+            IntBuffer sampledOccurrences = sliceIntBuffer(buffer, (int) sampledOccurrenceNumber);
+            ByteBuffer burrowsWheelerTransform = buffer.slice();
+            burrowsWheelerTransform.limit(sequenceLength + 1);
+            return new SequenceIndex<>(sequenceType, sequenceLength, alphabetSize, firstRows, suffixArray,
+                    sampledOccurrences, burrowsWheelerTransform);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void checkRemaining(final ByteBuffer buffer, final long byteNumber, final Path indexPath) {
+        checkArgument(byteNumber >= 0 && buffer.remaining() >= byteNumber, indexPath + " is truncated or corrupt");
+    }
+
+    private static IntBuffer sliceIntBuffer(final ByteBuffer buffer, final int intNumber) {
+        IntBuffer intBuffer = buffer.asIntBuffer();
+        intBuffer.limit(intNumber);
+        buffer.position(buffer.position() + intNumber * Integer.BYTES);
+        return intBuffer.slice();
+    }
+
+    private SequenceIndex(final Class<?> sequenceType, final int sequenceLength, final int alphabetSize,
+                          final int[] firstRows, final IntBuffer suffixArray, final IntBuffer sampledOccurrences,
+                          final ByteBuffer burrowsWheelerTransform) {
+        this.sequenceType = sequenceType;
+        this.sequenceLength = sequenceLength;
+        this.alphabetSize = alphabetSize;
+        this.firstRows = firstRows;
+        this.suffixArray = suffixArray;
+        this.sampledOccurrences = sampledOccurrences;
+        this.burrowsWheelerTransform = burrowsWheelerTransform;
+    }
+
+    /**
+     * Writes the index into the given file. The file can be memory-mapped with {@link SequenceIndex#load(Path, Class)}.
+     *
+     * @param indexPath The path of the index file.
+     * @throws IllegalArgumentException If indexPath is null.
+     * @throws IllegalArgumentException If the index file would be larger than 2 GB, which can not be memory-mapped in
+     * one piece. The file is not created in this case.
+     * @throws UncheckedIOException If {@link IOException} occurs.
+     */
+    public void write(final Path indexPath) {
+        checkNotNullArgument("Index path", indexPath);
+        byte[] typeName = sequenceType.getName().getBytes(StandardCharsets.UTF_8);
+        long fileSize = fileSize(typeName.length, sequenceLength, alphabetSize);
+        checkArgument(fileSize <= MAXIMUM_FILE_SIZE,
+                "Index file (%s bytes) should not be larger than %s bytes, which can be mapped in one piece", fileSize,
+                MAXIMUM_FILE_SIZE);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexPath)))) {
+            output.writeInt(FILE_MAGIC_NUMBER);
+            output.writeInt(FILE_VERSION);
+            output.writeInt(typeName.length);
+            output.write(typeName);
+            output.writeInt(sequenceLength);
+            output.writeInt(alphabetSize);
+            for (int firstRow : firstRows) {
+                output.writeInt(firstRow);
+            }
+            for (int i = 0; i < suffixArray.limit(); i++) {
+                output.writeInt(suffixArray.get(i));
+            }
+            for (int i = 0; i < sampledOccurrences.limit(); i++) {
+                output.writeInt(sampledOccurrences.get(i));
+            }
+            for (int i = 0; i < burrowsWheelerTransform.limit(); i++) {
+                output.writeByte(burrowsWheelerTransform.get(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Calculates the size of the index file: the header, the first rows, the suffix array, the sampled occurrences
+     * and the Burrows-Wheeler transform.
+     *
+     * @param typeNameLength The number of the UTF-8 bytes of the sequence type name.
+     * @param sequenceLength The length of the indexed sequence.
+     * @param alphabetSize The number of the elements of the sequence type.
+     * @return The size of the index file in bytes.
+     */
+    static long fileSize(final int typeNameLength, final int sequenceLength, final int alphabetSize) {
+        int symbolNumber = alphabetSize + 1;
+        long sampledOccurrenceNumber = ((sequenceLength + 1L) / OCCURRENCE_SAMPLE_RATE + 1) * symbolNumber;
+        return 5L * Integer.BYTES + typeNameLength
+                + (symbolNumber + 1L + sequenceLength + 1L + sampledOccurrenceNumber) * Integer.BYTES
+                + sequenceLength + 1L;
+    }
+
+    /**
+     * Getter of the indexed sequence length.
+     *
+     * @return sequenceLength
+     */
+    public int getSequenceLength() {
+        return sequenceLength;
+    }
+
+    /**
+     * Count the occurrences of the given pattern inside the indexed sequence. The occurrences can overlap.
+     *
+     * @see BiologicalSequence#patternCount(BiologicalSequence)
+     * @param pattern The pattern to count.
+     * @return The number of the occurrences.
+     * @throws IllegalArgumentException If pattern is null.
+     * @throws IllegalArgumentException If pattern has different type than the indexed sequence.
+     * @throws IllegalArgumentException If pattern is longer than the indexed sequence.
+     */
+    public int count(final TYPE pattern) {
+        int[] rows = findRows(pattern);
+        return rows[1] - rows[0];
+    }
+
+    /**
+     * Return the beginning index of all occurrences of the given pattern inside the indexed sequence. The
+     * occurrences can overlap.
+     *
+     * @see BiologicalSequence#patternMatching(BiologicalSequence)
+     * @param pattern The pattern to find.
+     * @return The beginning indices of the occurrences in ascending order. Sorting the positions read from the suffix
+     * array costs O(occurrences * log(occurrences)) beside the O(pattern length) search.
+     * @throws IllegalArgumentException If pattern is null.
+     * @throws IllegalArgumentException If pattern has different type than the indexed sequence.
+     * @throws IllegalArgumentException If pattern is longer than the indexed sequence.
+     */
+    public List<Integer> locate(final TYPE pattern) {
+        int[] rows = findRows(pattern);
+        int[] positions = new int[rows[1] - rows[0]];
+        for (int row = rows[0]; row < rows[1]; row++) {
+            positions[row - rows[0]] = suffixArray.get(row);
+        }
+        Arrays.sort(positions);
+        return Arrays.stream(positions).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Backward search of the pattern, returns the first (inclusive) and last (exclusive) row of the matching
+     * suffixes.
+     */
+    private int[] findRows(final TYPE pattern) {
+        validatePattern(pattern);
+        IntUnaryOperator patternCodes = pattern.createElementCodeProvider();
+        int firstRow = 0;
+        int lastRow = sequenceLength + 1;
+        for (int i = pattern.getSequenceLength() - 1; i >= 0 && firstRow < lastRow; i--) {
+            int symbol = patternCodes.applyAsInt(i) + 1;
+            firstRow = firstRows[symbol] + occurrence(symbol, firstRow);
+            lastRow = firstRows[symbol] + occurrence(symbol, lastRow);
+        }
+        return new int[] { firstRow, Math.max(firstRow, lastRow) };
+    }
+
+    private void validatePattern(final TYPE pattern) {
+        checkNotNullArgument("Pattern", pattern);
+        checkArgument(pattern.getClass() == sequenceType,
+                "Pattern's (" + pattern.getClass() + ") type is differ than " + sequenceType);
+        checkSmallerOrEqualNumberTo("Pattern length", pattern.getSequenceLength(), "sequence length", sequenceLength);
+    }
+
+    /**
+     * Counts the symbol in the Burrows-Wheeler transform before the given row.
+     */
+    private int occurrence(final int symbol, final int row) {
+        int sample = row / OCCURRENCE_SAMPLE_RATE;
+        int occurrence = sampledOccurrences.get(sample * (alphabetSize + 1) + symbol);
+        for (int i = sample * OCCURRENCE_SAMPLE_RATE; i < row; i++) {
+            if (burrowsWheelerTransform.get(i) == symbol) {
+                occurrence++;
+            }
+        }
+        return occurrence;
+    }
+}
@@ -0,0 +1,298 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.utils.ArgumentValidator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkEqualNumberTo;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNegativeNumber;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmallerNumberTo;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmallerOrEqualNumberTo;
+
+/**
+ * A part of a {@link BiologicalSequence} which shares the storage of the parent sequence by an offset and a length.
+ * Creating a view copies nothing, the elements are read from the parent:
+ * <ul>
+ *     <li>A packed parent is compared 32 elements at once, see
+ *     {@link hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence#hammingDistance(int,
+ *     hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence, int, int)}.</li>
+ *     <li>A {@link String} parent is read by its element codes.</li>
+ * </ul>
+ * The hash code of a view equals the hash code of the {@link BiologicalSequence} with the same elements, but a view is
+ * never equal to a sequence: the equality with a full sequence is only available through
+ * {@link #contentEquals(BiologicalSequence)}. Two views are equal if their parents have the same type and their
+ * elements are the same. A new {@link BiologicalSequence} is created only by {@link #materialize()}.
+ * <p>
+ * A {@link SequenceView} is immutable, as its parent.
+ *
+ * @param <TYPE> The type of the parent {@link BiologicalSequence}.
+ * @param <ELEMENT> The element type of the parent {@link BiologicalSequence}.
+ * @author Attila Radi
+ */
+public final class SequenceView<TYPE extends BiologicalSequence, ELEMENT extends SequenceElement> {
+    private final BiologicalSequence<TYPE, ELEMENT> parent;
+    private final int offset;
+    private final int length;
+    private int hashCode = 0;
+
+    SequenceView(final BiologicalSequence<TYPE, ELEMENT> parent, final int offset, final int length) {
+        this.parent = parent;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Getter of the length.
+     *
+     * @return length
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Getter of the offset inside the parent sequence.
+     *
+     * @return offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get the ELEMENT from the target index of the view.
+     *
+     * @param index The index which should smaller than length.
+     * @return The ELEMENT at the target index.
+     * @throws IllegalArgumentException If index is smaller than 0.
+     * @throws IllegalArgumentException If index is greater or equal than length.
+     */
+    public ELEMENT getElement(final int index) {
+        checkNotNegativeNumber("Index", index);
+        checkSmallerNumberTo("Index", index, "length", length);
+        return parent.getElement(offset + index);
+    }
+
+    /**
+     * Creates a view about a part of this view. The start position is inclusive, the end position is exclusive.
+     *
+     * @param startPosition The beginning element position in the view inclusive.
+     * @param endPosition The end element position in the view exclusive.
+     * @return A new {@link SequenceView} over the same parent.
+     * @throws IllegalArgumentException If startPosition is negative number.
+     * @throws IllegalArgumentException If endPosition is bigger than length.
+     * @throws IllegalArgumentException If startPosition is greater or equal than endPosition.
+     */
+    public SequenceView<TYPE, ELEMENT> view(final int startPosition, final int endPosition) {
+        checkNotNegativeNumber("Start position", startPosition);
+        checkSmallerOrEqualNumberTo("End position", endPosition, "length", length);
+        checkSmallerNumberTo("Start position", startPosition, "end position", endPosition);
+        return new SequenceView<>(parent, offset + startPosition, endPosition - startPosition);
+    }
+
+    /**
+     * Creates a new {@link BiologicalSequence} from the elements of the view.
+     *
+     * @return The {@link BiologicalSequence} part of the parent.
+     */
+    public TYPE materialize() {
+        return parent.cut(offset, offset + length);
+    }
+
+    /**
+     * Get the letters of the view.
+     *
+     * @return The sequence of the view.
+     */
+    public String getSequence() {
+        if (parent.isPacked()) {
+            return parent.getPackedSequence().subSequence(offset, offset + length)
+                    .decode(BiologicalSequence.createPackingAlphabet(parent.getElementArray()));
+        }
+        return parent.getSequence().substring(offset, offset + length);
+    }
+
+    /**
+     * Counts the different elements at the same positions of the view and the {@link BiologicalSequence}.
+     *
+     * @param otherBiologicalSequence The {@link BiologicalSequence} compare with.
+     * @return The number of the different elements at the same positions.
+     * @throws IllegalArgumentException If otherBiologicalSequence is null.
+     * @throws IllegalArgumentException If otherBiologicalSequence type differs from the parent type.
+     * @throws IllegalArgumentException If otherBiologicalSequence has different length.
+     */
+    @SuppressWarnings("unchecked")
+    public int getMismatchNumber(final TYPE otherBiologicalSequence) {
+        BiologicalSequence<TYPE, ELEMENT> other = validateType(otherBiologicalSequence);
+        checkEqualNumberTo("Other biological sequence length", other.sequenceLength, "view length", length);
+        return countMismatches(other, 0);
+    }
+
+    /**
+     * Counts the different elements at the same positions of the two views.
+     *
+     * @param otherView The {@link SequenceView} compare with.
+     * @return The number of the different elements at the same positions.
+     * @throws IllegalArgumentException If otherView is null.
+     * @throws IllegalArgumentException If the parent type of otherView differs from the parent type.
+     * @throws IllegalArgumentException If otherView has different length.
+     */
+    public int getMismatchNumber(final SequenceView<TYPE, ELEMENT> otherView) {
+        ArgumentValidator.checkNotNullArgument("Other view", otherView);
+        validateType(otherView.parent);
+        checkEqualNumberTo("Other view length", otherView.length, "view length", length);
+        return countMismatches(otherView.parent, otherView.offset);
+    }
+
+    private int countMismatches(final BiologicalSequence<TYPE, ELEMENT> otherParent, final int otherOffset) {
+        if (parent.isPacked() && otherParent.isPacked()) {
+            return parent.getPackedSequence().hammingDistance(offset, otherParent.getPackedSequence(), otherOffset,
+                    length);
+        }
+        IntUnaryOperator codes = parent.createElementCodeProvider();
+        IntUnaryOperator otherCodes = otherParent.createElementCodeProvider();
+        int mismatchNumber = 0;
+        for (int i = 0; i < length; i++) {
+            if (codes.applyAsInt(offset + i) != otherCodes.applyAsInt(otherOffset + i)) {
+                mismatchNumber++;
+            }
+        }
+        return mismatchNumber;
+    }
+
+    @SuppressWarnings("unchecked")
+    private BiologicalSequence<TYPE, ELEMENT> validateType(final BiologicalSequence otherBiologicalSequence) {
+        return ArgumentValidator.checkSameTypeTo("Other biological sequence", otherBiologicalSequence,
+                parent.getBiologicalSequenceTypeName(), parent);
+    }
+
+    /**
+     * Count the occurrences of the given pattern inside the view. The occurrences can overlap.
+     *
+     * @param pattern The pattern {@link BiologicalSequence}.
+     * @return The number of found patterns.
+     * @throws IllegalArgumentException If pattern is null.
+     * @throws IllegalArgumentException If pattern is longer than the view.
+     */
+    public int patternCount(final TYPE pattern) {
+        return patternCountWithMismatches(pattern, 0);
+    }
+
+    /**
+     * Count the occurrences of the given pattern inside the view with maximum of <i>d</i> mismatch. The occurrences
+     * can overlap.
+     *
+     * @param pattern The pattern {@link BiologicalSequence}.
+     * @param d The maximum permitted mismatch.
+     * @return The number of found patterns.
+     * @throws IllegalArgumentException If pattern is null.
+     * @throws IllegalArgumentException If pattern is longer than the view.
+     * @throws IllegalArgumentException If <i>d</i> is negative number.
+     */
+    public int patternCountWithMismatches(final TYPE pattern, final int d) {
+        checkNotNegativeNumber("Maximum different value (d)", d);
+        return parent.createPatternMatcher(validatePattern(pattern), d).countMatches(length, createElementCodeProvider());
+    }
+
+    /**
+     * Return the beginning index of all occurrences of the given pattern inside the view. The indices are relative to
+     * the view. The occurrences can overlap.
+     *
+     * @param pattern The pattern {@link BiologicalSequence}.
+     * @return The beginning indices of found patterns.
+     * @throws IllegalArgumentException If pattern is null.
+     * @throws IllegalArgumentException If pattern is longer than the view.
+     */
+    public List<Integer> patternMatching(final TYPE pattern) {
+        return patternMatchingWithMismatches(pattern, 0);
+    }
+
+    /**
+     * Return the beginning index of all occurrences of the given pattern inside the view with maximum of <i>d</i>
+     * mismatch. The indices are relative to the view. The occurrences can overlap.
+     *
+     * @param pattern The pattern {@link BiologicalSequence}.
+     * @param d The maximum permitted mismatch.
+     * @return The beginning indices of found patterns.
+     * @throws IllegalArgumentException If pattern is null.
+     * @throws IllegalArgumentException If pattern is longer than the view.
+     * @throws IllegalArgumentException If <i>d</i> is negative number.
+     */
+    public List<Integer> patternMatchingWithMismatches(final TYPE pattern, final int d) {
+        checkNotNegativeNumber("Maximum different value (d)", d);
+        int[] matches = parent.createPatternMatcher(validatePattern(pattern), d)
+                .findMatches(length, createElementCodeProvider());
+        return Arrays.stream(matches).boxed().collect(Collectors.toList());
+    }
+
+    private TYPE validatePattern(final TYPE pattern) {
+        validateType(pattern);
+        checkSmallerOrEqualNumberTo("Pattern length", pattern.sequenceLength, "view length", length);
+        return pattern;
+    }
+
+    private IntUnaryOperator createElementCodeProvider() {
+        IntUnaryOperator parentCodes = parent.createElementCodeProvider();
+        return index -> parentCodes.applyAsInt(offset + index);
+    }
+
+    /**
+     * Returns true if the {@link BiologicalSequence} has the same type as the parent and the same elements as the view.
+     *
+     * @param biologicalSequence The {@link BiologicalSequence} compare with.
+     * @return True if the elements are the same.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean contentEquals(final BiologicalSequence biologicalSequence) {
+        return biologicalSequence != null && biologicalSequence.getClass().equals(parent.getClass())
+                && biologicalSequence.sequenceLength == length
+                && countMismatches(biologicalSequence, 0) == 0;
+    }
+
+    /**
+     * Returns true if the other view has the same parent type and the same elements as this view.
+     *
+     * @param otherView The {@link SequenceView} compare with.
+     * @return True if the elements are the same.
+     */
+    public boolean contentEquals(final SequenceView<?, ?> otherView) {
+        return equals(otherView);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (!(obj instanceof SequenceView)) return false;
+        SequenceView rightHand = (SequenceView) obj;
+        return rightHand.parent.getClass().equals(parent.getClass())
+                && rightHand.length == length
+                && countMismatches(rightHand.parent, rightHand.offset) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            if (parent.isPacked()) {
+                hash = parent.getPackedSequence().decodedHashCode(offset, offset + length,
+                        BiologicalSequence.createPackingAlphabet(parent.getElementArray()));
+            } else {
+                String sequence = parent.getSequence();
+                for (int i = offset; i < offset + length; i++) {
+                    hash = 31 * hash + sequence.charAt(i);
+                }
+            }
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return parent.getBiologicalSequenceTypeName() + " view = {" + getSequence() + "}";
+    }
+}
@@ -1,67 +1,60 @@
 package hu.bioinformatics.biolaboratory.sequence.dna;
 
-import com.google.common.util.concurrent.UncheckedExecutionException;
 import hu.bioinformatics.biolaboratory.sequence.BiologicalSequence;
+import hu.bioinformatics.biolaboratory.sequence.SequenceEncoder;
 import hu.bioinformatics.biolaboratory.sequence.rna.Rna;
 import hu.bioinformatics.biolaboratory.sequence.rna.RnaNucleotide;
 import hu.bioinformatics.biolaboratory.utils.ArgumentValidator;
 import hu.bioinformatics.biolaboratory.utils.datastructures.OccurrenceMap;
-import org.apache.commons.lang3.ArrayUtils;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.regex.Pattern;
-import java.util.stream.IntStream;
-
-import static com.google.common.base.Preconditions.checkArgument;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkPositiveNumber;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmallerOrEqualNumberTo;
 
 /**
- * Represents a single DNA about the genome sequence in 5' -> 3' order.
+ * Represents a single DNA about the genome sequence in 5' -> 3' order. The nucleotides are stored in a
+ * {@link PackedSequence}, the complement of a nucleotide code is 3 - code.
  *
  * @author Attila Radi
  *
  */
 public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
 
-    private static final Pattern SEQUENCE_VALIDATOR_PATTERN = Pattern.compile(
-                                                                "["
-                                                                + DnaNucleotide.ADENINE.getLetter()
-                                                                + DnaNucleotide.CYTOSINE.getLetter()
-                                                                + DnaNucleotide.GUANINE.getLetter()
-                                                                + DnaNucleotide.THYMINE.getLetter()
-                                                                + "]+");
+    private static final SequenceEncoder NUCLEOTIDE_ENCODER = SequenceEncoder.build(DnaNucleotide.values(),
+            "DNA should contains only the letters of nucleotides");
 
-    private Dna reverseThread = null;
-    private Dna reverseComplementThread = null;
-    private List<Integer> skew = null;
-    private Rna transcriptRna = null;
-    private Double guanineCytosineRatio = null;
+    private volatile Dna reverseThread = null;
+    private volatile Dna reverseComplementThread = null;
+    private volatile SkewProfile skewProfile = null;
+    private volatile int[] minimumSkewPositions = null;
+    private volatile Rna transcriptRna = null;
+    private volatile Double guanineCytosineRatio = null;
 
     /**
-     * Build a {@link Dna} from the given sequence. The sequence can be only the letters of the
-     * nucleotides, case insensitive, and can contains blank characters at the beginning and the
-     * end of the input.
+     * Build a {@link Dna} from the given sequence. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
      *
      * @param sequence The input nucleotide sequence.
      * @return A new {@link Dna} object which contains the nucleotide sequence in uppercase.
      * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link DnaNucleotide} letters.
      */
-    public static Dna build(final String sequence) {
-        return new Dna(Dna.validateSequence(sequence));
+    public static Dna build(final CharSequence sequence) {
+        return new Dna("", NUCLEOTIDE_ENCODER.encode(sequence));
     }
 
     /**
-     * Build a {@link Dna} from the given sequence. The sequence can be only the letters of the
-     * nucleotides, case insensitive, and can contains blank characters at the beginning and the
-     * end of the input.
+     * Build a {@link Dna} from the given sequence. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
      *
      * @param name The name of the sequence.
      * @param sequence The input nucleotide sequence.
@@ -69,8 +62,88 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
      * @throws IllegalArgumentException If name is null.
      * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link DnaNucleotide} letters.
      */
-    public static Dna build(final String name, final String sequence) {
-        return new Dna(validateName(name), validateSequence(sequence));
+    public static Dna build(final String name, final CharSequence sequence) {
+        return new Dna(validateName(name), NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build a {@link Dna} from the given letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Dna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link DnaNucleotide} letters.
+     */
+    public static Dna build(final char[] sequence) {
+        return new Dna("", NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build a {@link Dna} from the given letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param name The name of the sequence.
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Dna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If name is null.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link DnaNucleotide} letters.
+     */
+    public static Dna build(final String name, final char[] sequence) {
+        return new Dna(validateName(name), NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build a {@link Dna} from the given ASCII letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Dna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link DnaNucleotide} letters.
+     */
+    public static Dna build(final byte[] sequence) {
+        return new Dna("", NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build a {@link Dna} from the given ASCII letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param name The name of the sequence.
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Dna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If name is null.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link DnaNucleotide} letters.
+     */
+    public static Dna build(final String name, final byte[] sequence) {
+        return new Dna(validateName(name), NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build a {@link Dna} from the given ASCII letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     * The letters are read from the position to the limit of the buffer, the position is not changed.
+     *
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Dna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link DnaNucleotide} letters.
+     */
+    public static Dna build(final ByteBuffer sequence) {
+        return new Dna("", NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build a {@link Dna} from the given ASCII letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     * The letters are read from the position to the limit of the buffer, the position is not changed.
+     *
+     * @param name The name of the sequence.
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Dna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If name is null.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link DnaNucleotide} letters.
+     */
+    public static Dna build(final String name, final ByteBuffer sequence) {
+        return new Dna(validateName(name), NUCLEOTIDE_ENCODER.encode(sequence));
     }
 
     /**
@@ -121,49 +194,108 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
         return new Dna(validateName(name), ArgumentValidator.checkNotNullCollection(nucleotideList));
     }
 
-    private static String validateSequence(final String sequence) {
-        String uppercaseSequence = formatSequence(sequence);
-        checkArgument(SEQUENCE_VALIDATOR_PATTERN.matcher(uppercaseSequence).matches(), "DNA should contains only the letters of nucleotides");
-        return uppercaseSequence;
+    /**
+     * Build a {@link Dna} from the nucleotide codes.
+     *
+     * @param packedSequence The codes of the nucleotides.
+     * @return A new {@link Dna}.
+     */
+    static Dna build(final PackedSequence packedSequence) {
+        return new Dna(packedSequence);
     }
 
     /**
      * Generates all <i>length</i> length {@link Dna}-s.
      *
+     * @see Dna#generatePatternDnaStream(int)
      * @param length The length of the return {@link Dna}-s.
      * @return All <i>length</i> length {@link Dna}.
      * @throws IllegalArgumentException If length is smaller than 1.
+     * @throws IllegalArgumentException If length is bigger than 31.
      */
     public static Set<Dna> generatePatternDnas(final int length) {
+        return generatePatternDnaStream(length).collect(Collectors.toSet());
+    }
+
+    /**
+     * Generates all <i>length</i> length {@link Dna}-s lazily in the order of their codes.
+     *
+     * @see Dna#generatePatternCodes(int)
+     * @param length The length of the generated {@link Dna}-s.
+     * @return The stream of all <i>length</i> length {@link Dna}.
+     * @throws IllegalArgumentException If length is smaller than 1.
+     * @throws IllegalArgumentException If length is bigger than 31.
+     */
+    public static Stream<Dna> generatePatternDnaStream(final int length) {
+        return generatePatternCodes(length).mapToObj(code -> new Dna(PackedSequence.packCode(code, length)));
+    }
+
+    /**
+     * Generates the codes of all <i>length</i> length {@link Dna}-s. The code of a {@link Dna} contains 2 bits per
+     * nucleotide, the first nucleotide is the most significant. The stream is a range, so a parallel stream divides
+     * it evenly.
+     *
+     * @see PackedSequence#packCode(long, int)
+     * @param length The length of the generated codes.
+     * @return The codes from 0 to 4<sup><i>length</i></sup> - 1.
+     * @throws IllegalArgumentException If length is smaller than 1.
+     * @throws IllegalArgumentException If length is bigger than 31.
+     */
+    public static LongStream generatePatternCodes(final int length) {
         checkPositiveNumber("Findable subsequence length (k)", length);
+        checkSmallerOrEqualNumberTo("Findable subsequence length (k)", length, PackedSequence.CODES_PER_WORD - 1);
 
-        return Dna.build(IntStream.range(0, length)
-                .mapToObj(index -> DnaNucleotide.values()[0])
-                .toArray(DnaNucleotide[]::new)).generateMismatches(Integer.MAX_VALUE);
+        return LongStream.range(0, 1L << (length * PackedSequence.BITS_PER_CODE));
     }
 
     private Dna(final String sequence) {
-        super(sequence);
+        this("", sequence);
     }
 
     private Dna(final String name, final String sequence) {
-        super(name, sequence);
+        this(name, NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    private Dna(final String name, final SequenceEncoder.EncodedSequence encodedSequence) {
+        super(name, encodedSequence);
     }
 
     private Dna(final DnaNucleotide... dnaNucleotides) {
-        super(dnaNucleotides);
+        this("", dnaNucleotides);
     }
 
     private Dna(final String name, final DnaNucleotide... dnaNucleotides) {
-        super(name, dnaNucleotides);
+        this(name, Arrays.asList(dnaNucleotides));
     }
 
     private Dna(final List<DnaNucleotide> dnaNucleotideList) {
-        super(dnaNucleotideList);
+        this("", dnaNucleotideList);
     }
 
     private Dna(final String name, final List<DnaNucleotide> dnaNucleotideList) {
-        super(name, dnaNucleotideList);
+        super(name, PackedSequence.pack(dnaNucleotideList.size(), index -> dnaNucleotideList.get(index).ordinal()));
+    }
+
+    private Dna(final PackedSequence packedSequence) {
+        super(packedSequence);
+    }
+
+    private Dna(final String name, final PackedSequence packedSequence) {
+        super(name, packedSequence);
+    }
+
+    /**
+     * Returns the nucleotide codes of the {@link Dna} in a byte array.
+     *
+     * @return The codes of the nucleotides, one code per byte.
+     */
+    byte[] getNucleotideCodeArray() {
+        PackedSequence packedSequence = getPackedSequence();
+        byte[] codes = new byte[packedSequence.length()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (byte) packedSequence.get(i);
+        }
+        return codes;
     }
 
     @Override
@@ -171,6 +303,11 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
         return new Dna(name, sequence);
     }
 
+    @Override
+    protected Dna construct(final String name, final PackedSequence packedSequence) {
+        return new Dna(name, packedSequence);
+    }
+
     @Override
     protected DnaNucleotide[] createEmptyElementArray() {
         return new DnaNucleotide[sequenceLength];
@@ -212,6 +349,9 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
      * @throws IllegalArgumentException If <i>t</i> is smaller than 1.
      */
     public Set<Dna> findFrequentMismatchPatterns(final int k, final int d, final int t) {
+        if (isCountableByCodes(k)) {
+            return findFrequentMismatchKmers(k, d, t, true);
+        }
         return getPatternOccurrenceMap(k, d).filterGreaterOrEqualsOccurrences(t);
     }
 
@@ -228,23 +368,18 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
      * @throws IllegalArgumentException If <i>d</i> is smaller than 1.
      */
     public Set<Dna> findMostFrequentMismatchPatterns(final int k, final int d) {
+        if (isCountableByCodes(k)) {
+            return findMostFrequentMismatchKmers(k, d, true);
+        }
         return getPatternOccurrenceMap(k, d).filterMostFrequentOccurrences();
     }
 
+    /**
+     * Counts the straight and reverse complement mismatches of the patterns which are too long for the code based
+     * counting. The counting of <i>k</i> at most 32 is strand-merged, see {@link BiologicalSequence#isCountableByCodes(int)}.
+     */
     private OccurrenceMap<Dna> getPatternOccurrenceMap(final int k, final int d) {
-        ExecutorService executor = Executors.newFixedThreadPool(2);
-        Future<OccurrenceMap<Dna>> straightOccurrenceMap = executor.submit(() -> getMismatchOccurrenceMap(k, d));
-        Future<OccurrenceMap<Dna>> reverseOccurrenceMap = executor.submit(() -> getReverseComplementMismatchOccurrenceMap(k, d));
-        executor.shutdown();
-        try {
-            return straightOccurrenceMap.get().merge(reverseOccurrenceMap.get());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        } catch (ExecutionException e) {
-            if (e.getCause() instanceof IllegalArgumentException)
-                throw (IllegalArgumentException) e.getCause();
-            throw new UncheckedExecutionException(e);
-        }
+        return getMismatchOccurrenceMap(k, d).merge(getReverseComplementMismatchOccurrenceMap(k, d));
     }
 
     /**
@@ -294,6 +429,7 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
 
         OccurrenceMap<Dna> occurrenceMap = OccurrenceMap.build();
         int lengthDiff = sequenceLength - k;
+        String sequence = getSequence();
 
         Set<Dna> mismatchSet = new Dna(sequence.substring(0, k))
                 .getReverseComplementThread()
@@ -305,9 +441,10 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
 
             for (Dna mismatchPattern : mismatchSet) {
                 occurrenceMap.increase(mismatchPattern);
+                String mismatchSequence = mismatchPattern.getSequence();
                 Dna nextMismatchPattern = new Dna(DnaNucleotide.findDnaNucleotideComplement(sequence.charAt(i + k)).getLetter()
-                        + mismatchPattern.sequence.substring(0, k - 1));
-                if (DnaNucleotide.findDnaNucleotideComplement(sequence.charAt(i)).getLetter() == mismatchPattern.sequence.charAt(k - 1))
+                        + mismatchSequence.substring(0, k - 1));
+                if (DnaNucleotide.findDnaNucleotideComplement(sequence.charAt(i)).getLetter() == mismatchSequence.charAt(k - 1))
                     nextMismatchesSet.add(nextMismatchPattern);
                 else
                     generatedMismatchesSet.add(nextMismatchPattern);
@@ -319,7 +456,7 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
             }
 
             for (Dna generatedMismatchPattern : generatedMismatchesSet) {
-                char[] charArray = generatedMismatchPattern.sequence.toCharArray();
+                char[] charArray = generatedMismatchPattern.getSequence().toCharArray();
                 DnaNucleotide[] nucleotideArray = DnaNucleotide.values();
                 for (DnaNucleotide nucleotideLetter : nucleotideArray) {
                     charArray[0] = nucleotideLetter.getLetter();
@@ -341,11 +478,13 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
         return getOrConstructComplementThread().copy();
     }
 
-    private synchronized Dna getOrConstructComplementThread() {
-        if (reverseThread == null) {
-            reverseThread = new Dna(new String(mapSequenceComplement()));
+    private Dna getOrConstructComplementThread() {
+        Dna complementThread = reverseThread;
+        if (complementThread == null) {
+            complementThread = new Dna(getPackedSequence().complement());
+            reverseThread = complementThread;
         }
-        return reverseThread;
+        return complementThread;
     }
 
     /**
@@ -357,21 +496,13 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
         return getOrConstructReverseComplementThread().copy();
     }
 
-    private synchronized Dna getOrConstructReverseComplementThread() {
-        if (reverseComplementThread == null) {
-            char[] reverseComplementChars = mapSequenceComplement();
-            ArrayUtils.reverse(reverseComplementChars);
-            reverseComplementThread = new Dna(new String(reverseComplementChars));
-        }
-        return reverseComplementThread;
-    }
-
-    private char[] mapSequenceComplement() {
-        char[] reverseChars = new char[sequenceLength];
-        for (int i = 0; i < sequenceLength; i++) {
-            reverseChars[i] = DnaNucleotide.findDnaNucleotideComplement(sequence.charAt(i)).getLetter();
+    private Dna getOrConstructReverseComplementThread() {
+        Dna reverseComplement = reverseComplementThread;
+        if (reverseComplement == null) {
+            reverseComplement = new Dna(getPackedSequence().complement().reverse());
+            reverseComplementThread = reverseComplement;
         }
-        return reverseChars;
+        return reverseComplement;
     }
 
     /**
@@ -399,11 +530,28 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
      *
      * @return The guanine-cytosine ratio.
      */
-    public synchronized double getGuanineCytosineRatio() {
-        if (guanineCytosineRatio == null) {
-            guanineCytosineRatio = getElementsRatio(DnaNucleotide.GUANINE, DnaNucleotide.CYTOSINE);
+    public double getGuanineCytosineRatio() {
+        Double ratio = guanineCytosineRatio;
+        if (ratio == null) {
+            ratio = getElementsRatio(DnaNucleotide.GUANINE, DnaNucleotide.CYTOSINE);
+            guanineCytosineRatio = ratio;
+        }
+        return ratio;
+    }
+
+    /**
+     * Returns the cumulative guanine - cytosine skew of the DNA. The profile is created without lock, concurrent
+     * first calls may build equal profiles, and one of them is kept.
+     *
+     * @return The {@link SkewProfile} of the DNA.
+     */
+    public SkewProfile getSkewProfile() {
+        SkewProfile profile = skewProfile;
+        if (profile == null) {
+            profile = SkewProfile.build(getPackedSequence());
+            skewProfile = profile;
         }
-        return guanineCytosineRatio;
+        return profile;
     }
 
     /**
@@ -414,45 +562,30 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
      * value. Where the skew is minimal, there is a high chance the <i>ori</i> point is
      * nearby.
      *
+     * @see Dna#getSkewProfile()
      * @return The positions which skew are minimal.
      */
-    public synchronized List<Integer> minimumSkew() {
-        if (skew == null) {
-            skew = createSkew();
-        }
-        return new ArrayList<>(skew);
-    }
-
-    private List<Integer> createSkew() {
-        int guanineCytosineRatio = 0;
-        int minimumGuanineCytosineRatio = guanineCytosineRatio;
-        List<Integer> minimumRatioGuanineCytosineIndexList = new LinkedList<>();
-        for (int i = 0; i < sequenceLength; i++) {
-            switch (DnaNucleotide.findDnaNucleotide(sequence.charAt(i))) {
-                case GUANINE:
-                    guanineCytosineRatio++;
-                    break;
-                case CYTOSINE:
-                    guanineCytosineRatio--;
-                    if (guanineCytosineRatio < minimumGuanineCytosineRatio) {
-                        minimumGuanineCytosineRatio = guanineCytosineRatio;
-                        minimumRatioGuanineCytosineIndexList.clear();
-                    }
-                    if (guanineCytosineRatio == minimumGuanineCytosineRatio) {
-                        minimumRatioGuanineCytosineIndexList.add(i);
-                    }
-                    break;
-                default:
-                    if (guanineCytosineRatio == minimumGuanineCytosineRatio) {
-                        minimumRatioGuanineCytosineIndexList.add(i);
-                        break;
-                    }
+    public List<Integer> minimumSkew() {
+        return Arrays.stream(getMinimumSkewPositions()).boxed().collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Converts the minimum skew prefix lengths to the positions of their last nucleotides. If only the empty prefix
+     * has the minimum skew, the position is 0.
+     */
+    private int[] getMinimumSkewPositions() {
+        int[] positions = minimumSkewPositions;
+        if (positions == null) {
+            positions = Arrays.stream(getSkewProfile().minimumPositions())
+                    .filter(prefixLength -> prefixLength > 0)
+                    .map(prefixLength -> prefixLength - 1)
+                    .toArray();
+            if (positions.length == 0) {
+                positions = new int[] {0};
             }
+            minimumSkewPositions = positions;
         }
-        if (minimumRatioGuanineCytosineIndexList.isEmpty()) {
-            minimumRatioGuanineCytosineIndexList.add(0);
-        }
-        return minimumRatioGuanineCytosineIndexList;
+        return positions;
     }
 
     /**
@@ -481,10 +614,12 @@ public class Dna extends BiologicalSequence<Dna, DnaNucleotide> {
      * @return The {@link Rna} representation of the straight thread.
      */
     public Rna transcriptStraight() {
-        if (transcriptRna == null) {
-            transcriptRna = Rna.build(sequence.replaceAll(Character.toString(DnaNucleotide.THYMINE.getLetter()),
+        Rna rna = transcriptRna;
+        if (rna == null) {
+            rna = Rna.build(getSequence().replaceAll(Character.toString(DnaNucleotide.THYMINE.getLetter()),
                     Character.toString(RnaNucleotide.URACIL.getLetter())));
+            transcriptRna = rna;
         }
-        return transcriptRna;
+        return rna;
     }
 }
@@ -1,15 +1,16 @@
 package hu.bioinformatics.biolaboratory.sequence.dna;
 
+import hu.bioinformatics.biolaboratory.utils.ComputeContext;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkEqualNumberTo;
@@ -18,6 +19,7 @@ import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotEm
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotEmptyVarargs;
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNegativeNumber;
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullCollection;
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkPositiveNumber;
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmallerOrEqualNumberTo;
 
@@ -33,6 +35,7 @@ public class DnaArray {
     private final int sampleNumber;
     private final int samplesLength;
     private final Motifs motifs;
+    private volatile ProfileScanner profileScanner = null;
 
     /**
      * Build a {@link DnaArray} from the given {@link Dna}s.
@@ -212,96 +215,132 @@ public class DnaArray {
      * Exhaustive search about which <i>k</i> long patterns with <i>d</i> mismatches fit the best in all members of the
      * {@link DnaArray}.
      * <p>
-     * <b>Attention!</b> This is a very slow algorithm. Please use it only for small problems.
+     * The <i>d</i>-neighborhood of every sample is stored in a bitset and the bitsets are intersected, see
+     * {@link MismatchMotifFinder}.
+     * <p>
+     * <b>Attention!</b> The running time grows exponentially with <i>d</i>. Please use it only for small problems.
      *
      * @param k Gives the size of the findable pattern.
      * @param d Gives the maximum mismatch number.
      * @return The most frequent patterns in the samples.
      * @throws IllegalArgumentException If <i>k</i> is smaller than 1.
      * @throws IllegalArgumentException If <i>k</i> is bigger than samples length.
+     * @throws IllegalArgumentException If <i>k</i> is bigger than 32.
      * @throws IllegalArgumentException If <i>d</i> is negative number.
      */
     public Set<Dna> findMostFrequentMotifsExhausting(final int k, final int d) {
         checkPositiveNumber("Findable subsequence length (k)", k);
         checkSmallerOrEqualNumberTo("Findable subsequence length (k)", k, "samples length", samplesLength);
+        checkSmallerOrEqualNumberTo("Findable subsequence length (k)", k, PackedSequence.CODES_PER_WORD);
         checkNotNegativeNumber("Maximum mismatch number (d)", d);
 
-        Set<Set<Dna>> mostFrequentSampleSet = sampleList.stream()
-                                                        .parallel()
-                                                        .map(dna -> dna.getMismatchSubSequences(k, d))
-                                                        .collect(Collectors.toSet());
-
-        Set<Dna> commonMotifSet = null;
-        for (Set<Dna> samples : mostFrequentSampleSet) {
-            if (commonMotifSet == null) commonMotifSet = samples;
-            else commonMotifSet.retainAll(samples);
-        }
-        return commonMotifSet;
+        return Arrays.stream(MismatchMotifFinder.findCommonMotifCodes(createSampleCodes(), k, d))
+                .mapToObj(code -> Dna.build(PackedSequence.packCode(code, k)))
+                .collect(Collectors.toSet());
     }
 
     /**
      * Find the most frequent <i>k</i> long patterns in the samples. The found patterns are the closest in the samples
-     * subsequence.
+     * subsequence. The patterns are searched with branch and bound over their nucleotide codes.
      *
+     * @see MedianStringFinder
      * @param k Gives the size of the findable pattern.
      * @return The most frequent patterns in the samples.
      * @throws IllegalArgumentException If <i>k</i> is smaller than 1.
      * @throws IllegalArgumentException If <i>k</i> is bigger than samples length.
+     * @throws IllegalArgumentException If <i>k</i> is bigger than 32.
      */
     public Set<Dna> findMostFrequentMotifsMedianString(final int k) {
         checkPositiveNumber("Findable subsequences length (k)", k);
         checkSmallerOrEqualNumberTo("Findable subsequences length (k)", k, "samples length", samplesLength);
+        checkSmallerOrEqualNumberTo("Findable subsequences length (k)", k, PackedSequence.CODES_PER_WORD);
 
-        Set<Dna> mismatchSet = Dna.generatePatternDnas(k);
-
-        int minimumArrayHammingDistance = Integer.MAX_VALUE;
-        Set<Dna> minimumPatternSet = new HashSet<>();
-        for (Dna mismatch : mismatchSet) {
-            int arrayHammingDistance = sampleList.stream()
-                    .parallel()
-                    .mapToInt(dna -> dna.findMinimumMismatchSubSequenceNumber(mismatch))
-                    .sum();
-            if (arrayHammingDistance < minimumArrayHammingDistance) {
-                minimumArrayHammingDistance = arrayHammingDistance;
-                minimumPatternSet.clear();
-                minimumPatternSet.add(mismatch);
-            } else if (arrayHammingDistance == minimumArrayHammingDistance) {
-                minimumPatternSet.add(mismatch);
-            }
-        }
-        return minimumPatternSet;
+        return Arrays.stream(MedianStringFinder.findMedianStringCodes(sampleList, k))
+                .mapToObj(code -> Dna.build(PackedSequence.packCode(code, k)))
+                .collect(Collectors.toSet());
     }
 
     /**
      * Given a {@link Dna}, which subsequences are examined against the {@link DnaArray} motifs. Return with the {@link Set}
      * of subsequences which are most likely (most probable) occur in the {@link DnaArray}.
      *
+     * @see ProfileScanner
      * @param dna The {@link Dna} which subsequences are examined against the {@link DnaArray}'s probability.
      * @return The most probable subsequences.
      * @throws IllegalArgumentException If dna sequence length is smaller than samples length.
      */
     public Set<Dna> profileMostProbableSubSequence(final Dna dna) {
+        validateProfileScanDna(dna);
+        return cutSubSequences(dna, getProfileScanner().findMostProbableStarts(dna.getNucleotideCodeArray()))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Finds the most probable subsequences of every {@link Dna} in parallel by the current {@link ComputeContext}. The
+     * profile of the {@link DnaArray} is calculated once and shared between the scans.
+     *
+     * @see DnaArray#profileMostProbableSubSequence(Dna)
+     * @param dnaList The {@link Dna}s which subsequences are examined against the {@link DnaArray}'s probability.
+     * @return The most probable subsequences of every {@link Dna} in the order of the {@link Dna}s.
+     * @throws IllegalArgumentException If the DNA list is null.
+     * @throws IllegalArgumentException If a dna sequence length is smaller than samples length.
+     */
+    public List<Set<Dna>> profileMostProbableSubSequence(final List<Dna> dnaList) {
+        checkNotNullCollection("DNA list", dnaList).forEach(this::validateProfileScanDna);
+        ProfileScanner profileScanner = getProfileScanner();
+        long work = ComputeContext.estimateWork(dnaList.stream().mapToLong(Dna::getSequenceLength).sum(),
+                profileScanner.getMotifLength());
+        return ComputeContext.current().map(dnaList.size(), work, index -> {
+            Dna dna = dnaList.get(index);
+            return cutSubSequences(dna, profileScanner.findMostProbableStarts(dna.getNucleotideCodeArray()))
+                    .collect(Collectors.toSet());
+        });
+    }
+
+    /**
+     * Finds the <i>n</i> most probable subsequences of the {@link Dna}. Every position is a separate subsequence, so a
+     * repeated subsequence can occur more times. On equal probabilities the subsequence which starts earlier comes
+     * first.
+     *
+     * @param dna The {@link Dna} which subsequences are examined against the {@link DnaArray}'s probability.
+     * @param n The maximum number of the returned subsequences.
+     * @return At most <i>n</i> subsequences in descending order of probability.
+     * @throws IllegalArgumentException If dna sequence length is smaller than samples length.
+     * @throws IllegalArgumentException If <i>n</i> is smaller than 1.
+     */
+    public List<Dna> profileMostProbableSubSequences(final Dna dna, final int n) {
+        validateProfileScanDna(dna);
+        checkPositiveNumber("Subsequence number (n)", n);
+        return cutSubSequences(dna, getProfileScanner().findMostProbableStarts(dna.getNucleotideCodeArray(), n))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the subsequences of the {@link Dna} which probability is at least the threshold.
+     *
+     * @param dna The {@link Dna} which subsequences are examined against the {@link DnaArray}'s probability.
+     * @param threshold The smallest accepted probability between 0 and 1.
+     * @return The subsequences with at least threshold probability.
+     * @throws IllegalArgumentException If dna sequence length is smaller than samples length.
+     * @throws IllegalArgumentException If threshold is not between 0 and 1.
+     */
+    public Set<Dna> profileProbableSubSequences(final Dna dna, final double threshold) {
+        validateProfileScanDna(dna);
+        checkArgument(threshold >= 0.0, "Probability threshold should not be negative");
+        checkSmallerOrEqualNumberTo("Probability threshold", threshold, 1.0);
+        return cutSubSequences(dna, getProfileScanner().findStartsAbove(dna.getNucleotideCodeArray(),
+                Math.log(threshold)))
+                .collect(Collectors.toSet());
+    }
+
+    private void validateProfileScanDna(final Dna dna) {
         checkNotNullArgument("DNA", dna);
         checkGreaterOrEqualNumberTo("DNA length", dna.getSequenceLength(), "samples length", samplesLength);
+    }
 
-        Map<Dna, Double> patternProbabilityMap = dna.getSubSequences(samplesLength).stream()
-                .collect(Collectors.toMap(Function.identity(), this::innerPatternProbability));
-
-        double highestProbability = 0.0;
-        Set<Dna> mostProbableSamples = new HashSet<>();
-
-        for (Map.Entry<Dna, Double> patternProbabilityPair : patternProbabilityMap.entrySet()) {
-            double patternProbability = patternProbabilityPair.getValue();
-            if (patternProbability > highestProbability) {
-                highestProbability = patternProbability;
-                mostProbableSamples.clear();
-            }
-            if (patternProbability == highestProbability) {
-                mostProbableSamples.add(patternProbabilityPair.getKey());
-            }
-        }
-
-        return mostProbableSamples;
+    private Stream<Dna> cutSubSequences(final Dna dna, final int[] starts) {
+        return Arrays.stream(starts)
+                .mapToObj(start -> dna.cut(start, start + samplesLength));
     }
 
     /**
@@ -314,34 +353,119 @@ public class DnaArray {
     public double patternProbability(final Dna sample) {
         checkNotNullArgument("Sample", sample);
         checkEqualNumberTo("Sample length", sample.getSequenceLength(), "DNA array length", samplesLength);
-        return innerPatternProbability(sample);
-    }
-
-    private double innerPatternProbability(final Dna sample) {
-        List<Map<DnaNucleotide, Double>> profile = motifs.profile();
-        DnaNucleotide[] sequenceElements = sample.getSequenceAsElements();
-
-        return IntStream.range(0, samplesLength)
-                .parallel()
-                .mapToDouble(i -> profile.get(i).get(sequenceElements[i]))
-                .reduce(1.0, (a, b) -> a * b);
-    }
-
-//    public Set<Dna> greedyMotifSearch(final int k, final int t) {
-//        Set<Dna> subSequenceSet = sampleList.get(0).getSubSequences(k);
-//
-//        Set<DnaArray> generatorDnaArraySet = subSequenceSet.stream()
-//                .map(dna -> new DnaArray(Lists.newArrayList(dna)))
-//                .collect(Collectors.toCollection(HashSet::new));
-//
-//        for (Dna dna : sampleList.subList(1, samplesLength)) {
-//            Set<DnaArray> newGeneratorDnaArraySet = new HashSet<>();
-//            for (DnaArray generatorDnaArray : generatorDnaArraySet) {
-//                Set<Dna> dnas = generatorDnaArray.profileMostProbableSubSequence(dna);
-//                dnas.stream()
-//                        .map()
-//            }
-//        }
-//        return null;
-//    }
+        return Math.exp(getProfileScanner().logProbability(sample.getNucleotideCodeArray(), 0));
+    }
+
+    /**
+     * Returns the scanner of the sample profile. The scanner is created without lock, concurrent first calls may
+     * build equal scanners, and one of them is kept.
+     */
+    private ProfileScanner getProfileScanner() {
+        ProfileScanner scanner = profileScanner;
+        if (scanner == null) {
+            scanner = ProfileScanner.build(MotifMatrix.build(this).logProfile());
+            profileScanner = scanner;
+        }
+        return scanner;
+    }
+
+    /**
+     * Greedy motif search. Every <i>k</i> long subsequence of the first sample starts a motif collection, and the
+     * profile most probable subsequence of every further sample is added to the collection one by one. The profile
+     * is built from the motifs which are already in the collection.
+     *
+     * @see GreedyMotifSearcher
+     * @param k The length of the motifs.
+     * @return The motifs with the lowest score, one from every sample in the order of the samples.
+     * @throws IllegalArgumentException If <i>k</i> is smaller than 1.
+     * @throws IllegalArgumentException If <i>k</i> is bigger than samples length.
+     */
+    public DnaArray greedyMotifSearch(final int k) {
+        return innerGreedyMotifSearch(k, 0);
+    }
+
+    /**
+     * Greedy motif search with Laplace's rule of succession: every count of the profiles is increased by 1, so an
+     * unseen nucleotide does not make the probability of a subsequence zero.
+     *
+     * @see DnaArray#greedyMotifSearch(int)
+     * @param k The length of the motifs.
+     * @return The motifs with the lowest score, one from every sample in the order of the samples.
+     * @throws IllegalArgumentException If <i>k</i> is smaller than 1.
+     * @throws IllegalArgumentException If <i>k</i> is bigger than samples length.
+     */
+    public DnaArray greedyMotifSearchWithPseudocounts(final int k) {
+        return innerGreedyMotifSearch(k, 1);
+    }
+
+    private DnaArray innerGreedyMotifSearch(final int k, final int pseudocount) {
+        checkMotifLength(k);
+
+        return cutMotifs(GreedyMotifSearcher.search(createSampleCodes(), k, pseudocount), k);
+    }
+
+    /**
+     * Randomized motif search. Every restart chooses random motifs, then replaces them with the profile most probable
+     * subsequences of the samples while the score decreases. The profiles use Laplace's rule of succession.
+     * The restarts run in parallel with random number generators split from the seed, so the same seed gives the
+     * same result.
+     *
+     * @see RandomizedMotifSearcher
+     * @param k The length of the motifs.
+     * @param restartNumber The number of the independent restarts.
+     * @param seed The seed of the random number generators.
+     * @return The motifs with the lowest score, one from every sample in the order of the samples.
+     * @throws IllegalArgumentException If <i>k</i> is smaller than 1.
+     * @throws IllegalArgumentException If <i>k</i> is bigger than samples length.
+     * @throws IllegalArgumentException If restart number is smaller than 1.
+     */
+    public DnaArray randomizedMotifSearch(final int k, final int restartNumber, final long seed) {
+        checkMotifLength(k);
+        checkPositiveNumber("Restart number", restartNumber);
+
+        return cutMotifs(RandomizedMotifSearcher.randomizedSearch(createSampleCodes(), k, restartNumber, seed), k);
+    }
+
+    /**
+     * Gibbs sampler. Every restart chooses random motifs, then in every iteration replaces the motif of a random
+     * sample with a subsequence of the sample chosen randomly, weighted by the probabilities of the profile of the
+     * other motifs. The profiles use Laplace's rule of succession. The restarts run in parallel with random number
+     * generators split from the seed, so the same seed gives the same result.
+     *
+     * @see RandomizedMotifSearcher
+     * @param k The length of the motifs.
+     * @param iterationNumber The number of the iterations of a restart.
+     * @param restartNumber The number of the independent restarts.
+     * @param seed The seed of the random number generators.
+     * @return The motifs with the lowest score, one from every sample in the order of the samples.
+     * @throws IllegalArgumentException If <i>k</i> is smaller than 1.
+     * @throws IllegalArgumentException If <i>k</i> is bigger than samples length.
+     * @throws IllegalArgumentException If iteration number is smaller than 1.
+     * @throws IllegalArgumentException If restart number is smaller than 1.
+     */
+    public DnaArray gibbsSampler(final int k, final int iterationNumber, final int restartNumber, final long seed) {
+        checkMotifLength(k);
+        checkPositiveNumber("Iteration number", iterationNumber);
+        checkPositiveNumber("Restart number", restartNumber);
+
+        return cutMotifs(RandomizedMotifSearcher.gibbsSample(createSampleCodes(), k, iterationNumber, restartNumber,
+                seed), k);
+    }
+
+    private void checkMotifLength(final int k) {
+        checkPositiveNumber("Motif length (k)", k);
+        checkSmallerOrEqualNumberTo("Motif length (k)", k, "samples length", samplesLength);
+    }
+
+    private DnaArray cutMotifs(final int[] motifStarts, final int k) {
+        return new DnaArray(IntStream.range(0, sampleNumber)
+                .mapToObj(i -> sampleList.get(i).cut(motifStarts[i], motifStarts[i] + k))
+                .collect(Collectors.toList()));
+    }
+
+    private byte[][] createSampleCodes() {
+        return sampleList.stream()
+                .map(Dna::getNucleotideCodeArray)
+                .toArray(byte[][]::new);
+    }
 }
@@ -0,0 +1,55 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.ComputeContext;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * Greedy motif search over the nucleotide codes of samples. Every <i>k</i> long window of the first sample starts a
+ * motif collection; the most probable window of every further sample is chosen by the {@link ProfileMatrix} of the
+ * motifs chosen so far. The collection with the lowest score wins, on ties the one with the first start window.
+ * <p>
+ * The starting windows are independent, so they are evaluated in parallel by the current {@link ComputeContext}.
+ * Inside a start the counts are updated in place and the {@link ProfileMatrix} is refilled, so a start allocates only
+ * its result arrays.
+ *
+ * @author Attila Radi
+ */
+final class GreedyMotifSearcher {
+
+    /**
+     * Searches the motifs greedily.
+     *
+     * @param sampleCodes The nucleotide codes of the samples with the same length.
+     * @param k The length of the motifs, which should be between 1 and the samples length.
+     * @param pseudocount The pseudocount of the profiles, 0 means no pseudocounts.
+     * @return The start positions of the best motifs in the samples.
+     */
+    static int[] search(final byte[][] sampleCodes, final int k, final int pseudocount) {
+        int windowNumber = sampleCodes[0].length - k + 1;
+        long work = ComputeContext.estimateWork(windowNumber, sampleCodes.length, windowNumber, k);
+        return ComputeContext.current()
+                .mapReduce(windowNumber, work, start -> searchFrom(sampleCodes, k, pseudocount, start),
+                        BinaryOperator.minBy(MotifStarts.BEST_FIRST))
+                .getStarts();
+    }
+
+    private static MotifStarts searchFrom(final byte[][] sampleCodes, final int k, final int pseudocount,
+                                          final int firstStart) {
+        int[][] counts = new int[PackedSequence.ALPHABET_SIZE][k];
+        int[] starts = new int[sampleCodes.length];
+        ProfileMatrix profileMatrix = ProfileMatrix.build(k);
+        starts[0] = firstStart;
+        MotifCounts.addMotif(counts, sampleCodes[0], firstStart);
+        for (int sample = 1; sample < sampleCodes.length; sample++) {
+            profileMatrix.fill(counts, sample, pseudocount);
+            starts[sample] = profileMatrix.findMostProbableStart(sampleCodes[sample]);
+            MotifCounts.addMotif(counts, sampleCodes[sample], starts[sample]);
+        }
+        return new MotifStarts(starts, MotifCounts.score(counts, sampleCodes.length), firstStart);
+    }
+
+    private GreedyMotifSearcher() {
+    }
+}
@@ -0,0 +1,159 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.ComputeContext;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds the median strings of a {@link DnaArray} with branch and bound. The <i>k</i> long patterns are the leaves of a
+ * prefix tree over the nucleotide codes. For every prefix and every sample the finder keeps the Hamming distance
+ * between the prefix and the beginning of every <i>k</i> long window, which is updated with one comparison per window
+ * when the prefix grows. The sum of the per-sample minimums is a lower bound of the total distance of every pattern
+ * below the prefix, so the subtree is skipped if the bound already exceeds the best total distance found so far.
+ * <p>
+ * The prefixes of the first {@value #SPLIT_DEPTH} levels are searched in parallel by the current
+ * {@link ComputeContext}. The best total distance is shared between the prefixes, so a good pattern found by one
+ * prefix prunes the others. Only the subtrees with strictly greater bound are skipped, so every tied median string is
+ * kept.
+ *
+ * @author Attila Radi
+ */
+final class MedianStringFinder {
+    private static final int SPLIT_DEPTH = 4;
+
+    private final byte[][] sampleCodes;
+    private final int k;
+    private final int windowNumber;
+    private final AtomicInteger bestDistance = new AtomicInteger(Integer.MAX_VALUE);
+
+    /**
+     * Finds the codes of the <i>k</i> long patterns which have the smallest total distance to the samples, where the
+     * distance of a pattern and a sample is the smallest Hamming distance between the pattern and the sample windows.
+     *
+     * @param samples The samples with the same length.
+     * @param k The length of the patterns, which should be between 1 and 32 and at most the samples length.
+     * @return The codes of the median strings in ascending order.
+     */
+    static long[] findMedianStringCodes(final List<Dna> samples, final int k) {
+        return new MedianStringFinder(samples, k).search();
+    }
+
+    private MedianStringFinder(final List<Dna> samples, final int k) {
+        this.k = k;
+        this.sampleCodes = new byte[samples.size()][];
+        for (int sample = 0; sample < sampleCodes.length; sample++) {
+            sampleCodes[sample] = samples.get(sample).getNucleotideCodeArray();
+        }
+        this.windowNumber = sampleCodes[0].length - k + 1;
+    }
+
+    private long[] search() {
+        int splitDepth = Math.min(k, SPLIT_DEPTH);
+        int prefixNumber = 1 << (splitDepth * PackedSequence.BITS_PER_CODE);
+        long work = ComputeContext.estimateWork(1L << Math.min(k * PackedSequence.BITS_PER_CODE, Long.SIZE - 2),
+                sampleCodes.length, windowNumber);
+        SearchResult result = ComputeContext.current().mapReduce(prefixNumber, work,
+                prefix -> new PrefixSearch().searchPrefix(prefix, splitDepth), SearchResult::merge);
+        long[] codes = Arrays.copyOf(result.codes, result.codeNumber);
+        Arrays.sort(codes);
+        return codes;
+    }
+
+    /**
+     * Depth-first search below a prefix. The partial distances of the prefix length <i>l</i> are stored at the
+     * depth <i>l</i>, so the search does not allocate after the construction.
+     */
+    private final class PrefixSearch {
+        private final int[][][] partialDistances = new int[k + 1][sampleCodes.length][windowNumber];
+        private final SearchResult result = new SearchResult();
+
+        private SearchResult searchPrefix(final long prefixCode, final int prefixLength) {
+            int bound = 0;
+            for (int depth = 0; depth < prefixLength && bound <= bestDistance.get(); depth++) {
+                int nucleotideCode = (int) (prefixCode >>> ((prefixLength - 1 - depth) * PackedSequence.BITS_PER_CODE))
+                        & (PackedSequence.ALPHABET_SIZE - 1);
+                bound = extend(depth, nucleotideCode);
+            }
+            if (bound <= bestDistance.get()) {
+                searchSubtree(prefixCode, prefixLength, bound);
+            }
+            return result;
+        }
+
+        /**
+         * Searches below the prefix whose partial distances are already calculated. At the leaves the bound is the
+         * exact total distance.
+         */
+        private void searchSubtree(final long prefixCode, final int prefixLength, final int bound) {
+            if (prefixLength == k) {
+                bestDistance.accumulateAndGet(bound, Math::min);
+                result.add(prefixCode, bound);
+                return;
+            }
+            for (int nucleotideCode = 0; nucleotideCode < PackedSequence.ALPHABET_SIZE; nucleotideCode++) {
+                int extendedBound = extend(prefixLength, nucleotideCode);
+                if (extendedBound <= bestDistance.get()) {
+                    searchSubtree((prefixCode << PackedSequence.BITS_PER_CODE) | nucleotideCode, prefixLength + 1,
+                            extendedBound);
+                }
+            }
+        }
+
+        /**
+         * Extends the prefix of the given depth with the nucleotide, and returns the lower bound of the extended
+         * prefix. The calculation stops as soon as the bound exceeds the best distance.
+         */
+        private int extend(final int depth, final int nucleotideCode) {
+            int bound = 0;
+            int limit = bestDistance.get();
+            for (int sample = 0; sample < sampleCodes.length && bound <= limit; sample++) {
+                int[] distances = partialDistances[depth][sample];
+                int[] extendedDistances = partialDistances[depth + 1][sample];
+                byte[] codes = sampleCodes[sample];
+                int minimum = Integer.MAX_VALUE;
+                for (int window = 0; window < windowNumber; window++) {
+                    int distance = distances[window] + (codes[window + depth] != nucleotideCode ? 1 : 0);
+                    extendedDistances[window] = distance;
+                    minimum = Math.min(minimum, distance);
+                }
+                bound += minimum;
+            }
+            return bound;
+        }
+    }
+
+    /**
+     * The best total distance and the codes which reach it inside a part of the prefix tree.
+     */
+    private static final class SearchResult {
+        private int distance = Integer.MAX_VALUE;
+        private long[] codes = new long[4];
+        private int codeNumber;
+
+        private void add(final long code, final int codeDistance) {
+            if (codeDistance < distance) {
+                distance = codeDistance;
+                codeNumber = 0;
+            }
+            if (codeDistance == distance) {
+                if (codeNumber == codes.length) {
+                    codes = Arrays.copyOf(codes, codeNumber * 2);
+                }
+                codes[codeNumber++] = code;
+            }
+        }
+
+        private SearchResult merge(final SearchResult otherResult) {
+            if (otherResult.distance < distance) {
+                return otherResult;
+            }
+            for (int i = 0; i < otherResult.codeNumber; i++) {
+                add(otherResult.codes[i], otherResult.distance);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.ComputeContext;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Finds the <i>k</i> long patterns which occur with at most <i>d</i> mismatches in every sample. A pattern is given by
+ * its code, see {@link PackedSequence#getCode(int, int)}. The <i>d</i>-neighbors of a window are enumerated by
+ * {@link PackedSequence#forEachNeighbor(long, int, int, java.util.function.LongConsumer)}, so every neighbor is visited
+ * once per window without allocation.
+ * <p>
+ * The neighborhoods of the samples are stored as bitsets and intersected with word-level AND. The strategy is chosen
+ * by the estimated memory:
+ * <ul>
+ *     <li>{@link Strategy#CODE_BITSET}: the bitsets cover the whole 4<sup><i>k</i></sup> code space, which takes
+ *     4<sup><i>k</i></sup> / 8 bytes per sample.</li>
+ *     <li>{@link Strategy#CANDIDATE_BITSET}: the neighborhood of the first sample is collected into a sorted, distinct
+ *     long array of candidates, and the bitsets of the further samples cover the candidate indices only. Every common
+ *     pattern is a candidate, so the memory is bounded by the neighbors of the first sample, which take at most 8 bytes
+ *     per neighbor of every window.</li>
+ * </ul>
+ * The code bitsets are chosen if they are not larger than the neighbors of the first sample and
+ * <i>k</i> &lt;= {@value #CODE_BITSET_MAXIMUM_K}.
+ * The samples are processed in parallel by the current {@link ComputeContext} if their neighborhoods are large enough.
+ *
+ * @author Attila Radi
+ */
+final class MismatchMotifFinder {
+    private static final int CODE_BITSET_MAXIMUM_K = 18;
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    /**
+     * The intersection strategy of the {@link MismatchMotifFinder}.
+     */
+    enum Strategy {
+        CODE_BITSET, CANDIDATE_BITSET
+    }
+
+    /**
+     * Finds the codes of the common <i>k</i> long patterns.
+     *
+     * @param sampleCodes The nucleotide codes of the samples.
+     * @param k The length of the patterns, which should be between 1 and 32 and at most the samples length.
+     * @param d The maximum number of mismatches, which should not be negative.
+     * @return The codes of the patterns which occur in every sample with at most <i>d</i> mismatches, in ascending
+     * order.
+     */
+    static long[] findCommonMotifCodes(final byte[][] sampleCodes, final int k, final int d) {
+        return findCommonMotifCodes(sampleCodes, k, d,
+                chooseStrategy(k, Math.min(k, d), sampleCodes[0].length - k + 1));
+    }
+
+    /**
+     * Finds the codes of the common <i>k</i> long patterns with the given strategy.
+     *
+     * @see MismatchMotifFinder#findCommonMotifCodes(byte[][], int, int)
+     * @param sampleCodes The nucleotide codes of the samples.
+     * @param k The length of the patterns, which should be between 1 and 32 and at most the samples length.
+     * @param d The maximum number of mismatches, which should not be negative.
+     * @param strategy The intersection strategy.
+     * @return The codes of the common patterns in ascending order.
+     */
+    static long[] findCommonMotifCodes(final byte[][] sampleCodes, final int k, final int d, final Strategy strategy) {
+        int mismatchNumber = Math.min(k, d);
+        ComputeContext computeContext = ComputeContext.current();
+        long work = ComputeContext.estimateWork(sampleCodes.length, sampleCodes[0].length,
+                PackedSequence.neighborhoodSize(k, mismatchNumber));
+        return strategy == Strategy.CODE_BITSET
+                ? intersectCodeBitsets(computeContext, work, sampleCodes, k, mismatchNumber)
+                : intersectCandidateBitsets(computeContext, work, sampleCodes, k, mismatchNumber);
+    }
+
+    /**
+     * Chooses the intersection strategy by comparing the size of a code bitset with the size of the neighbors of the
+     * first sample.
+     *
+     * @param k The length of the patterns.
+     * @param d The maximum number of mismatches.
+     * @param windowNumber The number of the windows of the first sample.
+     * @return The intersection strategy.
+     */
+    static Strategy chooseStrategy(final int k, final int d, final int windowNumber) {
+        if (k > CODE_BITSET_MAXIMUM_K) {
+            return Strategy.CANDIDATE_BITSET;
+        }
+        long codeBitsetBytes = (1L << (k * PackedSequence.BITS_PER_CODE)) / Byte.SIZE;
+        long neighborBytes = ComputeContext.estimateWork(PackedSequence.neighborhoodSize(k, d), windowNumber,
+                Long.BYTES);
+        return codeBitsetBytes <= neighborBytes ? Strategy.CODE_BITSET : Strategy.CANDIDATE_BITSET;
+    }
+
+    private static long[] intersectCodeBitsets(final ComputeContext computeContext, final long work,
+                                               final byte[][] sampleCodes, final int k, final int d) {
+        int wordNumber = wordNumber(1L << (k * PackedSequence.BITS_PER_CODE));
+        long[] commonBits = computeContext.mapReduce(sampleCodes.length, work, sample -> {
+            long[] bits = new long[wordNumber];
+            forEachNeighbor(sampleCodes[sample], k, d, code -> bits[(int) (code >>> ADDRESS_BITS_PER_WORD)] |= 1L << code);
+            return bits;
+        }, MismatchMotifFinder::and);
+
+        long[] codes = new long[bitCount(commonBits)];
+        int codeNumber = 0;
+        for (int word = 0; word < commonBits.length; word++) {
+            for (long bits = commonBits[word]; bits != 0; bits &= bits - 1) {
+                codes[codeNumber++] = ((long) word << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return codes;
+    }
+
+    private static long[] intersectCandidateBitsets(final ComputeContext computeContext, final long work,
+                                                    final byte[][] sampleCodes, final int k, final int d) {
+        long[] candidates = collectDistinctNeighbors(computeContext, sampleCodes[0], k, d);
+        if (sampleCodes.length == 1) {
+            return candidates;
+        }
+        int wordNumber = wordNumber(candidates.length);
+        long[] commonBits = computeContext.mapReduce(sampleCodes.length - 1, work, sampleIndex -> {
+            long[] bits = new long[wordNumber];
+            forEachNeighbor(sampleCodes[sampleIndex + 1], k, d, code -> {
+                int index = Arrays.binarySearch(candidates, code);
+                if (index >= 0) {
+                    bits[index >>> ADDRESS_BITS_PER_WORD] |= 1L << index;
+                }
+            });
+            return bits;
+        }, MismatchMotifFinder::and);
+
+        long[] codes = new long[bitCount(commonBits)];
+        int codeNumber = 0;
+        for (int word = 0; word < commonBits.length; word++) {
+            for (long bits = commonBits[word]; bits != 0; bits &= bits - 1) {
+                codes[codeNumber++] = candidates[(word << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(bits)];
+            }
+        }
+        return codes;
+    }
+
+    private static long[] collectDistinctNeighbors(final ComputeContext computeContext, final byte[] codes, final int k,
+                                                   final int d) {
+        LongBuffer buffer = new LongBuffer(computeContext);
+        forEachNeighbor(codes, k, d, buffer::add);
+        return buffer.toDistinctSortedArray();
+    }
+
+    /**
+     * Visits the <i>d</i>-neighbors of every window. A neighbor which is close to more windows is visited more times.
+     */
+    private static void forEachNeighbor(final byte[] codes, final int k, final int d, final LongConsumer neighborConsumer) {
+        long mask = PackedSequence.codeMask(k);
+        long windowCode = 0;
+        for (int position = 0; position < codes.length; position++) {
+            windowCode = ((windowCode << PackedSequence.BITS_PER_CODE) | codes[position]) & mask;
+            if (position >= k - 1) {
+                PackedSequence.forEachNeighbor(windowCode, k, d, neighborConsumer);
+            }
+        }
+    }
+
+    private static int wordNumber(final long bitNumber) {
+        return (int) ((bitNumber + Long.SIZE - 1) >>> ADDRESS_BITS_PER_WORD);
+    }
+
+    private static long[] and(final long[] bits, final long[] otherBits) {
+        for (int word = 0; word < bits.length; word++) {
+            bits[word] &= otherBits[word];
+        }
+        return bits;
+    }
+
+    private static int bitCount(final long[] bits) {
+        int bitCount = 0;
+        for (long word : bits) {
+            bitCount += Long.bitCount(word);
+        }
+        return bitCount;
+    }
+
+    /**
+     * Growable primitive buffer, which removes its duplicates when it is full before growing.
+     */
+    private static final class LongBuffer {
+        private final ComputeContext computeContext;
+        private long[] values = new long[1024];
+        private int size;
+
+        private LongBuffer(final ComputeContext computeContext) {
+            this.computeContext = computeContext;
+        }
+
+        private void add(final long value) {
+            if (size == values.length) {
+                size = sortDistinct(values, size);
+                if (size > values.length / 2) {
+                    values = Arrays.copyOf(values, values.length * 2);
+                }
+            }
+            values[size++] = value;
+        }
+
+        private long[] toDistinctSortedArray() {
+            return Arrays.copyOf(values, sortDistinct(values, size));
+        }
+
+        private int sortDistinct(final long[] values, final int size) {
+            computeContext.sort(values, 0, size);
+            int distinctSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinctSize == 0 || values[distinctSize - 1] != values[i]) {
+                    values[distinctSize++] = values[i];
+                }
+            }
+            return distinctSize;
+        }
+    }
+
+    private MismatchMotifFinder() {
+    }
+}
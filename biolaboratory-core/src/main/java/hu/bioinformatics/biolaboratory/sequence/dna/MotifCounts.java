@@ -0,0 +1,59 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+/**
+ * Operations on the nucleotide count matrices of motifs, shared by the motif searches and {@link MotifMatrix}. A count
+ * matrix is indexed by nucleotide code (A = 0, C = 1, G = 2, T = 3) and motif position, and it is updated in place.
+ *
+ * @author Attila Radi
+ */
+final class MotifCounts {
+
+    /**
+     * Adds the nucleotides of the window to the counts.
+     *
+     * @param counts The counts of the nucleotides, indexed by nucleotide code and position.
+     * @param codes The nucleotide codes of the sample.
+     * @param start The start position of the window.
+     */
+    static void addMotif(final int[][] counts, final byte[] codes, final int start) {
+        for (int position = 0; position < counts[0].length; position++) {
+            counts[codes[start + position]][position]++;
+        }
+    }
+
+    /**
+     * Finds the most frequent nucleotide of a column. If the column has more most frequent nucleotides, the first one
+     * is chosen in the order of the nucleotide codes.
+     *
+     * @param counts The counts of the nucleotides, indexed by nucleotide code and position.
+     * @param position The position of the column.
+     * @return The code of the most frequent nucleotide.
+     */
+    static int findConsensusCode(final int[][] counts, final int position) {
+        int consensusCode = 0;
+        for (int code = 1; code < counts.length; code++) {
+            if (counts[code][position] > counts[consensusCode][position]) {
+                consensusCode = code;
+            }
+        }
+        return consensusCode;
+    }
+
+    /**
+     * Calculates the number of the nucleotides which differ from the most frequent nucleotide of their column.
+     *
+     * @param counts The counts of the nucleotides, indexed by nucleotide code and position.
+     * @param motifNumber The number of the counted motifs.
+     * @return The score of the motifs.
+     */
+    static int score(final int[][] counts, final int motifNumber) {
+        int score = 0;
+        for (int position = 0; position < counts[0].length; position++) {
+            score += motifNumber - counts[findConsensusCode(counts, position)][position];
+        }
+        return score;
+    }
+
+    private MotifCounts() {
+    }
+}
@@ -0,0 +1,366 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.DoubleUtils;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkEqualNumberTo;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNegativeNumber;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmallerOrEqualNumberTo;
+
+/**
+ * Mutable motif information in primitive arrays. The nucleotides are stored by their codes
+ * (A = 0, C = 1, G = 2, T = 3), which index the rows of the matrices:
+ * <ul>
+ *     <li>count: the occurrences of the nucleotide in the column, updated by {@link MotifCounts}.</li>
+ *     <li>profile: the {@link ProfileMatrix} of the counts.</li>
+ *     <li>log profile: the natural logarithm of the profile, negative infinity if the profile is 0.</li>
+ * </ul>
+ * A motif can be replaced in O(L) time, where L is the motif length: only the changed columns are recalculated, and
+ * the score, consensus and total entropy are updated from the differences of the changed columns. The total entropy
+ * is summed again from the column entropies after every L column updates, so its rounding errors do not pile up over
+ * many replacements, and a column update still costs O(1) on average. The randomized and Gibbs motif searches
+ * replace their motifs through {@link #replaceMotif(int, byte[], int)}. The immutable {@link Motifs} of the same
+ * motifs is created again by {@link #toDnaArray()}.
+ * <p>
+ * A {@link MotifMatrix} is not thread-safe.
+ *
+ * @author Attila Radi
+ */
+class MotifMatrix {
+    private final byte[][] motifCodes;
+    private final int motifNumber;
+    private final int motifLength;
+    private final int pseudocount;
+    private final int[][] counts;
+    private final ProfileMatrix profileMatrix;
+    private final double[][] logProfile;
+    private final int[] columnScores;
+    private final double[] columnEntropies;
+    private final byte[] consensusCodes;
+    private int totalScore;
+    private double totalEntropy;
+    private int entropyUpdateNumber;
+    private ProfileMatrix remainingProfileMatrix;
+
+    /**
+     * Creates a {@link MotifMatrix} from the samples of the {@link DnaArray}, without pseudocounts.
+     *
+     * @param dnaArray The motifs in a {@link DnaArray}.
+     * @return A new {@link MotifMatrix}.
+     * @throws IllegalArgumentException If the DNA array is null.
+     */
+    public static MotifMatrix build(final DnaArray dnaArray) {
+        return build(dnaArray, 0);
+    }
+
+    /**
+     * Creates a {@link MotifMatrix} from the samples of the {@link DnaArray}.
+     *
+     * @param dnaArray The motifs in a {@link DnaArray}.
+     * @param pseudocount The pseudocount which is added to every count of the profile, 0 means no pseudocounts.
+     * @return A new {@link MotifMatrix}.
+     * @throws IllegalArgumentException If the DNA array is null.
+     * @throws IllegalArgumentException If the pseudocount is negative.
+     */
+    public static MotifMatrix build(final DnaArray dnaArray, final int pseudocount) {
+        checkNotNullArgument("DNA array", dnaArray);
+        checkNotNegativeNumber("Pseudocount", pseudocount);
+        return new MotifMatrix(dnaArray.getSampleList().stream()
+                .map(Dna::getNucleotideCodeArray)
+                .toArray(byte[][]::new), pseudocount);
+    }
+
+    /**
+     * Creates a {@link MotifMatrix} from motif length windows of samples without validation.
+     *
+     * @param sampleCodes The nucleotide codes of the samples.
+     * @param starts The start positions of the windows in the samples.
+     * @param motifLength The length of the windows.
+     * @param pseudocount The pseudocount which is added to every count of the profile, 0 means no pseudocounts.
+     * @return A new {@link MotifMatrix}.
+     */
+    static MotifMatrix build(final byte[][] sampleCodes, final int[] starts, final int motifLength,
+                             final int pseudocount) {
+        byte[][] motifCodes = new byte[sampleCodes.length][];
+        for (int sample = 0; sample < sampleCodes.length; sample++) {
+            motifCodes[sample] = Arrays.copyOfRange(sampleCodes[sample], starts[sample], starts[sample] + motifLength);
+        }
+        return new MotifMatrix(motifCodes, pseudocount);
+    }
+
+    private MotifMatrix(final byte[][] motifCodes, final int pseudocount) {
+        this.motifCodes = motifCodes;
+        this.motifNumber = motifCodes.length;
+        this.motifLength = motifCodes[0].length;
+        this.pseudocount = pseudocount;
+        this.counts = new int[PackedSequence.ALPHABET_SIZE][motifLength];
+        this.profileMatrix = ProfileMatrix.build(motifLength);
+        this.logProfile = new double[PackedSequence.ALPHABET_SIZE][motifLength];
+        this.columnScores = new int[motifLength];
+        this.columnEntropies = new double[motifLength];
+        this.consensusCodes = new byte[motifLength];
+        for (byte[] codes : motifCodes) {
+            MotifCounts.addMotif(counts, codes, 0);
+        }
+        for (int position = 0; position < motifLength; position++) {
+            updateColumn(position);
+        }
+        totalEntropy = sumColumnEntropies();
+    }
+
+    /**
+     * Getter of the motif number.
+     *
+     * @return motifNumber
+     */
+    public int getMotifNumber() {
+        return motifNumber;
+    }
+
+    /**
+     * Getter of the motif length.
+     *
+     * @return motifLength
+     */
+    public int getMotifLength() {
+        return motifLength;
+    }
+
+    /**
+     * Returns the motif of the row.
+     *
+     * @param row The index of the motif.
+     * @return The motif in a {@link Dna}.
+     * @throws IllegalArgumentException If the row is negative.
+     * @throws IllegalArgumentException If the row is not smaller than the motif number.
+     */
+    public Dna getMotif(final int row) {
+        checkRow(row);
+        byte[] codes = motifCodes[row];
+        return Dna.build(PackedSequence.pack(motifLength, position -> codes[position]));
+    }
+
+    /**
+     * Creates a {@link DnaArray} from the current motifs. Its {@link DnaArray#getMotifs()} gives the immutable
+     * {@link Motifs} of this matrix.
+     *
+     * @return The motifs in a new {@link DnaArray}.
+     */
+    public DnaArray toDnaArray() {
+        List<Dna> motifList = Arrays.stream(motifCodes)
+                .map(codes -> Dna.build(PackedSequence.pack(motifLength, position -> codes[position])))
+                .collect(Collectors.toList());
+        return DnaArray.build(motifList);
+    }
+
+    /**
+     * Replaces the motif of the row. Only the columns where the nucleotide changes are recalculated.
+     *
+     * @param row The index of the motif.
+     * @param motif The new motif.
+     * @throws IllegalArgumentException If the row is negative.
+     * @throws IllegalArgumentException If the row is not smaller than the motif number.
+     * @throws IllegalArgumentException If the motif is null.
+     * @throws IllegalArgumentException If the motif length differs from the motif length of the matrix.
+     */
+    public void replaceMotif(final int row, final Dna motif) {
+        checkRow(row);
+        checkNotNullArgument("Motif", motif);
+        checkEqualNumberTo("Motif length", motif.getSequenceLength(), "matrix motif length", motifLength);
+        replaceMotif(row, motif.getNucleotideCodeArray(), 0);
+    }
+
+    /**
+     * Replaces the motif of the row with a motif length window of nucleotide codes without validation.
+     *
+     * @param row The index of the motif.
+     * @param codes The nucleotide codes.
+     * @param start The start position of the window.
+     */
+    void replaceMotif(final int row, final byte[] codes, final int start) {
+        byte[] rowCodes = motifCodes[row];
+        for (int position = 0; position < motifLength; position++) {
+            byte code = codes[start + position];
+            if (rowCodes[position] != code) {
+                counts[rowCodes[position]][position]--;
+                counts[code][position]++;
+                rowCodes[position] = code;
+                double previousEntropy = columnEntropies[position];
+                updateColumn(position);
+                updateTotalEntropy(columnEntropies[position] - previousEntropy);
+            }
+        }
+    }
+
+    /**
+     * Finds the most probable motif length window of the sample by the profile. On ties the first window wins.
+     *
+     * @param codes The nucleotide codes of the sample.
+     * @return The start position of the most probable window.
+     */
+    int findMostProbableStart(final byte[] codes) {
+        return profileMatrix.findMostProbableStart(codes);
+    }
+
+    /**
+     * Writes the cumulative probabilities of the windows of the sample by the profile of the other motifs, which
+     * leaves out the motif of the row. The element <i>i</i> is the sum of the probabilities of the windows from 0 to
+     * <i>i</i>.
+     *
+     * @param row The index of the left out motif.
+     * @param codes The nucleotide codes of the sample.
+     * @param cumulativeProbabilities The array of the results with at least codes length - motif length + 1 elements.
+     * @return The sum of all window probabilities.
+     */
+    double fillRemainingCumulativeProbabilities(final int row, final byte[] codes,
+                                                final double[] cumulativeProbabilities) {
+        if (remainingProfileMatrix == null) {
+            remainingProfileMatrix = ProfileMatrix.build(motifLength);
+        }
+        byte[] rowCodes = motifCodes[row];
+        for (int position = 0; position < motifLength; position++) {
+            counts[rowCodes[position]][position]--;
+        }
+        remainingProfileMatrix.fill(counts, motifNumber - 1, pseudocount);
+        MotifCounts.addMotif(counts, rowCodes, 0);
+        return remainingProfileMatrix.fillCumulativeProbabilities(codes, cumulativeProbabilities);
+    }
+
+    /**
+     * Calculates the natural logarithm of the probability of a motif length window by the profile.
+     *
+     * @param codes The nucleotide codes.
+     * @param start The start position of the window.
+     * @return The sum of the log profile values of the window nucleotides.
+     */
+    double logProbability(final byte[] codes, final int start) {
+        double logProbability = 0.0;
+        for (int position = 0; position < motifLength; position++) {
+            logProbability += logProfile[codes[start + position]][position];
+        }
+        return logProbability;
+    }
+
+    private void updateColumn(final int position) {
+        profileMatrix.fillColumn(counts, position, motifNumber, pseudocount);
+        int consensusCode = MotifCounts.findConsensusCode(counts, position);
+        consensusCodes[position] = (byte) consensusCode;
+        double entropy = 0.0;
+        for (int code = 0; code < PackedSequence.ALPHABET_SIZE; code++) {
+            double probability = profileMatrix.getProbability(code, position);
+            if (probability == 0.0) {
+                logProfile[code][position] = Double.NEGATIVE_INFINITY;
+            } else {
+                double logValue = Math.log(probability);
+                logProfile[code][position] = logValue;
+                entropy -= probability * logValue / DoubleUtils.LOG_2;
+            }
+        }
+        int score = motifNumber - counts[consensusCode][position];
+        totalScore += score - columnScores[position];
+        columnScores[position] = score;
+        columnEntropies[position] = entropy;
+    }
+
+    private void updateTotalEntropy(final double difference) {
+        if (++entropyUpdateNumber < motifLength) {
+            totalEntropy += difference;
+        } else {
+            entropyUpdateNumber = 0;
+            totalEntropy = sumColumnEntropies();
+        }
+    }
+
+    private double sumColumnEntropies() {
+        double sum = 0.0;
+        for (double columnEntropy : columnEntropies) {
+            sum += columnEntropy;
+        }
+        return sum;
+    }
+
+    private void checkRow(final int row) {
+        checkNotNegativeNumber("Row", row);
+        checkSmallerOrEqualNumberTo("Row", row, "last row", motifNumber - 1);
+    }
+
+    /**
+     * Returns the copy of the count matrix.
+     *
+     * @return The counts indexed by nucleotide code and position.
+     */
+    public int[][] count() {
+        return Arrays.stream(counts).map(int[]::clone).toArray(int[][]::new);
+    }
+
+    /**
+     * Returns the copy of the profile matrix.
+     *
+     * @return The probabilities indexed by nucleotide code and position.
+     */
+    public double[][] profile() {
+        return profileMatrix.toArray();
+    }
+
+    /**
+     * Returns the copy of the log profile matrix.
+     *
+     * @return The natural logarithms of the probabilities indexed by nucleotide code and position.
+     */
+    public double[][] logProfile() {
+        return Arrays.stream(logProfile).map(double[]::clone).toArray(double[][]::new);
+    }
+
+    /**
+     * Returns the copy of the column scores.
+     *
+     * @return The number of the nucleotides which differ from the most frequent nucleotide in each column.
+     */
+    public int[] score() {
+        return columnScores.clone();
+    }
+
+    /**
+     * Getter of the total score.
+     *
+     * @return The sum of the column scores.
+     */
+    public int totalScore() {
+        return totalScore;
+    }
+
+    /**
+     * Returns the copy of the column entropies, calculated from the profile:
+     * <br>
+     * - Σ probability * log2(probability) for each nucleotide
+     *
+     * @return Column entropies.
+     */
+    public double[] entropy() {
+        return columnEntropies.clone();
+    }
+
+    /**
+     * Getter of the total entropy.
+     *
+     * @return The sum of column entropies.
+     */
+    public double totalEntropy() {
+        return totalEntropy;
+    }
+
+    /**
+     * Returns the consensus motif. If a column has more most frequent nucleotides, the first one is chosen in the
+     * order of the nucleotide codes.
+     *
+     * @return The consensus {@link Dna}.
+     */
+    public Dna consensus() {
+        return Dna.build(PackedSequence.pack(motifLength, position -> consensusCodes[position]));
+    }
+}
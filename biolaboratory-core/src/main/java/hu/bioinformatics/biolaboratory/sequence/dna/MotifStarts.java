@@ -0,0 +1,58 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import java.util.Comparator;
+
+/**
+ * The start positions of a motif collection in the samples with its score. The order distinguishes the collections
+ * with the same score, so the parallel motif searches choose the same collection as a sequential run.
+ *
+ * @author Attila Radi
+ */
+final class MotifStarts {
+    static final Comparator<MotifStarts> BEST_FIRST = Comparator.comparingInt(MotifStarts::getScore)
+            .thenComparingInt(MotifStarts::getOrder);
+
+    private final int[] starts;
+    private final int score;
+    private final int order;
+
+    /**
+     * Creates a {@link MotifStarts}.
+     *
+     * @param starts The start positions of the motifs in the samples.
+     * @param score The score of the motifs.
+     * @param order The order of the collection between the collections with the same score.
+     */
+    MotifStarts(final int[] starts, final int score, final int order) {
+        this.starts = starts;
+        this.score = score;
+        this.order = order;
+    }
+
+    /**
+     * Getter of the start positions.
+     *
+     * @return starts
+     */
+    int[] getStarts() {
+        return starts;
+    }
+
+    /**
+     * Getter of the score.
+     *
+     * @return score
+     */
+    int getScore() {
+        return score;
+    }
+
+    /**
+     * Getter of the order.
+     *
+     * @return order
+     */
+    int getOrder() {
+        return order;
+    }
+}
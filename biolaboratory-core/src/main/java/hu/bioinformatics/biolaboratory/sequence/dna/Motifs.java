@@ -3,9 +3,10 @@ package hu.bioinformatics.biolaboratory.sequence.dna;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import hu.bioinformatics.biolaboratory.utils.ComputeContext;
 import hu.bioinformatics.biolaboratory.utils.DoubleUtils;
 import hu.bioinformatics.biolaboratory.utils.datastructures.CountableOccurrenceMap;
-import hu.bioinformatics.biolaboratory.utils.datastructures.OccurrenceMap;
+import hu.bioinformatics.biolaboratory.utils.datastructures.EnumCountableOccurrenceMap;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -24,7 +25,7 @@ class Motifs {
     private final DnaArray dnaArray;
 
     private DnaNucleotide[][] motifs;
-    private List<CountableOccurrenceMap<DnaNucleotide>> motifCounts;
+    private List<EnumCountableOccurrenceMap<DnaNucleotide>> motifCounts;
     private List<Map<DnaNucleotide, Double>> motifProfile;
     private int[] motifScores;
     private int totalScore = Integer.MIN_VALUE;
@@ -76,6 +77,16 @@ class Motifs {
         return Arrays.copyOf(createMotifs(), motifs.length);
     }
 
+    /**
+     * Creates a mutable {@link MotifMatrix} from the motifs, without pseudocounts. The changes of the matrix do not
+     * affect the {@link Motifs}.
+     *
+     * @return A new {@link MotifMatrix}.
+     */
+    public MotifMatrix toMotifMatrix() {
+        return MotifMatrix.build(dnaArray);
+    }
+
     /**
      * Returns immutable with the consensus set.
      *
@@ -103,7 +114,7 @@ class Motifs {
     private synchronized Set<Dna> createConsensusDnaSet() {
         if (consensusDnaSet == null) {
             List<Set<DnaNucleotide>> maximumColumnOccurrences = createCountMotifs().stream()
-                    .map(OccurrenceMap::filterMostFrequentOccurrences)
+                    .map(EnumCountableOccurrenceMap::filterMostFrequentOccurrences)
                     .collect(Collectors.toCollection(ArrayList::new));
 
             Set<List<DnaNucleotide>> consensusPrefixes = new HashSet<>();
@@ -161,16 +172,16 @@ class Motifs {
 
     private synchronized double[] createColumnEntropy() {
         if (motifEntropies == null) {
-            motifEntropies = createProfile().stream()
-                    .parallel()
-                    .mapToDouble(nucleotideDoubleMap -> nucleotideDoubleMap.entrySet().stream()
-                            .mapToDouble(entry -> {
-                                final double profile = entry.getValue();
-                                return profile == 0.0 ? 0.0 : profile * Math.log(profile) / DoubleUtils.LOG_2;
-                            })
+            List<Map<DnaNucleotide, Double>> profile = createProfile();
+            double[] entropies = new double[profile.size()];
+            ComputeContext.current().forEach(entropies.length,
+                    ComputeContext.estimateWork(entropies.length, DnaNucleotide.NUCLEOTIDE_SET.size()),
+                    column -> entropies[column] = profile.get(column).values().stream()
+                            .mapToDouble(probability ->
+                                    probability == 0.0 ? 0.0 : probability * Math.log(probability) / DoubleUtils.LOG_2)
                             .map(invertedEntropy -> -invertedEntropy)
-                            .sum())
-                    .toArray();
+                            .sum());
+            motifEntropies = entropies;
         }
         return motifEntropies;
     }
@@ -187,7 +198,7 @@ class Motifs {
     private synchronized List<Map<DnaNucleotide, Double>> createProfile() {
         if (motifProfile == null) {
             motifProfile = createCountMotifs().stream()
-                    .map(OccurrenceMap::allOccurrenceRatios)
+                    .map(EnumCountableOccurrenceMap::allOccurrenceRatios)
                     .collect(Collectors.toCollection(ArrayList::new));
         }
         return motifProfile;
@@ -219,10 +230,12 @@ class Motifs {
 
     private synchronized int[] createScore() {
         if (motifScores == null) {
-            motifScores = createCountMotifs().stream()
-                    .parallel()
-                    .mapToInt(occurrenceMap -> dnaArray.getSampleNumber() - occurrenceMap.maximumOccurrenceValue())
-                    .toArray();
+            List<EnumCountableOccurrenceMap<DnaNucleotide>> countMotifs = createCountMotifs();
+            int[] scores = new int[countMotifs.size()];
+            ComputeContext.current().forEach(scores.length,
+                    ComputeContext.estimateWork(scores.length, DnaNucleotide.NUCLEOTIDE_SET.size()),
+                    column -> scores[column] = dnaArray.getSampleNumber() - countMotifs.get(column).maximumOccurrenceValue());
+            motifScores = scores;
         }
         return motifScores;
     }
@@ -233,19 +246,21 @@ class Motifs {
      * @return Immutable {@link List} of occurrences.
      */
     public List<CountableOccurrenceMap<DnaNucleotide>> count() {
-        return new ArrayList<>(createCountMotifs());
+        return createCountMotifs().stream()
+                .map(EnumCountableOccurrenceMap::toCountable)
+                .collect(Collectors.toCollection(ArrayList::new));
     }
 
-    private synchronized List<CountableOccurrenceMap<DnaNucleotide>> createCountMotifs() {
+    private synchronized List<EnumCountableOccurrenceMap<DnaNucleotide>> createCountMotifs() {
         if (motifCounts == null) {
             DnaNucleotide[][] motifs = createMotifs();
             motifCounts = new ArrayList<>(dnaArray.getSamplesLength());
             for (int j = 0; j < dnaArray.getSamplesLength(); j++) {
-                CountableOccurrenceMap<DnaNucleotide> nucleotideOccurrenceMap = CountableOccurrenceMap.build(DnaNucleotide.NUCLEOTIDE_SET);
+                int[] ordinalCounts = new int[DnaNucleotide.values().length];
                 for (int i = 0; i < dnaArray.getSampleNumber(); i++) {
-                    nucleotideOccurrenceMap.increase(motifs[i][j]);
+                    ordinalCounts[motifs[i][j].ordinal()]++;
                 }
-                motifCounts.add(nucleotideOccurrenceMap);
+                motifCounts.add(EnumCountableOccurrenceMap.build(DnaNucleotide.class, ordinalCounts));
             }
         }
         return motifCounts;
@@ -253,12 +268,11 @@ class Motifs {
 
     private synchronized DnaNucleotide[][] createMotifs() {
         if (motifs == null) {
-            motifs = dnaArray.getSampleList().stream()
-                        .parallel()
-                        .map(dna -> dna.getSequence().chars()
-                                .mapToObj(nucleotide -> DnaNucleotide.findDnaNucleotide((char) nucleotide))
-                                .toArray(DnaNucleotide[]::new))
-                        .toArray(DnaNucleotide[][]::new);
+            List<Dna> sampleList = dnaArray.getSampleList();
+            motifs = ComputeContext.current()
+                    .map(sampleList.size(), ComputeContext.estimateWork(sampleList.size(), dnaArray.getSamplesLength()),
+                            sample -> sampleList.get(sample).getSequenceAsElements())
+                    .toArray(new DnaNucleotide[0][]);
         }
         return motifs;
     }
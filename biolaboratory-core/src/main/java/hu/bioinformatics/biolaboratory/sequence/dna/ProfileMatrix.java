@@ -0,0 +1,159 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
+import java.util.Arrays;
+
+/**
+ * A profile of <i>k</i> long motifs in a primitive matrix. The row is the nucleotide code, the column is the motif
+ * position, and the cell is the probability of the nucleotide at the position:
+ * <br>
+ * (count + pseudocount) / (motif number + 4 * pseudocount)
+ * <p>
+ * The nucleotides are given by their codes (A = 0, C = 1, G = 2, T = 3), so scoring a window reads one cell per
+ * position without boxing. The matrix can be refilled from new counts, so the iterative motif searches reuse one
+ * {@link ProfileMatrix} per thread. A {@link ProfileMatrix} is not thread-safe.
+ *
+ * @author Attila Radi
+ */
+final class ProfileMatrix {
+    private final double[][] probabilities;
+    private final int motifLength;
+
+    /**
+     * Creates a {@link ProfileMatrix} from nucleotide counts.
+     *
+     * @param counts The counts of the nucleotides, indexed by nucleotide code and position.
+     * @param motifNumber The number of the counted motifs.
+     * @param pseudocount The pseudocount which is added to every count, 0 means no pseudocounts.
+     * @return A new {@link ProfileMatrix}.
+     */
+    static ProfileMatrix build(final int[][] counts, final int motifNumber, final int pseudocount) {
+        ProfileMatrix profileMatrix = build(counts[0].length);
+        profileMatrix.fill(counts, motifNumber, pseudocount);
+        return profileMatrix;
+    }
+
+    /**
+     * Creates an empty {@link ProfileMatrix} which can be filled later.
+     *
+     * @param motifLength The length of the motifs.
+     * @return A new {@link ProfileMatrix} with zero probabilities.
+     */
+    static ProfileMatrix build(final int motifLength) {
+        return new ProfileMatrix(motifLength);
+    }
+
+    private ProfileMatrix(final int motifLength) {
+        this.probabilities = new double[PackedSequence.ALPHABET_SIZE][motifLength];
+        this.motifLength = motifLength;
+    }
+
+    /**
+     * Recalculates the probabilities from nucleotide counts.
+     *
+     * @param counts The counts of the nucleotides, indexed by nucleotide code and position.
+     * @param motifNumber The number of the counted motifs.
+     * @param pseudocount The pseudocount which is added to every count, 0 means no pseudocounts.
+     */
+    void fill(final int[][] counts, final int motifNumber, final int pseudocount) {
+        for (int position = 0; position < motifLength; position++) {
+            fillColumn(counts, position, motifNumber, pseudocount);
+        }
+    }
+
+    /**
+     * Recalculates the probabilities of one column from nucleotide counts.
+     *
+     * @param counts The counts of the nucleotides, indexed by nucleotide code and position.
+     * @param position The position of the column.
+     * @param motifNumber The number of the counted motifs.
+     * @param pseudocount The pseudocount which is added to every count, 0 means no pseudocounts.
+     */
+    void fillColumn(final int[][] counts, final int position, final int motifNumber, final int pseudocount) {
+        double total = motifNumber + PackedSequence.ALPHABET_SIZE * pseudocount;
+        for (int code = 0; code < PackedSequence.ALPHABET_SIZE; code++) {
+            probabilities[code][position] = (counts[code][position] + pseudocount) / total;
+        }
+    }
+
+    /**
+     * Get the probability of a nucleotide at a position.
+     *
+     * @param code The nucleotide code.
+     * @param position The motif position.
+     * @return The probability of the nucleotide at the position.
+     */
+    double getProbability(final int code, final int position) {
+        return probabilities[code][position];
+    }
+
+    /**
+     * Returns the copy of the probabilities.
+     *
+     * @return The probabilities indexed by nucleotide code and position.
+     */
+    double[][] toArray() {
+        return Arrays.stream(probabilities).map(double[]::clone).toArray(double[][]::new);
+    }
+
+    /**
+     * Getter of the motif length.
+     *
+     * @return motifLength
+     */
+    int getMotifLength() {
+        return motifLength;
+    }
+
+    /**
+     * Calculates the probability of the motif length window which starts at the given position.
+     *
+     * @param codes The nucleotide codes.
+     * @param start The start position of the window.
+     * @return The product of the probabilities of the window nucleotides.
+     */
+    double probability(final byte[] codes, final int start) {
+        double probability = 1.0;
+        for (int position = 0; position < motifLength; position++) {
+            probability *= probabilities[codes[start + position]][position];
+        }
+        return probability;
+    }
+
+    /**
+     * Finds the most probable window. If there are more windows with the highest probability, the first is returned.
+     *
+     * @param codes The nucleotide codes, which should be at least motif length long.
+     * @return The start position of the most probable window.
+     */
+    int findMostProbableStart(final byte[] codes) {
+        int mostProbableStart = 0;
+        double highestProbability = -1.0;
+        for (int start = 0; start + motifLength <= codes.length; start++) {
+            double probability = probability(codes, start);
+            if (probability > highestProbability) {
+                highestProbability = probability;
+                mostProbableStart = start;
+            }
+        }
+        return mostProbableStart;
+    }
+
+    /**
+     * Writes the cumulative probabilities of the windows into the given array: the element <i>i</i> is the sum of
+     * the probabilities of the windows from 0 to <i>i</i>.
+     *
+     * @param codes The nucleotide codes, which should be at least motif length long.
+     * @param cumulativeProbabilities The array of the results with at least codes length - motif length + 1 elements.
+     * @return The sum of all window probabilities.
+     */
+    double fillCumulativeProbabilities(final byte[] codes, final double[] cumulativeProbabilities) {
+        double total = 0.0;
+        for (int start = 0; start + motifLength <= codes.length; start++) {
+            total += probability(codes, start);
+            cumulativeProbabilities[start] = total;
+        }
+        return total;
+    }
+}
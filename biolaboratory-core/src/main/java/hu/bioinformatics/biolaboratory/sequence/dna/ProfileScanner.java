@@ -0,0 +1,183 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
+import java.util.Arrays;
+
+/**
+ * Scores the motif length windows of nucleotide codes by a profile in log space. The natural logarithms of the
+ * profile are stored in one table indexed by position * 4 + nucleotide code, so scoring a window is a sum of motif
+ * length array reads, and a probability 0 becomes negative infinity instead of an underflow.
+ * <p>
+ * Every scan reads the codes once from the first window to the last. The windows are identified by their start
+ * positions. The {@link ProfileScanner} is immutable, so one scanner can be shared between threads.
+ *
+ * @author Attila Radi
+ */
+final class ProfileScanner {
+    private final double[] logProbabilities;
+    private final int motifLength;
+
+    /**
+     * Creates a {@link ProfileScanner} from a log profile.
+     *
+     * @param logProfile The natural logarithms of the probabilities indexed by nucleotide code and position.
+     * @return A new {@link ProfileScanner}.
+     */
+    static ProfileScanner build(final double[][] logProfile) {
+        return new ProfileScanner(logProfile);
+    }
+
+    private ProfileScanner(final double[][] logProfile) {
+        this.motifLength = logProfile[0].length;
+        this.logProbabilities = new double[motifLength * PackedSequence.ALPHABET_SIZE];
+        for (int position = 0; position < motifLength; position++) {
+            for (int code = 0; code < PackedSequence.ALPHABET_SIZE; code++) {
+                logProbabilities[position * PackedSequence.ALPHABET_SIZE + code] = logProfile[code][position];
+            }
+        }
+    }
+
+    /**
+     * Getter of the motif length.
+     *
+     * @return motifLength
+     */
+    int getMotifLength() {
+        return motifLength;
+    }
+
+    /**
+     * Calculates the natural logarithm of the probability of the window.
+     *
+     * @param codes The nucleotide codes.
+     * @param start The start position of the window.
+     * @return The log probability of the window, negative infinity if the probability is 0.
+     */
+    double logProbability(final byte[] codes, final int start) {
+        double logProbability = 0.0;
+        for (int position = 0, index = 0; position < motifLength; position++, index += PackedSequence.ALPHABET_SIZE) {
+            logProbability += logProbabilities[index + codes[start + position]];
+        }
+        return logProbability;
+    }
+
+    /**
+     * Finds the windows with the highest probability.
+     *
+     * @param codes The nucleotide codes, which should be at least motif length long.
+     * @return The start positions of the most probable windows in ascending order.
+     */
+    int[] findMostProbableStarts(final byte[] codes) {
+        int[] starts = new int[windowNumber(codes)];
+        int startNumber = 0;
+        double highestLogProbability = Double.NEGATIVE_INFINITY;
+        for (int start = 0; start < starts.length; start++) {
+            double logProbability = logProbability(codes, start);
+            if (logProbability > highestLogProbability) {
+                highestLogProbability = logProbability;
+                startNumber = 0;
+            }
+            if (logProbability == highestLogProbability) {
+                starts[startNumber++] = start;
+            }
+        }
+        return Arrays.copyOf(starts, startNumber);
+    }
+
+    /**
+     * Finds the windows with at least the given probability.
+     *
+     * @param codes The nucleotide codes, which should be at least motif length long.
+     * @param logThreshold The natural logarithm of the smallest accepted probability.
+     * @return The start positions of the accepted windows in ascending order.
+     */
+    int[] findStartsAbove(final byte[] codes, final double logThreshold) {
+        int[] starts = new int[windowNumber(codes)];
+        int startNumber = 0;
+        for (int start = 0; start < starts.length; start++) {
+            if (logProbability(codes, start) >= logThreshold) {
+                starts[startNumber++] = start;
+            }
+        }
+        return Arrays.copyOf(starts, startNumber);
+    }
+
+    /**
+     * Finds the <i>n</i> most probable windows. The windows are kept in a bounded heap whose root is the weakest kept
+     * window, so a window is compared to the root only. On equal probabilities the earlier window is stronger.
+     *
+     * @param codes The nucleotide codes, which should be at least motif length long.
+     * @param n The number of the windows, which should be positive.
+     * @return The start positions of at most <i>n</i> windows in descending order of probability.
+     */
+    int[] findMostProbableStarts(final byte[] codes, final int n) {
+        int windowNumber = windowNumber(codes);
+        int capacity = Math.min(n, windowNumber);
+        double[] heapLogProbabilities = new double[capacity];
+        int[] heapStarts = new int[capacity];
+        int size = 0;
+        for (int start = 0; start < windowNumber; start++) {
+            double logProbability = logProbability(codes, start);
+            if (size < capacity) {
+                heapLogProbabilities[size] = logProbability;
+                heapStarts[size] = start;
+                siftUp(heapLogProbabilities, heapStarts, size++);
+            } else if (logProbability > heapLogProbabilities[0]) {
+                heapLogProbabilities[0] = logProbability;
+                heapStarts[0] = start;
+                siftDown(heapLogProbabilities, heapStarts, 0, size);
+            }
+        }
+        int[] starts = new int[size];
+        while (size > 0) {
+            starts[--size] = heapStarts[0];
+            heapLogProbabilities[0] = heapLogProbabilities[size];
+            heapStarts[0] = heapStarts[size];
+            siftDown(heapLogProbabilities, heapStarts, 0, size);
+        }
+        return starts;
+    }
+
+    private int windowNumber(final byte[] codes) {
+        return codes.length - motifLength + 1;
+    }
+
+    private static boolean isWeaker(final double[] logProbabilities, final int[] starts, final int i, final int j) {
+        return logProbabilities[i] < logProbabilities[j]
+                || (logProbabilities[i] == logProbabilities[j] && starts[i] > starts[j]);
+    }
+
+    private static void siftUp(final double[] logProbabilities, final int[] starts, final int index) {
+        int child = index;
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (!isWeaker(logProbabilities, starts, child, parent)) return;
+            swap(logProbabilities, starts, child, parent);
+            child = parent;
+        }
+    }
+
+    private static void siftDown(final double[] logProbabilities, final int[] starts, final int index, final int size) {
+        int parent = index;
+        while (true) {
+            int weakest = parent;
+            int left = 2 * parent + 1;
+            int right = left + 1;
+            if (left < size && isWeaker(logProbabilities, starts, left, weakest)) weakest = left;
+            if (right < size && isWeaker(logProbabilities, starts, right, weakest)) weakest = right;
+            if (weakest == parent) return;
+            swap(logProbabilities, starts, parent, weakest);
+            parent = weakest;
+        }
+    }
+
+    private static void swap(final double[] logProbabilities, final int[] starts, final int i, final int j) {
+        double logProbability = logProbabilities[i];
+        logProbabilities[i] = logProbabilities[j];
+        logProbabilities[j] = logProbability;
+        int start = starts[i];
+        starts[i] = starts[j];
+        starts[j] = start;
+    }
+}
@@ -0,0 +1,153 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.ComputeContext;
+
+import java.util.SplittableRandom;
+import java.util.function.BinaryOperator;
+
+/**
+ * Randomized motif searches over the nucleotide codes of samples. Every restart starts from random motifs and
+ * improves them independently from the other restarts:
+ * <ul>
+ *     <li>The randomized search builds the {@link ProfileMatrix} of the motifs and replaces every motif with the profile
+ *     most probable window of its sample, while the score decreases.</li>
+ *     <li>The Gibbs sampler removes the motif of a random sample, builds the {@link ProfileMatrix} of the remaining
+ *     motifs, and replaces the removed motif with a window chosen randomly, weighted by the window probabilities.</li>
+ * </ul>
+ * The profiles use Laplace's rule of succession. The restarts run in parallel by the current {@link ComputeContext},
+ * and every restart has its own {@link SplittableRandom} split from the seed in the order of the restarts, so the
+ * result depends only on the seed. The motifs with the lowest score win, on ties the ones of the first restart.
+ * <p>
+ * A restart keeps its motifs in a {@link MotifMatrix}, which is allocated once. The iterations replace the motifs in
+ * place, so only the changed columns of the counts, profile and score are recalculated.
+ *
+ * @author Attila Radi
+ */
+final class RandomizedMotifSearcher {
+    private static final int PSEUDOCOUNT = 1;
+
+    private final byte[][] sampleCodes;
+    private final int windowNumber;
+    private final int[] starts;
+    private final MotifMatrix motifMatrix;
+    private final SplittableRandom random;
+
+    /**
+     * Searches the motifs with randomized restarts.
+     *
+     * @param sampleCodes The nucleotide codes of the samples with the same length.
+     * @param k The length of the motifs, which should be between 1 and the samples length.
+     * @param restartNumber The number of the independent restarts, which should be positive.
+     * @param seed The seed of the random number generators.
+     * @return The start positions of the best motifs in the samples.
+     */
+    static int[] randomizedSearch(final byte[][] sampleCodes, final int k, final int restartNumber, final long seed) {
+        long restartWork = ComputeContext.estimateWork(sampleCodes.length, sampleCodes[0].length, k);
+        return runRestarts(restartNumber, restartWork, seed, (restart, random) ->
+                new RandomizedMotifSearcher(sampleCodes, k, random).searchRandomized(restart));
+    }
+
+    /**
+     * Searches the motifs with Gibbs sampling.
+     *
+     * @param sampleCodes The nucleotide codes of the samples with the same length.
+     * @param k The length of the motifs, which should be between 1 and the samples length.
+     * @param iterationNumber The number of the sampling steps of a restart, which should be positive.
+     * @param restartNumber The number of the independent restarts, which should be positive.
+     * @param seed The seed of the random number generators.
+     * @return The start positions of the best motifs in the samples.
+     */
+    static int[] gibbsSample(final byte[][] sampleCodes, final int k, final int iterationNumber,
+                             final int restartNumber, final long seed) {
+        long restartWork = ComputeContext.estimateWork(iterationNumber, sampleCodes[0].length, k);
+        return runRestarts(restartNumber, restartWork, seed, (restart, random) ->
+                new RandomizedMotifSearcher(sampleCodes, k, random).sampleGibbs(iterationNumber, restart));
+    }
+
+    private static int[] runRestarts(final int restartNumber, final long restartWork, final long seed,
+                                     final RestartRunner restartRunner) {
+        SplittableRandom seedRandom = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[restartNumber];
+        for (int restart = 0; restart < restartNumber; restart++) {
+            randoms[restart] = seedRandom.split();
+        }
+        return ComputeContext.current()
+                .mapReduce(restartNumber, ComputeContext.estimateWork(restartNumber, restartWork),
+                        restart -> restartRunner.run(restart, randoms[restart]),
+                        BinaryOperator.minBy(MotifStarts.BEST_FIRST))
+                .getStarts();
+    }
+
+    private RandomizedMotifSearcher(final byte[][] sampleCodes, final int k, final SplittableRandom random) {
+        this.sampleCodes = sampleCodes;
+        this.windowNumber = sampleCodes[0].length - k + 1;
+        this.starts = new int[sampleCodes.length];
+        this.random = random;
+        for (int sample = 0; sample < sampleCodes.length; sample++) {
+            starts[sample] = random.nextInt(windowNumber);
+        }
+        this.motifMatrix = MotifMatrix.build(sampleCodes, starts, k, PSEUDOCOUNT);
+    }
+
+    private MotifStarts searchRandomized(final int restart) {
+        int[] nextStarts = new int[starts.length];
+        int score = motifMatrix.totalScore();
+        while (true) {
+            for (int sample = 0; sample < sampleCodes.length; sample++) {
+                nextStarts[sample] = motifMatrix.findMostProbableStart(sampleCodes[sample]);
+            }
+            for (int sample = 0; sample < sampleCodes.length; sample++) {
+                motifMatrix.replaceMotif(sample, sampleCodes[sample], nextStarts[sample]);
+            }
+            int nextScore = motifMatrix.totalScore();
+            if (nextScore >= score) {
+                return new MotifStarts(starts, score, restart);
+            }
+            System.arraycopy(nextStarts, 0, starts, 0, starts.length);
+            score = nextScore;
+        }
+    }
+
+    private MotifStarts sampleGibbs(final int iterationNumber, final int restart) {
+        double[] cumulativeProbabilities = new double[windowNumber];
+        int[] bestStarts = starts.clone();
+        int bestScore = motifMatrix.totalScore();
+        for (int iteration = 0; iteration < iterationNumber; iteration++) {
+            int sample = random.nextInt(sampleCodes.length);
+            byte[] codes = sampleCodes[sample];
+            double totalProbability = motifMatrix.fillRemainingCumulativeProbabilities(sample, codes,
+                    cumulativeProbabilities);
+            starts[sample] = chooseWindow(cumulativeProbabilities, random.nextDouble() * totalProbability);
+            motifMatrix.replaceMotif(sample, codes, starts[sample]);
+
+            int score = motifMatrix.totalScore();
+            if (score < bestScore) {
+                bestScore = score;
+                System.arraycopy(starts, 0, bestStarts, 0, starts.length);
+            }
+        }
+        return new MotifStarts(bestStarts, bestScore, restart);
+    }
+
+    /**
+     * Finds the first window whose cumulative probability is greater than the target with binary search.
+     */
+    private int chooseWindow(final double[] cumulativeProbabilities, final double target) {
+        int low = 0;
+        int high = windowNumber - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeProbabilities[middle] > target) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    @FunctionalInterface
+    private interface RestartRunner {
+        MotifStarts run(int restart, SplittableRandom random);
+    }
+}
@@ -0,0 +1,392 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.ComputeContext;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+
+import java.util.stream.IntStream;
+
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNegativeNumber;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmallerOrEqualNumberTo;
+
+/**
+ * The cumulative guanine - cytosine skew of a {@link Dna}. The skew of the prefix length <i>i</i> is the number of
+ * guanines minus the number of cytosines among the first <i>i</i> nucleotides, so the skew of the empty prefix is 0.
+ * <p>
+ * The skews are not stored one by one. The profile keeps the packed words of the {@link Dna}, the skew before every
+ * 32 nucleotide word, and the minimum and maximum skew inside every word. The skew of a word part is counted with
+ * bit operations, so a skew query is O(1). The word extremes of every 512 nucleotide block are indexed by sparse
+ * tables, so a window minimum or maximum reads two table cells and scans at most 15 words and 31 nucleotides at both
+ * ends of the window. Besides the copy of the packed words, the memory is about 12 bytes per 32 nucleotides.
+ * <p>
+ * The word skews are calculated with a parallel prefix scan: the chunks of the words are summed in parallel, the
+ * chunk sums are accumulated, and then the chunks fill their word skews and extremes in parallel. The parallelism is
+ * given by the current {@link ComputeContext}. A {@link SkewProfile} is immutable.
+ *
+ * @author Attila Radi
+ */
+public final class SkewProfile {
+    private static final int WORD_SHIFT = 5;
+    private static final int WORD_INDEX_MASK = PackedSequence.CODES_PER_WORD - 1;
+    private static final int BLOCK_WORD_SHIFT = 4;
+    private static final int CHUNK_WORD_NUMBER = 1 << 10;
+    private static final long LOW_BIT_MASK = 0x5555555555555555L;
+    private static final int CYTOSINE_CODE = 1;
+    private static final int GUANINE_CODE = 2;
+
+    /*
+     * The minimum and the maximum are calculated by the same code: the skews are multiplied by the sign of the
+     * extreme, and the smallest signed skew is searched.
+     */
+    private static final int MINIMUM = 0;
+    private static final int MAXIMUM = 1;
+    private static final int[] SIGNS = {1, -1};
+
+    private static final int[] BYTE_SKEWS = new int[1 << Byte.SIZE];
+    private static final int[][] BYTE_EXTREMES = new int[SIGNS.length][1 << Byte.SIZE];
+
+    static {
+        for (int bits = 0; bits < BYTE_SKEWS.length; bits++) {
+            int skew = 0;
+            BYTE_EXTREMES[MINIMUM][bits] = Integer.MAX_VALUE;
+            BYTE_EXTREMES[MAXIMUM][bits] = Integer.MAX_VALUE;
+            for (int shift = 0; shift < Byte.SIZE; shift += PackedSequence.BITS_PER_CODE) {
+                skew += codeSkew((bits >>> shift) & (PackedSequence.ALPHABET_SIZE - 1));
+                for (int extreme = MINIMUM; extreme <= MAXIMUM; extreme++) {
+                    BYTE_EXTREMES[extreme][bits] = Math.min(BYTE_EXTREMES[extreme][bits], SIGNS[extreme] * skew);
+                }
+            }
+            BYTE_SKEWS[bits] = skew;
+        }
+    }
+
+    private final int length;
+    private final long[] words;
+    private final int[] wordSkews;
+    private final int[][] wordExtremes;
+    private final int[][][] blockExtremeTables;
+    private final int minimumSkew;
+    private final int maximumSkew;
+    private final int firstMinimumPosition;
+
+    /**
+     * Creates the {@link SkewProfile} of the nucleotide codes.
+     *
+     * @param packedSequence The nucleotide codes.
+     * @return A new {@link SkewProfile}.
+     */
+    static SkewProfile build(final PackedSequence packedSequence) {
+        return new SkewProfile(packedSequence);
+    }
+
+    private SkewProfile(final PackedSequence packedSequence) {
+        this.length = packedSequence.length();
+        this.words = packedSequence.getWords();
+        this.wordSkews = new int[words.length + 1];
+        this.wordExtremes = new int[SIGNS.length][words.length];
+        ComputeContext computeContext = ComputeContext.current();
+        fillWords(computeContext);
+        this.blockExtremeTables = new int[SIGNS.length][][];
+        for (int extreme = MINIMUM; extreme <= MAXIMUM; extreme++) {
+            blockExtremeTables[extreme] = buildSparseTable(computeContext, wordExtremes[extreme]);
+        }
+        this.minimumSkew = signedExtreme(MINIMUM, 0, length);
+        this.maximumSkew = -signedExtreme(MAXIMUM, 0, length);
+        this.firstMinimumPosition = findFirstMinimumPosition();
+    }
+
+    /**
+     * Calculates the word skews and extremes with a parallel prefix scan over the chunks of the words.
+     */
+    private void fillWords(final ComputeContext computeContext) {
+        int chunkNumber = (words.length + CHUNK_WORD_NUMBER - 1) / CHUNK_WORD_NUMBER;
+        int[] chunkSkews = new int[chunkNumber + 1];
+        computeContext.forEach(chunkNumber, length, chunk -> {
+            int skew = 0;
+            for (int word = chunk * CHUNK_WORD_NUMBER; word < lastWord(chunk); word++) {
+                skew += partialWordSkew(words[word], PackedSequence.CODES_PER_WORD);
+            }
+            chunkSkews[chunk + 1] = skew;
+        });
+        for (int chunk = 0; chunk < chunkNumber; chunk++) {
+            chunkSkews[chunk + 1] += chunkSkews[chunk];
+        }
+        computeContext.forEach(chunkNumber, length, chunk -> {
+            int skew = chunkSkews[chunk];
+            for (int word = chunk * CHUNK_WORD_NUMBER; word < lastWord(chunk); word++) {
+                wordSkews[word] = skew;
+                for (int extreme = MINIMUM; extreme <= MAXIMUM; extreme++) {
+                    wordExtremes[extreme][word] = signedWordExtreme(extreme, words[word], skew);
+                }
+                skew += partialWordSkew(words[word], PackedSequence.CODES_PER_WORD);
+            }
+        });
+        wordSkews[words.length] = chunkSkews[chunkNumber];
+    }
+
+    private int lastWord(final int chunk) {
+        return Math.min(words.length, (chunk + 1) * CHUNK_WORD_NUMBER);
+    }
+
+    /**
+     * Finds the smallest signed skew after the nucleotides of the word by a table lookup per byte. The unused codes
+     * of the last word are adenines, so they do not change the extremes.
+     */
+    private static int signedWordExtreme(final int extreme, final long word, final int skewBefore) {
+        int signedSkew = SIGNS[extreme] * skewBefore;
+        int signedExtreme = Integer.MAX_VALUE;
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            int bits = (int) (word >>> shift) & 0xFF;
+            signedExtreme = Math.min(signedExtreme, signedSkew + BYTE_EXTREMES[extreme][bits]);
+            signedSkew += SIGNS[extreme] * BYTE_SKEWS[bits];
+        }
+        return signedExtreme;
+    }
+
+    /**
+     * Builds a sparse table over the blocks: the cell (level, block) is the smallest value of the 2^level blocks from
+     * the block.
+     */
+    private static int[][] buildSparseTable(final ComputeContext computeContext, final int[] signedWordExtremes) {
+        int blockNumber = ((signedWordExtremes.length - 1) >>> BLOCK_WORD_SHIFT) + 1;
+        int[][] table = new int[Integer.SIZE - Integer.numberOfLeadingZeros(blockNumber)][];
+        int[] blockExtremes = new int[blockNumber];
+        computeContext.forEach(blockNumber, signedWordExtremes.length, block -> {
+            int signedExtreme = Integer.MAX_VALUE;
+            int lastWord = Math.min(signedWordExtremes.length, (block + 1) << BLOCK_WORD_SHIFT);
+            for (int word = block << BLOCK_WORD_SHIFT; word < lastWord; word++) {
+                signedExtreme = Math.min(signedExtreme, signedWordExtremes[word]);
+            }
+            blockExtremes[block] = signedExtreme;
+        });
+        table[0] = blockExtremes;
+        for (int level = 1; level < table.length; level++) {
+            int[] previousLevel = table[level - 1];
+            int half = 1 << (level - 1);
+            int[] currentLevel = new int[blockNumber - (1 << level) + 1];
+            computeContext.forEach(currentLevel.length, currentLevel.length,
+                    block -> currentLevel[block] = Math.min(previousLevel[block], previousLevel[block + half]));
+            table[level] = currentLevel;
+        }
+        return table;
+    }
+
+    private int findFirstMinimumPosition() {
+        if (minimumSkew == 0) return 0;
+        int word = 0;
+        while (wordExtremes[MINIMUM][word] != minimumSkew) {
+            word++;
+        }
+        int skew = wordSkews[word];
+        for (int index = word << WORD_SHIFT; ; index++) {
+            skew += codeSkew(code(index));
+            if (skew == minimumSkew) return index + 1;
+        }
+    }
+
+    /**
+     * Getter of the length of the {@link Dna}.
+     *
+     * @return length
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the skew of the prefix.
+     *
+     * @param prefixLength The number of the counted nucleotides, between 0 and the length.
+     * @return The number of guanines minus the number of cytosines in the prefix.
+     * @throws IllegalArgumentException If the prefix length is negative or greater than the length.
+     */
+    public int skew(final int prefixLength) {
+        checkNotNegativeNumber("Prefix length", prefixLength);
+        checkSmallerOrEqualNumberTo("Prefix length", prefixLength, "length", length);
+        return skewBefore(prefixLength);
+    }
+
+    /**
+     * Getter of the minimum skew of all prefixes, including the empty prefix.
+     *
+     * @return minimumSkew
+     */
+    public int minimumSkew() {
+        return minimumSkew;
+    }
+
+    /**
+     * Getter of the maximum skew of all prefixes, including the empty prefix.
+     *
+     * @return maximumSkew
+     */
+    public int maximumSkew() {
+        return maximumSkew;
+    }
+
+    /**
+     * Getter of the shortest prefix whose skew is the minimum skew.
+     *
+     * @return firstMinimumPosition
+     */
+    public int firstMinimumPosition() {
+        return firstMinimumPosition;
+    }
+
+    /**
+     * Finds the minimum skew of the prefixes whose length is between the bounds (both inclusive).
+     *
+     * @param fromPrefixLength The shortest prefix length.
+     * @param toPrefixLength The longest prefix length.
+     * @return The minimum skew of the window.
+     * @throws IllegalArgumentException If the shortest prefix length is negative.
+     * @throws IllegalArgumentException If the shortest prefix length is greater than the longest prefix length.
+     * @throws IllegalArgumentException If the longest prefix length is greater than the length.
+     */
+    public int minimumSkew(final int fromPrefixLength, final int toPrefixLength) {
+        validateWindow(fromPrefixLength, toPrefixLength);
+        return signedExtreme(MINIMUM, fromPrefixLength, toPrefixLength);
+    }
+
+    /**
+     * Finds the maximum skew of the prefixes whose length is between the bounds (both inclusive).
+     *
+     * @param fromPrefixLength The shortest prefix length.
+     * @param toPrefixLength The longest prefix length.
+     * @return The maximum skew of the window.
+     * @throws IllegalArgumentException If the shortest prefix length is negative.
+     * @throws IllegalArgumentException If the shortest prefix length is greater than the longest prefix length.
+     * @throws IllegalArgumentException If the longest prefix length is greater than the length.
+     */
+    public int maximumSkew(final int fromPrefixLength, final int toPrefixLength) {
+        validateWindow(fromPrefixLength, toPrefixLength);
+        return -signedExtreme(MAXIMUM, fromPrefixLength, toPrefixLength);
+    }
+
+    /**
+     * Finds every prefix whose skew is the minimum skew. Only the words which contain the minimum are scanned.
+     *
+     * @return The prefix lengths in ascending order.
+     */
+    public int[] minimumPositions() {
+        IntStream.Builder positions = IntStream.builder();
+        if (minimumSkew == 0) {
+            positions.add(0);
+        }
+        for (int word = 0; word < words.length; word++) {
+            if (wordExtremes[MINIMUM][word] == minimumSkew) {
+                int skew = wordSkews[word];
+                int lastIndex = Math.min(length, (word + 1) << WORD_SHIFT);
+                for (int index = word << WORD_SHIFT; index < lastIndex; index++) {
+                    skew += codeSkew(code(index));
+                    if (skew == minimumSkew) {
+                        positions.add(index + 1);
+                    }
+                }
+            }
+        }
+        return positions.build().toArray();
+    }
+
+    private void validateWindow(final int fromPrefixLength, final int toPrefixLength) {
+        checkNotNegativeNumber("From prefix length", fromPrefixLength);
+        checkSmallerOrEqualNumberTo("From prefix length", fromPrefixLength, "to prefix length", toPrefixLength);
+        checkSmallerOrEqualNumberTo("To prefix length", toPrefixLength, "length", length);
+    }
+
+    /**
+     * Finds the smallest signed skew of the prefix lengths between the bounds. The prefix length <i>i</i> &gt; 0 is
+     * the skew after the nucleotide <i>i</i> - 1.
+     */
+    private int signedExtreme(final int extreme, final int fromPrefixLength, final int toPrefixLength) {
+        int signedExtreme = Integer.MAX_VALUE;
+        int firstIndex = fromPrefixLength - 1;
+        if (fromPrefixLength == 0) {
+            signedExtreme = 0;
+            firstIndex = 0;
+        }
+        if (firstIndex < toPrefixLength) {
+            signedExtreme = Math.min(signedExtreme, signedNucleotideExtreme(extreme, firstIndex, toPrefixLength - 1));
+        }
+        return signedExtreme;
+    }
+
+    private int signedNucleotideExtreme(final int extreme, final int firstIndex, final int lastIndex) {
+        int firstWord = firstIndex >>> WORD_SHIFT;
+        int lastWord = lastIndex >>> WORD_SHIFT;
+        if (firstWord == lastWord) {
+            return scanNucleotides(extreme, firstIndex, lastIndex);
+        }
+        int signedExtreme = Math.min(scanNucleotides(extreme, firstIndex, (firstWord << WORD_SHIFT) + WORD_INDEX_MASK),
+                scanNucleotides(extreme, lastWord << WORD_SHIFT, lastIndex));
+        if (firstWord + 1 < lastWord) {
+            signedExtreme = Math.min(signedExtreme, signedWordRangeExtreme(extreme, firstWord + 1, lastWord - 1));
+        }
+        return signedExtreme;
+    }
+
+    private int signedWordRangeExtreme(final int extreme, final int firstWord, final int lastWord) {
+        int firstBlock = firstWord >>> BLOCK_WORD_SHIFT;
+        int lastBlock = lastWord >>> BLOCK_WORD_SHIFT;
+        if (firstBlock == lastBlock) {
+            return scanWords(extreme, firstWord, lastWord);
+        }
+        int signedExtreme = Math.min(scanWords(extreme, firstWord, ((firstBlock + 1) << BLOCK_WORD_SHIFT) - 1),
+                scanWords(extreme, lastBlock << BLOCK_WORD_SHIFT, lastWord));
+        if (firstBlock + 1 < lastBlock) {
+            int[][] table = blockExtremeTables[extreme];
+            int level = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(lastBlock - firstBlock - 1);
+            signedExtreme = Math.min(signedExtreme, Math.min(table[level][firstBlock + 1],
+                    table[level][lastBlock - (1 << level)]));
+        }
+        return signedExtreme;
+    }
+
+    private int scanWords(final int extreme, final int firstWord, final int lastWord) {
+        int signedExtreme = Integer.MAX_VALUE;
+        for (int word = firstWord; word <= lastWord; word++) {
+            signedExtreme = Math.min(signedExtreme, wordExtremes[extreme][word]);
+        }
+        return signedExtreme;
+    }
+
+    private int scanNucleotides(final int extreme, final int firstIndex, final int lastIndex) {
+        int sign = SIGNS[extreme];
+        int signedSkew = sign * skewBefore(firstIndex);
+        int signedExtreme = Integer.MAX_VALUE;
+        for (int index = firstIndex; index <= lastIndex; index++) {
+            signedSkew += sign * codeSkew(code(index));
+            signedExtreme = Math.min(signedExtreme, signedSkew);
+        }
+        return signedExtreme;
+    }
+
+    /**
+     * Returns the skew of the nucleotides before the index from the word checkpoint and the bits of the word part.
+     */
+    private int skewBefore(final int index) {
+        int word = index >>> WORD_SHIFT;
+        int codeNumber = index & WORD_INDEX_MASK;
+        return codeNumber == 0 ? wordSkews[word] : wordSkews[word] + partialWordSkew(words[word], codeNumber);
+    }
+
+    /**
+     * Counts the guanines (high bit only) minus the cytosines (low bit only) among the first codes of the word.
+     */
+    private static int partialWordSkew(final long word, final int codeNumber) {
+        long codes = codeNumber == PackedSequence.CODES_PER_WORD
+                ? word
+                : word & ((1L << (codeNumber * PackedSequence.BITS_PER_CODE)) - 1);
+        long highBits = (codes >>> 1) & LOW_BIT_MASK;
+        long lowBits = codes & LOW_BIT_MASK;
+        return Long.bitCount(highBits & ~lowBits) - Long.bitCount(lowBits & ~highBits);
+    }
+
+    private int code(final int index) {
+        return (int) (words[index >>> WORD_SHIFT] >>> ((index & WORD_INDEX_MASK) * PackedSequence.BITS_PER_CODE))
+                & (PackedSequence.ALPHABET_SIZE - 1);
+    }
+
+    private static int codeSkew(final int code) {
+        return code == GUANINE_CODE ? 1 : code == CYTOSINE_CODE ? -1 : 0;
+    }
+}
@@ -1,13 +1,12 @@
 package hu.bioinformatics.biolaboratory.sequence.protein;
 
 import hu.bioinformatics.biolaboratory.sequence.BiologicalSequence;
+import hu.bioinformatics.biolaboratory.sequence.SequenceEncoder;
 import hu.bioinformatics.biolaboratory.utils.ArgumentValidator;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Pattern;
-
-import static com.google.common.base.Preconditions.checkArgument;
 
 /**
  * Represents a single protein about the amino acid sequence.
@@ -15,43 +14,113 @@ import static com.google.common.base.Preconditions.checkArgument;
  * @author Attila Radi
  */
 public class Protein extends BiologicalSequence<Protein, AminoAcid> {
-    private static final Pattern SEQUENCE_VALIDATOR_PATTERN = Pattern.compile(initializeSequenceValidator());
+    private static final SequenceEncoder AMINO_ACID_ENCODER = SequenceEncoder.build(AminoAcid.values(),
+            "Protein should contains only the letters of amino acids");
 
-    private static String initializeSequenceValidator() {
-        AminoAcid[] aminoAcidList = AminoAcid.values();
-        String regExp = "[";
-        for (AminoAcid aminoAcid : aminoAcidList) {
-            regExp += aminoAcid.getLetter();
-        }
-        return regExp + "]+";
+    /**
+     * Build a {@link Protein} from the given sequence. The sequence can be only the letters of the amino acids, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param sequence The input amino acid sequence.
+     * @return A new {@link Protein} object which contains the amino acid sequence in uppercase.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link AminoAcid} letters.
+     */
+    public static Protein build(final CharSequence sequence) {
+        return new Protein("", AMINO_ACID_ENCODER.encode(sequence));
     }
 
     /**
-     * Build a {@link Protein} from the given sequence. The sequence can be only the letters of the
-     * amino acids, case insensitive, and can contains blank characters at the beginning and the
-     * end of the input.
+     * Build a {@link Protein} from the given sequence. The sequence can be only the letters of the amino acids, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
      *
+     * @param name The name of the sequence.
      * @param sequence The input amino acid sequence.
      * @return A new {@link Protein} object which contains the amino acid sequence in uppercase.
-     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link AminoAcid} letter.
+     * @throws IllegalArgumentException If name is null.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link AminoAcid} letters.
      */
-    public static Protein build(final String sequence) {
-        return new Protein(validateSequence(sequence));
+    public static Protein build(final String name, final CharSequence sequence) {
+        return new Protein(validateName(name), AMINO_ACID_ENCODER.encode(sequence));
     }
 
     /**
-     * Build a {@link Protein} from the given sequence. The sequence can be only the letters of the
-     * amino acids, case insensitive, and can contains blank characters at the beginning and the
-     * end of the input.
+     * Build a {@link Protein} from the given letters. The sequence can be only the letters of the amino acids, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param sequence The input amino acid sequence.
+     * @return A new {@link Protein} object which contains the amino acid sequence in uppercase.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link AminoAcid} letters.
+     */
+    public static Protein build(final char[] sequence) {
+        return new Protein("", AMINO_ACID_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build a {@link Protein} from the given letters. The sequence can be only the letters of the amino acids, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
      *
      * @param name The name of the sequence.
      * @param sequence The input amino acid sequence.
      * @return A new {@link Protein} object which contains the amino acid sequence in uppercase.
      * @throws IllegalArgumentException If name is null.
-     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link AminoAcid} letter.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link AminoAcid} letters.
      */
-    public static Protein build(final String name, final String sequence) {
-        return new Protein(validateName(name), validateSequence(sequence));
+    public static Protein build(final String name, final char[] sequence) {
+        return new Protein(validateName(name), AMINO_ACID_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build a {@link Protein} from the given ASCII letters. The sequence can be only the letters of the amino acids,
+     * case insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param sequence The input amino acid sequence.
+     * @return A new {@link Protein} object which contains the amino acid sequence in uppercase.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link AminoAcid} letters.
+     */
+    public static Protein build(final byte[] sequence) {
+        return new Protein("", AMINO_ACID_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build a {@link Protein} from the given ASCII letters. The sequence can be only the letters of the amino acids,
+     * case insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param name The name of the sequence.
+     * @param sequence The input amino acid sequence.
+     * @return A new {@link Protein} object which contains the amino acid sequence in uppercase.
+     * @throws IllegalArgumentException If name is null.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link AminoAcid} letters.
+     */
+    public static Protein build(final String name, final byte[] sequence) {
+        return new Protein(validateName(name), AMINO_ACID_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build a {@link Protein} from the given ASCII letters. The sequence can be only the letters of the amino acids,
+     * case insensitive, and can contains blank characters at the beginning and the end of the input.
+     * The letters are read from the position to the limit of the buffer, the position is not changed.
+     *
+     * @param sequence The input amino acid sequence.
+     * @return A new {@link Protein} object which contains the amino acid sequence in uppercase.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link AminoAcid} letters.
+     */
+    public static Protein build(final ByteBuffer sequence) {
+        return new Protein("", AMINO_ACID_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build a {@link Protein} from the given ASCII letters. The sequence can be only the letters of the amino acids,
+     * case insensitive, and can contains blank characters at the beginning and the end of the input.
+     * The letters are read from the position to the limit of the buffer, the position is not changed.
+     *
+     * @param name The name of the sequence.
+     * @param sequence The input amino acid sequence.
+     * @return A new {@link Protein} object which contains the amino acid sequence in uppercase.
+     * @throws IllegalArgumentException If name is null.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link AminoAcid} letters.
+     */
+    public static Protein build(final String name, final ByteBuffer sequence) {
+        return new Protein(validateName(name), AMINO_ACID_ENCODER.encode(sequence));
     }
 
     /**
@@ -102,20 +171,14 @@ public class Protein extends BiologicalSequence<Protein, AminoAcid> {
         return new Protein(validateName(name), ArgumentValidator.checkNotNullCollection(aminoAcidList));
     }
 
-    private static String validateSequence(final String sequence) {
-        String uppercaseSequence = formatSequence(sequence);
-        checkArgument(SEQUENCE_VALIDATOR_PATTERN.matcher(uppercaseSequence).matches(), "Protein should contains only the letters of nucleotides");
-        return uppercaseSequence;
-    }
-
-    private Protein(final String sequence) {
-        super(sequence);
-    }
-
     private Protein(final String name, final String sequence) {
         super(name, sequence);
     }
 
+    private Protein(final String name, final SequenceEncoder.EncodedSequence encodedSequence) {
+        super(name, encodedSequence);
+    }
+
     private Protein(final AminoAcid... aminoAcids) {
         super(aminoAcids);
     }
@@ -1,49 +1,44 @@
 package hu.bioinformatics.biolaboratory.sequence.rna;
 
-import com.google.common.base.Preconditions;
 import hu.bioinformatics.biolaboratory.sequence.BiologicalSequence;
+import hu.bioinformatics.biolaboratory.sequence.SequenceEncoder;
 import hu.bioinformatics.biolaboratory.sequence.protein.AminoAcid;
 import hu.bioinformatics.biolaboratory.sequence.protein.Protein;
 import hu.bioinformatics.biolaboratory.utils.ArgumentValidator;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 /**
- * Represents a single RNA about the genome sequence.
+ * Represents a single RNA about the genome sequence. The nucleotides are stored in a {@link PackedSequence}.
  *
  * @author Attila Radi
  *
  */
 public class Rna extends BiologicalSequence<Rna, RnaNucleotide> {
-    private static final Pattern SEQUENCE_VALIDATOR_PATTERN = Pattern.compile(
-                                                                "["
-                                                                + RnaNucleotide.ADENINE.getLetter()
-                                                                + RnaNucleotide.CYTOSINE.getLetter()
-                                                                + RnaNucleotide.GUANINE.getLetter()
-                                                                + RnaNucleotide.URACIL.getLetter()
-                                                                + "]+");
+    private static final SequenceEncoder NUCLEOTIDE_ENCODER = SequenceEncoder.build(RnaNucleotide.values(),
+            "RNA should contains only the letters of nucleotides");
 
     private Protein translatedProtein = null;
 
     /**
-     * Build an {@link Rna} from the given sequence. The sequence can be only the letters of the
-     * nucleotides, case insensitive, and can contains blank characters at the beginning and the
-     * end of the input.
+     * Build an {@link Rna} from the given sequence. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
      *
      * @param sequence The input nucleotide sequence.
      * @return A new {@link Rna} object which contains the nucleotide sequence in uppercase.
      * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link RnaNucleotide} letters.
      */
-    public static Rna build(final String sequence) {
-        return new Rna(validateSequence(sequence));
+    public static Rna build(final CharSequence sequence) {
+        return new Rna("", NUCLEOTIDE_ENCODER.encode(sequence));
     }
 
     /**
-     * Build an {@link Rna} from the given sequence. The sequence can be only the letters of the
-     * nucleotides, case insensitive, and can contains blank characters at the beginning and the
-     * end of the input.
+     * Build an {@link Rna} from the given sequence. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
      *
      * @param name The name of the sequence.
      * @param sequence The input nucleotide sequence.
@@ -51,8 +46,88 @@ public class Rna extends BiologicalSequence<Rna, RnaNucleotide> {
      * @throws IllegalArgumentException If name is null.
      * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link RnaNucleotide} letters.
      */
-    public static Rna build(final String name, final String sequence) {
-        return new Rna(validateName(name), validateSequence(sequence));
+    public static Rna build(final String name, final CharSequence sequence) {
+        return new Rna(validateName(name), NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build an {@link Rna} from the given letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Rna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link RnaNucleotide} letters.
+     */
+    public static Rna build(final char[] sequence) {
+        return new Rna("", NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build an {@link Rna} from the given letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param name The name of the sequence.
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Rna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If name is null.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link RnaNucleotide} letters.
+     */
+    public static Rna build(final String name, final char[] sequence) {
+        return new Rna(validateName(name), NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build an {@link Rna} from the given ASCII letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Rna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link RnaNucleotide} letters.
+     */
+    public static Rna build(final byte[] sequence) {
+        return new Rna("", NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build an {@link Rna} from the given ASCII letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     *
+     * @param name The name of the sequence.
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Rna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If name is null.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link RnaNucleotide} letters.
+     */
+    public static Rna build(final String name, final byte[] sequence) {
+        return new Rna(validateName(name), NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build an {@link Rna} from the given ASCII letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     * The letters are read from the position to the limit of the buffer, the position is not changed.
+     *
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Rna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link RnaNucleotide} letters.
+     */
+    public static Rna build(final ByteBuffer sequence) {
+        return new Rna("", NUCLEOTIDE_ENCODER.encode(sequence));
+    }
+
+    /**
+     * Build an {@link Rna} from the given ASCII letters. The sequence can be only the letters of the nucleotides, case
+     * insensitive, and can contains blank characters at the beginning and the end of the input.
+     * The letters are read from the position to the limit of the buffer, the position is not changed.
+     *
+     * @param name The name of the sequence.
+     * @param sequence The input nucleotide sequence.
+     * @return A new {@link Rna} object which contains the nucleotide sequence in uppercase.
+     * @throws IllegalArgumentException If name is null.
+     * @throws IllegalArgumentException If sequence null, blank, or contains else than {@link RnaNucleotide} letters.
+     */
+    public static Rna build(final String name, final ByteBuffer sequence) {
+        return new Rna(validateName(name), NUCLEOTIDE_ENCODER.encode(sequence));
     }
 
     /**
@@ -103,34 +178,32 @@ public class Rna extends BiologicalSequence<Rna, RnaNucleotide> {
         return new Rna(validateName(name), ArgumentValidator.checkNotNullCollection(nucleotideList));
     }
 
-    private static String validateSequence(final String sequence) {
-        String uppercaseSequence = formatSequence(sequence);
-        Preconditions.checkArgument(SEQUENCE_VALIDATOR_PATTERN.matcher(uppercaseSequence).matches(), "RNA should contains only the letters of nucleotides");
-        return uppercaseSequence;
-    }
-
-    private Rna(final String sequence) {
-        super(sequence);
+    private Rna(final String name, final String sequence) {
+        this(name, NUCLEOTIDE_ENCODER.encode(sequence));
     }
 
-    private Rna(final String name, final String sequence) {
-        super(name, sequence);
+    private Rna(final String name, final SequenceEncoder.EncodedSequence encodedSequence) {
+        super(name, encodedSequence);
     }
 
     private Rna(final RnaNucleotide... rnaNucleotides) {
-        super(rnaNucleotides);
+        this("", rnaNucleotides);
     }
 
     private Rna(final String name, final RnaNucleotide... rnaNucleotides) {
-        super(name, rnaNucleotides);
+        this(name, Arrays.asList(rnaNucleotides));
     }
 
     private Rna(final List<RnaNucleotide> rnaNucleotideList) {
-        super(rnaNucleotideList);
+        this("", rnaNucleotideList);
     }
 
     private Rna(final String name, final List<RnaNucleotide> rnaNucleotideList) {
-        super(name, rnaNucleotideList);
+        super(name, PackedSequence.pack(rnaNucleotideList.size(), index -> rnaNucleotideList.get(index).ordinal()));
+    }
+
+    private Rna(final String name, final PackedSequence packedSequence) {
+        super(name, packedSequence);
     }
 
     @Override
@@ -138,6 +211,11 @@ public class Rna extends BiologicalSequence<Rna, RnaNucleotide> {
         return new Rna(name, sequence);
     }
 
+    @Override
+    protected Rna construct(final String name, final PackedSequence packedSequence) {
+        return new Rna(name, packedSequence);
+    }
+
     @Override
     protected RnaNucleotide[] createEmptyElementArray() {
         return new RnaNucleotide[sequenceLength];
@@ -180,7 +258,7 @@ public class Rna extends BiologicalSequence<Rna, RnaNucleotide> {
             int index = 0;
             while (i < translationSize) {
                 int j = i + 3;
-                aminoAcids[index++] = RnaCodonTable.lookup(cut(i, j)).orElseThrow(() ->
+                aminoAcids[index++] = RnaCodonTable.lookup(view(i, j)).orElseThrow(() ->
                         new RnaTranslationException("Found STOP codon inside RNA. Use alternate splicing for translation"));
                 i = j;
             }
@@ -197,10 +275,10 @@ public class Rna extends BiologicalSequence<Rna, RnaNucleotide> {
         if (sequenceLength % 3 != 0) {
             throw new RnaTranslationException("RNA cannot divided by 3");
         }
-        if (!cut(0, 3).equals(RnaCodonTable.START_CODON)) {
+        if (!view(0, 3).contentEquals(RnaCodonTable.START_CODON)) {
             throw new RnaTranslationException("RNA should start with AUG sequence");
         }
-        if (RnaCodonTable.lookup(cut(sequenceLength - 3, sequenceLength)).isPresent()) {
+        if (RnaCodonTable.lookup(view(sequenceLength - 3, sequenceLength)).isPresent()) {
             throw new RnaTranslationException("Last codon is not STOP codon");
         }
     }
@@ -9,17 +9,15 @@ import hu.bioinformatics.biolaboratory.guice.GuiceResourceModule;
 import hu.bioinformatics.biolaboratory.resource.extension.ResourceLocalizer;
 import hu.bioinformatics.biolaboratory.resource.read.LineReader;
 import hu.bioinformatics.biolaboratory.resource.read.ResourceReader;
+import hu.bioinformatics.biolaboratory.sequence.SequenceView;
 import hu.bioinformatics.biolaboratory.sequence.protein.AminoAcid;
 import hu.bioinformatics.biolaboratory.utils.ArgumentValidator;
 import hu.bioinformatics.biolaboratory.utils.datastructures.CommentedString;
 
-import java.util.AbstractMap;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.function.IntFunction;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
 
@@ -35,20 +33,35 @@ public class RnaCodonTable {
     private static final String STOP_CODON_STRING = "STOP";
     private static final Pattern TABULATOR_REGEX_PATTERN = Pattern.compile("\t");
 
-    private static final Map<Rna, Optional<AminoAcid>> codonTable = initializeCodonTable();
+    private static final int CODON_LENGTH = 3;
+    private static final int NUCLEOTIDE_NUMBER = RnaNucleotide.values().length;
+
+    private static final Optional<AminoAcid>[] codonTable = initializeCodonTable();
 
     static final Rna START_CODON = Rna.build("AUG");
 
-    private static Map<Rna, Optional<AminoAcid>> initializeCodonTable() {
-        return new HashMap<>(getRawCodonTable().stream()
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Optional<AminoAcid>[] initializeCodonTable() {
+        Optional<AminoAcid>[] codonTable = new Optional[NUCLEOTIDE_NUMBER * NUCLEOTIDE_NUMBER * NUCLEOTIDE_NUMBER];
+        getRawCodonTable().stream()
                 .map(CommentedString::getString)
                 .map(TABULATOR_REGEX_PATTERN::split)
-                .map(rnaAminoAcid -> new AbstractMap.SimpleEntry<>(Rna.build(rnaAminoAcid[0]),
+                .forEach(rnaAminoAcid -> codonTable[codonCode(Rna.build(rnaAminoAcid[0])::getElement)] =
                         STOP_CODON_STRING.equalsIgnoreCase(rnaAminoAcid[1])
-                                ? null
-                                : AminoAcid.findAminoAcid(rnaAminoAcid[1])))
-                .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(), Optional.ofNullable(entry.getValue())))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+                                ? Optional.empty()
+                                : Optional.of(AminoAcid.findAminoAcid(rnaAminoAcid[1])));
+        return codonTable;
+    }
+
+    /**
+     * Calculates the index of the codon in the codon table from the codes of its nucleotides.
+     */
+    private static int codonCode(final IntFunction<RnaNucleotide> nucleotideProvider) {
+        int code = 0;
+        for (int i = 0; i < CODON_LENGTH; i++) {
+            code = code * NUCLEOTIDE_NUMBER + nucleotideProvider.apply(i).ordinal();
+        }
+        return code;
     }
 
     private static List<CommentedString> getRawCodonTable() {
@@ -70,7 +83,22 @@ public class RnaCodonTable {
      */
     public static Optional<AminoAcid> lookup(final Rna rna) {
         checkNotNullArgument("RNA", rna);
-        ArgumentValidator.checkEqualNumberTo("RNA length", rna.getSequenceLength(), 3);
-        return codonTable.get(rna);
+        ArgumentValidator.checkEqualNumberTo("RNA length", rna.getSequenceLength(), CODON_LENGTH);
+        return codonTable[codonCode(rna::getElement)];
+    }
+
+    /**
+     * Return with the {@link AminoAcid} representation of the the given codon without creating an {@link Rna}. The
+     * given codon should be 3 length long view of an {@link Rna} sequence.
+     *
+     * @param codon A 3 length long {@link SequenceView} of an {@link Rna} sequence.
+     * @return The decoded amino acid wrapped in an {@link Optional} object. If it is a STOP codon the return value is
+     *          an empty {@link Optional}.
+     * @throws IllegalArgumentException If codon is null or its length is not 3.
+     */
+    public static Optional<AminoAcid> lookup(final SequenceView<Rna, RnaNucleotide> codon) {
+        checkNotNullArgument("Codon", codon);
+        ArgumentValidator.checkEqualNumberTo("Codon length", codon.getLength(), CODON_LENGTH);
+        return codonTable[codonCode(codon::getElement)];
     }
 }
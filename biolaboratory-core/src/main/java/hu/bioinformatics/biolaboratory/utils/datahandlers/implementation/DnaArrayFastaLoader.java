@@ -12,6 +12,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Loads a {@link DnaArray} from a FASTA file.
@@ -28,9 +29,13 @@ public class DnaArrayFastaLoader extends DnaArrayLoader {
 
     @Override
     protected final DnaArray convert(final List<CommentedString> lines) {
-        List<Dna> dnaList = lines.stream()
+        return convert(lines.stream());
+    }
+
+    @Override
+    protected final DnaArray convert(final Stream<CommentedString> lines) {
+        return DnaArray.build(lines
                 .map(commentedLine -> Dna.build(commentedLine.getComment(), commentedLine.getString()))
-                .collect(Collectors.toList());
-        return DnaArray.build(dnaList);
+                .collect(Collectors.toList()));
     }
 }
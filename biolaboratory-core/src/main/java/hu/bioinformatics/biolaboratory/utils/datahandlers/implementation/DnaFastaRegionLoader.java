@@ -0,0 +1,162 @@
+package hu.bioinformatics.biolaboratory.utils.datahandlers.implementation;
+
+import hu.bioinformatics.biolaboratory.resource.extension.ResourceLocalizer;
+import hu.bioinformatics.biolaboratory.resource.read.index.FastaIndex;
+import hu.bioinformatics.biolaboratory.resource.read.index.FastaRegionReader;
+import hu.bioinformatics.biolaboratory.resource.read.index.FastaRegionReaderProvider;
+import hu.bioinformatics.biolaboratory.sequence.dna.Dna;
+
+import javax.inject.Inject;
+import java.io.Closeable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Loads regions of the records of indexed FASTA files as {@link Dna}s. Only the bytes of the region are read from the
+ * file, see {@link FastaRegionReader}. The FASTA files are kept open after the first region, so the repeated queries
+ * of the same file reuse its channel and its index until the loader is closed.
+ * <p>
+ * The loader can be used by more threads. A cached reader which is replaced by {@link #index(String)} or removed by
+ * {@link #close()} is closed only after the regions which are being read by it are finished. A reader whose channel
+ * was closed by an interrupted reading thread is evicted, so the next region opens the file again.
+ *
+ * @author Attila Radi
+ */
+public class DnaFastaRegionLoader implements Closeable {
+    private final ResourceLocalizer resourceLocalizer;
+    private final FastaRegionReaderProvider regionReaderProvider;
+    private final ConcurrentMap<String, SharedRegionReader> regionReaders = new ConcurrentHashMap<>();
+
+    @Inject
+    public DnaFastaRegionLoader(final ResourceLocalizer resourceLocalizer,
+                                final FastaRegionReaderProvider regionReaderProvider) {
+        this.resourceLocalizer = notNull(resourceLocalizer);
+        this.regionReaderProvider = notNull(regionReaderProvider);
+    }
+
+    /**
+     * Builds the index of a FASTA file and writes it beside the file. The next regions of the file are read by the new
+     * index.
+     *
+     * @param resourcePath The address of the FASTA file.
+     * @return The index of the FASTA file.
+     * @throws IllegalArgumentException If the FASTA file can not be indexed.
+     * @throws UncheckedIOException If the file reading or the index writing has problem.
+     */
+    public FastaIndex index(final String resourcePath) {
+        String localizedResourcePath = resourceLocalizer.localizeResource(resourcePath);
+        FastaIndex index = regionReaderProvider.index(localizedResourcePath);
+        SharedRegionReader previousRegionReader = regionReaders.remove(localizedResourcePath);
+        if (previousRegionReader != null) {
+            previousRegionReader.retire();
+        }
+        return index;
+    }
+
+    /**
+     * Loads a region of a record from a FASTA file. The start position is inclusive, the end position is exclusive.
+     * The name of the loaded {@link Dna} is the name of the record.
+     *
+     * @param resourcePath The address of the FASTA file.
+     * @param name The name of the record, which is the first word of its header.
+     * @param startPosition The beginning nucleotide position in the record inclusive.
+     * @param endPosition The end nucleotide position in the record exclusive.
+     * @return The {@link Dna} of the region.
+     * @throws IllegalArgumentException If the record is not found.
+     * @throws IllegalArgumentException If startPosition is negative number.
+     * @throws IllegalArgumentException If endPosition is bigger than the record length.
+     * @throws IllegalArgumentException If startPosition is greater or equal than endPosition.
+     * @throws IllegalArgumentException If the region contains invalid nucleotide.
+     * @throws UncheckedIOException If the file reading has problem.
+     */
+    public Dna load(final String resourcePath, final String name, final long startPosition, final long endPosition) {
+        String localizedResourcePath = resourceLocalizer.localizeResource(resourcePath);
+        while (true) {
+            SharedRegionReader regionReader = regionReaders.computeIfAbsent(localizedResourcePath,
+                    path -> new SharedRegionReader(regionReaderProvider.open(path)));
+            if (!regionReader.acquire()) {
+                evict(localizedResourcePath, regionReader);
+                continue;
+            }
+            ByteBuffer region;
+            try {
+                region = regionReader.regionReader.readRegion(name, startPosition, endPosition);
+            } finally {
+                regionReader.release();
+                if (!regionReader.regionReader.isOpen()) {
+                    evict(localizedResourcePath, regionReader);
+                }
+            }
+            return Dna.build(name, region);
+        }
+    }
+
+    private void evict(final String localizedResourcePath, final SharedRegionReader regionReader) {
+        if (regionReaders.remove(localizedResourcePath, regionReader)) {
+            regionReader.retire();
+        }
+    }
+
+    /**
+     * Closes the opened FASTA files.
+     *
+     * @throws UncheckedIOException If the closing has problem.
+     */
+    @Override
+    public void close() {
+        regionReaders.keySet().forEach(resourcePath -> {
+            SharedRegionReader regionReader = regionReaders.remove(resourcePath);
+            if (regionReader != null) {
+                regionReader.retire();
+            }
+        });
+    }
+
+    /**
+     * Counts the regions which are being read by a cached {@link FastaRegionReader}, so a retired reader is closed by
+     * the last of them.
+     */
+    private static final class SharedRegionReader {
+        private final FastaRegionReader regionReader;
+        private int readingNumber = 0;
+        private boolean isRetired = false;
+
+        private SharedRegionReader(final FastaRegionReader regionReader) {
+            this.regionReader = regionReader;
+        }
+
+        private synchronized boolean acquire() {
+            if (isRetired || !regionReader.isOpen()) {
+                return false;
+            }
+            readingNumber++;
+            return true;
+        }
+
+        private void release() {
+            boolean isClosable;
+            synchronized (this) {
+                readingNumber--;
+                isClosable = isRetired && readingNumber == 0;
+            }
+            if (isClosable) {
+                regionReader.close();
+            }
+        }
+
+        private void retire() {
+            boolean isClosable;
+            synchronized (this) {
+                isClosable = !isRetired && readingNumber == 0;
+                isRetired = true;
+            }
+            if (isClosable) {
+                regionReader.close();
+            }
+        }
+    }
+}
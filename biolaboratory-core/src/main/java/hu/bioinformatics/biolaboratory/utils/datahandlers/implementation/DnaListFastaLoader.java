@@ -12,6 +12,7 @@ import javax.inject.Named;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Loads a list of {@link Dna}s from FASTA file.
@@ -27,7 +28,12 @@ public class DnaListFastaLoader extends DnaListLoader {
 
     @Override
     protected final List<Dna> convert(final List<CommentedString> lines) {
-        return lines.stream()
+        return convert(lines.stream());
+    }
+
+    @Override
+    protected final List<Dna> convert(final Stream<CommentedString> lines) {
+        return lines
                 .map(commentedLine -> Dna.build(commentedLine.getComment(), commentedLine.getString()))
                 .collect(Collectors.toCollection(ArrayList::new));
     }
@@ -0,0 +1,34 @@
+package hu.bioinformatics.biolaboratory.utils.datahandlers.implementation;
+
+import hu.bioinformatics.biolaboratory.resource.datahandlers.MappedFastaLoader;
+import hu.bioinformatics.biolaboratory.resource.extension.ResourceLocalizer;
+import hu.bioinformatics.biolaboratory.resource.read.mapped.FastaRecord;
+import hu.bioinformatics.biolaboratory.resource.read.mapped.MappedFastaReader;
+import hu.bioinformatics.biolaboratory.sequence.dna.Dna;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads a list of {@link Dna}s from a memory mapped FASTA file. The nucleotides are encoded directly from the bytes of
+ * the file.
+ *
+ * @author Attila Radi
+ */
+public class DnaListMappedFastaLoader extends MappedFastaLoader<List<Dna>> {
+    @Inject
+    public DnaListMappedFastaLoader(final ResourceLocalizer resourceLocalizer,
+                                    final MappedFastaReader mappedFastaReader) {
+        super(resourceLocalizer, mappedFastaReader);
+    }
+
+    @Override
+    protected final List<Dna> convert(final Stream<FastaRecord> records) {
+        return records
+                .map(record -> Dna.build(record.getDescription(), record.getSequence()))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
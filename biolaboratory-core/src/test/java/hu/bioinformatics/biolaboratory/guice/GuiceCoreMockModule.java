@@ -4,7 +4,9 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
 import hu.bioinformatics.biolaboratory.utils.datahandlers.implementation.DnaArrayFastaLoader;
 import hu.bioinformatics.biolaboratory.utils.datahandlers.implementation.DnaArrayLineLoader;
+import hu.bioinformatics.biolaboratory.utils.datahandlers.implementation.DnaFastaRegionLoader;
 import hu.bioinformatics.biolaboratory.utils.datahandlers.implementation.DnaListFastaLoader;
+import hu.bioinformatics.biolaboratory.utils.datahandlers.implementation.DnaListMappedFastaLoader;
 import hu.bioinformatics.biolaboratory.utils.datahandlers.implementation.DnaRowLoader;
 import hu.bioinformatics.biolaboratory.utils.datahandlers.implementation.DnaSetRowLoader;
 
@@ -20,6 +22,8 @@ public class GuiceCoreMockModule extends AbstractModule {
         bind(DnaArrayLineLoader.class).in(Scopes.SINGLETON);
         bind(DnaArrayFastaLoader.class).in(Scopes.SINGLETON);
         bind(DnaListFastaLoader.class).in(Scopes.SINGLETON);
+        bind(DnaListMappedFastaLoader.class).in(Scopes.SINGLETON);
         bind(DnaSetRowLoader.class).in(Scopes.SINGLETON);
+        bind(DnaFastaRegionLoader.class).in(Scopes.SINGLETON);
     }
 }
@@ -8,8 +8,12 @@ import hu.bioinformatics.biolaboratory.utils.datastructures.CountableOccurrenceM
 import org.testng.annotations.Guice;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
@@ -73,6 +77,23 @@ public class BiologicalSequenceTest {
         assertThat(elements, is(equalTo(controlElements)));
     }
 
+    @Test(dataProvider = BiologicalSequenceTestDataProvider.GET_SEQUENCE_AS_ELEMENTS_DATA_PROVIDER_NAME)
+    public void shouldElementOrdinalsReturn(BiologicalSequence biologicalSequence, SequenceElement[] controlElements) {
+        int[] controlOrdinals = Arrays.stream(controlElements).mapToInt(SequenceElement::ordinal).toArray();
+        List<Integer> ordinals = new ArrayList<>();
+        biologicalSequence.forEachElementOrdinal(ordinals::add);
+        assertThat(ordinals.stream().mapToInt(Integer::intValue).toArray(), is(equalTo(controlOrdinals)));
+        assertThat(biologicalSequence.elementOrdinalStream().toArray(), is(equalTo(controlOrdinals)));
+        for (int i = 0; i < controlOrdinals.length; i++) {
+            assertThat(biologicalSequence.getElementOrdinal(i), is(equalTo(controlOrdinals[i])));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldForEachElementOrdinalThrowException() {
+        Dna.build("ACGT").forEachElementOrdinal(null);
+    }
+
     @Test(dataProvider = BiologicalSequenceTestDataProvider.EQUALS_DATA_PROVIDER_NAME)
     public void shouldEqualsReturn(BiologicalSequence biologicalSequence, Object rightHand, boolean isEquals) {
         boolean equalsResult = biologicalSequence.equals(rightHand);
@@ -91,6 +112,16 @@ public class BiologicalSequenceTest {
         assertThat(elementOccurrences, is(equalTo(controlOccurrenceMap)));
     }
 
+    @Test(dataProvider = BiologicalSequenceTestDataProvider.GET_ELEMENT_OCCURRENCES_DATA_PROVIDER_NAME)
+    public void shouldGetElementOccurrencesReturnTheSameFromMoreThreads(BiologicalSequence biologicalSequence,
+                                                                       CountableOccurrenceMap<SequenceElement> controlOccurrenceMap) {
+        List<CountableOccurrenceMap> elementOccurrencesList = IntStream.range(0, 8).parallel()
+                .mapToObj(i -> biologicalSequence.getElementOccurrences())
+                .collect(Collectors.toList());
+        elementOccurrencesList.forEach(elementOccurrences ->
+                assertThat(elementOccurrences, is(equalTo(controlOccurrenceMap))));
+    }
+
     @Test(dataProvider = BiologicalSequenceTestDataProvider.INVALID_GET_ELEMENT_NUMBER_DATA_PROVIDER_NAME,
             expectedExceptions = IllegalArgumentException.class)
     public void shouldGetElementNumberThrowException(BiologicalSequence biologicalSequence, SequenceElement sequenceElement) {
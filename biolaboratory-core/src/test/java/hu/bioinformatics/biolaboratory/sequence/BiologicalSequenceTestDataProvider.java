@@ -88,7 +88,9 @@ public class BiologicalSequenceTestDataProvider {
     static private Object[][] getSequenceAsElementsDataProvider() {
         return new Object[][] {
                 { Rna.build("A"), new RnaNucleotide[] { RnaNucleotide.ADENINE } },
-                { Rna.build("ACGU"), new RnaNucleotide[] { RnaNucleotide.ADENINE, RnaNucleotide.CYTOSINE, RnaNucleotide.GUANINE, RnaNucleotide.URACIL } }
+                { Rna.build("ACGU"), new RnaNucleotide[] { RnaNucleotide.ADENINE, RnaNucleotide.CYTOSINE, RnaNucleotide.GUANINE, RnaNucleotide.URACIL } },
+                { Protein.build("MAR"), new AminoAcid[] { AminoAcid.METHIONINE, AminoAcid.ALANINE, AminoAcid.ARGININE } },
+                { Protein.build(AminoAcid.HISTIDINE, AminoAcid.LYSINE), new AminoAcid[] { AminoAcid.HISTIDINE, AminoAcid.LYSINE } }
         };
     }
 
@@ -0,0 +1,33 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import org.testng.annotations.Test;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for {@link BitParallelMatcher} class.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = BitParallelMatcherTestDataProvider.class)
+public class BitParallelMatcherTest {
+
+    @Test(dataProvider = BitParallelMatcherTestDataProvider.VALID_FIND_MATCHES_DATA_PROVIDER_NAME)
+    public void shouldFindMatchesReturnTheSameAsNaiveSearch(int[] text, int[] pattern, int alphabetSize, int d) {
+        BitParallelMatcher matcher = BitParallelMatcher.build(pattern, alphabetSize, d);
+        int[] controlMatches = findMatchesNaive(text, pattern, d);
+        assertThat(matcher.findMatches(text.length, index -> text[index]), is(equalTo(controlMatches)));
+        assertThat(matcher.countMatches(text.length, index -> text[index]), is(equalTo(controlMatches.length)));
+    }
+
+    private static int[] findMatchesNaive(final int[] text, final int[] pattern, final int d) {
+        return IntStream.rangeClosed(0, text.length - pattern.length)
+                .filter(start -> IntStream.range(0, pattern.length)
+                        .filter(i -> text[start + i] != pattern[i])
+                        .count() <= d)
+                .toArray();
+    }
+}
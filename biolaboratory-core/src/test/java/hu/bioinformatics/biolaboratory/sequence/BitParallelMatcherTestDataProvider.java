@@ -0,0 +1,45 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import org.testng.annotations.DataProvider;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Test data provider for {@link BitParallelMatcherTest} test class.
+ *
+ * @author Attila Radi
+ */
+public class BitParallelMatcherTestDataProvider {
+
+    private static final int[] TEXT = createRepeatingText(1000, 4, 150);
+
+    private static int[] createRepeatingText(final int length, final int alphabetSize, final int period) {
+        Random random = new Random(42);
+        int[] periodCodes = random.ints(period, 0, alphabetSize).toArray();
+        int[] text = new int[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = random.nextInt(10) == 0 ? random.nextInt(alphabetSize) : periodCodes[i % period];
+        }
+        return text;
+    }
+
+    static final String VALID_FIND_MATCHES_DATA_PROVIDER_NAME = "validFindMatchesDataProvider";
+
+    @DataProvider(name = VALID_FIND_MATCHES_DATA_PROVIDER_NAME)
+    private Object[][] validFindMatchesDataProvider() {
+        return new Object[][] {
+                { new int[] { 0, 1, 2, 3 }, new int[] { 0, 1, 2, 3 }, 4, 0 },
+                { new int[] { 0, 0, 0, 0 }, new int[] { 0, 0 }, 4, 0 },
+                { new int[] { 0, 1, 2, 3 }, new int[] { 3, 3 }, 4, 1 },
+                { new int[] { 0, 1, 2 }, new int[] { 3, 3 }, 4, 5 },
+                { TEXT, Arrays.copyOfRange(TEXT, 10, 18), 4, 0 },
+                { TEXT, Arrays.copyOfRange(TEXT, 10, 18), 4, 2 },
+                { TEXT, Arrays.copyOfRange(TEXT, 3, 67), 4, 6 },
+                { TEXT, Arrays.copyOfRange(TEXT, 3, 68), 4, 0 },
+                { TEXT, Arrays.copyOfRange(TEXT, 3, 73), 4, 8 },
+                { TEXT, Arrays.copyOfRange(TEXT, 100, 240), 4, 15 },
+                { createRepeatingText(300, 20, 40), Arrays.copyOfRange(createRepeatingText(300, 20, 40), 5, 25), 20, 3 }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for {@link ClumpFinder} class.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = ClumpFinderTestDataProvider.class)
+public class ClumpFinderTest {
+
+    @Test(dataProvider = ClumpFinderTestDataProvider.VALID_FIND_CLUMP_CODES_DATA_PROVIDER_NAME)
+    public void shouldFindClumpCodesReturnTheSameAsNaiveSearch(String sequence, int k, int L, int t) {
+        PackedSequence packedSequence = PackedSequence.pack(sequence, ClumpFinderTestDataProvider.ALPHABET);
+        long[] clumpCodes = ClumpFinder.findClumpCodes(packedSequence, k, L, t);
+        assertThat(clumpCodes, is(equalTo(findClumpCodesNaive(packedSequence, k, L, t))));
+    }
+
+    private static long[] findClumpCodesNaive(final PackedSequence packedSequence, final int k, final int L, final int t) {
+        TreeSet<Long> clumpCodes = new TreeSet<>();
+        for (int windowStart = 0; windowStart + L <= packedSequence.length(); windowStart++) {
+            Map<Long, Integer> occurrences = new HashMap<>();
+            for (int i = windowStart; i + k <= windowStart + L; i++) {
+                long code = packedSequence.getCode(i, k);
+                if (occurrences.merge(code, 1, Integer::sum) >= t) {
+                    clumpCodes.add(code);
+                }
+            }
+        }
+        return clumpCodes.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,30 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import org.testng.annotations.DataProvider;
+
+/**
+ * Test data provider for {@link ClumpFinderTest} test class.
+ *
+ * @author Attila Radi
+ */
+public class ClumpFinderTestDataProvider {
+
+    static final char[] ALPHABET = { 'A', 'C', 'G', 'T' };
+
+    private static final String SEQUENCE = "CGGACTCGACAGATGTGAAGAACGACAATGTGAAGACTCGACACGACAGAGTGAAGAGAAGAGGAAACATTGTAA";
+
+    static final String VALID_FIND_CLUMP_CODES_DATA_PROVIDER_NAME = "validFindClumpCodesDataProvider";
+
+    @DataProvider(name = VALID_FIND_CLUMP_CODES_DATA_PROVIDER_NAME)
+    private Object[][] validFindClumpCodesDataProvider() {
+        return new Object[][] {
+                { SEQUENCE, 5, 50, 4 },
+                { SEQUENCE, 3, 10, 2 },
+                { SEQUENCE, 1, SEQUENCE.length(), 1 },
+                { SEQUENCE, 13, 30, 1 },
+                { SEQUENCE, 20, 25, 2 },
+                { "AAAAAAAAAA", 2, 4, 3 },
+                { "AAAAAAAAAA", 2, 4, 4 }
+        };
+    }
+}
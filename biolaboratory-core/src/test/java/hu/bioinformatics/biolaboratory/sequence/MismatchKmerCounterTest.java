@@ -0,0 +1,73 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.sequence.MismatchKmerCounter.Strategy;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for {@link MismatchKmerCounter} class.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = MismatchKmerCounterTestDataProvider.class)
+public class MismatchKmerCounterTest {
+
+    @Test(dataProvider = MismatchKmerCounterTestDataProvider.VALID_COUNT_DATA_PROVIDER_NAME)
+    public void shouldEveryStrategyCountTheSameAsBruteForce(String sequence, int k, int d, boolean includeReverseComplements) {
+        PackedSequence packedSequence = PackedSequence.pack(sequence, MismatchKmerCounterTestDataProvider.ALPHABET);
+        int[] controlOccurrences = countBruteForce(packedSequence, k, d, includeReverseComplements);
+        int maximumOccurrence = Arrays.stream(controlOccurrences).max().orElse(0);
+
+        for (Strategy strategy : Strategy.values()) {
+            MismatchKmerCounter counter = MismatchKmerCounter.count(packedSequence, k, d, includeReverseComplements, strategy);
+            for (int threshold = 1; threshold <= maximumOccurrence; threshold++) {
+                assertThat(counter.filterGreaterOrEqualsOccurrences(threshold),
+                        is(equalTo(filterCodes(controlOccurrences, threshold))));
+            }
+            assertThat(counter.filterMostFrequentOccurrences(),
+                    is(equalTo(filterCodes(controlOccurrences, maximumOccurrence))));
+        }
+    }
+
+    @Test(dataProvider = MismatchKmerCounterTestDataProvider.VALID_REVERSE_COMPLEMENT_DATA_PROVIDER_NAME)
+    public void shouldReverseComplementReturn(String kmer, String controlReverseComplement) {
+        char[] alphabet = MismatchKmerCounterTestDataProvider.ALPHABET;
+        long code = PackedSequence.pack(kmer, alphabet).getCode(0, kmer.length());
+        long reverseComplement = MismatchKmerCounter.reverseComplement(code, kmer.length());
+        assertThat(PackedSequence.packCode(reverseComplement, kmer.length()).decode(alphabet),
+                is(equalTo(controlReverseComplement)));
+    }
+
+    @Test(dataProvider = MismatchKmerCounterTestDataProvider.VALID_CHOOSE_STRATEGY_DATA_PROVIDER_NAME)
+    public void shouldChooseStrategyReturn(int k, int d, int windowNumber, Strategy controlStrategy) {
+        assertThat(MismatchKmerCounter.chooseStrategy(k, d, windowNumber), is(equalTo(controlStrategy)));
+    }
+
+    private static int[] countBruteForce(final PackedSequence packedSequence, final int k, final int d,
+                                         final boolean includeReverseComplements) {
+        int[] occurrences = new int[1 << (2 * k)];
+        for (int i = 0; i + k <= packedSequence.length(); i++) {
+            PackedSequence window = packedSequence.subSequence(i, i + k);
+            PackedSequence reverseComplementWindow = window.complement().reverse();
+            for (int code = 0; code < occurrences.length; code++) {
+                PackedSequence kmer = PackedSequence.packCode(code, k);
+                if (kmer.hammingDistance(window) <= d) occurrences[code]++;
+                if (includeReverseComplements && kmer.hammingDistance(reverseComplementWindow) <= d) occurrences[code]++;
+            }
+        }
+        return occurrences;
+    }
+
+    private static long[] filterCodes(final int[] occurrences, final int threshold) {
+        if (threshold == 0) return new long[0];
+        return LongStream.range(0, occurrences.length)
+                .filter(code -> occurrences[(int) code] >= threshold)
+                .toArray();
+    }
+}
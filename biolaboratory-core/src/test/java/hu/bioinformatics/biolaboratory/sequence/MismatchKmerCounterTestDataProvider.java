@@ -0,0 +1,57 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.sequence.MismatchKmerCounter.Strategy;
+import org.testng.annotations.DataProvider;
+
+/**
+ * Test data provider for {@link MismatchKmerCounterTest} test class.
+ *
+ * @author Attila Radi
+ */
+public class MismatchKmerCounterTestDataProvider {
+
+    static final char[] ALPHABET = { 'A', 'C', 'G', 'T' };
+
+    static final String VALID_COUNT_DATA_PROVIDER_NAME = "validCountDataProvider";
+
+    @DataProvider(name = VALID_COUNT_DATA_PROVIDER_NAME)
+    private Object[][] validCountDataProvider() {
+        return new Object[][] {
+                { "ACGTTGCATGTCGCATGATGCATGAGAGCT", 4, 0, false },
+                { "ACGTTGCATGTCGCATGATGCATGAGAGCT", 4, 1, false },
+                { "ACGTTGCATGTCGCATGATGCATGAGAGCT", 4, 1, true },
+                { "ACGTTGCATGTCGCATGATGCATGAGAGCT", 5, 2, true },
+                { "CACAGTAGGCGCCGGCACACACAGCCCCGGGCCCCGGGCCGCCCCGGGCCGGCGGCCGCCGGCGCCGGCACACCGGCACAGCCGTACCGGCACAGTAGTACCGGCCGGCCGGCACACCGGCACACCGGGTACACACCGGGGCGCACACACAGGCGGGCGCCGGGCCCCGGGCCGTACCGGGCCGCCGGCGGCCCACAGGCGCCGGCACAGTACCGGCACACACAGTAGCCCACACACAGGCGGGCGGTAGCCGGCGCACACACACACAGTAGGCGCACAGCCGCCCACACACACCGGCCGGCCGGCACAGGCGGGCGGGCGCACACACACCGGCACAGTAGTAGGCGGCCGGCGCACAGCC", 6, 2, false },
+                { "AAAA", 4, 5, true },
+                { "ACGTACGTAATTGCGCAT", 4, 0, true },
+                { "ACGTACGTAATTGCGCAT", 4, 1, true },
+                { "GAATTCGAATTCCGGAATTC", 6, 2, true },
+                { "GAATTCGAATTC", 3, 1, true }
+        };
+    }
+
+    static final String VALID_REVERSE_COMPLEMENT_DATA_PROVIDER_NAME = "validReverseComplementDataProvider";
+
+    @DataProvider(name = VALID_REVERSE_COMPLEMENT_DATA_PROVIDER_NAME)
+    private Object[][] validReverseComplementDataProvider() {
+        return new Object[][] {
+                { "A", "T" },
+                { "ACGT", "ACGT" },
+                { "AACCG", "CGGTT" },
+                { "ACGTTGCAACGTTGCAACGTTGCAACGTTGCC", "GGCAACGTTGCAACGTTGCAACGTTGCAACGT" }
+        };
+    }
+
+    static final String VALID_CHOOSE_STRATEGY_DATA_PROVIDER_NAME = "validChooseStrategyDataProvider";
+
+    @DataProvider(name = VALID_CHOOSE_STRATEGY_DATA_PROVIDER_NAME)
+    private Object[][] validChooseStrategyDataProvider() {
+        return new Object[][] {
+                { 9, 1, 1000000, Strategy.DIRECT },
+                { 9, 0, 100, Strategy.SORT },
+                { 12, 2, 10000, Strategy.SORT },
+                { 12, 2, 1000000, Strategy.HASH },
+                { 20, 3, 5000000, Strategy.HASH }
+        };
+    }
+}
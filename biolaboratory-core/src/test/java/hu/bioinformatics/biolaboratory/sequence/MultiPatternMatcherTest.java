@@ -0,0 +1,59 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for {@link MultiPatternMatcher} class.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = MultiPatternMatcherTestDataProvider.class)
+public class MultiPatternMatcherTest {
+
+    @Test(dataProvider = MultiPatternMatcherTestDataProvider.VALID_FIND_MATCHES_DATA_PROVIDER_NAME)
+    public <TYPE extends BiologicalSequence> void shouldFindMatchesReturnTheSameAsPatternMatching(TYPE sequence,
+                                                                                                  List<TYPE> patterns) {
+        Map<TYPE, List<Integer>> matches = MultiPatternMatcher.build(patterns).findMatches(sequence);
+        assertThat(matches.keySet(), containsInAnyOrder(patterns.stream().distinct().toArray()));
+        matches.forEach((pattern, positions) -> assertThat(positions, is(equalTo(patternMatching(sequence, pattern)))));
+    }
+
+    @Test(dataProvider = MultiPatternMatcherTestDataProvider.VALID_FIND_MATCHES_DATA_PROVIDER_NAME)
+    public <TYPE extends BiologicalSequence> void shouldStreamedMatchesReturnTheSameAsCollectedMatches(TYPE sequence,
+                                                                                                       List<TYPE> patterns) {
+        MultiPatternMatcher<TYPE> matcher = MultiPatternMatcher.build(patterns);
+        Map<TYPE, List<Integer>> streamedMatches = new HashMap<>();
+        matcher.getPatterns().forEach(pattern -> streamedMatches.put(pattern, new ArrayList<>()));
+        matcher.findMatches(sequence, (pattern, position) -> streamedMatches.get(pattern).add(position));
+        assertThat(streamedMatches, is(equalTo(matcher.findMatches(sequence))));
+    }
+
+    @Test(dataProvider = MultiPatternMatcherTestDataProvider.INVALID_BUILD_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void shouldBuildThrowException(List<BiologicalSequence> patterns) {
+        MultiPatternMatcher.build(patterns);
+    }
+
+    @Test(dataProvider = MultiPatternMatcherTestDataProvider.INVALID_FIND_MATCHES_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void shouldFindMatchesThrowException(List<BiologicalSequence> patterns, BiologicalSequence sequence) {
+        MultiPatternMatcher.build(patterns).findMatches(sequence);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Integer> patternMatching(final BiologicalSequence sequence, final BiologicalSequence pattern) {
+        return pattern.getSequenceLength() > sequence.getSequenceLength()
+                ? new ArrayList<>()
+                : sequence.patternMatching(pattern);
+    }
+}
@@ -0,0 +1,57 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import com.google.common.collect.Lists;
+import hu.bioinformatics.biolaboratory.sequence.dna.Dna;
+import hu.bioinformatics.biolaboratory.sequence.protein.Protein;
+import hu.bioinformatics.biolaboratory.sequence.rna.Rna;
+import org.testng.annotations.DataProvider;
+
+import java.util.Arrays;
+
+/**
+ * Test data provider for {@link MultiPatternMatcherTest} test class.
+ *
+ * @author Attila Radi
+ */
+public class MultiPatternMatcherTestDataProvider {
+
+    private static final String DNA_SEQUENCE =
+            "CGGACTCGACAGATGTGAAGAACGACAATGTGAAGACTCGACACGACAGAGTGAAGAGAAGAGGAAACATTGTAA";
+
+    static final String VALID_FIND_MATCHES_DATA_PROVIDER_NAME = "validFindMatchesDataProvider";
+    static final String INVALID_BUILD_DATA_PROVIDER_NAME = "invalidBuildDataProvider";
+    static final String INVALID_FIND_MATCHES_DATA_PROVIDER_NAME = "invalidFindMatchesDataProvider";
+
+    @DataProvider(name = VALID_FIND_MATCHES_DATA_PROVIDER_NAME)
+    private Object[][] validFindMatchesDataProvider() {
+        return new Object[][] {
+                { Dna.build("GATATATGCATATACTT"), Lists.newArrayList(Dna.build("ATAT")) },
+                { Dna.build(DNA_SEQUENCE), Lists.newArrayList(Dna.build("GA"), Dna.build("GAAGA"), Dna.build("AGA"),
+                        Dna.build("A"), Dna.build("TTTT"), Dna.build("CGACA")) },
+                { Dna.build("AAAAAAAA"), Lists.newArrayList(Dna.build("A"), Dna.build("AA"), Dna.build("AAA"),
+                        Dna.build("AA")) },
+                { Dna.build("ACGTACGT"), Lists.newArrayList(Dna.build("ACGTACGTA"), Dna.build("CGTA")) },
+                { Rna.build("GAUAUAUGCAUAUACUU"), Lists.newArrayList(Rna.build("AUAU"), Rna.build("UAU"), Rna.build("CUU")) },
+                { Protein.build("MAMAPRTEINSTRINGMAMA"), Arrays.asList(Protein.build("MAMA"), Protein.build("AMA"),
+                        Protein.build("STRING"), Protein.build("WY")) }
+        };
+    }
+
+    @DataProvider(name = INVALID_BUILD_DATA_PROVIDER_NAME)
+    private Object[][] invalidBuildDataProvider() {
+        return new Object[][] {
+                { null },
+                { Lists.newArrayList() },
+                { Lists.newArrayList(Dna.build("ACGT"), null) },
+                { Lists.newArrayList(Dna.build("ACGT"), Rna.build("ACGU")) }
+        };
+    }
+
+    @DataProvider(name = INVALID_FIND_MATCHES_DATA_PROVIDER_NAME)
+    private Object[][] invalidFindMatchesDataProvider() {
+        return new Object[][] {
+                { Lists.newArrayList(Dna.build("ACGT")), null },
+                { Lists.newArrayList(Dna.build("ACGT")), Rna.build("ACGU") }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for {@link NeighborhoodEnumerator} class.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = NeighborhoodEnumeratorTestDataProvider.class)
+public class NeighborhoodEnumeratorTest {
+
+    @Test(dataProvider = NeighborhoodEnumeratorTestDataProvider.VALID_NEIGHBORHOOD_DATA_PROVIDER_NAME)
+    public void shouldSpliteratorReturnTheSameAsBruteForce(int alphabetSize, int[] centerCodes, int d) {
+        NeighborhoodEnumerator enumerator = NeighborhoodEnumerator.build(alphabetSize, centerCodes, d);
+        List<List<Integer>> neighbors = StreamSupport.stream(enumerator.spliterator(NeighborhoodEnumeratorTest::toList), false)
+                .collect(Collectors.toList());
+        Set<List<Integer>> controlNeighbors = generateNeighborsBruteForce(alphabetSize, centerCodes, d);
+        assertThat(neighbors.size(), is(equalTo(controlNeighbors.size())));
+        assertThat((long) neighbors.size(), is(equalTo(enumerator.size())));
+        assertThat(new HashSet<>(neighbors), is(equalTo(controlNeighbors)));
+    }
+
+    @Test(dataProvider = NeighborhoodEnumeratorTestDataProvider.VALID_NEIGHBORHOOD_DATA_PROVIDER_NAME)
+    public void shouldCodeSpliteratorReturnTheCodesOfTheNeighbors(int alphabetSize, int[] centerCodes, int d) {
+        NeighborhoodEnumerator enumerator = NeighborhoodEnumerator.build(alphabetSize, centerCodes, d);
+        long[] codes = StreamSupport.longStream(enumerator.codeSpliterator(), true).toArray();
+        long[] controlCodes = StreamSupport.stream(enumerator.spliterator(codeArray -> encode(alphabetSize, codeArray)), false)
+                .mapToLong(Long::longValue)
+                .toArray();
+        assertThat(codes, is(equalTo(controlCodes)));
+    }
+
+    @Test(dataProvider = NeighborhoodEnumeratorTestDataProvider.VALID_NEIGHBORHOOD_DATA_PROVIDER_NAME)
+    public void shouldTrySplitDivideTheNeighborhoodEvenly(int alphabetSize, int[] centerCodes, int d) {
+        NeighborhoodEnumerator enumerator = NeighborhoodEnumerator.build(alphabetSize, centerCodes, d);
+        Spliterator.OfLong suffix = enumerator.codeSpliterator();
+        Spliterator.OfLong prefix = suffix.trySplit();
+        if (enumerator.size() < 2) {
+            assertThat(prefix, is(nullValue()));
+        } else {
+            assertThat(Math.abs(prefix.estimateSize() - suffix.estimateSize()), is(lessThanOrEqualTo(1L)));
+            assertThat(prefix.estimateSize() + suffix.estimateSize(), is(equalTo(enumerator.size())));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldCodeSpliteratorThrowExceptionIfCodesDoNotFitIntoLong() {
+        NeighborhoodEnumerator.build(20, new int[15], 1).codeSpliterator();
+    }
+
+    private static List<Integer> toList(final int[] codes) {
+        return Arrays.stream(codes).boxed().collect(Collectors.toList());
+    }
+
+    private static long encode(final int alphabetSize, final int[] codes) {
+        long code = 0;
+        for (int elementCode : codes) {
+            code = code * alphabetSize + elementCode;
+        }
+        return code;
+    }
+
+    private static Set<List<Integer>> generateNeighborsBruteForce(final int alphabetSize, final int[] centerCodes, final int d) {
+        Set<List<Integer>> neighbors = new HashSet<>();
+        int[] codes = new int[centerCodes.length];
+        long patternNumber = (long) Math.pow(alphabetSize, centerCodes.length);
+        for (long pattern = 0; pattern < patternNumber; pattern++) {
+            long remaining = pattern;
+            int distance = 0;
+            for (int i = codes.length - 1; i >= 0; i--) {
+                codes[i] = (int) (remaining % alphabetSize);
+                remaining /= alphabetSize;
+                if (codes[i] != centerCodes[i]) distance++;
+            }
+            if (distance <= d) neighbors.add(new ArrayList<>(toList(codes)));
+        }
+        return neighbors;
+    }
+}
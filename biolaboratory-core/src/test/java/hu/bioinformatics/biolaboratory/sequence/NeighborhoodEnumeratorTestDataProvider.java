@@ -0,0 +1,28 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import org.testng.annotations.DataProvider;
+
+/**
+ * Test data provider for {@link NeighborhoodEnumeratorTest} test class.
+ *
+ * @author Attila Radi
+ */
+public class NeighborhoodEnumeratorTestDataProvider {
+
+    static final String VALID_NEIGHBORHOOD_DATA_PROVIDER_NAME = "validNeighborhoodDataProvider";
+
+    @DataProvider(name = VALID_NEIGHBORHOOD_DATA_PROVIDER_NAME)
+    private Object[][] validNeighborhoodDataProvider() {
+        return new Object[][] {
+                { 4, new int[] { 2 }, 0 },
+                { 4, new int[] { 2 }, 1 },
+                { 4, new int[] { 0, 1, 2, 3 }, 1 },
+                { 4, new int[] { 0, 1, 2, 3 }, 2 },
+                { 4, new int[] { 3, 3, 0, 1, 2, 0, 1 }, 3 },
+                { 4, new int[] { 3, 3, 0, 1, 2 }, 5 },
+                { 4, new int[] { 3, 3, 0 }, Integer.MAX_VALUE },
+                { 20, new int[] { 19, 0, 7 }, 2 },
+                { 3, new int[] { 2, 0, 1, 1, 0, 2 }, 4 }
+        };
+    }
+}
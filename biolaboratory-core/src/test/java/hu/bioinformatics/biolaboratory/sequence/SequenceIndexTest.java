@@ -0,0 +1,105 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.sequence.dna.Dna;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for {@link SequenceIndex} class.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = SequenceIndexTestDataProvider.class)
+public class SequenceIndexTest {
+
+    @Test(dataProvider = SequenceIndexTestDataProvider.VALID_SEQUENCE_INDEX_DATA_PROVIDER_NAME)
+    @SuppressWarnings("unchecked")
+    public <TYPE extends BiologicalSequence> void shouldCountReturnTheSameAsPatternCount(TYPE sequence, TYPE pattern) {
+        SequenceIndex<TYPE> sequenceIndex = SequenceIndex.build(sequence);
+        assertThat(sequenceIndex.count(pattern), is(equalTo(sequence.patternCount(pattern))));
+    }
+
+    @Test(dataProvider = SequenceIndexTestDataProvider.VALID_SEQUENCE_INDEX_DATA_PROVIDER_NAME)
+    @SuppressWarnings("unchecked")
+    public <TYPE extends BiologicalSequence> void shouldLocateReturnTheSameAsPatternMatching(TYPE sequence, TYPE pattern) {
+        SequenceIndex<TYPE> sequenceIndex = SequenceIndex.build(sequence);
+        assertThat(sequenceIndex.locate(pattern), is(equalTo(sequence.patternMatching(pattern))));
+    }
+
+    @Test(dataProvider = SequenceIndexTestDataProvider.INVALID_SEQUENCE_INDEX_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldCountThrowException(BiologicalSequence sequence, BiologicalSequence pattern) {
+        SequenceIndex.build(sequence).count(pattern);
+    }
+
+    @Test(dataProvider = SequenceIndexTestDataProvider.VALID_SEQUENCE_INDEX_DATA_PROVIDER_NAME)
+    @SuppressWarnings("unchecked")
+    public <TYPE extends BiologicalSequence> void shouldLoadedIndexReturnTheSameAsBuiltIndex(TYPE sequence,
+                                                                                             TYPE pattern) throws IOException {
+        Path indexPath = Files.createTempFile("sequence", ".idx");
+        try {
+            SequenceIndex.build(sequence).write(indexPath);
+            SequenceIndex<TYPE> sequenceIndex = SequenceIndex.load(indexPath, (Class<TYPE>) sequence.getClass());
+            assertThat(sequenceIndex.getSequenceLength(), is(equalTo(sequence.getSequenceLength())));
+            assertThat(sequenceIndex.locate(pattern), is(equalTo(sequence.patternMatching(pattern))));
+        } finally {
+            Files.delete(indexPath);
+        }
+    }
+
+    @Test(dataProvider = SequenceIndexTestDataProvider.VALID_SEQUENCE_INDEX_DATA_PROVIDER_NAME)
+    public void shouldFileSizeReturnTheWrittenFileSize(BiologicalSequence sequence, BiologicalSequence pattern)
+            throws IOException {
+        Path indexPath = Files.createTempFile("sequence", ".idx");
+        try {
+            SequenceIndex.build(sequence).write(indexPath);
+            long fileSize = SequenceIndex.fileSize(sequence.getClass().getName().length(),
+                    sequence.getSequenceLength(), sequence.getElementArray().length);
+            assertThat(Files.size(indexPath), is(equalTo(fileSize)));
+        } finally {
+            Files.delete(indexPath);
+        }
+    }
+
+    @Test
+    public void shouldFileSizeExceedTheMappingAboutLongSequences() {
+        assertThat(SequenceIndex.fileSize(Dna.class.getName().length(), 400_000_000, 4),
+                is(lessThanOrEqualTo(SequenceIndex.MAXIMUM_FILE_SIZE)));
+        assertThat(SequenceIndex.fileSize(Dna.class.getName().length(), 500_000_000, 4),
+                is(greaterThan(SequenceIndex.MAXIMUM_FILE_SIZE)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldLoadThrowExceptionAboutDifferentSequenceType() throws IOException {
+        Path indexPath = Files.createTempFile("sequence", ".idx");
+        try {
+            SequenceIndex.build(Dna.build("ACGT")).write(indexPath);
+            SequenceIndex.load(indexPath, BiologicalSequence.class);
+        } finally {
+            Files.delete(indexPath);
+        }
+    }
+
+    @Test(dataProvider = SequenceIndexTestDataProvider.TRUNCATED_INDEX_FILE_LENGTH_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldLoadThrowExceptionAboutTruncatedFile(int fileLength) throws IOException {
+        Path indexPath = Files.createTempFile("sequence", ".idx");
+        try {
+            SequenceIndex.build(Dna.build("ACGTACGTAC")).write(indexPath);
+            try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.WRITE)) {
+                channel.truncate(fileLength);
+            }
+            SequenceIndex.load(indexPath, Dna.class);
+        } finally {
+            Files.delete(indexPath);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.sequence.dna.Dna;
+import hu.bioinformatics.biolaboratory.sequence.protein.Protein;
+import hu.bioinformatics.biolaboratory.sequence.rna.Rna;
+import org.testng.annotations.DataProvider;
+
+/**
+ * Test data provider for {@link SequenceIndexTest} test class.
+ *
+ * @author Attila Radi
+ */
+public class SequenceIndexTestDataProvider {
+
+    private static final String DNA_SEQUENCE =
+            "CGGACTCGACAGATGTGAAGAACGACAATGTGAAGACTCGACACGACAGAGTGAAGAGAAGAGGAAACATTGTAACGGACTCGACAGATGTGAAGAACGACAATGTG";
+
+    static final String VALID_SEQUENCE_INDEX_DATA_PROVIDER_NAME = "validSequenceIndexDataProvider";
+    static final String INVALID_SEQUENCE_INDEX_DATA_PROVIDER_NAME = "invalidSequenceIndexDataProvider";
+    static final String TRUNCATED_INDEX_FILE_LENGTH_DATA_PROVIDER_NAME = "truncatedIndexFileLengthDataProvider";
+
+    @DataProvider(name = VALID_SEQUENCE_INDEX_DATA_PROVIDER_NAME)
+    private Object[][] validSequenceIndexDataProvider() {
+        return new Object[][] {
+                { Dna.build("GATATATGCATATACTT"), Dna.build("ATAT") },
+                { Dna.build("AAAAAAAAAA"), Dna.build("AAA") },
+                { Dna.build("ACGT"), Dna.build("ACGT") },
+                { Dna.build("ACGT"), Dna.build("TT") },
+                { Dna.build(DNA_SEQUENCE), Dna.build("GA") },
+                { Dna.build(DNA_SEQUENCE), Dna.build("TGTGAAGA") },
+                { Dna.build(DNA_SEQUENCE), Dna.build("C") },
+                { Dna.build(DNA_SEQUENCE), Dna.build(DNA_SEQUENCE) },
+                { Rna.build("GAUAUAUGCAUAUACUU"), Rna.build("AUAU") },
+                { Protein.build("MAMAPRTEINSTRINGMAMA"), Protein.build("MAMA") },
+                { Protein.build("MAMAPRTEINSTRINGMAMA"), Protein.build("WY") }
+        };
+    }
+
+    @DataProvider(name = INVALID_SEQUENCE_INDEX_DATA_PROVIDER_NAME)
+    private Object[][] invalidSequenceIndexDataProvider() {
+        return new Object[][] {
+                { Dna.build("ACGT"), null },
+                { Dna.build("ACGT"), Dna.build("ACGTA") },
+                { Dna.build("ACGT"), Rna.build("ACGU") }
+        };
+    }
+
+    @DataProvider(name = TRUNCATED_INDEX_FILE_LENGTH_DATA_PROVIDER_NAME)
+    private Object[][] truncatedIndexFileLengthDataProvider() {
+        return new Object[][] {
+                { 0 },
+                { 6 },
+                { 12 },
+                { 20 },
+                { 60 },
+                { 100 },
+                { 150 }
+        };
+    }
+}
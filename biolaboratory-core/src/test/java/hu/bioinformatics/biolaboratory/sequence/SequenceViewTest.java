@@ -0,0 +1,81 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.guice.GuiceCoreModule;
+import hu.bioinformatics.biolaboratory.guice.GuiceResourceModule;
+import hu.bioinformatics.biolaboratory.guice.GuiceTestModule;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests for the {@link SequenceView} class.
+ *
+ * @author Attila Radi
+ */
+@Guice(modules = {GuiceCoreModule.class, GuiceResourceModule.class, GuiceTestModule.class})
+@Test(dataProviderClass = SequenceViewTestDataProvider.class)
+public class SequenceViewTest {
+
+    @Test(dataProvider = SequenceViewTestDataProvider.INVALID_VIEW_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldViewThrowException(BiologicalSequence biologicalSequence, int startPosition, int endPosition) {
+        biologicalSequence.view(startPosition, endPosition);
+    }
+
+    @Test(dataProvider = SequenceViewTestDataProvider.VALID_VIEW_DATA_PROVIDER_NAME)
+    @SuppressWarnings("unchecked")
+    public void shouldViewBehaveAsCut(BiologicalSequence biologicalSequence, int startPosition, int endPosition) {
+        BiologicalSequence cut = biologicalSequence.cut(startPosition, endPosition);
+        SequenceView view = biologicalSequence.view(startPosition, endPosition);
+        assertThat(view.getLength(), is(equalTo(cut.getSequenceLength())));
+        assertThat(view.getSequence(), is(equalTo(cut.getSequence())));
+        assertThat(view.materialize(), is(equalTo(cut)));
+        assertThat(view.hashCode(), is(equalTo(cut.hashCode())));
+        assertThat(view.contentEquals(cut), is(equalTo(true)));
+        assertThat(view.getMismatchNumber(cut), is(equalTo(0)));
+        for (int i = 0; i < cut.getSequenceLength(); i++) {
+            assertThat(view.getElement(i), is(equalTo(cut.getElement(i))));
+        }
+        SequenceView copyView = cut.view(0, cut.getSequenceLength());
+        assertThat(view, is(equalTo(copyView)));
+        assertThat(view.hashCode(), is(equalTo(copyView.hashCode())));
+        assertThat(view.view(1, view.getLength()).contentEquals(cut.cut(1)), is(equalTo(view.getLength() > 1)));
+    }
+
+    @Test(dataProvider = SequenceViewTestDataProvider.INVALID_MISMATCH_NUMBER_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void shouldGetMismatchNumberThrowException(SequenceView view, BiologicalSequence otherBiologicalSequence) {
+        view.getMismatchNumber(otherBiologicalSequence);
+    }
+
+    @Test(dataProvider = SequenceViewTestDataProvider.VALID_MISMATCH_NUMBER_DATA_PROVIDER_NAME)
+    @SuppressWarnings("unchecked")
+    public void shouldGetMismatchNumberReturn(SequenceView view, SequenceView otherView) {
+        int controlMismatchNumber = view.materialize().getMismatchNumber(otherView.materialize());
+        assertThat(view.getMismatchNumber(otherView), is(equalTo(controlMismatchNumber)));
+        assertThat(view.getMismatchNumber(otherView.materialize()), is(equalTo(controlMismatchNumber)));
+        assertThat(view.equals(otherView), is(equalTo(controlMismatchNumber == 0)));
+    }
+
+    @Test(dataProvider = SequenceViewTestDataProvider.INVALID_PATTERN_MATCHING_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void shouldPatternMatchingThrowException(SequenceView view, BiologicalSequence pattern, int d) {
+        view.patternMatchingWithMismatches(pattern, d);
+    }
+
+    @Test(dataProvider = SequenceViewTestDataProvider.VALID_PATTERN_MATCHING_DATA_PROVIDER_NAME)
+    @SuppressWarnings("unchecked")
+    public void shouldPatternMatchingReturn(SequenceView view, BiologicalSequence pattern, int d) {
+        BiologicalSequence cut = view.materialize();
+        assertThat(view.patternMatchingWithMismatches(pattern, d),
+                is(equalTo(cut.patternMatchingWithMismatches(pattern, d))));
+        assertThat(view.patternCountWithMismatches(pattern, d),
+                is(equalTo(cut.patternCountWithMismatches(pattern, d))));
+        assertThat(view.patternCount(pattern), is(equalTo(cut.patternCount(pattern))));
+    }
+}
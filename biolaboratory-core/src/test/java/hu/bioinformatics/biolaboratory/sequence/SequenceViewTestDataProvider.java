@@ -0,0 +1,105 @@
+package hu.bioinformatics.biolaboratory.sequence;
+
+import hu.bioinformatics.biolaboratory.sequence.dna.Dna;
+import hu.bioinformatics.biolaboratory.sequence.protein.Protein;
+import hu.bioinformatics.biolaboratory.sequence.rna.Rna;
+import org.testng.annotations.DataProvider;
+
+import java.util.Random;
+
+/**
+ * Test data provider for {@link SequenceViewTest} test class.
+ *
+ * @author Attila Radi
+ */
+public class SequenceViewTestDataProvider {
+
+    private static final String LONG_DNA_SEQUENCE = createRandomSequence("ACGT", 150, 19);
+
+    private static String createRandomSequence(final String letters, final int length, final long seed) {
+        Random random = new Random(seed);
+        StringBuilder sequence = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sequence.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return sequence.toString();
+    }
+
+    static final String INVALID_VIEW_DATA_PROVIDER_NAME = "invalidViewDataProvider";
+
+    @DataProvider(name = INVALID_VIEW_DATA_PROVIDER_NAME)
+    private Object[][] invalidViewDataProvider() {
+        return new Object[][] {
+                { Dna.build("ACGT"), -1, 2 },
+                { Dna.build("ACGT"), 0, 5 },
+                { Dna.build("ACGT"), 2, 2 },
+                { Dna.build("ACGT"), 3, 1 },
+                { Protein.build("MAMA"), 1, 5 }
+        };
+    }
+
+    static final String VALID_VIEW_DATA_PROVIDER_NAME = "validViewDataProvider";
+
+    @DataProvider(name = VALID_VIEW_DATA_PROVIDER_NAME)
+    private Object[][] validViewDataProvider() {
+        return new Object[][] {
+                { Dna.build("ACGT"), 0, 4 },
+                { Dna.build("ACGT"), 1, 3 },
+                { Dna.build(LONG_DNA_SEQUENCE), 31, 97 },
+                { Dna.build(LONG_DNA_SEQUENCE), 64, 150 },
+                { Rna.build("AUGGCCUAA"), 3, 6 },
+                { Protein.build("MAMAPRTEINSTRINGMAMA"), 4, 11 }
+        };
+    }
+
+    static final String INVALID_MISMATCH_NUMBER_DATA_PROVIDER_NAME = "invalidMismatchNumberDataProvider";
+
+    @DataProvider(name = INVALID_MISMATCH_NUMBER_DATA_PROVIDER_NAME)
+    private Object[][] invalidMismatchNumberDataProvider() {
+        return new Object[][] {
+                { Dna.build("ACGT").view(0, 2), null },
+                { Dna.build("ACGT").view(0, 2), Dna.build("ACG") },
+                { Dna.build("ACGT").view(0, 3), Rna.build("ACG") }
+        };
+    }
+
+    static final String VALID_MISMATCH_NUMBER_DATA_PROVIDER_NAME = "validMismatchNumberDataProvider";
+
+    @DataProvider(name = VALID_MISMATCH_NUMBER_DATA_PROVIDER_NAME)
+    private Object[][] validMismatchNumberDataProvider() {
+        Dna longDna = Dna.build(LONG_DNA_SEQUENCE);
+        return new Object[][] {
+                { Dna.build("ACGT").view(1, 3), Dna.build("ACGT").view(2, 4) },
+                { longDna.view(3, 70), longDna.view(80, 147) },
+                { longDna.view(0, 150), Dna.build(LONG_DNA_SEQUENCE).view(0, 150) },
+                { Rna.build("AUGGCCUAA").view(0, 3), Rna.build("AUGGCCUAA").view(6, 9) },
+                { Protein.build("MAMAPRTEINSTRINGMAMA").view(0, 4), Protein.build("MAMAPRTEINSTRINGMAMA").view(16, 20) },
+                { Protein.build("MAMAPRTEINSTRINGMAMA").view(1, 9), Protein.build("MAMAPRTEINSTRINGMAMA").view(9, 17) }
+        };
+    }
+
+    static final String VALID_PATTERN_MATCHING_DATA_PROVIDER_NAME = "validPatternMatchingDataProvider";
+
+    @DataProvider(name = VALID_PATTERN_MATCHING_DATA_PROVIDER_NAME)
+    private Object[][] validPatternMatchingDataProvider() {
+        return new Object[][] {
+                { Dna.build("GATATATGCATATACTT").view(1, 15), Dna.build("ATAT"), 0 },
+                { Dna.build("GATATATGCATATACTT").view(3, 17), Dna.build("ATAT"), 1 },
+                { Dna.build(LONG_DNA_SEQUENCE).view(17, 133), Dna.build("ACGTA"), 2 },
+                { Rna.build("GAUAUAUGCAUAUACUU").view(2, 12), Rna.build("AUAU"), 0 },
+                { Protein.build("MAMAPRTEINSTRINGMAMA").view(1, 20), Protein.build("MAMA"), 1 }
+        };
+    }
+
+    static final String INVALID_PATTERN_MATCHING_DATA_PROVIDER_NAME = "invalidPatternMatchingDataProvider";
+
+    @DataProvider(name = INVALID_PATTERN_MATCHING_DATA_PROVIDER_NAME)
+    private Object[][] invalidPatternMatchingDataProvider() {
+        return new Object[][] {
+                { Dna.build("GATATATGCATATACTT").view(1, 4), null, 0 },
+                { Dna.build("GATATATGCATATACTT").view(1, 4), Dna.build("ATAT"), 0 },
+                { Dna.build("GATATATGCATATACTT").view(1, 8), Rna.build("AUAU"), 0 },
+                { Dna.build("GATATATGCATATACTT").view(1, 8), Dna.build("ATAT"), -1 }
+        };
+    }
+}
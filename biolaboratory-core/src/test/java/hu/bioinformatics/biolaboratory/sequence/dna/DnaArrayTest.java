@@ -4,6 +4,7 @@ import hu.bioinformatics.biolaboratory.guice.GuiceCoreModule;
 import hu.bioinformatics.biolaboratory.guice.GuiceResourceModule;
 import hu.bioinformatics.biolaboratory.guice.GuiceTestModule;
 import hu.bioinformatics.biolaboratory.sequence.BiologicalSequence;
+import hu.bioinformatics.biolaboratory.utils.ComputeContext;
 import org.testng.annotations.Guice;
 import org.testng.annotations.Test;
 
@@ -16,6 +17,7 @@ import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.testng.Assert.fail;
@@ -28,6 +30,7 @@ import static org.testng.Assert.fail;
 @Guice(modules = {GuiceCoreModule.class, GuiceResourceModule.class, GuiceTestModule.class})
 @Test(dataProviderClass = DnaArrayTestDataProvider.class)
 public class DnaArrayTest {
+    private static final long SEED = 42L;
 
     @Test(dataProvider = DnaArrayTestDataProvider.INVALID_DNA_ARRAY_LIST_DATA_PROVIDER_NAME,
             expectedExceptions = IllegalArgumentException.class)
@@ -130,6 +133,67 @@ public class DnaArrayTest {
         assertThat(mostFrequentMotifs, is(equalTo(controlSet)));
     }
 
+    @Test(dataProvider = DnaArrayTestDataProvider.INVALID_GREEDY_MOTIF_SEARCH_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldGreedyMotifSearchThrowException(DnaArray dnaArray, int k) {
+        dnaArray.greedyMotifSearch(k);
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.VALID_GREEDY_MOTIF_SEARCH_DATA_PROVIDER_NAME)
+    public void shouldGreedyMotifSearchReturn(DnaArray dnaArray, int k, DnaArray controlMotifs) {
+        DnaArray motifs = dnaArray.greedyMotifSearch(k);
+        assertThat(motifs.getSampleList(), is(equalTo(controlMotifs.getSampleList())));
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.INVALID_GREEDY_MOTIF_SEARCH_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldGreedyMotifSearchWithPseudocountsThrowException(DnaArray dnaArray, int k) {
+        dnaArray.greedyMotifSearchWithPseudocounts(k);
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.VALID_GREEDY_MOTIF_SEARCH_WITH_PSEUDOCOUNTS_DATA_PROVIDER_NAME)
+    public void shouldGreedyMotifSearchWithPseudocountsReturn(DnaArray dnaArray, int k, DnaArray controlMotifs) {
+        DnaArray motifs = dnaArray.greedyMotifSearchWithPseudocounts(k);
+        assertThat(motifs.getSampleList(), is(equalTo(controlMotifs.getSampleList())));
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.INVALID_RANDOMIZED_MOTIF_SEARCH_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldRandomizedMotifSearchThrowException(DnaArray dnaArray, int k, int restartNumber) {
+        dnaArray.randomizedMotifSearch(k, restartNumber, SEED);
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.VALID_RANDOMIZED_MOTIF_SEARCH_DATA_PROVIDER_NAME)
+    public void shouldRandomizedMotifSearchReturn(DnaArray dnaArray, int k, int restartNumber, DnaArray controlMotifs) {
+        DnaArray motifs = dnaArray.randomizedMotifSearch(k, restartNumber, SEED);
+        assertThat(motifs.getMotifs().totalScore(), is(lessThanOrEqualTo(controlMotifs.getMotifs().totalScore())));
+        assertThat(dnaArray.randomizedMotifSearch(k, restartNumber, SEED).getSampleList(),
+                is(equalTo(motifs.getSampleList())));
+        try (ComputeContext forkingContext = ComputeContext.dedicatedPool(2).withParallelThreshold(0)) {
+            assertThat(forkingContext.call(() -> dnaArray.randomizedMotifSearch(k, restartNumber, SEED)).getSampleList(),
+                    is(equalTo(motifs.getSampleList())));
+        }
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.INVALID_GIBBS_SAMPLER_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldGibbsSamplerThrowException(DnaArray dnaArray, int k, int iterationNumber, int restartNumber) {
+        dnaArray.gibbsSampler(k, iterationNumber, restartNumber, SEED);
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.VALID_GIBBS_SAMPLER_DATA_PROVIDER_NAME)
+    public void shouldGibbsSamplerReturn(DnaArray dnaArray, int k, int iterationNumber, int restartNumber,
+                                         DnaArray controlMotifs) {
+        DnaArray motifs = dnaArray.gibbsSampler(k, iterationNumber, restartNumber, SEED);
+        assertThat(motifs.getMotifs().totalScore(), is(lessThanOrEqualTo(controlMotifs.getMotifs().totalScore())));
+        assertThat(dnaArray.gibbsSampler(k, iterationNumber, restartNumber, SEED).getSampleList(),
+                is(equalTo(motifs.getSampleList())));
+        try (ComputeContext forkingContext = ComputeContext.dedicatedPool(2).withParallelThreshold(0)) {
+            assertThat(forkingContext.call(() -> dnaArray.gibbsSampler(k, iterationNumber, restartNumber, SEED)).getSampleList(),
+                    is(equalTo(motifs.getSampleList())));
+        }
+    }
+
     @Test(dataProvider = DnaArrayTestDataProvider.INVALID_PROFILE_MOST_PROBABLE_SUB_SEQUENCE_DATA_PROVIDER_NAME,
             expectedExceptions = IllegalArgumentException.class)
     public void shouldProfileMostProbableSubSequenceThrowException(DnaArray dnaArray, Dna dna) {
@@ -142,6 +206,45 @@ public class DnaArrayTest {
         assertThat(probablePatternSet, is(equalTo(controlSubSet)));
     }
 
+    @Test(dataProvider = DnaArrayTestDataProvider.INVALID_BATCH_PROFILE_MOST_PROBABLE_SUB_SEQUENCE_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldBatchProfileMostProbableSubSequenceThrowException(DnaArray dnaArray, List<Dna> dnaList) {
+        dnaArray.profileMostProbableSubSequence(dnaList);
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.VALID_BATCH_PROFILE_MOST_PROBABLE_SUB_SEQUENCE_DATA_PROVIDER_NAME)
+    public void shouldBatchProfileMostProbableSubSequenceReturn(DnaArray dnaArray, List<Dna> dnaList,
+                                                               List<Set<Dna>> controlSubSetList) {
+        List<Set<Dna>> probablePatternSetList = dnaArray.profileMostProbableSubSequence(dnaList);
+        assertThat(probablePatternSetList, is(equalTo(controlSubSetList)));
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.INVALID_TOP_PROFILE_MOST_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldTopProfileMostProbableSubSequencesThrowException(DnaArray dnaArray, Dna dna, int n) {
+        dnaArray.profileMostProbableSubSequences(dna, n);
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.VALID_TOP_PROFILE_MOST_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME)
+    public void shouldTopProfileMostProbableSubSequencesReturn(DnaArray dnaArray, Dna dna, int n,
+                                                              List<Dna> controlSubSequenceList) {
+        List<Dna> probablePatternList = dnaArray.profileMostProbableSubSequences(dna, n);
+        assertThat(probablePatternList, is(equalTo(controlSubSequenceList)));
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.INVALID_THRESHOLD_PROFILE_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldThresholdProfileProbableSubSequencesThrowException(DnaArray dnaArray, Dna dna, double threshold) {
+        dnaArray.profileProbableSubSequences(dna, threshold);
+    }
+
+    @Test(dataProvider = DnaArrayTestDataProvider.VALID_THRESHOLD_PROFILE_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME)
+    public void shouldThresholdProfileProbableSubSequencesReturn(DnaArray dnaArray, Dna dna, double threshold,
+                                                                Set<Dna> controlSubSet) {
+        Set<Dna> probablePatternSet = dnaArray.profileProbableSubSequences(dna, threshold);
+        assertThat(probablePatternSet, is(equalTo(controlSubSet)));
+    }
+
     @Test(dataProvider = DnaArrayTestDataProvider.INVALID_PATTERN_PROBABILITY_DATA_PROVIDER_NAME,
             expectedExceptions = IllegalArgumentException.class)
     public void shouldPatternProbabilityThrowException(DnaArray dnaArray, Dna pattern) {
@@ -8,6 +8,8 @@ import hu.bioinformatics.biolaboratory.utils.datahandlers.DnaSetLoader;
 import org.testng.annotations.DataProvider;
 
 import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.Collections;
 
 /**
  * Test data provider for the {@link DnaArrayTest} test class.
@@ -140,7 +142,8 @@ public class DnaArrayTestDataProvider {
         return new Object[][] {
                 { DnaArray.build(Dna.build("ACGT")), 0, 1 },
                 { DnaArray.build(Dna.build("ACGT")), 5, 1 },
-                { DnaArray.build(Dna.build("ACGT")), 2, -1 }
+                { DnaArray.build(Dna.build("ACGT")), 2, -1 },
+                { DnaArray.build(Dna.build("ACGTACGTACGTACGTACGTACGTACGTACGTA")), 33, 0 }
         };
     }
 
@@ -159,7 +162,11 @@ public class DnaArrayTestDataProvider {
                 { DnaArray.build(DnaCollectors.stringToDnaList("AAAAA", "AAAAA", "AAAAA")), 3, 3, testDnaSetLoader.load("find-most-frequent-motifs-test-dataset-3-solution.txt") },
                 { DnaArray.build(DnaCollectors.stringToDnaList("AAAAA", "AAAAA", "AACAA")), 3, 0, DnaCollectors.stringToDnaSet() },
                 { DnaArray.build(DnaCollectors.stringToDnaList("AACAA", "AAAAA", "AAAAA")), 3, 0, DnaCollectors.stringToDnaSet() },
-                { DnaArray.build(DnaCollectors.stringToDnaList("TCTGAGCTTGCGTTATTTTTAGACC", "GTTTGACGGGAACCCGACGCCTATA", "TTTTAGATTTCCTCAGTCCACTATA", "CTTACAATTTCGTTATTTATCTAAT", "CAGTAGGAATAGCCACTTTGTTGTA", "AAATCCATTAAGGAAAGACGACCGT")), 5, 2, testDnaSetLoader.load("find-most-frequent-motifs-extra-dataset-solution.txt") }
+                { DnaArray.build(DnaCollectors.stringToDnaList("TCTGAGCTTGCGTTATTTTTAGACC", "GTTTGACGGGAACCCGACGCCTATA", "TTTTAGATTTCCTCAGTCCACTATA", "CTTACAATTTCGTTATTTATCTAAT", "CAGTAGGAATAGCCACTTTGTTGTA", "AAATCCATTAAGGAAAGACGACCGT")), 5, 2, testDnaSetLoader.load("find-most-frequent-motifs-extra-dataset-solution.txt") },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGTACGTACGTAC", "ACGTACGTACGTAC")), 13, 0, DnaCollectors.stringToDnaSet("ACGTACGTACGTA", "CGTACGTACGTAC") },
+                { DnaArray.build(DnaCollectors.stringToDnaList("AAAAAAAAAAAAAA", "AAAAAAAAAAAAAC")), 14, 1, DnaCollectors.stringToDnaSet("AAAAAAAAAAAAAA", "AAAAAAAAAAAAAC", "AAAAAAAAAAAAAG", "AAAAAAAAAAAAAT") },
+                { DnaArray.build(DnaCollectors.stringToDnaList("AAAAAAAAAAAAAA", "CCCCCCCCCCCCCC")), 14, 6, DnaCollectors.stringToDnaSet() },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGTACGTACGTACGTACGTACGTACGTACGT")), 32, 0, DnaCollectors.stringToDnaSet("ACGTACGTACGTACGTACGTACGTACGTACGT") }
         };
     }
 
@@ -169,7 +176,8 @@ public class DnaArrayTestDataProvider {
     private Object[][] invalidFindMostFrequentMotifsMedianStringDataProvider() {
         return new Object[][] {
                 { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 0 },
-                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 5 }
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 5 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGTACGTACGTACGTACGTACGTACGTACGTACGT")), 33 }
         };
     }
 
@@ -188,6 +196,98 @@ public class DnaArrayTestDataProvider {
         };
     }
 
+    private static final DnaArray GREEDY_MOTIF_SEARCH_SAMPLE = DnaArray.build(DnaCollectors.stringToDnaList(
+            "GGCGTTCAGGCA", "AAGAATCAGTCA", "CAAGGAGTTCGC", "CACGTCAATCAC", "CAATAATATTCG"));
+    private static final DnaArray GREEDY_MOTIF_SEARCH_RANDOM_SAMPLE = DnaArray.build(DnaCollectors.stringToDnaList(
+            "GCTAAAGACAATTACATAACATACACGTCA", "GCACGAAACTTGTTGGCCCAGTGTGAATCG", "CTTAAGGGTTAAGTAAGTGTGATGCATACG",
+            "CCTTTACTTGCTGTGTCCACCCCATCGGAC", "TGGCATTTTTATTACACTCAGAAACAGAAC", "TCGGGTAATTTTGACAGGTCACGCAGAGGC",
+            "GCGCCCTCCTGAAGTGCGTGGACACTCGCT", "ATGAATCTCTGATTTACCCACTCTGCCAAA"));
+
+    static final String INVALID_GREEDY_MOTIF_SEARCH_DATA_PROVIDER_NAME = "invalidGreedyMotifSearchDataProvider";
+
+    @DataProvider(name = INVALID_GREEDY_MOTIF_SEARCH_DATA_PROVIDER_NAME)
+    private Object[][] invalidGreedyMotifSearchDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 0 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 5 }
+        };
+    }
+
+    static final String VALID_GREEDY_MOTIF_SEARCH_DATA_PROVIDER_NAME = "validGreedyMotifSearchDataProvider";
+
+    @DataProvider(name = VALID_GREEDY_MOTIF_SEARCH_DATA_PROVIDER_NAME)
+    private Object[][] validGreedyMotifSearchDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), 2, DnaArray.build(DnaCollectors.stringToDnaList("AC")) },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "TTAC")), 2, DnaArray.build(DnaCollectors.stringToDnaList("AC", "AC")) },
+                { GREEDY_MOTIF_SEARCH_SAMPLE, 3, DnaArray.build(DnaCollectors.stringToDnaList("CAG", "CAG", "CAA", "CAA", "CAA")) },
+                { GREEDY_MOTIF_SEARCH_RANDOM_SAMPLE, 6, DnaArray.build(DnaCollectors.stringToDnaList(
+                        "ACATAC", "GCACGA", "GCATAC", "CCTTTA", "ACACTC", "TCGGGT", "ACACTC", "CCACTC")) }
+        };
+    }
+
+    static final String VALID_GREEDY_MOTIF_SEARCH_WITH_PSEUDOCOUNTS_DATA_PROVIDER_NAME = "validGreedyMotifSearchWithPseudocountsDataProvider";
+
+    @DataProvider(name = VALID_GREEDY_MOTIF_SEARCH_WITH_PSEUDOCOUNTS_DATA_PROVIDER_NAME)
+    private Object[][] validGreedyMotifSearchWithPseudocountsDataProvider() {
+        return new Object[][] {
+                { GREEDY_MOTIF_SEARCH_SAMPLE, 3, DnaArray.build(DnaCollectors.stringToDnaList("TTC", "ATC", "TTC", "ATC", "TTC")) },
+                { GREEDY_MOTIF_SEARCH_RANDOM_SAMPLE, 6, DnaArray.build(DnaCollectors.stringToDnaList(
+                        "GACAAT", "GAAACT", "GTAAGT", "TTTACT", "TACACT", "GTAATT", "GACACT", "GAATCT")) }
+        };
+    }
+
+    private static final DnaArray RANDOMIZED_MOTIF_SEARCH_SAMPLE = DnaArray.build(DnaCollectors.stringToDnaList(
+            "CGCCCCTCTCGGGGGTGTTCAGTAAACGGCCA", "GGGCGAGGTATGTGTAAGTGCCAAGGTGCCAG", "TAGTACCGAGACCGAAAGAAGTATACAGGCGT",
+            "TAGATCAAGTTTCAGGTGCACGTCGGTGAACC", "AATCCACCAGCTCCACGTGCAATGTTGGCCTA"));
+    private static final DnaArray RANDOMIZED_MOTIF_SEARCH_CONTROL_MOTIFS = DnaArray.build(DnaCollectors.stringToDnaList(
+            "TCTCGGGG", "CCAAGGTG", "TACAGGCG", "TTCAGGTG", "TCCACGTG"));
+
+    static final String INVALID_RANDOMIZED_MOTIF_SEARCH_DATA_PROVIDER_NAME = "invalidRandomizedMotifSearchDataProvider";
+
+    @DataProvider(name = INVALID_RANDOMIZED_MOTIF_SEARCH_DATA_PROVIDER_NAME)
+    private Object[][] invalidRandomizedMotifSearchDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 0, 1 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 5, 1 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 2, 0 }
+        };
+    }
+
+    static final String VALID_RANDOMIZED_MOTIF_SEARCH_DATA_PROVIDER_NAME = "validRandomizedMotifSearchDataProvider";
+
+    @DataProvider(name = VALID_RANDOMIZED_MOTIF_SEARCH_DATA_PROVIDER_NAME)
+    private Object[][] validRandomizedMotifSearchDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), 4, 1, DnaArray.build(DnaCollectors.stringToDnaList("ACGT")) },
+                { DnaArray.build(DnaCollectors.stringToDnaList("AAAA", "AAAA")), 2, 3, DnaArray.build(DnaCollectors.stringToDnaList("AA", "AA")) },
+                { RANDOMIZED_MOTIF_SEARCH_SAMPLE, 8, 1000, RANDOMIZED_MOTIF_SEARCH_CONTROL_MOTIFS }
+        };
+    }
+
+    static final String INVALID_GIBBS_SAMPLER_DATA_PROVIDER_NAME = "invalidGibbsSamplerDataProvider";
+
+    @DataProvider(name = INVALID_GIBBS_SAMPLER_DATA_PROVIDER_NAME)
+    private Object[][] invalidGibbsSamplerDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 0, 1, 1 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 5, 1, 1 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 2, 0, 1 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGT")), 2, 1, 0 }
+        };
+    }
+
+    static final String VALID_GIBBS_SAMPLER_DATA_PROVIDER_NAME = "validGibbsSamplerDataProvider";
+
+    @DataProvider(name = VALID_GIBBS_SAMPLER_DATA_PROVIDER_NAME)
+    private Object[][] validGibbsSamplerDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), 4, 1, 1, DnaArray.build(DnaCollectors.stringToDnaList("ACGT")) },
+                { DnaArray.build(DnaCollectors.stringToDnaList("AAAA", "AAAA")), 2, 10, 3, DnaArray.build(DnaCollectors.stringToDnaList("AA", "AA")) },
+                { RANDOMIZED_MOTIF_SEARCH_SAMPLE, 8, 100, 20, RANDOMIZED_MOTIF_SEARCH_CONTROL_MOTIFS }
+        };
+    }
+
     static final String INVALID_PROFILE_MOST_PROBABLE_SUB_SEQUENCE_DATA_PROVIDER_NAME = "invalidProfileMostProbableSubSequenceDataProvider";
 
     @DataProvider(name = INVALID_PROFILE_MOST_PROBABLE_SUB_SEQUENCE_DATA_PROVIDER_NAME)
@@ -211,6 +311,79 @@ public class DnaArrayTestDataProvider {
         };
     }
 
+    static final String INVALID_BATCH_PROFILE_MOST_PROBABLE_SUB_SEQUENCE_DATA_PROVIDER_NAME = "invalidBatchProfileMostProbableSubSequenceDataProvider";
+
+    @DataProvider(name = INVALID_BATCH_PROFILE_MOST_PROBABLE_SUB_SEQUENCE_DATA_PROVIDER_NAME)
+    private Object[][] invalidBatchProfileMostProbableSubSequenceDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), null },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), Arrays.asList(Dna.build("ACGT"), null) },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), DnaCollectors.stringToDnaList("ACGT", "ACG") }
+        };
+    }
+
+    static final String VALID_BATCH_PROFILE_MOST_PROBABLE_SUB_SEQUENCE_DATA_PROVIDER_NAME = "validBatchProfileMostProbableSubSequenceDataProvider";
+
+    @DataProvider(name = VALID_BATCH_PROFILE_MOST_PROBABLE_SUB_SEQUENCE_DATA_PROVIDER_NAME)
+    private Object[][] validBatchProfileMostProbableSubSequenceDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), Collections.emptyList(), Collections.emptyList() },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), DnaCollectors.stringToDnaList("AAAA", "TTACGTT"),
+                        Arrays.asList(DnaCollectors.stringToDnaSet("AAAA"), DnaCollectors.stringToDnaSet("ACGT")) },
+                { testDnaArrayLoader.load("profile-most-probable-sub-sequence-sample-dataset.dnacol"),
+                        DnaCollectors.stringToDnaList("ACCTGTTTATTGCCTAAGTTCCGAACAAACCCAATATAGCCCGAGGGCCT", "TTCCGAGTT"),
+                        Arrays.asList(DnaCollectors.stringToDnaSet("CCGAG"), DnaCollectors.stringToDnaSet("CCGAG")) }
+        };
+    }
+
+    static final String INVALID_TOP_PROFILE_MOST_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME = "invalidTopProfileMostProbableSubSequencesDataProvider";
+
+    @DataProvider(name = INVALID_TOP_PROFILE_MOST_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME)
+    private Object[][] invalidTopProfileMostProbableSubSequencesDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), null, 1 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), Dna.build("ACG"), 1 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), Dna.build("ACGT"), 0 }
+        };
+    }
+
+    static final String VALID_TOP_PROFILE_MOST_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME = "validTopProfileMostProbableSubSequencesDataProvider";
+
+    @DataProvider(name = VALID_TOP_PROFILE_MOST_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME)
+    private Object[][] validTopProfileMostProbableSubSequencesDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), Dna.build("ACGT"), 3, DnaCollectors.stringToDnaList("ACGT") },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), Dna.build("ACGTACGT"), 2, DnaCollectors.stringToDnaList("ACGT", "ACGT") },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), Dna.build("ACGTACGT"), 3, DnaCollectors.stringToDnaList("ACGT", "ACGT", "CGTA") },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGA")), Dna.build("TACGAACGTT"), 4, DnaCollectors.stringToDnaList("ACGA", "ACGT", "TACG", "CGAA") },
+                { testDnaArrayLoader.load("profile-most-probable-sub-sequence-sample-dataset.dnacol"), Dna.build("ACCTGTTTATTGCCTAAGTTCCGAACAAACCCAATATAGCCCGAGGGCCT"), 1, DnaCollectors.stringToDnaList("CCGAG") }
+        };
+    }
+
+    static final String INVALID_THRESHOLD_PROFILE_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME = "invalidThresholdProfileProbableSubSequencesDataProvider";
+
+    @DataProvider(name = INVALID_THRESHOLD_PROFILE_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME)
+    private Object[][] invalidThresholdProfileProbableSubSequencesDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), null, 0.5 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), Dna.build("ACG"), 0.5 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), Dna.build("ACGT"), -0.1 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), Dna.build("ACGT"), 1.1 }
+        };
+    }
+
+    static final String VALID_THRESHOLD_PROFILE_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME = "validThresholdProfileProbableSubSequencesDataProvider";
+
+    @DataProvider(name = VALID_THRESHOLD_PROFILE_PROBABLE_SUB_SEQUENCES_DATA_PROVIDER_NAME)
+    private Object[][] validThresholdProfileProbableSubSequencesDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "TGCA")), Dna.build("ACGTGCA"), 0.06, DnaCollectors.stringToDnaSet("ACGT", "TGCA") },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "TGCA")), Dna.build("ACGTGCA"), 0.1, Collections.emptySet() },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "TGCA")), Dna.build("ACGTGCA"), 0.0, DnaCollectors.stringToDnaSet("ACGT", "CGTG", "GTGC", "TGCA") },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), Dna.build("AACGTT"), 1.0, DnaCollectors.stringToDnaSet("ACGT") }
+        };
+    }
+
     static final String INVALID_PATTERN_PROBABILITY_DATA_PROVIDER_NAME = "invalidPatternProbabilityDataProvider";
 
     @DataProvider(name = INVALID_PATTERN_PROBABILITY_DATA_PROVIDER_NAME)
@@ -7,6 +7,8 @@ import hu.bioinformatics.biolaboratory.sequence.rna.Rna;
 import org.testng.annotations.Guice;
 import org.testng.annotations.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -66,6 +68,44 @@ public class DnaTest {
         assertThat(dna.getSequenceLength(), is(equalTo(controlSequence.length())));
     }
 
+    @Test(dataProvider = DnaTestDataProvider.INVALID_DNA_SEQUENCES_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuildFromCharsThrowException(String name, String sequence) {
+        Dna.build(name, sequence == null ? null : sequence.toCharArray());
+    }
+
+    @Test(dataProvider = DnaTestDataProvider.INVALID_DNA_SEQUENCES_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuildFromBytesThrowException(String name, String sequence) {
+        Dna.build(name, sequence == null ? null : sequence.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test(dataProvider = DnaTestDataProvider.INVALID_DNA_SEQUENCES_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuildFromByteBufferThrowException(String name, String sequence) {
+        Dna.build(name, sequence == null ? null : ByteBuffer.wrap(sequence.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test(dataProvider = DnaTestDataProvider.VALID_DNA_SEQUENCES_DATA_PROVIDER_NAME)
+    public void shouldBuildFromLettersReturnTheSame(String name, String sequence, String controlName,
+                                                    String controlSequence) {
+        Dna control = Dna.build(name, sequence);
+        ByteBuffer byteBuffer = ByteBuffer.wrap(("> " + sequence).getBytes(StandardCharsets.US_ASCII));
+        byteBuffer.position(2);
+        List<Dna> builds = Arrays.asList(Dna.build(name, new StringBuilder(sequence)),
+                Dna.build(name, sequence.toCharArray()),
+                Dna.build(name, sequence.getBytes(StandardCharsets.US_ASCII)),
+                Dna.build(name, byteBuffer),
+                Dna.build(name, byteBuffer.slice()),
+                Dna.build(name, byteBuffer.asReadOnlyBuffer()));
+        for (Dna build : builds) {
+            assertThat(build.getName(), is(equalTo(controlName)));
+            assertThat(build, is(equalTo(control)));
+            assertThat(build.getElementOccurrences(), is(equalTo(control.getElementOccurrences())));
+        }
+        assertThat(byteBuffer.position(), is(equalTo(2)));
+    }
+
     @Test(dataProvider = DnaTestDataProvider.INVALID_GENERATE_PATTERN_DNAS_DATA_PROVIDER_NAME,
             expectedExceptions = IllegalArgumentException.class)
     public void shouldGeneratePatternDnasThrowException(int length) {
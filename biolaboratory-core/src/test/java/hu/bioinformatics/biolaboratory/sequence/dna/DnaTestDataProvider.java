@@ -29,6 +29,7 @@ public class DnaTestDataProvider {
                 { "", "            " },
                 { "", "LOL" },
                 { "", "ACGU" },
+                { "", "AC\u00c9T" },
                 { null, "ACGT" }
         };
     }
@@ -86,7 +87,8 @@ public class DnaTestDataProvider {
     static private Object[][] invalidGeneratePatternDnasDataProvider() {
         return new Object[][] {
                 { -1 },
-                { 0 }
+                { 0 },
+                { 32 }
         };
     }
 
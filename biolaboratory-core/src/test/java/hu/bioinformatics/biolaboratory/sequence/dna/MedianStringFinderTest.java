@@ -0,0 +1,38 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for {@link MedianStringFinder} class.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = MedianStringFinderTestDataProvider.class)
+public class MedianStringFinderTest {
+
+    @Test(dataProvider = MedianStringFinderTestDataProvider.VALID_FIND_MEDIAN_STRING_CODES_DATA_PROVIDER_NAME)
+    public void shouldFindMedianStringCodesReturnTheSameAsExhaustiveSearch(List<Dna> samples, int k) {
+        long[] medianStringCodes = MedianStringFinder.findMedianStringCodes(samples, k);
+        assertThat(medianStringCodes, is(equalTo(findMedianStringCodesExhausting(samples, k))));
+    }
+
+    private static long[] findMedianStringCodesExhausting(final List<Dna> samples, final int k) {
+        long[] totalDistances = LongStream.range(0, 1L << (k * PackedSequence.BITS_PER_CODE))
+                .map(code -> {
+                    Dna pattern = Dna.build(PackedSequence.packCode(code, k));
+                    return samples.stream().mapToInt(sample -> sample.findMinimumMismatchSubSequenceNumber(pattern)).sum();
+                })
+                .toArray();
+        long minimumDistance = LongStream.of(totalDistances).min().getAsLong();
+        return LongStream.range(0, totalDistances.length)
+                .filter(code -> totalDistances[(int) code] == minimumDistance)
+                .toArray();
+    }
+}
@@ -0,0 +1,42 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.collectors.DnaCollectors;
+import org.testng.annotations.DataProvider;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test data provider for {@link MedianStringFinderTest} test class.
+ *
+ * @author Attila Radi
+ */
+public class MedianStringFinderTestDataProvider {
+
+    static final String VALID_FIND_MEDIAN_STRING_CODES_DATA_PROVIDER_NAME = "validFindMedianStringCodesDataProvider";
+
+    @DataProvider(name = VALID_FIND_MEDIAN_STRING_CODES_DATA_PROVIDER_NAME)
+    private Object[][] validFindMedianStringCodesDataProvider() {
+        return new Object[][] {
+                { DnaCollectors.stringToDnaList("ACGT"), 1 },
+                { DnaCollectors.stringToDnaList("AAG", "AAT"), 3 },
+                { DnaCollectors.stringToDnaList("AAATTGACGCAT", "GACGACCACGTT", "CGTCAGCGCCTG", "GCTGAGCACCGG", "AGTACGGGACAG"), 3 },
+                { createRandomSamples(1, 5, 30), 4 },
+                { createRandomSamples(2, 8, 25), 5 },
+                { createRandomSamples(3, 3, 12), 6 },
+                { createRandomSamples(4, 10, 40), 6 }
+        };
+    }
+
+    private static List<Dna> createRandomSamples(final long seed, final int sampleNumber, final int sampleLength) {
+        Random random = new Random(seed);
+        return IntStream.range(0, sampleNumber)
+                .mapToObj(sample -> random.ints(sampleLength, 0, 4)
+                        .mapToObj(code -> String.valueOf("ACGT".charAt(code)))
+                        .collect(Collectors.joining()))
+                .map(Dna::build)
+                .collect(Collectors.toList());
+    }
+}
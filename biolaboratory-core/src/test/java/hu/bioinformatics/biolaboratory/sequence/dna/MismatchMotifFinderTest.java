@@ -0,0 +1,64 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.sequence.dna.MismatchMotifFinder.Strategy;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests for {@link MismatchMotifFinder}.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = MismatchMotifFinderTestDataProvider.class)
+public class MismatchMotifFinderTest {
+
+    @Test(dataProvider = MismatchMotifFinderTestDataProvider.VALID_FIND_COMMON_MOTIF_CODES_DATA_PROVIDER_NAME)
+    public void shouldStrategiesFindTheSameCodes(String[] samples, int k, int d) {
+        byte[][] sampleCodes = Arrays.stream(samples).map(MismatchMotifFinderTest::encode).toArray(byte[][]::new);
+        long[] controlCodes = findBruteForce(sampleCodes, k, d);
+        for (Strategy strategy : Strategy.values()) {
+            assertThat(MismatchMotifFinder.findCommonMotifCodes(sampleCodes, k, d, strategy),
+                    is(equalTo(controlCodes)));
+        }
+    }
+
+    @Test(dataProvider = MismatchMotifFinderTestDataProvider.VALID_CHOOSE_STRATEGY_DATA_PROVIDER_NAME)
+    public void shouldChooseStrategyReturn(int k, int d, int windowNumber, Strategy controlStrategy) {
+        assertThat(MismatchMotifFinder.chooseStrategy(k, d, windowNumber), is(equalTo(controlStrategy)));
+    }
+
+    private static byte[] encode(final String sample) {
+        byte[] codes = new byte[sample.length()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (byte) "ACGT".indexOf(sample.charAt(i));
+        }
+        return codes;
+    }
+
+    private static long[] findBruteForce(final byte[][] sampleCodes, final int k, final int d) {
+        return LongStream.range(0, 1L << (2 * k))
+                .filter(code -> Arrays.stream(sampleCodes).allMatch(codes -> hasNeighborWindow(codes, code, k, d)))
+                .toArray();
+    }
+
+    private static boolean hasNeighborWindow(final byte[] codes, final long code, final int k, final int d) {
+        for (int start = 0; start + k <= codes.length; start++) {
+            int mismatches = 0;
+            for (int i = 0; i < k; i++) {
+                if (codes[start + i] != ((code >>> (2 * (k - 1 - i))) & 3)) {
+                    mismatches++;
+                }
+            }
+            if (mismatches <= d) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.sequence.dna.MismatchMotifFinder.Strategy;
+import org.testng.annotations.DataProvider;
+
+/**
+ * Data provider for {@link MismatchMotifFinderTest}.
+ *
+ * @author Attila Radi
+ */
+public class MismatchMotifFinderTestDataProvider {
+
+    static final String VALID_FIND_COMMON_MOTIF_CODES_DATA_PROVIDER_NAME = "validFindCommonMotifCodesDataProvider";
+
+    @DataProvider(name = VALID_FIND_COMMON_MOTIF_CODES_DATA_PROVIDER_NAME)
+    private Object[][] validFindCommonMotifCodesDataProvider() {
+        return new Object[][] {
+                { new String[] { "ATTTGGC", "TGCCTTA", "CGGTATC", "GAAAATT" }, 3, 1 },
+                { new String[] { "ACGTACGT", "ACGTACGT" }, 4, 0 },
+                { new String[] { "AAAAAAAAAA", "CCCCCCCCCC" }, 5, 2 },
+                { new String[] { "ACGTTGCAACGT" }, 6, 1 },
+                { new String[] { "ACG", "TTT" }, 3, 3 }
+        };
+    }
+
+    static final String VALID_CHOOSE_STRATEGY_DATA_PROVIDER_NAME = "validChooseStrategyDataProvider";
+
+    @DataProvider(name = VALID_CHOOSE_STRATEGY_DATA_PROVIDER_NAME)
+    private Object[][] validChooseStrategyDataProvider() {
+        return new Object[][] {
+                { 3, 1, 10, Strategy.CODE_BITSET },
+                { 12, 0, 100, Strategy.CANDIDATE_BITSET },
+                { 15, 4, 586, Strategy.CODE_BITSET },
+                { 15, 1, 586, Strategy.CANDIDATE_BITSET },
+                { 18, 6, 1000, Strategy.CODE_BITSET },
+                { 19, 6, 1000, Strategy.CANDIDATE_BITSET }
+        };
+    }
+}
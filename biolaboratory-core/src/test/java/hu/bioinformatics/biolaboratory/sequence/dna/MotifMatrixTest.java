@@ -0,0 +1,123 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.guice.GuiceCoreModule;
+import hu.bioinformatics.biolaboratory.guice.GuiceResourceModule;
+import hu.bioinformatics.biolaboratory.guice.GuiceTestModule;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isIn;
+
+/**
+ * Unit tests for {@link MotifMatrix}.
+ *
+ * @author Attila Radi
+ */
+@Guice(modules = {GuiceCoreModule.class, GuiceResourceModule.class, GuiceTestModule.class})
+@Test(dataProviderClass = MotifMatrixTestDataProvider.class)
+public class MotifMatrixTest {
+
+    @Test(dataProvider = MotifMatrixTestDataProvider.INVALID_BUILD_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuildThrowException(DnaArray dnaArray, int pseudocount) {
+        MotifMatrix.build(dnaArray, pseudocount);
+    }
+
+    @Test(dataProvider = MotifMatrixTestDataProvider.BUILD_DATA_PROVIDER_NAME)
+    public void shouldBuildMatchMotifs(DnaArray dnaArray) {
+        assertMatchesMotifs(dnaArray.getMotifs().toMotifMatrix(), dnaArray);
+    }
+
+    @Test(dataProvider = MotifMatrixTestDataProvider.PROFILE_DATA_PROVIDER_NAME)
+    public void shouldProfileReturn(DnaArray dnaArray, int pseudocount, double[][] controlProfile) {
+        MotifMatrix motifMatrix = MotifMatrix.build(dnaArray, pseudocount);
+        double[][] profile = motifMatrix.profile();
+        double[][] logProfile = motifMatrix.logProfile();
+        for (int code = 0; code < controlProfile.length; code++) {
+            for (int position = 0; position < controlProfile[code].length; position++) {
+                assertThat(profile[code][position], is(closeTo(controlProfile[code][position], 0.000001)));
+                assertThat(logProfile[code][position], is(equalTo(Math.log(profile[code][position]))));
+            }
+        }
+    }
+
+    @Test(dataProvider = MotifMatrixTestDataProvider.REPLACE_MOTIF_DATA_PROVIDER_NAME)
+    public void shouldReplaceMotifMatchRebuiltMotifs(DnaArray dnaArray, int row, Dna motif, DnaArray controlDnaArray) {
+        MotifMatrix motifMatrix = MotifMatrix.build(dnaArray);
+        motifMatrix.replaceMotif(row, motif);
+        assertThat(motifMatrix.getMotif(row), is(equalTo(motif)));
+        assertThat(motifMatrix.toDnaArray().getSampleList(), is(equalTo(controlDnaArray.getSampleList())));
+        assertMatchesMotifs(motifMatrix, controlDnaArray);
+    }
+
+    @Test(dataProvider = MotifMatrixTestDataProvider.INVALID_REPLACE_MOTIF_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldReplaceMotifThrowException(int row, Dna motif) {
+        MotifMatrix.build(DnaArray.build(Dna.build("ACGT"), Dna.build("TTTT"))).replaceMotif(row, motif);
+    }
+
+    @Test
+    public void shouldManyReplaceMotifsMatchRebuiltMotifs() {
+        MotifMatrix motifMatrix = MotifMatrix.build(DnaArray.build(Dna.build("ACGTAC"), Dna.build("TTGACA"),
+                Dna.build("GGCATT")), 1);
+        Dna[] motifs = { Dna.build("CCGTAA"), Dna.build("TAGGCA"), Dna.build("ACGTAC"), Dna.build("GTTCAG") };
+        for (int replacement = 0; replacement < 1000; replacement++) {
+            motifMatrix.replaceMotif(replacement % motifMatrix.getMotifNumber(), motifs[replacement % motifs.length]);
+        }
+        MotifMatrix controlMotifMatrix = MotifMatrix.build(motifMatrix.toDnaArray(), 1);
+        assertThat(motifMatrix.score(), is(equalTo(controlMotifMatrix.score())));
+        assertThat(motifMatrix.entropy(), is(equalTo(controlMotifMatrix.entropy())));
+        assertThat(motifMatrix.totalEntropy(), is(closeTo(controlMotifMatrix.totalEntropy(), 0.000000001)));
+        assertThat(motifMatrix.profile(), is(equalTo(controlMotifMatrix.profile())));
+    }
+
+    @Test
+    public void shouldFillRemainingCumulativeProbabilitiesLeaveOutTheRow() {
+        byte[][] sampleCodes = { Dna.build("ACGTACGT").getNucleotideCodeArray(),
+                Dna.build("TTGACATG").getNucleotideCodeArray(), Dna.build("GGCATTCA").getNucleotideCodeArray() };
+        MotifMatrix motifMatrix = MotifMatrix.build(sampleCodes, new int[] { 1, 3, 0 }, 4, 1);
+        MotifMatrix controlMotifMatrix = MotifMatrix.build(DnaArray.build(Dna.build("CGTA"), Dna.build("GGCA")), 1);
+        double[] cumulativeProbabilities = new double[5];
+        double totalProbability = motifMatrix.fillRemainingCumulativeProbabilities(1, sampleCodes[1],
+                cumulativeProbabilities);
+        double[][] controlProfile = controlMotifMatrix.profile();
+        double controlTotalProbability = 0.0;
+        for (int start = 0; start < cumulativeProbabilities.length; start++) {
+            double probability = 1.0;
+            for (int position = 0; position < 4; position++) {
+                probability *= controlProfile[sampleCodes[1][start + position]][position];
+            }
+            controlTotalProbability += probability;
+            assertThat(cumulativeProbabilities[start], is(closeTo(controlTotalProbability, 0.000000001)));
+        }
+        assertThat(totalProbability, is(closeTo(controlTotalProbability, 0.000000001)));
+        assertThat(motifMatrix.count(), is(equalTo(MotifMatrix.build(sampleCodes, new int[] { 1, 3, 0 }, 4, 1)
+                .count())));
+    }
+
+    private static void assertMatchesMotifs(MotifMatrix motifMatrix, DnaArray controlDnaArray) {
+        Motifs controlMotifs = controlDnaArray.getMotifs();
+        assertThat(motifMatrix.score(), is(equalTo(controlMotifs.score())));
+        assertThat(motifMatrix.totalScore(), is(equalTo(controlMotifs.totalScore())));
+        double[] entropy = motifMatrix.entropy();
+        double[] controlEntropy = controlMotifs.entropy();
+        IntStream.range(0, entropy.length)
+                .forEach(i -> assertThat(entropy[i], is(closeTo(controlEntropy[i], 0.000001))));
+        assertThat(motifMatrix.totalEntropy(), is(closeTo(controlMotifs.totalEntropy(), 0.000001)));
+        assertThat(motifMatrix.consensus(), isIn(controlMotifs.consensus()));
+        int[][] counts = motifMatrix.count();
+        IntStream.range(0, motifMatrix.getMotifLength())
+                .forEach(position -> {
+                    for (DnaNucleotide dnaNucleotide : DnaNucleotide.values()) {
+                        assertThat(counts[dnaNucleotide.ordinal()][position],
+                                is(equalTo(controlMotifs.count().get(position).getOccurrence(dnaNucleotide))));
+                    }
+                });
+    }
+}
@@ -0,0 +1,90 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.collectors.DnaCollectors;
+import hu.bioinformatics.biolaboratory.utils.datahandlers.DnaArrayLoader;
+import org.testng.annotations.DataProvider;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data provider for {@link MotifMatrixTest}.
+ *
+ * @author Attila Radi
+ */
+public class MotifMatrixTestDataProvider {
+
+    @Inject
+    private DnaArrayLoader testDnaArrayLoader;
+
+    static final String BUILD_DATA_PROVIDER_NAME = "buildDataProvider";
+
+    @DataProvider(name = BUILD_DATA_PROVIDER_NAME)
+    private Object[][] buildDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")) },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGG")) },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "AAAA", "CCCC")) },
+                { testDnaArrayLoader.load("motif-calculation.dnacol") }
+        };
+    }
+
+    static final String INVALID_BUILD_DATA_PROVIDER_NAME = "invalidBuildDataProvider";
+
+    @DataProvider(name = INVALID_BUILD_DATA_PROVIDER_NAME)
+    private Object[][] invalidBuildDataProvider() {
+        return new Object[][] {
+                { null, 0 },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), -1 }
+        };
+    }
+
+    static final String PROFILE_DATA_PROVIDER_NAME = "profileDataProvider";
+
+    @DataProvider(name = PROFILE_DATA_PROVIDER_NAME)
+    private Object[][] profileDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGG")), 0, new double[][] {
+                        { 1.0, 0.0, 0.0, 0.0 }, { 0.0, 1.0, 0.0, 0.0 }, { 0.0, 0.0, 1.0, 0.5 }, { 0.0, 0.0, 0.0, 0.5 } } },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGG")), 1, new double[][] {
+                        { 0.5, 1.0 / 6, 1.0 / 6, 1.0 / 6 }, { 1.0 / 6, 0.5, 1.0 / 6, 1.0 / 6 },
+                        { 1.0 / 6, 1.0 / 6, 0.5, 1.0 / 3 }, { 1.0 / 6, 1.0 / 6, 1.0 / 6, 1.0 / 3 } } }
+        };
+    }
+
+    static final String REPLACE_MOTIF_DATA_PROVIDER_NAME = "replaceMotifDataProvider";
+
+    @DataProvider(name = REPLACE_MOTIF_DATA_PROVIDER_NAME)
+    private Object[][] replaceMotifDataProvider() {
+        return new Object[][] {
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT")), 0, Dna.build("ACGT"),
+                        DnaArray.build(DnaCollectors.stringToDnaList("ACGT")) },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "ACGG")), 1, Dna.build("TTTT"),
+                        DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "TTTT")) },
+                { DnaArray.build(DnaCollectors.stringToDnaList("ACGT", "AAAA", "CCCC")), 0, Dna.build("CCCA"),
+                        DnaArray.build(DnaCollectors.stringToDnaList("CCCA", "AAAA", "CCCC")) },
+                { testDnaArrayLoader.load("motif-calculation.dnacol"), 3, Dna.build("AAAAAAAAAAAA"),
+                        replaceSample(testDnaArrayLoader.load("motif-calculation.dnacol"), 3, "AAAAAAAAAAAA") }
+        };
+    }
+
+    private static DnaArray replaceSample(final DnaArray dnaArray, final int row, final String sequence) {
+        List<Dna> sampleList = new ArrayList<>(dnaArray.getSampleList());
+        sampleList.set(row, Dna.build(sequence));
+        return DnaArray.build(sampleList);
+    }
+
+    static final String INVALID_REPLACE_MOTIF_DATA_PROVIDER_NAME = "invalidReplaceMotifDataProvider";
+
+    @DataProvider(name = INVALID_REPLACE_MOTIF_DATA_PROVIDER_NAME)
+    private Object[][] invalidReplaceMotifDataProvider() {
+        return new Object[][] {
+                { -1, Dna.build("ACGT") },
+                { 2, Dna.build("ACGT") },
+                { 0, null },
+                { 0, Dna.build("ACG") },
+                { 0, Dna.build("ACGTA") }
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.guice.GuiceCoreModule;
+import hu.bioinformatics.biolaboratory.guice.GuiceResourceModule;
+import hu.bioinformatics.biolaboratory.guice.GuiceTestModule;
+import hu.bioinformatics.biolaboratory.utils.ComputeContext;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Unit tests for {@link SkewProfile}.
+ *
+ * @author Attila Radi
+ */
+@Guice(modules = {GuiceCoreModule.class, GuiceResourceModule.class, GuiceTestModule.class})
+@Test(dataProviderClass = SkewProfileTestDataProvider.class)
+public class SkewProfileTest {
+    private static final int RANDOM_WINDOW_NUMBER = 500;
+
+    @Test(dataProvider = SkewProfileTestDataProvider.INVALID_SKEW_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldSkewThrowException(Dna dna, int prefixLength) {
+        dna.getSkewProfile().skew(prefixLength);
+    }
+
+    @Test(dataProvider = SkewProfileTestDataProvider.INVALID_WINDOW_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldMinimumSkewThrowException(Dna dna, int fromPrefixLength, int toPrefixLength) {
+        dna.getSkewProfile().minimumSkew(fromPrefixLength, toPrefixLength);
+    }
+
+    @Test(dataProvider = SkewProfileTestDataProvider.INVALID_WINDOW_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldMaximumSkewThrowException(Dna dna, int fromPrefixLength, int toPrefixLength) {
+        dna.getSkewProfile().maximumSkew(fromPrefixLength, toPrefixLength);
+    }
+
+    @Test(dataProvider = SkewProfileTestDataProvider.SKEW_PROFILE_DATA_PROVIDER_NAME)
+    public void shouldSkewReturn(Dna dna) {
+        SkewProfile skewProfile = dna.getSkewProfile();
+        int[] controlSkews = calculateSkews(dna);
+        assertThat(skewProfile, is(sameInstance(dna.getSkewProfile())));
+        assertThat(skewProfile.getLength(), is(equalTo(dna.getSequenceLength())));
+        assertThat(IntStream.range(0, controlSkews.length).map(skewProfile::skew).toArray(), is(equalTo(controlSkews)));
+    }
+
+    @Test(dataProvider = SkewProfileTestDataProvider.SKEW_PROFILE_DATA_PROVIDER_NAME)
+    public void shouldGlobalExtremesReturn(Dna dna) {
+        SkewProfile skewProfile = dna.getSkewProfile();
+        int[] controlSkews = calculateSkews(dna);
+        int controlMinimum = IntStream.of(controlSkews).min().getAsInt();
+        int[] controlMinimumPositions = IntStream.range(0, controlSkews.length)
+                .filter(prefixLength -> controlSkews[prefixLength] == controlMinimum)
+                .toArray();
+        assertThat(skewProfile.minimumSkew(), is(equalTo(controlMinimum)));
+        assertThat(skewProfile.maximumSkew(), is(equalTo(IntStream.of(controlSkews).max().getAsInt())));
+        assertThat(skewProfile.minimumPositions(), is(equalTo(controlMinimumPositions)));
+        assertThat(skewProfile.firstMinimumPosition(), is(equalTo(controlMinimumPositions[0])));
+    }
+
+    @Test(dataProvider = SkewProfileTestDataProvider.SKEW_PROFILE_DATA_PROVIDER_NAME)
+    public void shouldWindowExtremesReturn(Dna dna) {
+        assertWindowExtremes(dna.getSkewProfile(), calculateSkews(dna));
+    }
+
+    @Test(dataProvider = SkewProfileTestDataProvider.SKEW_PROFILE_DATA_PROVIDER_NAME)
+    public void shouldParallelBuildReturnSameProfile(Dna dna) {
+        int[] controlSkews = calculateSkews(dna);
+        try (ComputeContext forkingContext = ComputeContext.dedicatedPool(3).withParallelThreshold(0)) {
+            SkewProfile skewProfile = forkingContext.call(() -> Dna.build(dna.getSequence()).getSkewProfile());
+            assertThat(IntStream.range(0, controlSkews.length).map(skewProfile::skew).toArray(),
+                    is(equalTo(controlSkews)));
+            assertWindowExtremes(skewProfile, controlSkews);
+        }
+    }
+
+    private static void assertWindowExtremes(final SkewProfile skewProfile, final int[] controlSkews) {
+        Random random = new Random(controlSkews.length);
+        for (int window = 0; window < RANDOM_WINDOW_NUMBER; window++) {
+            int fromPrefixLength = random.nextInt(controlSkews.length);
+            int toPrefixLength = window % 2 == 0
+                    ? fromPrefixLength + random.nextInt(controlSkews.length - fromPrefixLength)
+                    : Math.min(controlSkews.length - 1, fromPrefixLength + random.nextInt(70));
+            assertWindowExtremes(skewProfile, controlSkews, fromPrefixLength, toPrefixLength);
+        }
+        assertWindowExtremes(skewProfile, controlSkews, 0, controlSkews.length - 1);
+        assertWindowExtremes(skewProfile, controlSkews, 0, 0);
+        assertWindowExtremes(skewProfile, controlSkews, controlSkews.length - 1, controlSkews.length - 1);
+    }
+
+    private static void assertWindowExtremes(final SkewProfile skewProfile, final int[] controlSkews,
+                                             final int fromPrefixLength, final int toPrefixLength) {
+        int controlMinimum = IntStream.rangeClosed(fromPrefixLength, toPrefixLength)
+                .map(prefixLength -> controlSkews[prefixLength]).min().getAsInt();
+        int controlMaximum = IntStream.rangeClosed(fromPrefixLength, toPrefixLength)
+                .map(prefixLength -> controlSkews[prefixLength]).max().getAsInt();
+        assertThat(skewProfile.minimumSkew(fromPrefixLength, toPrefixLength), is(equalTo(controlMinimum)));
+        assertThat(skewProfile.maximumSkew(fromPrefixLength, toPrefixLength), is(equalTo(controlMaximum)));
+    }
+
+    private static int[] calculateSkews(final Dna dna) {
+        String sequence = dna.getSequence();
+        int[] skews = new int[sequence.length() + 1];
+        for (int i = 0; i < sequence.length(); i++) {
+            char nucleotide = sequence.charAt(i);
+            skews[i + 1] = skews[i] + (nucleotide == 'G' ? 1 : nucleotide == 'C' ? -1 : 0);
+        }
+        return skews;
+    }
+}
@@ -0,0 +1,69 @@
+package hu.bioinformatics.biolaboratory.sequence.dna;
+
+import hu.bioinformatics.biolaboratory.utils.datahandlers.DnaLoader;
+import org.testng.annotations.DataProvider;
+
+import javax.inject.Inject;
+import java.util.Random;
+
+/**
+ * Data provider for {@link SkewProfileTest}.
+ *
+ * @author Attila Radi
+ */
+public class SkewProfileTestDataProvider {
+    private static final char[] NUCLEOTIDE_LETTERS = {'A', 'C', 'G', 'T'};
+
+    @Inject
+    private DnaLoader testDnaLoader;
+
+    static final String SKEW_PROFILE_DATA_PROVIDER_NAME = "skewProfileDataProvider";
+
+    @DataProvider(name = SKEW_PROFILE_DATA_PROVIDER_NAME)
+    private Object[][] skewProfileDataProvider() {
+        return new Object[][] {
+                { Dna.build("A") },
+                { Dna.build("C") },
+                { Dna.build("G") },
+                { Dna.build("CCGGCCGG") },
+                { Dna.build("TAAAGACTGCCGAGAGGCCAACACGAGTGCTAGAACGAGGGGCGTAAACGCGGGTCCGAT") },
+                { randomDna(31, 1L) },
+                { randomDna(32, 2L) },
+                { randomDna(33, 3L) },
+                { randomDna(600, 4L) },
+                { randomDna(20_000, 5L) },
+                { randomDna(70_001, 6L) },
+                { testDnaLoader.load("minimum-skew-extra-dataset.dna") }
+        };
+    }
+
+    static final String INVALID_SKEW_DATA_PROVIDER_NAME = "invalidSkewDataProvider";
+
+    @DataProvider(name = INVALID_SKEW_DATA_PROVIDER_NAME)
+    private Object[][] invalidSkewDataProvider() {
+        return new Object[][] {
+                { Dna.build("ACGT"), -1 },
+                { Dna.build("ACGT"), 5 }
+        };
+    }
+
+    static final String INVALID_WINDOW_DATA_PROVIDER_NAME = "invalidWindowDataProvider";
+
+    @DataProvider(name = INVALID_WINDOW_DATA_PROVIDER_NAME)
+    private Object[][] invalidWindowDataProvider() {
+        return new Object[][] {
+                { Dna.build("ACGT"), -1, 2 },
+                { Dna.build("ACGT"), 3, 2 },
+                { Dna.build("ACGT"), 0, 5 }
+        };
+    }
+
+    private static Dna randomDna(final int length, final long seed) {
+        Random random = new Random(seed);
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = NUCLEOTIDE_LETTERS[random.nextInt(NUCLEOTIDE_LETTERS.length)];
+        }
+        return Dna.build(new String(letters));
+    }
+}
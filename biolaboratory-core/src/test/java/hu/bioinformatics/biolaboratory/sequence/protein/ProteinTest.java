@@ -2,6 +2,8 @@ package hu.bioinformatics.biolaboratory.sequence.protein;
 
 import org.testng.annotations.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -58,4 +60,42 @@ public class ProteinTest {
         assertThat(protein.getSequence(), is(equalTo(controlSequence)));
         assertThat(protein.getSequenceLength(), is(equalTo(controlSequence.length())));
     }
-}
\ No newline at end of file
+
+    @Test(dataProvider = ProteinTestDataProvider.INVALID_BUILD_PROTEIN_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuildFromCharsThrowException(String name, String sequence) {
+        Protein.build(name, sequence == null ? null : sequence.toCharArray());
+    }
+
+    @Test(dataProvider = ProteinTestDataProvider.INVALID_BUILD_PROTEIN_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuildFromBytesThrowException(String name, String sequence) {
+        Protein.build(name, sequence == null ? null : sequence.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test(dataProvider = ProteinTestDataProvider.INVALID_BUILD_PROTEIN_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuildFromByteBufferThrowException(String name, String sequence) {
+        Protein.build(name, sequence == null ? null : ByteBuffer.wrap(sequence.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test(dataProvider = ProteinTestDataProvider.VALID_BUILD_PROTEIN_DATA_PROVIDER_NAME)
+    public void shouldBuildFromLettersReturnTheSame(String name, String sequence, String controlName,
+                                                    String controlSequence) {
+        Protein control = Protein.build(name, sequence);
+        ByteBuffer byteBuffer = ByteBuffer.wrap(("> " + sequence).getBytes(StandardCharsets.US_ASCII));
+        byteBuffer.position(2);
+        List<Protein> builds = Arrays.asList(Protein.build(name, new StringBuilder(sequence)),
+                Protein.build(name, sequence.toCharArray()),
+                Protein.build(name, sequence.getBytes(StandardCharsets.US_ASCII)),
+                Protein.build(name, byteBuffer),
+                Protein.build(name, byteBuffer.slice()),
+                Protein.build(name, byteBuffer.asReadOnlyBuffer()));
+        for (Protein build : builds) {
+            assertThat(build.getName(), is(equalTo(controlName)));
+            assertThat(build, is(equalTo(control)));
+            assertThat(build.getElementOccurrences(), is(equalTo(control.getElementOccurrences())));
+        }
+        assertThat(byteBuffer.position(), is(equalTo(2)));
+    }
+}
@@ -0,0 +1,110 @@
+package hu.bioinformatics.biolaboratory.utils.datahandlers.implementation;
+
+import hu.bioinformatics.biolaboratory.guice.GuiceCoreMockModule;
+import hu.bioinformatics.biolaboratory.guice.GuiceResourceMockModule;
+import hu.bioinformatics.biolaboratory.guice.GuiceResourceModule;
+import hu.bioinformatics.biolaboratory.resource.read.index.FastaIndex;
+import hu.bioinformatics.biolaboratory.sequence.dna.Dna;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Unit tests for {@link DnaFastaRegionLoader}.
+ *
+ * @author Attila Radi
+ */
+@Guice(modules = {GuiceResourceModule.class, GuiceResourceMockModule.class, GuiceCoreMockModule.class})
+public class DnaFastaRegionLoaderTest {
+
+    private static final String FASTA_CONTENT = ">chr1 first\nACGTA\nCGTAC\nGT\n>chr2\nTTGG\nCCUA\n";
+
+    @Inject
+    private DnaFastaRegionLoader dnaFastaRegionLoader;
+
+    private String resourcePath;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        File resource = File.createTempFile("sample", ".fas");
+        resource.deleteOnExit();
+        new File(resource.getAbsolutePath() + FastaIndex.INDEX_EXTENSION).deleteOnExit();
+        Files.write(resource.toPath(), FASTA_CONTENT.getBytes(StandardCharsets.US_ASCII));
+        resourcePath = resource.getAbsolutePath();
+        dnaFastaRegionLoader.index(resourcePath);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        dnaFastaRegionLoader.close();
+    }
+
+    private static final String INVALID_LOAD_DATA_PROVIDER_NAME = "invalidLoadDataProvider";
+
+    @DataProvider(name = INVALID_LOAD_DATA_PROVIDER_NAME)
+    private Object[][] invalidLoadDataProvider() {
+        return new Object[][] {
+                { "chr3", 0, 1 },
+                { "chr1", -1, 1 },
+                { "chr1", 0, 13 },
+                { "chr1", 3, 3 },
+                { "chr2", 4, 8 }
+        };
+    }
+
+    private static final String VALID_LOAD_DATA_PROVIDER_NAME = "validLoadDataProvider";
+
+    @DataProvider(name = VALID_LOAD_DATA_PROVIDER_NAME)
+    private Object[][] validLoadDataProvider() {
+        return new Object[][] {
+                { "chr1", 0, 12, Dna.build("chr1", "ACGTACGTACGT") },
+                { "chr1", 3, 11, Dna.build("chr1", "TACGTACG") },
+                { "chr2", 1, 4, Dna.build("chr2", "TGG") }
+        };
+    }
+
+    @Test(dataProvider = INVALID_LOAD_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldLoadThrowException(String name, long startPosition, long endPosition) {
+        dnaFastaRegionLoader.load(resourcePath, name, startPosition, endPosition);
+    }
+
+    @Test(dataProvider = VALID_LOAD_DATA_PROVIDER_NAME)
+    public void shouldLoadReturn(String name, long startPosition, long endPosition, Dna controlDna) {
+        Dna loadedDna = dnaFastaRegionLoader.load(resourcePath, name, startPosition, endPosition);
+        assertThat(loadedDna, is(equalTo(controlDna)));
+        assertThat(loadedDna.getName(), is(equalTo(name)));
+    }
+
+    @Test
+    public void shouldLoadReopenFileClosedByInterrupt() {
+        UncheckedIOException exception = null;
+        Thread.currentThread().interrupt();
+        try {
+            dnaFastaRegionLoader.load(resourcePath, "chr1", 0, 12);
+        } catch (UncheckedIOException e) {
+            exception = e;
+        } finally {
+            Thread.interrupted();
+        }
+        assertThat(exception, is(notNullValue()));
+        assertThat(exception.getCause(), is(instanceOf(ClosedByInterruptException.class)));
+        assertThat(dnaFastaRegionLoader.load(resourcePath, "chr2", 1, 4), is(equalTo(Dna.build("chr2", "TGG"))));
+    }
+}
@@ -0,0 +1,78 @@
+package hu.bioinformatics.biolaboratory.utils.datahandlers.implementation;
+
+import hu.bioinformatics.biolaboratory.guice.GuiceCoreMockModule;
+import hu.bioinformatics.biolaboratory.guice.GuiceResourceMockModule;
+import hu.bioinformatics.biolaboratory.guice.GuiceResourceModule;
+import hu.bioinformatics.biolaboratory.sequence.dna.Dna;
+import hu.bioinformatics.biolaboratory.utils.collectors.DnaCollectors;
+import hu.bioinformatics.biolaboratory.utils.datastructures.CommentedString;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests for {@link DnaListMappedFastaLoader}.
+ *
+ * @author Attila Radi
+ */
+@Guice(modules = {GuiceResourceModule.class, GuiceResourceMockModule.class, GuiceCoreMockModule.class})
+public class DnaListMappedFastaLoaderTest {
+
+    @Inject
+    private DnaListMappedFastaLoader dnaListMappedFastaLoader;
+
+    private static String createResource(final String extension, final String content) throws IOException {
+        File resource = File.createTempFile("sample", extension);
+        resource.deleteOnExit();
+        Files.write(resource.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        return resource.getAbsolutePath();
+    }
+
+    private static final String INVALID_LOAD_DATA_PROVIDER_NAME = "invalidLoadDataProvider";
+
+    @DataProvider(name = INVALID_LOAD_DATA_PROVIDER_NAME)
+    private Object[][] invalidLoadDataProvider() {
+        return new Object[][] {
+                { ".rna", "> comment\nAGCT" },
+                { ".fas", "AGCT" },
+                { ".fas", "> comment\n> dulicated comment\nAGCT" },
+                { ".fas", "> comment\nAGCU" },
+                { ".fas", "> comment\nAG CT" },
+                { ".fas", "" }
+        };
+    }
+
+    private static final String VALID_LOAD_DATA_PROVIDER_NAME = "validLoadDataProvider";
+
+    @DataProvider(name = VALID_LOAD_DATA_PROVIDER_NAME)
+    private Object[][] validLoadDataProvider() {
+        return new Object[][] {
+                { "> comment\nACGT", DnaCollectors.commentedStringToDnaList(new CommentedString("comment", "ACGT")) },
+                { "> comment\r\nacgt\r\nACGT\r\n", DnaCollectors.commentedStringToDnaList(new CommentedString("comment", "ACGTACGT")) },
+                { "> comment1\nACGT\n> comment2\nTGCA", DnaCollectors.commentedStringToDnaList(new CommentedString("comment1", "ACGT"), new CommentedString("comment2", "TGCA")) }
+        };
+    }
+
+    @Test(dataProvider = INVALID_LOAD_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldLoadThrowException(String extension, String content) throws IOException {
+        dnaListMappedFastaLoader.load(createResource(extension, content));
+    }
+
+    @Test(dataProvider = VALID_LOAD_DATA_PROVIDER_NAME)
+    public void shouldLoadReturn(String content, List<Dna> controlDnaList) throws IOException {
+        List<Dna> loadedDnaList = dnaListMappedFastaLoader.load(createResource(".fas", content));
+        assertThat(loadedDnaList, is(equalTo(controlDnaList)));
+    }
+}
@@ -3,8 +3,10 @@ package hu.bioinformatics.biolaboratory.guice;
 import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
 import com.google.inject.name.Names;
+import hu.bioinformatics.biolaboratory.resource.extension.ResourceChannelProvider;
 import hu.bioinformatics.biolaboratory.resource.extension.ResourceLocalizer;
 import hu.bioinformatics.biolaboratory.resource.extension.ResourceReaderProvider;
+import hu.bioinformatics.biolaboratory.resource.extension.impl.FileResourceChannelProvider;
 import hu.bioinformatics.biolaboratory.resource.extension.impl.FileResourceLocalizer;
 import hu.bioinformatics.biolaboratory.resource.extension.impl.FileResourceReaderProvider;
 import hu.bioinformatics.biolaboratory.resource.extension.impl.LocalFileResourceLocalizer;
@@ -24,6 +26,7 @@ public class GuiceProductionModule extends AbstractModule {
         bind(ResourceLocalizer.class).to(FileResourceLocalizer.class).in(Scopes.SINGLETON);
         bind(ResourceLocalizer.class).annotatedWith(Names.named(LOCAL_RESOURCE_LOCALIZER_NAME)).to(LocalFileResourceLocalizer.class).in(Scopes.SINGLETON);
         bind(ResourceReaderProvider.class).to(FileResourceReaderProvider.class).in(Scopes.SINGLETON);
+        bind(ResourceChannelProvider.class).to(FileResourceChannelProvider.class).in(Scopes.SINGLETON);
         bind(ReaderWrapperFactory.class).in(Scopes.SINGLETON);
     }
 }
@@ -0,0 +1,48 @@
+package hu.bioinformatics.biolaboratory.resource.datahandlers;
+
+import hu.bioinformatics.biolaboratory.resource.extension.ResourceLocalizer;
+import hu.bioinformatics.biolaboratory.resource.read.mapped.FastaRecord;
+import hu.bioinformatics.biolaboratory.resource.read.mapped.MappedFastaReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Provides an abstract class to load object from memory mapped FASTA files.
+ *
+ * @author Attila Radi
+ */
+public abstract class MappedFastaLoader<RES> {
+    private final ResourceLocalizer resourceLocalizer;
+    private final MappedFastaReader reader;
+
+    public MappedFastaLoader(final ResourceLocalizer resourceLocalizer,
+                             final MappedFastaReader mappedFastaReader) {
+        this.resourceLocalizer = notNull(resourceLocalizer);
+        this.reader = notNull(mappedFastaReader);
+    }
+
+    /**
+     * Load an object from a FASTA file. The file is read as a stream of records, which is closed after the conversion.
+     *
+     * @param resourcePath The address of the FASTA file.
+     * @return The object from the FASTA file.
+     * @throws UncheckedIOException If {@link IOException} occurs.
+     */
+    public final RES load(final String resourcePath) {
+        try (Stream<FastaRecord> records = reader.stream(resourceLocalizer.localizeResource(resourcePath))) {
+            return convert(records);
+        }
+    }
+
+    /**
+     * Converts the stream of the read FASTA records into the target {@literal<RES>} type.
+     *
+     * @param records The read FASTA records.
+     * @return The decoded type.
+     */
+    protected abstract RES convert(final Stream<FastaRecord> records);
+}
@@ -7,6 +7,8 @@ import hu.bioinformatics.biolaboratory.utils.datastructures.CommentedString;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.Validate.notNull;
 
@@ -25,14 +27,28 @@ public abstract class ResourceLoader<RES> {
         this.reader = notNull(resourceReader);
     }
     /**
-     * Load an object from an external resource.
+     * Load an object from an external resource. The resource is read as a stream, which is closed after the
+     * conversion.
      * 
      * @param resourcePath The address of the external resource.
      * @return The object from the external resource.
      * @throws UncheckedIOException If {@link IOException} occurs.
      */
     public final RES load(final String resourcePath) {
-        return convert(reader.read(resourceLocalizer.localizeResource(resourcePath)));
+        try (Stream<CommentedString> lines = reader.stream(resourceLocalizer.localizeResource(resourcePath))) {
+            return convert(lines);
+        }
+    }
+
+    /**
+     * Converts the stream of the raw converted lines into the target {@literal<RES>} type. The default implementation
+     * collects the lines and calls {@link #convert(List)}.
+     *
+     * @param lines The stream of the read raw lines.
+     * @return The decoded type.
+     */
+    protected RES convert(final Stream<CommentedString> lines) {
+        return convert(lines.collect(Collectors.toList()));
     }
 
     /**
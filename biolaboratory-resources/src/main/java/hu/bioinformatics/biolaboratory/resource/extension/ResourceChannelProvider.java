@@ -0,0 +1,22 @@
+package hu.bioinformatics.biolaboratory.resource.extension;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * Provides an interface to provide {@link FileChannel} objects. The caller is responsible to use and close the
+ * provided {@link FileChannel} object in the proper way.
+ *
+ * @author Attila Radi
+ */
+public interface ResourceChannelProvider {
+
+    /**
+     * Provides a readable {@link FileChannel} for the resource.
+     *
+     * @param resourcePath The resource path.
+     * @return The {@link FileChannel} of the target resource.
+     * @throws IOException If exception occurs during the construction.
+     */
+    FileChannel provideChannel(final String resourcePath) throws IOException;
+}
@@ -0,0 +1,20 @@
+package hu.bioinformatics.biolaboratory.resource.extension.impl;
+
+import hu.bioinformatics.biolaboratory.resource.extension.ResourceChannelProvider;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Opens a file resource as a {@link FileChannel}.
+ *
+ * @author Attila Radi
+ */
+public class FileResourceChannelProvider implements ResourceChannelProvider {
+    @Override
+    public FileChannel provideChannel(final String resourcePath) throws IOException {
+        return FileChannel.open(Paths.get(resourcePath), StandardOpenOption.READ);
+    }
+}
@@ -5,21 +5,29 @@ import hu.bioinformatics.biolaboratory.resource.extension.ResourceReaderProvider
 import hu.bioinformatics.biolaboratory.resource.extension.ResourceValidator;
 import hu.bioinformatics.biolaboratory.resource.read.wrapper.ReaderWrapperFactory;
 import hu.bioinformatics.biolaboratory.utils.datastructures.CommentedString;
-import org.apache.commons.lang3.StringUtils;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
 /**
  * Reads fasta format files, and returns with its row. The reader ignores the beginning prompt of the each sequences.
  * Each odd row contains the comment section of the sequence, and each even row contains the sequence.
+ * <p>
+ * The records are parsed one by one from the lines of the resource, so a {@link #stream(String)} keeps only the
+ * currently parsed record in the memory. The sequence lines of a record are joined in a reused buffer.
  *
  * @author Attila Radi
  */
@@ -42,29 +50,76 @@ public class FastaReader extends ResourceReader {
 
     @Override
     protected List<CommentedString> processResource(BufferedReader reader) throws IOException {
-        List<String> lineList = reader.lines()
-                                        .filter(StringUtils::isNotBlank)
-                                        .collect(Collectors.toCollection(ArrayList::new));
-        List<CommentedString> commentedStringList = new ArrayList<>();
+        return streamResource(reader).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Override
+    protected Stream<CommentedString> streamResource(BufferedReader reader) throws IOException {
+        Iterator<CommentedString> records = new FastaRecordIterator(reader.lines().iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static final class FastaRecordIterator implements Iterator<CommentedString> {
+        private static final int INITIAL_SEQUENCE_CAPACITY = 1024;
+
+        private final Iterator<String> lines;
+        private final StringBuilder sequence = new StringBuilder(INITIAL_SEQUENCE_CAPACITY);
+        private String description = null;
+        private boolean isEmpty = true;
+        private CommentedString nextRecord = null;
+
+        private FastaRecordIterator(final Iterator<String> lines) {
+            this.lines = lines;
+        }
 
-        String description = null;
-        String concatenatedSequence = "";
-        for (String line : lineList) {
-            line = line.trim();
-            if (line.startsWith(PROMPT)) {
-                if (description != null) {
-                    checkArgument(!concatenatedSequence.isEmpty(), "Multiple header is detected");
-                    commentedStringList.add(new CommentedString(description, concatenatedSequence));
-                    concatenatedSequence = "";
+        @Override
+        public boolean hasNext() {
+            if (nextRecord == null) {
+                nextRecord = readRecord();
+            }
+            return nextRecord != null;
+        }
+
+        @Override
+        public CommentedString next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            CommentedString record = nextRecord;
+            nextRecord = null;
+            return record;
+        }
+
+        private CommentedString readRecord() {
+            while (lines.hasNext()) {
+                String line = lines.next().trim();
+                if (line.startsWith(PROMPT)) {
+                    String nextDescription = line.substring(PROMPT.length());
+                    CommentedString record = description != null ? createRecord() : null;
+                    description = nextDescription;
+                    if (record != null) {
+                        return record;
+                    }
+                } else {
+                    sequence.append(line);
                 }
-                description = line.substring(1, line.length());
-            } else {
-                concatenatedSequence += line;
             }
+            if (description != null) {
+                CommentedString record = createRecord();
+                description = null;
+                return record;
+            }
+            checkArgument(!isEmpty, "Multiple header is detected");
+            return null;
         }
-        checkArgument(description != null && !concatenatedSequence.isEmpty(), "Multiple header is detected");
-        commentedStringList.add(new CommentedString(description, concatenatedSequence));
 
-        return commentedStringList;
+        private CommentedString createRecord() {
+            checkArgument(sequence.length() > 0, "Multiple header is detected");
+            CommentedString record = new CommentedString(description, sequence.toString());
+            sequence.setLength(0);
+            isEmpty = false;
+            return record;
+        }
     }
 }
@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.Validate.notNull;
 
@@ -59,15 +60,48 @@ public abstract class ResourceReader {
             throw new UncheckedIOException(e);
         }
         finally {
-            try {
-                if (br != null) br.close();
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
-            }
+            if (br != null) close(br);
         }
         return lines;
     }
 
+    /**
+     * Reads the resource about its resource path lazily. The resource is read only as far as the returned stream is
+     * consumed, and it is closed when the stream is closed, so the caller should close the stream.
+     *
+     * @param resourcePath The resource path of the target resource.
+     * @return The stream of the read lines.
+     * @throws UncheckedIOException If resource reading has problem.
+     */
+    public final Stream<CommentedString> stream(final String resourcePath) {
+        resourceValidator.validate(resourcePath);
+
+        BufferedReader br;
+        try {
+            br = readerWrapperFactory.wrap(resourceReaderProvider.provideReader(resourcePath));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            return streamResource(br).onClose(() -> close(br));
+        } catch (IOException e) {
+            close(br);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            close(br);
+            throw e;
+        }
+    }
+
+    private static void close(final BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Processes the resource and returns with the read data.
      *
@@ -76,4 +110,16 @@ public abstract class ResourceReader {
      * @throws IOException If exception occurs during the resource reading.
      */
     protected abstract List<CommentedString> processResource(BufferedReader reader) throws IOException;
+
+    /**
+     * Processes the resource lazily and returns with the stream of the read data. The default implementation
+     * processes the whole resource by {@link #processResource(BufferedReader)}.
+     *
+     * @param reader The {@link Reader} which is responsible for handling the resource.
+     * @return The stream of the processed input data.
+     * @throws IOException If exception occurs during the resource reading.
+     */
+    protected Stream<CommentedString> streamResource(BufferedReader reader) throws IOException {
+        return processResource(reader).stream();
+    }
 }
@@ -0,0 +1,307 @@
+package hu.bioinformatics.biolaboratory.resource.read.index;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
+
+/**
+ * The index of a FASTA file in the samtools <i>.fai</i> format. The index contains one {@link FastaIndexEntry} for
+ * each record in the order of the file, so a region of a record can be read without reading the records before it.
+ * <p>
+ * The index can be built from a FASTA file, and it can be written into and read from a tab separated index file,
+ * which is placed beside the FASTA file with {@value #INDEX_EXTENSION} extension by convention.
+ *
+ * @author Attila Radi
+ */
+public final class FastaIndex {
+    public static final String INDEX_EXTENSION = ".fai";
+
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final int FIELD_NUMBER = 5;
+
+    private final Map<String, FastaIndexEntry> entries;
+
+    private FastaIndex(final Map<String, FastaIndexEntry> entries) {
+        this.entries = ImmutableMap.copyOf(entries);
+    }
+
+    /**
+     * Creates a {@link FastaIndex} from its entries.
+     *
+     * @param entries The entries in the order of the records.
+     * @return A new {@link FastaIndex}.
+     * @throws IllegalArgumentException If entries is null or contains null entry.
+     * @throws IllegalArgumentException If entries contains the same name more times.
+     */
+    public static FastaIndex build(final List<FastaIndexEntry> entries) {
+        checkNotNullArgument("Entries", entries);
+        Map<String, FastaIndexEntry> entryMap = new LinkedHashMap<>();
+        for (FastaIndexEntry entry : entries) {
+            checkNotNullArgument("Entry", entry);
+            checkArgument(entryMap.put(entry.getName(), entry) == null,
+                    "Record name %s is duplicated", entry.getName());
+        }
+        return new FastaIndex(entryMap);
+    }
+
+    /**
+     * Builds the {@link FastaIndex} of a FASTA file by reading it once. The name of a record is the first word of its
+     * header. The blank lines between a header and the first sequence line are skipped. The channel is read from its
+     * beginning and it is not closed.
+     *
+     * @param channel The {@link FileChannel} of the FASTA file.
+     * @return The index of the FASTA file.
+     * @throws IllegalArgumentException If channel is null.
+     * @throws IllegalArgumentException If a sequence line is before the first header.
+     * @throws IllegalArgumentException If a record is empty or its name is blank or duplicated.
+     * @throws IllegalArgumentException If the lines of a record have different lengths, except the last line.
+     * @throws IllegalArgumentException If a sequence line contains blank characters.
+     * @throws UncheckedIOException If the channel reading has problem.
+     */
+    public static FastaIndex build(final FileChannel channel) {
+        checkNotNullArgument("Channel", channel);
+        try {
+            return new FastaIndexBuilder().build(channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a {@link FastaIndex} from an index file.
+     *
+     * @param indexPath The path of the index file.
+     * @return The read index.
+     * @throws IllegalArgumentException If indexPath is null.
+     * @throws IllegalArgumentException If a line of the index file is malformed.
+     * @throws UncheckedIOException If the file reading has problem.
+     */
+    public static FastaIndex read(final Path indexPath) {
+        checkNotNullArgument("Index path", indexPath);
+        ImmutableList.Builder<FastaIndexEntry> entries = ImmutableList.builder();
+        try (BufferedReader reader = Files.newBufferedReader(indexPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    entries.add(parseEntry(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return build(entries.build());
+    }
+
+    private static FastaIndexEntry parseEntry(final String line) {
+        String[] fields = line.split(FIELD_SEPARATOR);
+        checkArgument(fields.length == FIELD_NUMBER, "Index line should have %s fields: %s", FIELD_NUMBER, line);
+        try {
+            return new FastaIndexEntry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                    Integer.parseInt(fields[3]), Integer.parseInt(fields[4]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Index line has invalid number: " + line, e);
+        }
+    }
+
+    /**
+     * Writes the {@link FastaIndex} into an index file. The existing file is overwritten.
+     *
+     * @param indexPath The path of the index file.
+     * @throws IllegalArgumentException If indexPath is null.
+     * @throws UncheckedIOException If the file writing has problem.
+     */
+    public void write(final Path indexPath) {
+        checkNotNullArgument("Index path", indexPath);
+        try (BufferedWriter writer = Files.newBufferedWriter(indexPath, StandardCharsets.UTF_8)) {
+            for (FastaIndexEntry entry : entries.values()) {
+                writer.write(entry.toString());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get the names of the records in the order of the file.
+     *
+     * @return The record names.
+     */
+    public List<String> getNames() {
+        return ImmutableList.copyOf(entries.keySet());
+    }
+
+    /**
+     * Get the {@link FastaIndexEntry} of a record.
+     *
+     * @param name The name of the record.
+     * @return The index entry of the record.
+     * @throws IllegalArgumentException If the index does not contain the record.
+     */
+    public FastaIndexEntry getEntry(final String name) {
+        FastaIndexEntry entry = entries.get(name);
+        checkArgument(entry != null, "Record %s is not found in the index", name);
+        return entry;
+    }
+
+    /**
+     * Compare with an other {@link FastaIndex}.
+     *
+     * @param obj Other {@link FastaIndex}.
+     * @return If the entries are equal in the same order.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) return true;
+        if (obj == null || !obj.getClass().equals(getClass())) return false;
+        FastaIndex rightHand = (FastaIndex) obj;
+        return ImmutableList.copyOf(this.entries.values()).equals(ImmutableList.copyOf(rightHand.entries.values()));
+    }
+
+    @Override
+    public int hashCode() {
+        return entries.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FastaIndex = " + entries.values();
+    }
+
+    private static final class FastaIndexBuilder {
+        private static final int BUFFER_SIZE = 1 << 16;
+        private static final byte PROMPT = '>';
+        private static final byte LINE_FEED = '\n';
+        private static final byte CARRIAGE_RETURN = '\r';
+        private static final int LAST_BLANK_BYTE = ' ';
+
+        private final List<FastaIndexEntry> entries = new ArrayList<>();
+        private final ByteArrayOutputStream nameBytes = new ByteArrayOutputStream();
+
+        private long lineStart = 0;
+        private int lineBytes = 0;
+        private int carriageReturns = 0;
+        private int blankBytes = 0;
+        private boolean isHeaderLine = false;
+        private boolean isNameEnded = false;
+
+        private String name = null;
+        private long offset;
+        private long length;
+        private int lineBases;
+        private int lineWidth;
+        private boolean isLastLine;
+
+        private FastaIndex build(final FileChannel channel) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = 0;
+            channel.position(0);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte letter = buffer.get();
+                    if (letter == LINE_FEED) {
+                        endLine(position + 1, true);
+                    } else {
+                        appendLetter(letter);
+                    }
+                    position++;
+                }
+                buffer.clear();
+            }
+            if (lineBytes > 0) {
+                endLine(position, false);
+            }
+            endRecord();
+            return FastaIndex.build(entries);
+        }
+
+        private void appendLetter(final byte letter) {
+            if (lineBytes == 0 && letter == PROMPT) {
+                isHeaderLine = true;
+                isNameEnded = false;
+                nameBytes.reset();
+            } else if (isHeaderLine && !isNameEnded) {
+                if ((letter & 0xFF) <= LAST_BLANK_BYTE) {
+                    isNameEnded = nameBytes.size() > 0;
+                } else {
+                    nameBytes.write(letter);
+                }
+            }
+            if (letter == CARRIAGE_RETURN) {
+                carriageReturns++;
+            } else if ((letter & 0xFF) <= LAST_BLANK_BYTE) {
+                blankBytes++;
+            }
+            lineBytes++;
+        }
+
+        private void endLine(final long nextLineStart, final boolean hasLineFeed) {
+            if (isHeaderLine) {
+                endRecord();
+                name = new String(nameBytes.toByteArray(), StandardCharsets.UTF_8);
+                offset = nextLineStart;
+                length = 0;
+                lineBases = 0;
+                isLastLine = false;
+            } else {
+                int bases = lineBytes - carriageReturns;
+                checkArgument(blankBytes == 0 || blankBytes == bases,
+                        "Sequence line of record %s should not contain blank characters", name);
+                appendSequenceLine(nextLineStart, blankBytes == bases ? 0 : bases, hasLineFeed);
+            }
+            lineStart = nextLineStart;
+            lineBytes = 0;
+            carriageReturns = 0;
+            blankBytes = 0;
+            isHeaderLine = false;
+        }
+
+        private void appendSequenceLine(final long nextLineStart, final int bases, final boolean hasLineFeed) {
+            if (bases == 0) {
+                isLastLine = name != null && length > 0;
+                if (length == 0) {
+                    offset = nextLineStart;
+                }
+                return;
+            }
+            int width = (int) (nextLineStart - lineStart);
+            checkArgument(name != null, "Sequence line should not be before the first header");
+            checkArgument(!isLastLine, "Lines of record %s should have the same length", name);
+            if (lineBases == 0) {
+                lineBases = bases;
+                lineWidth = width;
+            } else {
+                checkArgument(bases <= lineBases && (!hasLineFeed || width - bases == lineWidth - lineBases),
+                        "Lines of record %s should have the same length", name);
+                isLastLine = bases < lineBases;
+            }
+            length += bases;
+        }
+
+        private void endRecord() {
+            if (name != null) {
+                checkArgument(!name.isEmpty(), "Record name should not be blank");
+                checkArgument(length > 0, "Record %s should not be empty", name);
+                entries.add(new FastaIndexEntry(name, length, offset, lineBases, lineWidth));
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package hu.bioinformatics.biolaboratory.resource.read.index;
+
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotBlankString;
+
+/**
+ * A line of a FASTA index, which describes the layout of one FASTA record in the file:
+ * <ul>
+ *     <li>the name of the record, which is the first word of its header,</li>
+ *     <li>the number of the bases in the record,</li>
+ *     <li>the byte offset of the first base in the file,</li>
+ *     <li>the number of the bases in a line,</li>
+ *     <li>the number of the bytes in a line including the line break.</li>
+ * </ul>
+ * Every line of the record has the same length except the last one.
+ *
+ * @author Attila Radi
+ */
+public final class FastaIndexEntry {
+    private final String name;
+    private final long length;
+    private final long offset;
+    private final int lineBases;
+    private final int lineWidth;
+
+    /**
+     * Creates a {@link FastaIndexEntry} from the layout of a FASTA record.
+     *
+     * @param name The name of the record.
+     * @param length The number of the bases in the record.
+     * @param offset The byte offset of the first base in the file.
+     * @param lineBases The number of the bases in a line.
+     * @param lineWidth The number of the bytes in a line including the line break.
+     * @throws IllegalArgumentException If name is blank.
+     * @throws IllegalArgumentException If length is not positive.
+     * @throws IllegalArgumentException If offset is negative.
+     * @throws IllegalArgumentException If lineBases is not positive.
+     * @throws IllegalArgumentException If lineWidth is smaller than lineBases.
+     */
+    public FastaIndexEntry(final String name, final long length, final long offset, final int lineBases,
+                           final int lineWidth) {
+        checkNotBlankString("Name", name);
+        checkArgument(length > 0, "Length should be positive");
+        checkArgument(offset >= 0, "Offset should not be negative");
+        checkArgument(lineBases > 0, "Line bases should be positive");
+        checkArgument(lineWidth >= lineBases, "Line width should not be smaller than line bases");
+        this.name = name;
+        this.length = length;
+        this.offset = offset;
+        this.lineBases = lineBases;
+        this.lineWidth = lineWidth;
+    }
+
+    /**
+     * Getter of the name.
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter of the length.
+     *
+     * @return length
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Getter of the offset.
+     *
+     * @return offset
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Getter of the line bases.
+     *
+     * @return lineBases
+     */
+    public int getLineBases() {
+        return lineBases;
+    }
+
+    /**
+     * Getter of the line width.
+     *
+     * @return lineWidth
+     */
+    public int getLineWidth() {
+        return lineWidth;
+    }
+
+    /**
+     * Calculates the byte offset of a base in the file.
+     *
+     * @param position The position of the base inside the record.
+     * @return The byte offset of the base.
+     */
+    long getOffset(final long position) {
+        return offset + position / lineBases * lineWidth + position % lineBases;
+    }
+
+    /**
+     * Compare with an other {@link FastaIndexEntry}.
+     *
+     * @param obj Other {@link FastaIndexEntry}.
+     * @return If all fields are equal.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) return true;
+        if (obj == null || !obj.getClass().equals(getClass())) return false;
+        FastaIndexEntry rightHand = (FastaIndexEntry) obj;
+        return this.name.equals(rightHand.name)
+                && this.length == rightHand.length
+                && this.offset == rightHand.offset
+                && this.lineBases == rightHand.lineBases
+                && this.lineWidth == rightHand.lineWidth;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().append(name).append(length).append(offset).append(lineBases).append(lineWidth)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name + "\t" + length + "\t" + offset + "\t" + lineBases + "\t" + lineWidth;
+    }
+}
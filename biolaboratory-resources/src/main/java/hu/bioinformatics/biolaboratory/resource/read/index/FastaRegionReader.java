@@ -0,0 +1,115 @@
+package hu.bioinformatics.biolaboratory.resource.read.index;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
+
+/**
+ * Reads regions of the records of an indexed FASTA file. The {@link FastaIndex} tells the byte offset of each base, so
+ * only the bytes of the region are read from the file. The channel of the file is kept open until the reader is
+ * closed, so it can serve many regions.
+ * <p>
+ * The regions are read by absolute positions, so a {@link FastaRegionReader} can be used by more threads.
+ *
+ * @author Attila Radi
+ */
+public class FastaRegionReader implements Closeable {
+    private final FileChannel channel;
+    private final FastaIndex index;
+
+    FastaRegionReader(final FileChannel channel, final FastaIndex index) {
+        this.channel = channel;
+        this.index = index;
+    }
+
+    /**
+     * Getter of the index.
+     *
+     * @return index
+     */
+    public FastaIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Reads the ASCII letters of a region of a record without the line breaks. The start position is inclusive, the
+     * end position is exclusive.
+     *
+     * @param name The name of the record.
+     * @param startPosition The beginning base position in the record inclusive.
+     * @param endPosition The end base position in the record exclusive.
+     * @return The letters of the region between the position and the limit of the buffer.
+     * @throws IllegalArgumentException If the index does not contain the record.
+     * @throws IllegalArgumentException If startPosition is negative number.
+     * @throws IllegalArgumentException If endPosition is bigger than the record length.
+     * @throws IllegalArgumentException If startPosition is greater or equal than endPosition.
+     * @throws IllegalArgumentException If the region is longer than the maximum array size.
+     * @throws UncheckedIOException If the file reading has problem or the file is shorter than the index.
+     */
+    public ByteBuffer readRegion(final String name, final long startPosition, final long endPosition) {
+        FastaIndexEntry entry = index.getEntry(name);
+        checkArgument(startPosition >= 0, "Start position should not be negative");
+        checkArgument(endPosition <= entry.getLength(), "End position should not be bigger than record length");
+        checkArgument(startPosition < endPosition, "Start position should be smaller than end position");
+
+        long firstOffset = entry.getOffset(startPosition);
+        long byteLength = entry.getOffset(endPosition - 1) + 1 - firstOffset;
+        checkArgument(byteLength <= Integer.MAX_VALUE, "Region should not be longer than %s bytes", Integer.MAX_VALUE);
+        byte[] bytes = new byte[(int) byteLength];
+        readBytes(bytes, firstOffset);
+
+        int baseNumber = 0;
+        long position = startPosition;
+        while (position < endPosition) {
+            long lineEndPosition = Math.min(endPosition, (position / entry.getLineBases() + 1) * entry.getLineBases());
+            int lineBaseNumber = (int) (lineEndPosition - position);
+            System.arraycopy(bytes, (int) (entry.getOffset(position) - firstOffset), bytes, baseNumber, lineBaseNumber);
+            baseNumber += lineBaseNumber;
+            position = lineEndPosition;
+        }
+        return ByteBuffer.wrap(bytes, 0, baseNumber);
+    }
+
+    private void readBytes(final byte[] bytes, final long offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException("FASTA file is shorter than its index");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Tells whether the channel of the FASTA file is open. The channel is closed by {@link #close()}, or by the
+     * interruption of a thread which is reading a region.
+     *
+     * @return True if regions can be read.
+     */
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    /**
+     * Closes the channel of the FASTA file.
+     *
+     * @throws UncheckedIOException If the closing has problem.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package hu.bioinformatics.biolaboratory.resource.read.index;
+
+import hu.bioinformatics.biolaboratory.guice.GuiceResourceModule;
+import hu.bioinformatics.biolaboratory.resource.extension.ResourceChannelProvider;
+import hu.bioinformatics.biolaboratory.resource.extension.ResourceValidator;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Opens {@link FastaRegionReader}s and builds {@link FastaIndex} files for FASTA resources. The index file of a FASTA
+ * resource is placed beside the resource with {@value FastaIndex#INDEX_EXTENSION} extension.
+ * <p>
+ * An existing index file is used only if it is not older than the FASTA file and its last record ends where the FASTA
+ * file ends, apart from trailing blank bytes. Otherwise the index is stale, and it is built again from the FASTA file.
+ *
+ * @author Attila Radi
+ */
+public class FastaRegionReaderProvider {
+    private static final int TAIL_BUFFER_SIZE = 1 << 12;
+    private static final int LAST_BLANK_BYTE = ' ';
+
+    private final ResourceValidator resourceValidator;
+    private final ResourceChannelProvider resourceChannelProvider;
+
+    /**
+     * Constructor is waiting for a {@link ResourceChannelProvider}.
+     *
+     * @param resourceValidator {@link ResourceValidator}
+     * @param resourceChannelProvider {@link ResourceChannelProvider}
+     */
+    @Inject
+    public FastaRegionReaderProvider(
+            @Named(GuiceResourceModule.FASTA_VALIDATOR_NAME) final ResourceValidator resourceValidator,
+            final ResourceChannelProvider resourceChannelProvider) {
+        this.resourceValidator = notNull(resourceValidator, "Resource validator should not be null");
+        this.resourceChannelProvider = notNull(resourceChannelProvider, "Resource channel provider should not be null");
+    }
+
+    /**
+     * Builds the {@link FastaIndex} of the FASTA resource and writes it into the index file of the resource.
+     *
+     * @param resourcePath The resource path of the FASTA file.
+     * @return The built index.
+     * @throws IllegalArgumentException If resource path is not valid.
+     * @throws IllegalArgumentException If the FASTA file can not be indexed.
+     * @throws UncheckedIOException If resource reading or index writing has problem.
+     */
+    public FastaIndex index(final String resourcePath) {
+        resourceValidator.validate(resourcePath);
+        FastaIndex index;
+        try (FileChannel channel = resourceChannelProvider.provideChannel(resourcePath)) {
+            index = FastaIndex.build(channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        index.write(findIndexPath(resourcePath));
+        return index;
+    }
+
+    /**
+     * Opens a {@link FastaRegionReader} for the FASTA resource. The index file of the resource is read if it exists
+     * and it is not stale, otherwise the index is built from the resource without writing it. The caller should close
+     * the reader.
+     *
+     * @param resourcePath The resource path of the FASTA file.
+     * @return The opened {@link FastaRegionReader}.
+     * @throws IllegalArgumentException If resource path is not valid.
+     * @throws IllegalArgumentException If the index file is malformed or the FASTA file can not be indexed.
+     * @throws UncheckedIOException If resource or index reading has problem.
+     */
+    public FastaRegionReader open(final String resourcePath) {
+        resourceValidator.validate(resourcePath);
+        FileChannel channel;
+        try {
+            channel = resourceChannelProvider.provideChannel(resourcePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            FastaIndex index = readIndex(resourcePath, channel);
+            return new FastaRegionReader(channel, index != null ? index : FastaIndex.build(channel));
+        } catch (RuntimeException | IOException e) {
+            try {
+                channel.close();
+            } catch (IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            if (e instanceof IOException) {
+                throw new UncheckedIOException((IOException) e);
+            }
+            throw (RuntimeException) e;
+        }
+    }
+
+    /**
+     * Reads the index file of the resource if it exists and it matches the FASTA file, otherwise returns null.
+     */
+    private static FastaIndex readIndex(final String resourcePath, final FileChannel channel) throws IOException {
+        Path indexPath = findIndexPath(resourcePath);
+        if (!Files.exists(indexPath) || Files.getLastModifiedTime(Paths.get(resourcePath))
+                .compareTo(Files.getLastModifiedTime(indexPath)) > 0) {
+            return null;
+        }
+        FastaIndex index = FastaIndex.read(indexPath);
+        List<String> names = index.getNames();
+        if (names.isEmpty()) {
+            return null;
+        }
+        FastaIndexEntry lastEntry = index.getEntry(names.get(names.size() - 1));
+        long lastRecordEnd = lastEntry.getOffset(lastEntry.getLength() - 1) + 1;
+        return lastRecordEnd <= channel.size() && isBlank(channel, lastRecordEnd) ? index : null;
+    }
+
+    private static boolean isBlank(final FileChannel channel, final long start) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(TAIL_BUFFER_SIZE);
+        long position = start;
+        int readBytes;
+        while ((readBytes = channel.read(buffer, position)) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                if ((buffer.get() & 0xFF) > LAST_BLANK_BYTE) {
+                    return false;
+                }
+            }
+            buffer.clear();
+            position += readBytes;
+        }
+        return true;
+    }
+
+    private static Path findIndexPath(final String resourcePath) {
+        return Paths.get(resourcePath + FastaIndex.INDEX_EXTENSION);
+    }
+}
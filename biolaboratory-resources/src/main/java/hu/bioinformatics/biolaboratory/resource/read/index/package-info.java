@@ -0,0 +1,6 @@
+/**
+ * Defines the FASTA index classes, which give random access to the regions of the FASTA records.
+ *
+ * @author Attila Radi
+ */
+package hu.bioinformatics.biolaboratory.resource.read.index;
@@ -0,0 +1,64 @@
+package hu.bioinformatics.biolaboratory.resource.read.mapped;
+
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A record of a FASTA resource, which contains the description and the ASCII letters of the sequence without the line
+ * breaks.
+ *
+ * @author Attila Radi
+ */
+public final class FastaRecord {
+    private final String description;
+    private final ByteBuffer sequence;
+
+    FastaRecord(final String description, final ByteBuffer sequence) {
+        this.description = description.trim();
+        this.sequence = sequence.asReadOnlyBuffer();
+    }
+
+    /**
+     * Getter of the description.
+     *
+     * @return description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Getter of the sequence. The returned buffer is read only, and its position does not affect the record.
+     *
+     * @return sequence
+     */
+    public ByteBuffer getSequence() {
+        return sequence.duplicate();
+    }
+
+    /**
+     * Compare with an other {@link FastaRecord}.
+     *
+     * @param obj Other {@link FastaRecord}.
+     * @return If description and sequence are equal.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) return true;
+        if (obj == null || !obj.getClass().equals(getClass())) return false;
+        FastaRecord rightHand = (FastaRecord) obj;
+        return this.description.equals(rightHand.description)
+                && this.sequence.equals(rightHand.sequence);
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().append(description).append(sequence).toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "{ \"" + description + "\", " + sequence.remaining() + " letters }";
+    }
+}
@@ -0,0 +1,286 @@
+package hu.bioinformatics.biolaboratory.resource.read.mapped;
+
+import hu.bioinformatics.biolaboratory.guice.GuiceResourceModule;
+import hu.bioinformatics.biolaboratory.resource.extension.ResourceChannelProvider;
+import hu.bioinformatics.biolaboratory.resource.extension.ResourceValidator;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Reads FASTA format files by mapping them into the memory. The headers and the sequence letters are parsed directly
+ * from the mapped bytes, the lines are not decoded into {@link String}s. Only the descriptions are decoded as UTF-8.
+ * The parsing rules are the same as the rules of {@link hu.bioinformatics.biolaboratory.resource.read.FastaReader}:
+ * <ul>
+ *     <li>the lines are trimmed and the blank lines are skipped,</li>
+ *     <li>a header line begins with the prompt, the rest of the line is the description,</li>
+ *     <li>the sequence lines of a record are joined without the line breaks.</li>
+ * </ul>
+ * The file is mapped in segments of at most 2 GB, so a line should fit in one segment. The records are parsed one by
+ * one, so only the currently parsed record is kept in the heap.
+ * <p>
+ * The sequence of a record with one sequence line is a read only slice of the mapped segment, so its letters are not
+ * copied, and a sequence built from the {@link FastaRecord#getSequence()} buffer is encoded straight from the mapping.
+ * Such a record keeps its segment mapped while it is referenced. The lines of a longer record are separated by line
+ * breaks in the file, so they are joined into a heap array. The array is allocated once from the byte span between
+ * the first sequence line and the next header in the mapped segment, so it is copied again only if the record
+ * continues in the next segment.
+ *
+ * @author Attila Radi
+ */
+public class MappedFastaReader {
+    static final long MAXIMUM_MAPPING_SIZE = Integer.MAX_VALUE;
+
+    private final ResourceValidator resourceValidator;
+    private final ResourceChannelProvider resourceChannelProvider;
+    private final long mappingSize;
+
+    /**
+     * Constructor is waiting for a {@link ResourceChannelProvider}.
+     *
+     * @param resourceValidator {@link ResourceValidator}
+     * @param resourceChannelProvider {@link ResourceChannelProvider}
+     */
+    @Inject
+    public MappedFastaReader(@Named(GuiceResourceModule.FASTA_VALIDATOR_NAME) final ResourceValidator resourceValidator,
+                             final ResourceChannelProvider resourceChannelProvider) {
+        this(resourceValidator, resourceChannelProvider, MAXIMUM_MAPPING_SIZE);
+    }
+
+    MappedFastaReader(final ResourceValidator resourceValidator, final ResourceChannelProvider resourceChannelProvider,
+                      final long mappingSize) {
+        this.resourceValidator = notNull(resourceValidator, "Resource validator should not be null");
+        this.resourceChannelProvider = notNull(resourceChannelProvider, "Resource channel provider should not be null");
+        this.mappingSize = mappingSize;
+    }
+
+    /**
+     * Reads the FASTA records of the resource lazily. The resource is closed when the stream is closed, so the caller
+     * should close the stream.
+     *
+     * @param resourcePath The resource path of the target resource.
+     * @return The stream of the read records.
+     * @throws IllegalArgumentException If resource path is not valid.
+     * @throws UncheckedIOException If resource reading has problem.
+     */
+    public final Stream<FastaRecord> stream(final String resourcePath) {
+        resourceValidator.validate(resourcePath);
+
+        FileChannel channel;
+        try {
+            channel = resourceChannelProvider.provideChannel(resourcePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Iterator<FastaRecord> records = new FastaRecordIterator(channel, mappingSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> close(channel));
+    }
+
+    private static void close(final FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class FastaRecordIterator implements Iterator<FastaRecord> {
+        private static final byte PROMPT = '>';
+        private static final byte LINE_FEED = '\n';
+        private static final int LAST_BLANK_BYTE = ' ';
+        private static final byte[] EMPTY_SEQUENCE = new byte[0];
+        private static final long MAXIMUM_SEQUENCE_LENGTH = Integer.MAX_VALUE - 8;
+
+        private final FileChannel channel;
+        private final long mappingSize;
+        private long channelSize;
+        private MappedByteBuffer segment = null;
+        private ByteBuffer segmentReader;
+        private long segmentStart;
+        private int position;
+        private int lineStart;
+        private int lineEnd;
+
+        private ByteBuffer firstLine = null;
+        private byte[] sequence = EMPTY_SEQUENCE;
+        private int sequenceLength = 0;
+        private String description = null;
+        private boolean isEmpty = true;
+        private FastaRecord nextRecord = null;
+
+        private FastaRecordIterator(final FileChannel channel, final long mappingSize) {
+            this.channel = channel;
+            this.mappingSize = mappingSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextRecord == null) {
+                try {
+                    nextRecord = readRecord();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return nextRecord != null;
+        }
+
+        @Override
+        public FastaRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            FastaRecord record = nextRecord;
+            nextRecord = null;
+            return record;
+        }
+
+        private FastaRecord readRecord() throws IOException {
+            while (readLine()) {
+                trimLine();
+                if (lineStart == lineEnd) {
+                    continue;
+                }
+                if (segment.get(lineStart) == PROMPT) {
+                    String nextDescription = decodeLine(lineStart + 1);
+                    FastaRecord record = description != null ? createRecord() : null;
+                    description = nextDescription;
+                    if (record != null) {
+                        return record;
+                    }
+                } else {
+                    appendLine();
+                }
+            }
+            if (description != null) {
+                FastaRecord record = createRecord();
+                description = null;
+                return record;
+            }
+            checkArgument(!isEmpty, "Multiple header is detected");
+            return null;
+        }
+
+        private boolean readLine() throws IOException {
+            if (segment == null) {
+                channelSize = channel.size();
+                map(0);
+            }
+            while (true) {
+                int limit = segment.limit();
+                for (int index = position; index < limit; index++) {
+                    if (segment.get(index) == LINE_FEED) {
+                        return setLine(index, index + 1);
+                    }
+                }
+                if (segmentStart + limit == channelSize) {
+                    return position < limit && setLine(limit, limit);
+                }
+                checkArgument(position > 0, "FASTA line should not be longer than %s bytes", mappingSize);
+                map(segmentStart + position);
+            }
+        }
+
+        private boolean setLine(final int end, final int nextPosition) {
+            lineStart = position;
+            lineEnd = end;
+            position = nextPosition;
+            return true;
+        }
+
+        private void map(final long start) throws IOException {
+            segmentStart = start;
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(mappingSize, channelSize - start));
+            segmentReader = segment.duplicate();
+            position = 0;
+        }
+
+        private void trimLine() {
+            while (lineStart < lineEnd && (segment.get(lineStart) & 0xFF) <= LAST_BLANK_BYTE) {
+                lineStart++;
+            }
+            while (lineEnd > lineStart && (segment.get(lineEnd - 1) & 0xFF) <= LAST_BLANK_BYTE) {
+                lineEnd--;
+            }
+        }
+
+        private String decodeLine(final int start) {
+            segmentReader.limit(lineEnd).position(start);
+            String line = StandardCharsets.UTF_8.decode(segmentReader).toString();
+            segmentReader.limit(segmentReader.capacity());
+            return line;
+        }
+
+        /**
+         * Keeps the first sequence line of the record as a slice of the segment, and joins the lines into the
+         * sequence array from the second line.
+         */
+        private void appendLine() {
+            if (firstLine == null && sequenceLength == 0) {
+                segmentReader.limit(lineEnd).position(lineStart);
+                firstLine = segmentReader.slice();
+                segmentReader.limit(segmentReader.capacity());
+                return;
+            }
+            int firstLength = firstLine != null ? firstLine.remaining() : 0;
+            int length = lineEnd - lineStart;
+            if (sequenceLength + firstLength + length > sequence.length) {
+                long capacity = (long) sequenceLength + firstLength + findRecordSpan(lineStart);
+                checkArgument(capacity <= MAXIMUM_SEQUENCE_LENGTH,
+                        "FASTA record should not be longer than %s letters", MAXIMUM_SEQUENCE_LENGTH);
+                sequence = Arrays.copyOf(sequence, (int) capacity);
+            }
+            if (firstLine != null) {
+                firstLine.get(sequence, 0, firstLength);
+                sequenceLength = firstLength;
+                firstLine = null;
+            }
+            segmentReader.position(lineStart);
+            segmentReader.get(sequence, sequenceLength, length);
+            sequenceLength += length;
+        }
+
+        /**
+         * Finds the number of bytes from the start until the next header line or the end of the segment, which is not
+         * less than the number of the sequence letters of the record in the segment.
+         */
+        private int findRecordSpan(final int start) {
+            int limit = segment.limit();
+            for (int index = start + 1; index < limit; index++) {
+                if (segment.get(index) == PROMPT && segment.get(index - 1) == LINE_FEED) {
+                    return index - start;
+                }
+            }
+            return limit - start;
+        }
+
+        private FastaRecord createRecord() {
+            checkArgument(firstLine != null || sequenceLength > 0, "Multiple header is detected");
+            FastaRecord record = new FastaRecord(description,
+                    firstLine != null ? firstLine : ByteBuffer.wrap(sequence, 0, sequenceLength));
+            firstLine = null;
+            sequence = EMPTY_SEQUENCE;
+            sequenceLength = 0;
+            isEmpty = false;
+            return record;
+        }
+    }
+}
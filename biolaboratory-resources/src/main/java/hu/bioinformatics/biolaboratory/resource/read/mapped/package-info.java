@@ -0,0 +1,6 @@
+/**
+ * Defines resource reader classes which read memory mapped files byte by byte.
+ *
+ * @author Attila Radi
+ */
+package hu.bioinformatics.biolaboratory.resource.read.mapped;
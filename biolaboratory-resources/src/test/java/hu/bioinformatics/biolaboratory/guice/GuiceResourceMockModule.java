@@ -2,8 +2,10 @@ package hu.bioinformatics.biolaboratory.guice;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
+import hu.bioinformatics.biolaboratory.resource.extension.ResourceChannelProvider;
 import hu.bioinformatics.biolaboratory.resource.extension.ResourceLocalizer;
 import hu.bioinformatics.biolaboratory.resource.extension.ResourceReaderProvider;
+import hu.bioinformatics.biolaboratory.resource.extension.impl.FileResourceChannelProvider;
 import hu.bioinformatics.biolaboratory.resource.read.MockReaderWrapperFactory;
 import hu.bioinformatics.biolaboratory.resource.read.wrapper.ReaderWrapperFactory;
 import org.mockito.Mock;
@@ -38,6 +40,7 @@ public class GuiceResourceMockModule extends AbstractModule {
         bind(ReaderWrapperFactory.class).to(MockReaderWrapperFactory.class).in(Scopes.SINGLETON);
         bind(ResourceReaderProvider.class).toInstance(resourceReaderProvider);
         bind(ResourceLocalizer.class).toInstance(resourceLocalizer);
+        bind(ResourceChannelProvider.class).to(FileResourceChannelProvider.class).in(Scopes.SINGLETON);
     }
 
     private void initializeMocks() {
@@ -15,6 +15,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import java.io.IOException;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -91,4 +92,21 @@ public class FastaReaderTest {
         List<CommentedString> commentedStrings = fastaReader.read(PATH);
         assertThat(commentedStrings, is(equalTo(controlLineList)));
     }
-}
\ No newline at end of file
+
+    @Test(dataProvider = INVALID_PROCESS_RESOURCE_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldStreamThrowException(Stream<String> content) {
+        ((MockReaderWrapperFactory) readerWrapperFactory).setLines(content);
+        try (Stream<CommentedString> commentedStrings = fastaReader.stream(PATH)) {
+            commentedStrings.count();
+        }
+    }
+
+    @Test(dataProvider = VALID_PROCESS_RESOURCE_DATA_PROVIDER_NAME)
+    public void shouldStreamReturn(Stream<String> content, List<CommentedString> controlLineList) {
+        ((MockReaderWrapperFactory) readerWrapperFactory).setLines(content);
+        try (Stream<CommentedString> commentedStrings = fastaReader.stream(PATH)) {
+            assertThat(commentedStrings.collect(Collectors.toList()), is(equalTo(controlLineList)));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package hu.bioinformatics.biolaboratory.resource.read.index;
+
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests for {@link FastaIndex}.
+ *
+ * @author Attila Radi
+ */
+public class FastaIndexTest {
+
+    private static Path createFile(final String extension, final String content) throws IOException {
+        File file = File.createTempFile("index", extension);
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.toPath();
+    }
+
+    private static FastaIndex buildIndex(final String content) throws IOException {
+        try (FileChannel channel = FileChannel.open(createFile(".fas", content), StandardOpenOption.READ)) {
+            return FastaIndex.build(channel);
+        }
+    }
+
+    private static final String INVALID_BUILD_DATA_PROVIDER_NAME = "invalidBuildDataProvider";
+
+    @DataProvider(name = INVALID_BUILD_DATA_PROVIDER_NAME)
+    private Object[][] invalidBuildDataProvider() {
+        return new Object[][] {
+                { "ACGT\n>chr1\nACGT\n" },
+                { ">chr1\n" },
+                { ">chr1\n>chr2\nACGT\n" },
+                { ">\nACGT\n" },
+                { ">chr1\nACGT\n>chr1\nACGT\n" },
+                { ">chr1\nACG\nACGT\n" },
+                { ">chr1\nACGT\nACGTA\n" },
+                { ">chr1\nACGT\n\nACGT\n" },
+                { ">chr1\nACGT\r\nACGT\nAC\n" },
+                { ">chr1\nAC GT\n" },
+                { ">chr1\nACGT\t\nACGT\n" }
+        };
+    }
+
+    private static final String VALID_BUILD_DATA_PROVIDER_NAME = "validBuildDataProvider";
+
+    @DataProvider(name = VALID_BUILD_DATA_PROVIDER_NAME)
+    private Object[][] validBuildDataProvider() {
+        return new Object[][] {
+                { ">chr1\nACGT", ImmutableList.of(new FastaIndexEntry("chr1", 4, 6, 4, 4)) },
+                { ">chr1\nACGT\n", ImmutableList.of(new FastaIndexEntry("chr1", 4, 6, 4, 5)) },
+                { ">chr1 description\nACGT\nAC\n", ImmutableList.of(new FastaIndexEntry("chr1", 6, 18, 4, 5)) },
+                { ">chr1\r\nACGT\r\nACGT\r\nA\r\n", ImmutableList.of(new FastaIndexEntry("chr1", 9, 7, 4, 6)) },
+                { ">chr1\nACGT\nAC\n\n>chr2\nAC\nGT", ImmutableList.of(new FastaIndexEntry("chr1", 6, 6, 4, 5),
+                        new FastaIndexEntry("chr2", 4, 21, 2, 3)) },
+                { "\n>chr1\nACGT\n", ImmutableList.of(new FastaIndexEntry("chr1", 4, 7, 4, 5)) },
+                { "> chr1\nACGT\n", ImmutableList.of(new FastaIndexEntry("chr1", 4, 7, 4, 5)) },
+                { ">a\n\nACGT\n", ImmutableList.of(new FastaIndexEntry("a", 4, 4, 4, 5)) },
+                { ">a\r\n \r\n\r\nACGT\r\nAC\r\n", ImmutableList.of(new FastaIndexEntry("a", 6, 9, 4, 6)) }
+        };
+    }
+
+    private static final String INVALID_READ_DATA_PROVIDER_NAME = "invalidReadDataProvider";
+
+    @DataProvider(name = INVALID_READ_DATA_PROVIDER_NAME)
+    private Object[][] invalidReadDataProvider() {
+        return new Object[][] {
+                { "chr1\t4\t6\t4\n" },
+                { "chr1\t4\t6\t4\t5\t1\n" },
+                { "chr1\tfour\t6\t4\t5\n" },
+                { "chr1\t4\t6\t0\t5\n" },
+                { "chr1\t4\t6\t4\t5\nchr1\t4\t16\t4\t5\n" }
+        };
+    }
+
+    @Test(dataProvider = INVALID_BUILD_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuildThrowException(String content) throws IOException {
+        buildIndex(content);
+    }
+
+    @Test(dataProvider = VALID_BUILD_DATA_PROVIDER_NAME)
+    public void shouldBuildReturn(String content, List<FastaIndexEntry> controlEntryList) throws IOException {
+        assertThat(buildIndex(content), is(equalTo(FastaIndex.build(controlEntryList))));
+    }
+
+    @Test(dataProvider = INVALID_READ_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldReadThrowException(String content) throws IOException {
+        FastaIndex.read(createFile(FastaIndex.INDEX_EXTENSION, content));
+    }
+
+    @Test(dataProvider = VALID_BUILD_DATA_PROVIDER_NAME)
+    public void shouldReadReturnTheWrittenIndex(String content, List<FastaIndexEntry> controlEntryList)
+            throws IOException {
+        FastaIndex index = FastaIndex.build(controlEntryList);
+        Path indexPath = createFile(FastaIndex.INDEX_EXTENSION, "");
+        index.write(indexPath);
+        assertThat(FastaIndex.read(indexPath), is(equalTo(index)));
+        assertThat(FastaIndex.read(indexPath).getNames().size(), is(equalTo(controlEntryList.size())));
+    }
+}
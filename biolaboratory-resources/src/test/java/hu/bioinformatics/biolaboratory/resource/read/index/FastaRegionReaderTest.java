@@ -0,0 +1,140 @@
+package hu.bioinformatics.biolaboratory.resource.read.index;
+
+import hu.bioinformatics.biolaboratory.resource.extension.impl.FastaResourceValidator;
+import hu.bioinformatics.biolaboratory.resource.extension.impl.FileResourceChannelProvider;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests for {@link FastaRegionReader} and {@link FastaRegionReaderProvider}.
+ *
+ * @author Attila Radi
+ */
+public class FastaRegionReaderTest {
+
+    private static final String FASTA_CONTENT = ">chr1 first\nACGTA\nCGTAC\nGT\n>chr2\r\nTTGG\r\nCCAA\r\n";
+    private static final String APPENDED_CONTENT = ">chr3\nGGGCC\n";
+
+    private FastaRegionReaderProvider fastaRegionReaderProvider;
+
+    @BeforeMethod
+    public void setUp() {
+        fastaRegionReaderProvider = new FastaRegionReaderProvider(new FastaResourceValidator(),
+                new FileResourceChannelProvider());
+    }
+
+    private static String createResource(final String extension) throws IOException {
+        File resource = File.createTempFile("region", extension);
+        resource.deleteOnExit();
+        new File(resource.getAbsolutePath() + FastaIndex.INDEX_EXTENSION).deleteOnExit();
+        Files.write(resource.toPath(), FASTA_CONTENT.getBytes(StandardCharsets.US_ASCII));
+        return resource.getAbsolutePath();
+    }
+
+    private static String decode(final ByteBuffer region) {
+        return StandardCharsets.US_ASCII.decode(region).toString();
+    }
+
+    private static final String INVALID_READ_REGION_DATA_PROVIDER_NAME = "invalidReadRegionDataProvider";
+
+    @DataProvider(name = INVALID_READ_REGION_DATA_PROVIDER_NAME)
+    private Object[][] invalidReadRegionDataProvider() {
+        return new Object[][] {
+                { "chr3", 0, 1 },
+                { "chr1 first", 0, 1 },
+                { "chr1", -1, 1 },
+                { "chr1", 0, 13 },
+                { "chr1", 2, 2 },
+                { "chr2", 3, 1 }
+        };
+    }
+
+    private static final String VALID_READ_REGION_DATA_PROVIDER_NAME = "validReadRegionDataProvider";
+
+    @DataProvider(name = VALID_READ_REGION_DATA_PROVIDER_NAME)
+    private Object[][] validReadRegionDataProvider() {
+        return new Object[][] {
+                { "chr1", 0, 12, "ACGTACGTACGT" },
+                { "chr1", 0, 1, "A" },
+                { "chr1", 4, 6, "AC" },
+                { "chr1", 5, 10, "CGTAC" },
+                { "chr1", 3, 11, "TACGTACG" },
+                { "chr1", 11, 12, "T" },
+                { "chr2", 0, 8, "TTGGCCAA" },
+                { "chr2", 2, 6, "GGCC" }
+        };
+    }
+
+    @Test(dataProvider = INVALID_READ_REGION_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldReadRegionThrowException(String name, long startPosition, long endPosition) throws IOException {
+        try (FastaRegionReader regionReader = fastaRegionReaderProvider.open(createResource(".fas"))) {
+            regionReader.readRegion(name, startPosition, endPosition);
+        }
+    }
+
+    @Test(dataProvider = VALID_READ_REGION_DATA_PROVIDER_NAME)
+    public void shouldReadRegionReturn(String name, long startPosition, long endPosition, String controlRegion)
+            throws IOException {
+        try (FastaRegionReader regionReader = fastaRegionReaderProvider.open(createResource(".fas"))) {
+            assertThat(decode(regionReader.readRegion(name, startPosition, endPosition)), is(equalTo(controlRegion)));
+        }
+    }
+
+    @Test(dataProvider = VALID_READ_REGION_DATA_PROVIDER_NAME)
+    public void shouldReadRegionReturnByWrittenIndex(String name, long startPosition, long endPosition,
+                                                      String controlRegion) throws IOException {
+        String resourcePath = createResource(".fas");
+        FastaIndex index = fastaRegionReaderProvider.index(resourcePath);
+        assertThat(FastaIndex.read(Paths.get(resourcePath + FastaIndex.INDEX_EXTENSION)), is(equalTo(index)));
+        try (FastaRegionReader regionReader = fastaRegionReaderProvider.open(resourcePath)) {
+            assertThat(decode(regionReader.readRegion(name, startPosition, endPosition)), is(equalTo(controlRegion)));
+        }
+    }
+
+    @Test
+    public void shouldOpenIgnoreIndexOlderThanResource() throws IOException {
+        String resourcePath = createResource(".fas");
+        fastaRegionReaderProvider.index(resourcePath);
+        Path indexPath = Paths.get(resourcePath + FastaIndex.INDEX_EXTENSION);
+        Files.setLastModifiedTime(indexPath, FileTime.fromMillis(0));
+        Files.write(Paths.get(resourcePath), FASTA_CONTENT.replace("chr2", "chr4").getBytes(StandardCharsets.US_ASCII));
+        try (FastaRegionReader regionReader = fastaRegionReaderProvider.open(resourcePath)) {
+            assertThat(decode(regionReader.readRegion("chr4", 0, 8)), is(equalTo("TTGGCCAA")));
+        }
+    }
+
+    @Test
+    public void shouldOpenIgnoreIndexNotEndingWithResource() throws IOException {
+        String resourcePath = createResource(".fas");
+        fastaRegionReaderProvider.index(resourcePath);
+        Path indexPath = Paths.get(resourcePath + FastaIndex.INDEX_EXTENSION);
+        FileTime indexTime = Files.getLastModifiedTime(indexPath);
+        Files.write(Paths.get(resourcePath), APPENDED_CONTENT.getBytes(StandardCharsets.US_ASCII),
+                StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(Paths.get(resourcePath), indexTime);
+        try (FastaRegionReader regionReader = fastaRegionReaderProvider.open(resourcePath)) {
+            assertThat(decode(regionReader.readRegion("chr3", 0, 5)), is(equalTo("GGGCC")));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldOpenThrowExceptionIfExtensionIsInvalid() throws IOException {
+        fastaRegionReaderProvider.open(createResource(".dna"));
+    }
+}
@@ -0,0 +1,121 @@
+package hu.bioinformatics.biolaboratory.resource.read.mapped;
+
+import com.google.common.collect.ImmutableList;
+import hu.bioinformatics.biolaboratory.resource.extension.impl.FastaResourceValidator;
+import hu.bioinformatics.biolaboratory.resource.extension.impl.FileResourceChannelProvider;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests for {@link MappedFastaReader}.
+ *
+ * @author Attila Radi
+ */
+public class MappedFastaReaderTest {
+
+    private static final long SMALL_MAPPING_SIZE = 12;
+
+    private static FastaRecord createRecord(final String description, final String sequence) {
+        return new FastaRecord(description, ByteBuffer.wrap(sequence.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static String createResource(final String extension, final String content) throws IOException {
+        File resource = File.createTempFile("mapped", extension);
+        resource.deleteOnExit();
+        Files.write(resource.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return resource.getAbsolutePath();
+    }
+
+    private static List<FastaRecord> readRecords(final MappedFastaReader reader, final String resourcePath) {
+        try (Stream<FastaRecord> records = reader.stream(resourcePath)) {
+            return records.collect(Collectors.toList());
+        }
+    }
+
+    private static final String INVALID_STREAM_DATA_PROVIDER_NAME = "invalidStreamDataProvider";
+
+    @DataProvider(name = INVALID_STREAM_DATA_PROVIDER_NAME)
+    private Object[][] invalidStreamDataProvider() {
+        return new Object[][] {
+                { ".fas", "" },
+                { ".fas", "> comment" },
+                { ".fas", "< comment" },
+                { ".fas", "> comment\n" },
+                { ".fas", "> comment\n \n" },
+                { ".fas", "> comment1\n> comment2\nline" },
+                { ".dna", ">comment\nline" }
+        };
+    }
+
+    private static final String VALID_STREAM_DATA_PROVIDER_NAME = "validStreamDataProvider";
+
+    @DataProvider(name = VALID_STREAM_DATA_PROVIDER_NAME)
+    private Object[][] validStreamDataProvider() {
+        return new Object[][] {
+                { ">comment\nline", ImmutableList.of(createRecord("comment", "line")) },
+                { "> comment \nline\n", ImmutableList.of(createRecord("comment", "line")) },
+                { " >comment\r\nline\r\n", ImmutableList.of(createRecord("comment", "line")) },
+                { ">\nline", ImmutableList.of(createRecord("", "line")) },
+                { ">comment\n\nline", ImmutableList.of(createRecord("comment", "line")) },
+                { ">comment\n line \n", ImmutableList.of(createRecord("comment", "line")) },
+                { ">comment\nline1\nline2", ImmutableList.of(createRecord("comment", "line1line2")) },
+                { "\n>comment\n\nline1\n\nline2\n", ImmutableList.of(createRecord("comment", "line1line2")) },
+                { ">comment1\nline1\n>comment2\nline2", ImmutableList.of(createRecord("comment1", "line1"), createRecord("comment2", "line2")) },
+                { ">\u00e9\nline", ImmutableList.of(createRecord("\u00e9", "line")) },
+                { ">comment1\nACGT\nACGT\nACGT\nACGT\n>comment2\nTT",
+                        ImmutableList.of(createRecord("comment1", "ACGTACGTACGTACGT"), createRecord("comment2", "TT")) }
+        };
+    }
+
+    @Test(dataProvider = INVALID_STREAM_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldStreamThrowException(String extension, String content) throws IOException {
+        MappedFastaReader reader = new MappedFastaReader(new FastaResourceValidator(),
+                new FileResourceChannelProvider());
+        readRecords(reader, createResource(extension, content));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldStreamThrowExceptionIfLineIsLongerThanMapping() throws IOException {
+        MappedFastaReader reader = new MappedFastaReader(new FastaResourceValidator(),
+                new FileResourceChannelProvider(), SMALL_MAPPING_SIZE);
+        readRecords(reader, createResource(".fas", ">comment\nACGTACGTACGTACGT"));
+    }
+
+    @Test(dataProvider = VALID_STREAM_DATA_PROVIDER_NAME)
+    public void shouldStreamReturn(String content, List<FastaRecord> controlRecordList) throws IOException {
+        MappedFastaReader reader = new MappedFastaReader(new FastaResourceValidator(),
+                new FileResourceChannelProvider());
+        assertThat(readRecords(reader, createResource(".fas", content)), is(equalTo(controlRecordList)));
+    }
+
+    @Test
+    public void shouldStreamNotCopySingleLineRecords() throws IOException {
+        MappedFastaReader reader = new MappedFastaReader(new FastaResourceValidator(),
+                new FileResourceChannelProvider());
+        List<FastaRecord> records = readRecords(reader, createResource(".fas", ">single\nACGT\n>multi\nAC\nGT\n"));
+        assertThat(records.get(0).getSequence().isDirect(), is(true));
+        assertThat(records.get(1).getSequence().isDirect(), is(false));
+    }
+
+    @Test(dataProvider = VALID_STREAM_DATA_PROVIDER_NAME)
+    public void shouldStreamReturnAcrossMappedSegments(String content, List<FastaRecord> controlRecordList)
+            throws IOException {
+        MappedFastaReader reader = new MappedFastaReader(new FastaResourceValidator(),
+                new FileResourceChannelProvider(), SMALL_MAPPING_SIZE);
+        assertThat(readRecords(reader, createResource(".fas", content)), is(equalTo(controlRecordList)));
+    }
+}
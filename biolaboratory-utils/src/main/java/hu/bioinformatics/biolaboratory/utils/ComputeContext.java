@@ -0,0 +1,417 @@
+package hu.bioinformatics.biolaboratory.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkPositiveNumber;
+
+/**
+ * Decides where and whether the internal computations of the library run in parallel. A context is one of:
+ * <ul>
+ *     <li>sequential: every computation runs on the calling thread.</li>
+ *     <li>fork-join: the computations are split in the common pool, in a dedicated pool with bounded parallelism, or
+ *     in a caller-supplied {@link ForkJoinPool}.</li>
+ *     <li>executor: the computations are split into chunks which are submitted to a caller-supplied
+ *     {@link Executor}.</li>
+ * </ul>
+ * A computation is given with its size, which is the number of its independent items, and with its estimated work,
+ * which is roughly the number of its elementary steps. A computation forks only if its work reaches the parallel
+ * threshold of the context, so small inputs always run on the calling thread. The items are reduced in index order.
+ * <p>
+ * The library looks up {@link #current()} when an operation starts: it is the context set by {@link #call(Supplier)}
+ * on the calling thread, otherwise the default context. The items of a parallel computation run with the same current
+ * context on the worker threads, so the nested computations stay in the context. The default context uses the common
+ * pool and can be replaced only explicitly by {@link #setDefault(ComputeContext)}; the Guice modules do not bind or
+ * install a context. A {@link ComputeContext} is immutable and thread-safe.
+ *
+ * @author Attila Radi
+ */
+public final class ComputeContext implements AutoCloseable {
+    public static final long DEFAULT_PARALLEL_THRESHOLD = 1L << 16;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final ThreadLocal<ComputeContext> CURRENT_CONTEXT = new ThreadLocal<>();
+    private static final ThreadLocal<Executor> WORKER_EXECUTOR = new ThreadLocal<>();
+    private static volatile ComputeContext defaultContext = commonPool();
+
+    private final ForkJoinPool pool;
+    private final Executor executor;
+    private final int parallelism;
+    private final long parallelThreshold;
+    private final boolean poolOwner;
+
+    /**
+     * Creates a context which runs every computation on the calling thread.
+     *
+     * @return A new sequential {@link ComputeContext}.
+     */
+    public static ComputeContext sequential() {
+        return new ComputeContext(null, null, 1, DEFAULT_PARALLEL_THRESHOLD, false);
+    }
+
+    /**
+     * Creates a context which splits the computations in the common {@link ForkJoinPool}.
+     *
+     * @return A new {@link ComputeContext} of the common pool.
+     */
+    public static ComputeContext commonPool() {
+        return new ComputeContext(ForkJoinPool.commonPool(), null, ForkJoinPool.getCommonPoolParallelism(),
+                DEFAULT_PARALLEL_THRESHOLD, false);
+    }
+
+    /**
+     * Creates a context with its own {@link ForkJoinPool}, so the computations do not compete with the other users of
+     * the common pool. The pool is shut down by {@link #close()}.
+     *
+     * @param parallelism The maximum number of the threads of the pool.
+     * @return A new {@link ComputeContext} with a dedicated pool.
+     * @throws IllegalArgumentException If the parallelism is smaller than 1.
+     */
+    public static ComputeContext dedicatedPool(final int parallelism) {
+        checkPositiveNumber("Parallelism", parallelism);
+        return new ComputeContext(new ForkJoinPool(parallelism), null, parallelism, DEFAULT_PARALLEL_THRESHOLD, true);
+    }
+
+    /**
+     * Creates a context which runs the computations in the caller's executor. A {@link ForkJoinPool} is used as a
+     * fork-join pool, any other executor gets at most parallelism * 4 chunks per computation, and the calling thread
+     * waits for them. A computation started inside a chunk of the same executor runs on its worker thread instead of
+     * waiting for the executor. The executor should not run its tasks on an other bounded pool of the calling
+     * thread, otherwise the waiting may exhaust it. The executor is not shut down by {@link #close()}.
+     *
+     * @param executor The executor of the computations.
+     * @param parallelism The number of the threads which the executor can use for one computation.
+     * @return A new {@link ComputeContext} of the executor.
+     * @throws IllegalArgumentException If the executor is null.
+     * @throws IllegalArgumentException If the parallelism is smaller than 1.
+     */
+    public static ComputeContext executor(final Executor executor, final int parallelism) {
+        checkNotNullArgument("Executor", executor);
+        checkPositiveNumber("Parallelism", parallelism);
+        return executor instanceof ForkJoinPool
+                ? new ComputeContext((ForkJoinPool) executor, null, parallelism, DEFAULT_PARALLEL_THRESHOLD, false)
+                : new ComputeContext(null, executor, parallelism, DEFAULT_PARALLEL_THRESHOLD, false);
+    }
+
+    /**
+     * Getter of the default context.
+     *
+     * @return The context of the threads which are not inside {@link #call(Supplier)}.
+     */
+    public static ComputeContext getDefault() {
+        return defaultContext;
+    }
+
+    /**
+     * Replaces the default context of the process. The previous default context is closed unless the new context
+     * shares its pool, so a replaced dedicated pool is shut down. The library never calls it implicitly.
+     *
+     * @param computeContext The new default context.
+     * @throws IllegalArgumentException If the compute context is null.
+     */
+    public static void setDefault(final ComputeContext computeContext) {
+        checkNotNullArgument("Compute context", computeContext);
+        ComputeContext previousContext;
+        synchronized (ComputeContext.class) {
+            previousContext = defaultContext;
+            defaultContext = computeContext;
+        }
+        if (previousContext.pool != computeContext.pool) {
+            previousContext.close();
+        }
+    }
+
+    /**
+     * Returns the context of the calling thread.
+     *
+     * @return The context set by {@link #call(Supplier)}, or the default context.
+     */
+    public static ComputeContext current() {
+        ComputeContext computeContext = CURRENT_CONTEXT.get();
+        return computeContext == null ? defaultContext : computeContext;
+    }
+
+    /**
+     * Calculates the saturated product of the factors, so the work of nested loops can be estimated without overflow.
+     *
+     * @param factors The not negative factors.
+     * @return The product of the factors, or {@link Long#MAX_VALUE} if it is greater.
+     */
+    public static long estimateWork(final long... factors) {
+        long work = 1;
+        for (long factor : factors) {
+            if (factor == 0) return 0;
+            work = work > Long.MAX_VALUE / factor ? Long.MAX_VALUE : work * factor;
+        }
+        return work;
+    }
+
+    private ComputeContext(final ForkJoinPool pool, final Executor executor, final int parallelism,
+                           final long parallelThreshold, final boolean poolOwner) {
+        this.pool = pool;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.parallelThreshold = parallelThreshold;
+        this.poolOwner = poolOwner;
+    }
+
+    /**
+     * Creates a context with the same threads and another parallel threshold. A dedicated pool is shared, and it is
+     * shut down by closing any of the contexts.
+     *
+     * @param parallelThreshold The smallest work which is computed in parallel.
+     * @return A new {@link ComputeContext}.
+     * @throws IllegalArgumentException If the parallel threshold is negative.
+     */
+    public ComputeContext withParallelThreshold(final long parallelThreshold) {
+        checkArgument(parallelThreshold >= 0, "Parallel threshold should not be negative: %s", parallelThreshold);
+        return new ComputeContext(pool, executor, parallelism, parallelThreshold, poolOwner);
+    }
+
+    /**
+     * Getter of the parallelism.
+     *
+     * @return parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Getter of the parallel threshold.
+     *
+     * @return parallelThreshold
+     */
+    public long getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Decides whether a computation with the given work forks.
+     *
+     * @param work The estimated work of the computation.
+     * @return True if there is more than one thread and the work reaches the parallel threshold.
+     */
+    public boolean isParallel(final long work) {
+        return parallelism > 1 && work >= parallelThreshold;
+    }
+
+    /**
+     * Runs a computation with this context as the context of the calling thread. The previous context of the thread
+     * is restored afterwards.
+     *
+     * @param computation The computation which calls the library.
+     * @param <T> The type of the result.
+     * @return The result of the computation.
+     * @throws IllegalArgumentException If the computation is null.
+     */
+    public <T> T call(final Supplier<T> computation) {
+        checkNotNullArgument("Computation", computation);
+        ComputeContext previousContext = CURRENT_CONTEXT.get();
+        CURRENT_CONTEXT.set(this);
+        try {
+            return computation.get();
+        } finally {
+            restore(CURRENT_CONTEXT, previousContext);
+        }
+    }
+
+    /**
+     * Maps every index from 0 (inclusive) to size (exclusive), and reduces the results in index order.
+     *
+     * @param size The number of the items, which should be positive.
+     * @param work The estimated work of all items.
+     * @param mapper The function of an item.
+     * @param reducer The associative function which combines two results.
+     * @param <R> The type of the result.
+     * @return The reduced result.
+     * @throws IllegalArgumentException If the size is smaller than 1.
+     */
+    public <R> R mapReduce(final int size, final long work, final IntFunction<R> mapper,
+                           final BinaryOperator<R> reducer) {
+        checkPositiveNumber("Size", size);
+        return reduceRanges(size, work, (from, to) -> {
+            R result = mapper.apply(from);
+            for (int index = from + 1; index < to; index++) {
+                result = reducer.apply(result, mapper.apply(index));
+            }
+            return result;
+        }, reducer);
+    }
+
+    /**
+     * Maps every index from 0 (inclusive) to size (exclusive).
+     *
+     * @param size The number of the items, which should not be negative.
+     * @param work The estimated work of all items.
+     * @param mapper The function of an item.
+     * @param <R> The type of the results.
+     * @return The results in index order.
+     */
+    public <R> List<R> map(final int size, final long work, final IntFunction<R> mapper) {
+        Object[] results = new Object[size];
+        forEach(size, work, index -> results[index] = mapper.apply(index));
+        @SuppressWarnings("unchecked")
+        List<R> resultList = (List<R>) new ArrayList<>(Arrays.asList(results));
+        return resultList;
+    }
+
+    /**
+     * Runs the action for every index from 0 (inclusive) to size (exclusive). The actions of different indices may
+     * run on different threads at the same time.
+     *
+     * @param size The number of the items, which should not be negative.
+     * @param work The estimated work of all items.
+     * @param action The action of an item.
+     */
+    public void forEach(final int size, final long work, final IntConsumer action) {
+        if (size == 0) return;
+        reduceRanges(size, work, (from, to) -> {
+            for (int index = from; index < to; index++) {
+                action.accept(index);
+            }
+            return null;
+        }, (result, otherResult) -> null);
+    }
+
+    /**
+     * Sorts the range of the array in ascending order, in parallel inside a fork-join pool if the range is large
+     * enough.
+     *
+     * @param values The array to sort.
+     * @param fromIndex The first index (inclusive).
+     * @param toIndex The last index (exclusive).
+     */
+    public void sort(final long[] values, final int fromIndex, final int toIndex) {
+        if (pool == null || !isParallel(toIndex - fromIndex)) {
+            Arrays.sort(values, fromIndex, toIndex);
+        } else {
+            invoke(ForkJoinTask.adapt(() -> Arrays.parallelSort(values, fromIndex, toIndex)));
+        }
+    }
+
+    private <R> R reduceRanges(final int size, final long work, final RangeMapper<R> rangeMapper,
+                               final BinaryOperator<R> reducer) {
+        if (size == 1 || !isParallel(work) || (executor != null && WORKER_EXECUTOR.get() == executor)) {
+            return rangeMapper.map(0, size);
+        }
+        int grain = Math.max(1, size / (parallelism * CHUNKS_PER_THREAD));
+        if (pool != null) {
+            return invoke(new RangeTask<>(this, 0, size, grain, rangeMapper, reducer));
+        }
+        List<CompletableFuture<R>> futures = new ArrayList<>();
+        for (int from = 0; from < size; from += grain) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(size, from + grain);
+            futures.add(CompletableFuture.supplyAsync(() -> mapWorkerRange(rangeMapper, chunkFrom, chunkTo),
+                    executor));
+        }
+        try {
+            R result = futures.get(0).join();
+            for (int chunk = 1; chunk < futures.size(); chunk++) {
+                result = reducer.apply(result, futures.get(chunk).join());
+            }
+            return result;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps a range on a worker thread with this context as the current context. The worker is marked as the worker of
+     * the executor, so its nested computations do not wait for the same executor.
+     */
+    private <R> R mapWorkerRange(final RangeMapper<R> rangeMapper, final int from, final int to) {
+        ComputeContext previousContext = CURRENT_CONTEXT.get();
+        Executor previousExecutor = WORKER_EXECUTOR.get();
+        CURRENT_CONTEXT.set(this);
+        WORKER_EXECUTOR.set(executor);
+        try {
+            return rangeMapper.map(from, to);
+        } finally {
+            restore(CURRENT_CONTEXT, previousContext);
+            restore(WORKER_EXECUTOR, previousExecutor);
+        }
+    }
+
+    private static <T> void restore(final ThreadLocal<T> threadLocal, final T previousValue) {
+        if (previousValue == null) {
+            threadLocal.remove();
+        } else {
+            threadLocal.set(previousValue);
+        }
+    }
+
+    /**
+     * Runs the task in the pool. A task started from a worker of the same pool runs on that worker.
+     */
+    private <R> R invoke(final ForkJoinTask<R> task) {
+        return ForkJoinTask.getPool() == pool ? task.invoke() : pool.invoke(task);
+    }
+
+    /**
+     * Shuts down the dedicated pool. The other contexts do not own their threads, so closing them does nothing.
+     */
+    @Override
+    public void close() {
+        if (poolOwner) {
+            pool.shutdown();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeMapper<R> {
+        R map(int from, int to);
+    }
+
+    /**
+     * Splits the index range into halves until it is not greater than the grain.
+     */
+    private static final class RangeTask<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final ComputeContext computeContext;
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeMapper<R> rangeMapper;
+        private final BinaryOperator<R> reducer;
+
+        private RangeTask(final ComputeContext computeContext, final int from, final int to, final int grain,
+                          final RangeMapper<R> rangeMapper, final BinaryOperator<R> reducer) {
+            this.computeContext = computeContext;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.rangeMapper = rangeMapper;
+            this.reducer = reducer;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= grain) {
+                return computeContext.mapWorkerRange(rangeMapper, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask<R> upperTask = new RangeTask<>(computeContext, middle, to, grain, rangeMapper, reducer);
+            upperTask.fork();
+            R lowerResult = new RangeTask<>(computeContext, from, middle, grain, rangeMapper, reducer).compute();
+            return reducer.apply(lowerResult, upperTask.join());
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package hu.bioinformatics.biolaboratory.utils;
 
-import java.util.stream.IntStream;
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
 
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkEqualNumberTo;
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNegativeNumber;
 import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkPositiveNumber;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmallerOrEqualNumberTo;
 
 /**
- * Provides extra methods for {@link String} operations.
+ * Provides extra methods for {@link String} operations and Hamming distance kernels over 2-bit packed words.
+ * <p>
+ * The packed kernels use the layout of {@link PackedSequence}: the code of the position <i>i</i> sits in the word
+ * <i>i</i> / 32 at bit 2 * (<i>i</i> % 32). Two words are compared by XOR, the two bits of every position are folded
+ * into the lower bit and the different positions are counted by {@link Long#bitCount(long)}, so 32 positions are
+ * compared with a few instructions. The window kernels delegate to
+ * {@link PackedSequence#hammingDistance(int, PackedSequence, int, int, int)}, which reads the unaligned windows in
+ * place.
  *
  * @author Attila Radi
  */
@@ -16,6 +25,8 @@ public class SequenceUtils {
     public static final int EQUAL = 0;
     public static final int GREATER = 1;
 
+    private static final long LOW_BIT_MASK = 0x5555555555555555L;
+
     private SequenceUtils() {}
 
     /**
@@ -30,10 +41,102 @@ public class SequenceUtils {
     public static int hammingDistance(final String sequence, final String otherSequence) {
         validateSequences(sequence, otherSequence);
 
-        return IntStream.range(0, sequence.length())
-                .parallel()
-                .map(index -> sequence.charAt(index) != otherSequence.charAt(index) ? 1 : 0)
-                .sum();
+        int distance = 0;
+        for (int index = 0; index < sequence.length(); index++) {
+            if (sequence.charAt(index) != otherSequence.charAt(index)) distance++;
+        }
+        return distance;
+    }
+
+    /**
+     * Calculates the Hamming distance of two equal length packed sequences word by word. The unused bits of the last
+     * words should be zero.
+     *
+     * @see PackedSequence#getWords()
+     * @param packedWords The words of a packed sequence.
+     * @param otherPackedWords The words of an other packed sequence.
+     * @return The number of the different codes at the same positions.
+     * @throws IllegalArgumentException If packedWords or otherPackedWords is null.
+     * @throws IllegalArgumentException If the two word arrays have different length.
+     */
+    public static int hammingDistance(final long[] packedWords, final long[] otherPackedWords) {
+        return hammingDistance(packedWords, otherPackedWords, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Calculates the Hamming distance of two equal length packed sequences word by word, and stops as soon as the
+     * distance exceeds the threshold. The unused bits of the last words should be zero.
+     *
+     * @param packedWords The words of a packed sequence.
+     * @param otherPackedWords The words of an other packed sequence.
+     * @param threshold The maximum interesting distance.
+     * @return The Hamming distance if it is at most the threshold, otherwise a number greater than the threshold.
+     * @throws IllegalArgumentException If packedWords or otherPackedWords is null.
+     * @throws IllegalArgumentException If the two word arrays have different length.
+     * @throws IllegalArgumentException If threshold is negative number.
+     */
+    public static int hammingDistance(final long[] packedWords, final long[] otherPackedWords, final int threshold) {
+        checkNotNullArgument("Packed words", packedWords);
+        checkNotNullArgument("Other packed words", otherPackedWords);
+        checkEqualNumberTo("Packed words length", packedWords.length, "other packed words length", otherPackedWords.length);
+        checkNotNegativeNumber("Threshold", threshold);
+
+        int distance = 0;
+        for (int i = 0; i < packedWords.length && distance <= threshold; i++) {
+            distance += countDifferentCodes(packedWords[i] ^ otherPackedWords[i]);
+        }
+        return distance;
+    }
+
+    /**
+     * Calculates the Hamming distance between the pattern and every pattern length window of the sequence.
+     *
+     * @param sequence The packed sequence.
+     * @param pattern The packed pattern.
+     * @return The Hamming distances, the index is the start position of the window.
+     * @throws IllegalArgumentException If sequence or pattern is null.
+     * @throws IllegalArgumentException If pattern is empty or longer than sequence.
+     */
+    public static int[] hammingDistances(final PackedSequence sequence, final PackedSequence pattern) {
+        validatePackedSequences(sequence, pattern);
+        int patternLength = pattern.length();
+        int[] distances = new int[sequence.length() - patternLength + 1];
+        for (int start = 0; start < distances.length; start++) {
+            distances[start] = sequence.hammingDistance(start, pattern, 0, patternLength);
+        }
+        return distances;
+    }
+
+    /**
+     * Calculates the smallest Hamming distance between the pattern and the pattern length windows of the sequence.
+     * A window is dropped as soon as its distance exceeds the best distance so far.
+     *
+     * @param sequence The packed sequence.
+     * @param pattern The packed pattern.
+     * @return The minimum Hamming distance.
+     * @throws IllegalArgumentException If sequence or pattern is null.
+     * @throws IllegalArgumentException If pattern is empty or longer than sequence.
+     */
+    public static int minimumHammingDistance(final PackedSequence sequence, final PackedSequence pattern) {
+        validatePackedSequences(sequence, pattern);
+        int patternLength = pattern.length();
+        int minimumDistance = patternLength;
+        for (int start = 0; start <= sequence.length() - patternLength && minimumDistance > 0; start++) {
+            minimumDistance = Math.min(minimumDistance,
+                    sequence.hammingDistance(start, pattern, 0, patternLength, minimumDistance - 1));
+        }
+        return minimumDistance;
+    }
+
+    private static int countDifferentCodes(final long difference) {
+        return Long.bitCount((difference | (difference >>> 1)) & LOW_BIT_MASK);
+    }
+
+    private static void validatePackedSequences(final PackedSequence sequence, final PackedSequence pattern) {
+        checkNotNullArgument("Sequence", sequence);
+        checkNotNullArgument("Pattern", pattern);
+        checkPositiveNumber("Pattern length", pattern.length());
+        checkSmallerOrEqualNumberTo("Pattern length", pattern.length(), "sequence length", sequence.length());
     }
 
     /**
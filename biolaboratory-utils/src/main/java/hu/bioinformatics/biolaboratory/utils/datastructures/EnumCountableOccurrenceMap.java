@@ -0,0 +1,475 @@
+package hu.bioinformatics.biolaboratory.utils.datastructures;
+
+import hu.bioinformatics.biolaboratory.utils.ArgumentValidator;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkEqualNumberTo;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNegativeNumber;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
+
+/**
+ * A primitive counterpart of {@link CountableOccurrenceMap} with enum keys. Every constant of the enum is a key, and
+ * the occurrences are stored in an int array indexed by the {@link Enum#ordinal()} of the keys, so a query reads the
+ * array instead of a {@link Map}. The queries have the same meaning as in {@link CountableOccurrenceMap}: a key can
+ * have 0 occurrence and filtering with occurrence &gt;= 0 is a valid operation.
+ * <p>
+ * The {@link EnumCountableOccurrenceMap} is not thread-safe.
+ *
+ * @param <K> The enum type of the keys.
+ * @author Attila Radi
+ */
+public final class EnumCountableOccurrenceMap<K extends Enum<K>> {
+    private final Class<K> keyType;
+    private final K[] keys;
+    private final int[] occurrences;
+
+    /**
+     * Builds a {@link EnumCountableOccurrenceMap} about every constant of the enum type with 0 occurrences.
+     *
+     * @param keyType The enum type of the keys.
+     * @param <K> The enum type of the keys.
+     * @return A new {@link EnumCountableOccurrenceMap} with 0 occurrence values.
+     * @throws IllegalArgumentException If keyType is null.
+     */
+    public static <K extends Enum<K>> EnumCountableOccurrenceMap<K> build(final Class<K> keyType) {
+        checkNotNullArgument("Key type", keyType);
+        return new EnumCountableOccurrenceMap<>(keyType, new int[keyType.getEnumConstants().length]);
+    }
+
+    /**
+     * Builds a {@link EnumCountableOccurrenceMap} from the occurrences indexed by the ordinals of the keys. The
+     * occurrences are copied.
+     *
+     * @param keyType The enum type of the keys.
+     * @param ordinalOccurrences The occurrences indexed by ordinal, one value for every enum constant.
+     * @param <K> The enum type of the keys.
+     * @return A new {@link EnumCountableOccurrenceMap} with the given occurrences.
+     * @throws IllegalArgumentException If keyType or ordinalOccurrences is null.
+     * @throws IllegalArgumentException If the length of ordinalOccurrences differs from the number of the constants.
+     * @throws IllegalArgumentException If ordinalOccurrences contains a negative value.
+     */
+    public static <K extends Enum<K>> EnumCountableOccurrenceMap<K> build(final Class<K> keyType,
+                                                                          final int[] ordinalOccurrences) {
+        checkNotNullArgument("Key type", keyType);
+        checkNotNullArgument("Ordinal occurrences", ordinalOccurrences);
+        checkEqualNumberTo("Ordinal occurrences length", ordinalOccurrences.length, "key number",
+                keyType.getEnumConstants().length);
+        checkArgument(Arrays.stream(ordinalOccurrences).allMatch(occurrence -> occurrence >= 0),
+                "Occurrences should not contain negative values");
+        return new EnumCountableOccurrenceMap<>(keyType, ordinalOccurrences.clone());
+    }
+
+    private EnumCountableOccurrenceMap(final Class<K> keyType, final int[] occurrences) {
+        this.keyType = keyType;
+        this.keys = keyType.getEnumConstants();
+        this.occurrences = occurrences;
+    }
+
+    /**
+     * Creates the copy of the {@link EnumCountableOccurrenceMap}.
+     *
+     * @return The copy of the {@link EnumCountableOccurrenceMap}.
+     */
+    public EnumCountableOccurrenceMap<K> copy() {
+        return new EnumCountableOccurrenceMap<>(keyType, occurrences.clone());
+    }
+
+    /**
+     * Converts to a {@link CountableOccurrenceMap} with the same keys and occurrences.
+     *
+     * @return A new {@link CountableOccurrenceMap}.
+     */
+    public CountableOccurrenceMap<K> toCountable() {
+        Map<K, Integer> occurrenceMap = new HashMap<>();
+        for (K key : keys) {
+            occurrenceMap.put(key, occurrences[key.ordinal()]);
+        }
+        return CountableOccurrenceMap.build(occurrenceMap);
+    }
+
+    /**
+     * Get the key elements of the occurrences.
+     *
+     * @return A {@link Set} about every constant of the enum type.
+     */
+    public Set<K> getElementSet() {
+        return EnumSet.allOf(keyType);
+    }
+
+    /**
+     * Returns with the keys size.
+     *
+     * @return The number of the enum constants.
+     */
+    public int getElementsSize() {
+        return keys.length;
+    }
+
+    /**
+     * Get the occurrences of the key.
+     *
+     * @param key The occurrence key.
+     * @return The occurrence number for the specific key.
+     * @throws IllegalArgumentException If key is null or not a constant of the key type.
+     */
+    public int getOccurrence(final K key) {
+        return occurrences[validateKey(key).ordinal()];
+    }
+
+    /**
+     * Get the occurrences of the target keys. A key is counted once even if it is given more times.
+     *
+     * @param keys The desired keys.
+     * @return The sum of the target key values.
+     * @throws IllegalArgumentException If keys is null or contains null or not member element.
+     */
+    @SafeVarargs
+    public final int sumOccurrences(final K... keys) {
+        return innerSumOccurrences(validateKeys(keys));
+    }
+
+    /**
+     * Get the occurrences of the target keys.
+     *
+     * @param keySet The desired keys.
+     * @return The sum of the target key values.
+     * @throws IllegalArgumentException If keySet is null or contains null or not member element.
+     */
+    public int sumOccurrences(final Set<K> keySet) {
+        return innerSumOccurrences(validateKeySet(keySet));
+    }
+
+    private int innerSumOccurrences(final Set<K> keySet) {
+        int sum = 0;
+        for (K key : keySet) {
+            sum += occurrences[key.ordinal()];
+        }
+        return sum;
+    }
+
+    /**
+     * Get the total number of occurrences.
+     *
+     * @return The sum of all occurrences.
+     */
+    public int sumTotalOccurrence() {
+        int sum = 0;
+        for (int occurrence : occurrences) {
+            sum += occurrence;
+        }
+        return sum;
+    }
+
+    /**
+     * Get the occurrence ratio for the target key.
+     *
+     * @param key The occurrence key.
+     * @return The ratio of the target key, 0 if there is no occurrence at all.
+     * @throws IllegalArgumentException If key is null.
+     */
+    public double occurrenceRatio(final K key) {
+        return ratio(getOccurrence(key), sumTotalOccurrence());
+    }
+
+    /**
+     * Get the accumulated occurrence ratio for the given keys. A key is counted once even if it is given more times.
+     *
+     * @param keys The desired keys.
+     * @return The accumulated ratio of the target keys.
+     * @throws IllegalArgumentException If keys is null or contains null or not member element.
+     */
+    @SafeVarargs
+    public final double accumulatedOccurrenceRatio(final K... keys) {
+        return ratio(sumOccurrences(keys), sumTotalOccurrence());
+    }
+
+    /**
+     * Get the accumulated occurrence ratio for the given key set.
+     *
+     * @param keySet The desired keys.
+     * @return The accumulated ratio of the target keys.
+     * @throws IllegalArgumentException If keySet is null or contains null or not member element.
+     */
+    public double accumulatedOccurrenceRatio(final Set<K> keySet) {
+        return ratio(sumOccurrences(keySet), sumTotalOccurrence());
+    }
+
+    /**
+     * Get the occurrence ratio for all keys individual in a {@link Map}.
+     *
+     * @return A {@link Map} about all key and ratio.
+     */
+    public Map<K, Double> allOccurrenceRatios() {
+        return innerOccurrenceRatios(getElementSet());
+    }
+
+    /**
+     * Get the occurrence ratio each key individual in a {@link Map}.
+     *
+     * @param keys The desired keys.
+     * @return A {@link Map} about each key and ratio.
+     * @throws IllegalArgumentException If keys is null or contains null or not member element.
+     */
+    @SafeVarargs
+    public final Map<K, Double> occurrenceRatios(final K... keys) {
+        return innerOccurrenceRatios(validateKeys(keys));
+    }
+
+    /**
+     * Get the occurrence ratio each key individual in a {@link Map}.
+     *
+     * @param keySet The desired key set.
+     * @return A {@link Map} about each key and ratio.
+     * @throws IllegalArgumentException If keySet is null or contains null or not member element.
+     */
+    public Map<K, Double> occurrenceRatios(final Set<K> keySet) {
+        return innerOccurrenceRatios(validateKeySet(keySet));
+    }
+
+    private Map<K, Double> innerOccurrenceRatios(final Set<K> keySet) {
+        int totalOccurrence = sumTotalOccurrence();
+        Map<K, Double> ratios = new EnumMap<>(keyType);
+        for (K key : keySet) {
+            ratios.put(key, ratio(occurrences[key.ordinal()], totalOccurrence));
+        }
+        return ratios;
+    }
+
+    private static double ratio(final int occurrence, final int totalOccurrence) {
+        return totalOccurrence == 0 ? 0.0 : (double) occurrence / totalOccurrence;
+    }
+
+    /**
+     * Increase the occurrence of the target key by 1.
+     *
+     * @param key The target key.
+     * @return The number of occurrence of the target key after the increasing.
+     * @throws IllegalArgumentException If key is null.
+     */
+    public int increase(final K key) {
+        return add(key, 1);
+    }
+
+    /**
+     * Increase the occurrence of the target key by <i>number</i>.
+     *
+     * @param key The target key.
+     * @param number The number of increased by.
+     * @return The number of occurrence of the target key after the adding.
+     * @throws IllegalArgumentException If key is null.
+     * @throws IllegalArgumentException If number is negative.
+     */
+    public int add(final K key, final int number) {
+        validateKey(key);
+        checkNotNegativeNumber("Number", number);
+        return occurrences[key.ordinal()] += number;
+    }
+
+    /**
+     * Decreases the occurrence of the target key by 1.
+     *
+     * @param key The target key.
+     * @return The number of occurrence of the target key after the decreasing.
+     * @throws IllegalArgumentException If key is null.
+     * @throws IllegalArgumentException If the occurrence is 0.
+     */
+    public int decrease(final K key) {
+        return subtract(key, 1);
+    }
+
+    /**
+     * Decreases the occurrence of the target key by <i>number</i>.
+     *
+     * @param key The target key.
+     * @param number The number of decreased by.
+     * @return The number of occurrence of the target key after the subtracting.
+     * @throws IllegalArgumentException If key is null.
+     * @throws IllegalArgumentException If number is negative.
+     * @throws IllegalArgumentException If decreasing result smaller than 0.
+     */
+    public int subtract(final K key, final int number) {
+        validateKey(key);
+        checkNotNegativeNumber("Number", number);
+        int occurrence = occurrences[key.ordinal()];
+        if (number == 0) return occurrence;
+        checkArgument(occurrence > 0, "Cannot decrease occurrence from 0");
+
+        int difference = occurrence - number;
+        checkArgument(difference >= 0, "Cannot subtract more occurrence than existing");
+        occurrences[key.ordinal()] = difference;
+        return difference;
+    }
+
+    /**
+     * Returns the maximum occurrence value.
+     *
+     * @return The maximum occurrence value.
+     */
+    public int maximumOccurrenceValue() {
+        int maximum = 0;
+        for (int occurrence : occurrences) {
+            maximum = Math.max(maximum, occurrence);
+        }
+        return maximum;
+    }
+
+    /**
+     * Returns the minimum occurrence value.
+     *
+     * @return The minimum occurrence value, 0 if the enum has no constant.
+     */
+    public int minimumOccurrenceValue() {
+        if (occurrences.length == 0) return 0;
+        int minimum = Integer.MAX_VALUE;
+        for (int occurrence : occurrences) {
+            minimum = Math.min(minimum, occurrence);
+        }
+        return minimum;
+    }
+
+    /**
+     * Get the most frequent occurrences.
+     *
+     * @return The keys with the maximum occurrence.
+     */
+    public Set<K> filterMostFrequentOccurrences() {
+        int maximum = maximumOccurrenceValue();
+        return filterOccurrences(occurrence -> occurrence == maximum);
+    }
+
+    /**
+     * Get the less frequent occurrences.
+     *
+     * @return The keys with the minimum occurrence.
+     */
+    public Set<K> filterLessFrequentOccurrences() {
+        int minimum = minimumOccurrenceValue();
+        return filterOccurrences(occurrence -> occurrence == minimum);
+    }
+
+    /**
+     * Get the occurrences which are equal to the value.
+     *
+     * @param value The occurrence to find.
+     * @return All keys which occurrence are equal to the value.
+     * @throws IllegalArgumentException If value is negative number.
+     */
+    public Set<K> filterEqualsOccurrences(final int value) {
+        validateThreshold(value);
+        return filterOccurrences(occurrence -> occurrence == value);
+    }
+
+    /**
+     * Get the occurrences which are greater than the threshold.
+     *
+     * @param threshold The condition threshold where from the occurrences should greater.
+     * @return All keys which occurrence are greater than the threshold.
+     * @throws IllegalArgumentException If threshold is negative number.
+     */
+    public Set<K> filterGreaterOccurrences(final int threshold) {
+        validateThreshold(threshold);
+        return filterOccurrences(occurrence -> occurrence > threshold);
+    }
+
+    /**
+     * Get the occurrences which are greater or equals than the threshold.
+     *
+     * @param threshold The condition threshold where from the occurrences should greater or equals.
+     * @return All keys which occurrence are greater or equals than the threshold.
+     * @throws IllegalArgumentException If threshold is negative number.
+     */
+    public Set<K> filterGreaterOrEqualsOccurrences(final int threshold) {
+        validateThreshold(threshold);
+        return filterOccurrences(occurrence -> occurrence >= threshold);
+    }
+
+    /**
+     * Get the occurrences which are smaller than the threshold.
+     *
+     * @param threshold The condition threshold where from the occurrences should smaller.
+     * @return All keys which occurrence are smaller than the threshold.
+     * @throws IllegalArgumentException If threshold is negative number.
+     */
+    public Set<K> filterSmallerOccurrences(final int threshold) {
+        validateThreshold(threshold);
+        return filterOccurrences(occurrence -> occurrence < threshold);
+    }
+
+    /**
+     * Get the occurrences which are smaller or equals than the threshold.
+     *
+     * @param threshold The condition threshold where from the occurrences should smaller or equals.
+     * @return All keys which occurrence are smaller or equals than the threshold.
+     * @throws IllegalArgumentException If threshold is negative number.
+     */
+    public Set<K> filterSmallerOrEqualsOccurrences(final int threshold) {
+        validateThreshold(threshold);
+        return filterOccurrences(occurrence -> occurrence <= threshold);
+    }
+
+    private Set<K> filterOccurrences(final IntPredicate occurrencePredicate) {
+        Set<K> filteredKeys = EnumSet.noneOf(keyType);
+        for (K key : keys) {
+            if (occurrencePredicate.test(occurrences[key.ordinal()])) {
+                filteredKeys.add(key);
+            }
+        }
+        return filteredKeys;
+    }
+
+    private static int validateThreshold(final int threshold) {
+        return checkNotNegativeNumber("Threshold", threshold);
+    }
+
+    private K validateKey(final K key) {
+        checkNotNullArgument("Key", key);
+        checkArgument(keyType.isInstance(key), "The given key is not member of the key set");
+        return key;
+    }
+
+    private Set<K> validateKeys(final K[] keys) {
+        Set<K> keySet = EnumSet.noneOf(keyType);
+        for (K key : ArgumentValidator.checkNotNullVarargs(keys)) {
+            keySet.add(validateKey(key));
+        }
+        return keySet;
+    }
+
+    private Set<K> validateKeySet(final Set<K> keySet) {
+        ArgumentValidator.checkNotNullCollection(keySet).forEach(this::validateKey);
+        return keySet;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (obj == null || !obj.getClass().equals(getClass())) return false;
+        EnumCountableOccurrenceMap<?> rightHand = (EnumCountableOccurrenceMap<?>) obj;
+        return keyType.equals(rightHand.keyType) && Arrays.equals(occurrences, rightHand.occurrences);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * keyType.hashCode() + Arrays.hashCode(occurrences);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder printString = new StringBuilder("[ ");
+        for (int i = 0; i < keys.length; i++) {
+            printString.append(keys[i]).append(" -> ").append(occurrences[i]);
+            if (i < keys.length - 1) {
+                printString.append(", ");
+            }
+        }
+        return printString.append(" ]").toString();
+    }
+}
@@ -0,0 +1,220 @@
+package hu.bioinformatics.biolaboratory.utils.datastructures;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkState;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNegativeNumber;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkPositiveNumber;
+
+/**
+ * A primitive counterpart of {@link OccurrenceMap} with long keys. The keys and the occurrences are stored in an open
+ * addressing hash table with linear probing, so counting does not create any object. Every long value is a valid
+ * key, a slot is empty if its occurrence is 0. The table has at most 2^30 slots, so it can store at most 2^29 different
+ * keys.
+ * <p>
+ * The {@link LongOccurrenceMap} is not thread-safe.
+ *
+ * @author Attila Radi
+ */
+public final class LongOccurrenceMap {
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final int maximumCapacity;
+    private long[] keys;
+    private int[] occurrences;
+    private int size = 0;
+    private int mask;
+    private int shift;
+
+    /**
+     * Builds a new empty {@link LongOccurrenceMap}.
+     *
+     * @return An empty {@link LongOccurrenceMap}.
+     */
+    public static LongOccurrenceMap build() {
+        return build(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Builds a new empty {@link LongOccurrenceMap} which can store the expected number of keys without resizing.
+     *
+     * @param expectedSize The expected number of different keys.
+     * @return An empty {@link LongOccurrenceMap}.
+     * @throws IllegalArgumentException If expectedSize is negative.
+     */
+    public static LongOccurrenceMap build(final int expectedSize) {
+        checkNotNegativeNumber("Expected size", expectedSize);
+        return new LongOccurrenceMap(capacityFor(expectedSize), MAXIMUM_CAPACITY);
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        long minimumCapacity = Math.max(2L * expectedSize, DEFAULT_EXPECTED_SIZE);
+        return (int) Math.min(Long.highestOneBit(minimumCapacity - 1) << 1, MAXIMUM_CAPACITY);
+    }
+
+    LongOccurrenceMap(final int capacity, final int maximumCapacity) {
+        this.maximumCapacity = maximumCapacity;
+        allocate(capacity);
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        occurrences = new int[capacity];
+        mask = capacity - 1;
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slot(final long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> shift);
+    }
+
+    /**
+     * Increase the occurrence of the key by one.
+     *
+     * @param key The key to increase.
+     * @return The new occurrence of the key.
+     * @throws IllegalStateException If the key is new and the table can not grow further.
+     */
+    public int increase(final long key) {
+        return add(key, 1);
+    }
+
+    /**
+     * Increase the occurrence of the key by the given amount.
+     *
+     * @param key The key to increase.
+     * @param amount The positive amount to add.
+     * @return The new occurrence of the key.
+     * @throws IllegalArgumentException If amount is smaller than 1.
+     * @throws IllegalStateException If the key is new and the table can not grow further.
+     */
+    public int add(final long key, final int amount) {
+        checkPositiveNumber("Amount", amount);
+        int index = slot(key);
+        while (occurrences[index] != 0) {
+            if (keys[index] == key) {
+                return occurrences[index] += amount;
+            }
+            index = (index + 1) & mask;
+        }
+        checkState((size + 1) * 2 <= keys.length || keys.length < maximumCapacity,
+                "Occurrence map should not contain more than %s keys", maximumCapacity / 2);
+        keys[index] = key;
+        occurrences[index] = amount;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return amount;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldOccurrences = occurrences;
+        allocate(keys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldOccurrences[i] != 0) {
+                int index = slot(oldKeys[i]);
+                while (occurrences[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                occurrences[index] = oldOccurrences[i];
+            }
+        }
+    }
+
+    /**
+     * Get the occurrences of the key.
+     *
+     * @param key The occurrence key.
+     * @return The occurrence number for the specific key, or 0 if the key is not present.
+     */
+    public int getOccurrence(final long key) {
+        int index = slot(key);
+        while (occurrences[index] != 0) {
+            if (keys[index] == key) {
+                return occurrences[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Get the number of the different keys.
+     *
+     * @return The number of the keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum occurrence value.
+     *
+     * @return The maximum occurrence value, or 0 if the map is empty.
+     */
+    public int maximumOccurrenceValue() {
+        int maximum = 0;
+        for (int occurrence : occurrences) {
+            maximum = Math.max(maximum, occurrence);
+        }
+        return maximum;
+    }
+
+    /**
+     * Get the keys which occurrences are the most frequent.
+     *
+     * @return The keys with the maximal occurrence in ascending order.
+     */
+    public long[] filterMostFrequentOccurrences() {
+        if (size == 0) return new long[0];
+        return filterGreaterOrEqualsOccurrences(maximumOccurrenceValue());
+    }
+
+    /**
+     * Get the keys which occurrences are greater or equal than the threshold.
+     *
+     * @param threshold The minimum occurrence.
+     * @return The keys which occurrences are greater or equal than the threshold in ascending order.
+     * @throws IllegalArgumentException If threshold is smaller than 1.
+     */
+    public long[] filterGreaterOrEqualsOccurrences(final int threshold) {
+        checkPositiveNumber("Threshold", threshold);
+        long[] filteredKeys = new long[size];
+        int filteredSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (occurrences[i] >= threshold) {
+                filteredKeys[filteredSize++] = keys[i];
+            }
+        }
+        long[] result = Arrays.copyOf(filteredKeys, filteredSize);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Get all keys.
+     *
+     * @return All keys in ascending order.
+     */
+    public long[] keys() {
+        return filterGreaterOrEqualsOccurrences(1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder printString = new StringBuilder("[ ");
+        long[] sortedKeys = keys();
+        for (int i = 0; i < sortedKeys.length; i++) {
+            printString.append(sortedKeys[i]).append(" -> ").append(getOccurrence(sortedKeys[i]));
+            if (i < sortedKeys.length - 1) {
+                printString.append(", ");
+            }
+        }
+        return printString.append(" ]").toString();
+    }
+}
@@ -0,0 +1,644 @@
+package hu.bioinformatics.biolaboratory.utils.datastructures;
+
+import com.google.common.math.LongMath;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongConsumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkEqualNumberTo;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNegativeNumber;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkNotNullArgument;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkPositiveNumber;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmallerNumberTo;
+import static hu.bioinformatics.biolaboratory.utils.ArgumentValidator.checkSmallerOrEqualNumberTo;
+
+/**
+ * An immutable sequence of 2 bit codes (0 - 3) packed into a long array. One long word stores 32 codes, the
+ * code at index <i>i</i> is placed in the word <i>i</i> / 32 from the bit position 2 * (<i>i</i> mod 32). The unused
+ * bits of the last word are always zero, so two {@link PackedSequence}s are equal if their words are equal.
+ * <p>
+ * The codes have no meaning for the {@link PackedSequence}, the caller gives an alphabet where the index of a letter
+ * is its code.
+ *
+ * @author Attila Radi
+ */
+public final class PackedSequence {
+    /**
+     * The number of bits which stores one code.
+     */
+    public static final int BITS_PER_CODE = 2;
+
+    /**
+     * The number of codes in one long word.
+     */
+    public static final int CODES_PER_WORD = Long.SIZE / BITS_PER_CODE;
+
+    /**
+     * The number of the different codes.
+     */
+    public static final int ALPHABET_SIZE = 1 << BITS_PER_CODE;
+
+    private static final long CODE_MASK = ALPHABET_SIZE - 1;
+    private static final long LOW_BIT_MASK = 0x5555555555555555L;
+    private static final int NO_CODE = -1;
+
+    private final long[] words;
+    private final int length;
+
+    /**
+     * Packs the letters of the sequence with the given alphabet. Every letter has to be part of the alphabet.
+     *
+     * @param sequence The sequence to pack.
+     * @param alphabet The letters of the codes, the index of the letter is the code.
+     * @return A new {@link PackedSequence} about the sequence.
+     * @throws IllegalArgumentException If sequence or alphabet is null.
+     * @throws IllegalArgumentException If alphabet does not contain exactly 4 letters.
+     * @throws IllegalArgumentException If sequence contains a letter which is not part of the alphabet.
+     */
+    public static PackedSequence pack(final CharSequence sequence, final char[] alphabet) {
+        checkNotNullArgument("Sequence", sequence);
+        int[] codeLookup = createCodeLookup(alphabet);
+        int length = sequence.length();
+        long[] words = new long[wordNumber(length)];
+        for (int i = 0; i < length; i++) {
+            char letter = sequence.charAt(i);
+            int code = letter < codeLookup.length ? codeLookup[letter] : NO_CODE;
+            checkArgument(code != NO_CODE, "\"%s\" is not part of the alphabet", letter);
+            words[i / CODES_PER_WORD] |= (long) code << bitOffset(i);
+        }
+        return new PackedSequence(words, length);
+    }
+
+    /**
+     * Packs <i>length</i> codes which are provided by the code provider about their index.
+     *
+     * @param length The length of the sequence.
+     * @param codeProvider Gives the code (0 - 3) about the index.
+     * @return A new {@link PackedSequence} about the provided codes.
+     * @throws IllegalArgumentException If length is negative.
+     * @throws IllegalArgumentException If codeProvider is null or provides a code outside of 0 - 3.
+     */
+    public static PackedSequence pack(final int length, final IntUnaryOperator codeProvider) {
+        checkNotNegativeNumber("Length", length);
+        checkNotNullArgument("Code provider", codeProvider);
+        long[] words = new long[wordNumber(length)];
+        for (int i = 0; i < length; i++) {
+            int code = codeProvider.applyAsInt(i);
+            checkArgument(0 <= code && code < ALPHABET_SIZE, "Code should be between 0 and %s", ALPHABET_SIZE - 1);
+            words[i / CODES_PER_WORD] |= (long) code << bitOffset(i);
+        }
+        return new PackedSequence(words, length);
+    }
+
+    /**
+     * Creates a {@link PackedSequence} from already packed words, see {@link #getWords()}. The words are copied.
+     *
+     * @param words The packed words, which can be longer than the sequence needs.
+     * @param length The number of codes in the words.
+     * @return A new {@link PackedSequence} about the first <i>length</i> codes of the words.
+     * @throws IllegalArgumentException If words is null.
+     * @throws IllegalArgumentException If length is negative.
+     * @throws IllegalArgumentException If words contains less than <i>length</i> codes.
+     * @throws IllegalArgumentException If the bits after the last code are not zero.
+     */
+    public static PackedSequence fromWords(final long[] words, final int length) {
+        checkNotNullArgument("Words", words);
+        checkNotNegativeNumber("Length", length);
+        int wordNumber = wordNumber(length);
+        checkSmallerOrEqualNumberTo("Word number", wordNumber, "words length", words.length);
+        long[] packedWords = Arrays.copyOf(words, wordNumber);
+        checkArgument(length % CODES_PER_WORD == 0 || packedWords[wordNumber - 1] >>> bitOffset(length) == 0,
+                "The bits after the last code should be zero");
+        for (int word = wordNumber; word < words.length; word++) {
+            checkArgument(words[word] == 0, "The bits after the last code should be zero");
+        }
+        return new PackedSequence(packedWords, length);
+    }
+
+    /**
+     * Creates a {@link Builder} which collects exactly <i>length</i> codes one by one. The built {@link PackedSequence}
+     * takes over the words of the builder, so the codes are not copied at the end.
+     *
+     * @param length The length of the sequence to build.
+     * @return A new {@link Builder}.
+     * @throws IllegalArgumentException If length is negative.
+     */
+    public static Builder builder(final int length) {
+        checkNotNegativeNumber("Length", length);
+        return new Builder(length);
+    }
+
+    /**
+     * Unpacks a <i>k</i>-mer code into a {@link PackedSequence}.
+     *
+     * @see PackedSequence#getCode(int, int)
+     * @param code The <i>k</i>-mer code, the first element is in the most significant position.
+     * @param k The length of the <i>k</i>-mer.
+     * @return A new {@link PackedSequence} about the <i>k</i>-mer.
+     * @throws IllegalArgumentException If <i>k</i> is negative or bigger than 32.
+     */
+    public static PackedSequence packCode(final long code, final int k) {
+        validateCodeLength(k);
+        return pack(k, index -> (int) ((code >>> ((k - 1 - index) * BITS_PER_CODE)) & CODE_MASK));
+    }
+
+    private static int validateCodeLength(final int k) {
+        checkNotNegativeNumber("Code length (k)", k);
+        return checkSmallerOrEqualNumberTo("Code length (k)", k, "codes per word", CODES_PER_WORD);
+    }
+
+    /**
+     * Creates the mask which keeps the bits of a <i>k</i>-mer code.
+     *
+     * @param k The length of the <i>k</i>-mer.
+     * @return The mask of the lowest 2 * <i>k</i> bits.
+     * @throws IllegalArgumentException If <i>k</i> is negative or bigger than 32.
+     */
+    public static long codeMask(final int k) {
+        validateCodeLength(k);
+        return k == CODES_PER_WORD ? -1L : (1L << (k * BITS_PER_CODE)) - 1;
+    }
+
+    /**
+     * Calculates the number of the <i>k</i>-mer codes which differ from a <i>k</i>-mer code at most <i>d</i> positions:
+     * Σ (<i>k</i> choose <i>i</i>) * 3<sup><i>i</i></sup> for <i>i</i> = 0..<i>d</i>.
+     *
+     * @param k The length of the <i>k</i>-mer.
+     * @param d The maximum number of the differing positions.
+     * @return The size of the <i>d</i>-neighborhood, or {@link Long#MAX_VALUE} if it does not fit into a long.
+     * @throws IllegalArgumentException If <i>k</i> is negative or bigger than 32.
+     * @throws IllegalArgumentException If <i>d</i> is negative.
+     */
+    public static long neighborhoodSize(final int k, final int d) {
+        validateCodeLength(k);
+        checkNotNegativeNumber("Mismatch number (d)", d);
+        long size = 0;
+        for (int i = 0; i <= Math.min(k, d); i++) {
+            size = LongMath.saturatedAdd(size,
+                    LongMath.saturatedMultiply(LongMath.binomial(k, i), LongMath.saturatedPow(ALPHABET_SIZE - 1, i)));
+        }
+        return size;
+    }
+
+    /**
+     * Visits the <i>k</i>-mer code and every code which differs from it at most <i>d</i> positions. The positions are
+     * changed in increasing order, so every neighbor is visited exactly once and nothing is allocated.
+     *
+     * @param code The center <i>k</i>-mer code.
+     * @param k The length of the <i>k</i>-mer.
+     * @param d The maximum number of the differing positions.
+     * @param neighborConsumer The consumer of the neighbor codes.
+     */
+    public static void forEachNeighbor(final long code, final int k, final int d, final LongConsumer neighborConsumer) {
+        forEachNeighbor(code, k, 0, Math.min(k, d), neighborConsumer);
+    }
+
+    private static void forEachNeighbor(final long code, final int k, final int firstPosition, final int d,
+                                        final LongConsumer neighborConsumer) {
+        neighborConsumer.accept(code);
+        if (d == 0) return;
+        for (int position = firstPosition; position < k; position++) {
+            int shift = position * BITS_PER_CODE;
+            for (long flip = 1; flip < ALPHABET_SIZE; flip++) {
+                forEachNeighbor(code ^ (flip << shift), k, position + 1, d - 1, neighborConsumer);
+            }
+        }
+    }
+
+    private static int[] createCodeLookup(final char[] alphabet) {
+        checkNotNullArgument("Alphabet", alphabet);
+        checkEqualNumberTo("Alphabet size", alphabet.length, ALPHABET_SIZE);
+        char maximumLetter = 0;
+        for (char letter : alphabet) {
+            maximumLetter = (char) Math.max(maximumLetter, letter);
+        }
+        int[] codeLookup = new int[maximumLetter + 1];
+        Arrays.fill(codeLookup, NO_CODE);
+        for (int code = 0; code < ALPHABET_SIZE; code++) {
+            codeLookup[alphabet[code]] = code;
+        }
+        return codeLookup;
+    }
+
+    private static int wordNumber(final int length) {
+        return (length + CODES_PER_WORD - 1) / CODES_PER_WORD;
+    }
+
+    private static int bitOffset(final int index) {
+        return (index % CODES_PER_WORD) * BITS_PER_CODE;
+    }
+
+    private PackedSequence(final long[] words, final int length) {
+        this.words = words;
+        this.length = length;
+    }
+
+    /**
+     * Getter of the number of codes.
+     *
+     * @return length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Get the code from the target index.
+     *
+     * @param index The index which should smaller than length.
+     * @return The code (0 - 3) at the target index.
+     * @throws IllegalArgumentException If index is negative or not smaller than length.
+     */
+    public int get(final int index) {
+        checkNotNegativeNumber("Index", index);
+        checkSmallerNumberTo("Index", index, "length", length);
+        return innerGet(index);
+    }
+
+    private int innerGet(final int index) {
+        return (int) ((words[index / CODES_PER_WORD] >>> bitOffset(index)) & CODE_MASK);
+    }
+
+    /**
+     * Get the <i>k</i>-mer code which starts at the given position. The code of the first element is in the most
+     * significant position, so the order of the codes is the lexicographic order of the <i>k</i>-mers.
+     *
+     * @param startPosition The first position of the <i>k</i>-mer.
+     * @param k The length of the <i>k</i>-mer.
+     * @return The <i>k</i>-mer code.
+     * @throws IllegalArgumentException If <i>k</i> is negative or bigger than 32.
+     * @throws IllegalArgumentException If startPosition is negative or the <i>k</i>-mer exceeds the length.
+     */
+    public long getCode(final int startPosition, final int k) {
+        validateCodeLength(k);
+        checkNotNegativeNumber("Start position", startPosition);
+        checkSmallerOrEqualNumberTo("End position", startPosition + k, "length", length);
+        long code = 0;
+        for (int i = startPosition; i < startPosition + k; i++) {
+            code = (code << BITS_PER_CODE) | innerGet(i);
+        }
+        return code;
+    }
+
+    /**
+     * Calls the consumer with the code of every <i>k</i>-mer in the order of their start positions. The next code is
+     * calculated from the previous one with a shift and a mask.
+     *
+     * @see PackedSequence#getCode(int, int)
+     * @param k The length of the <i>k</i>-mers.
+     * @param codeConsumer The consumer of the codes.
+     * @throws IllegalArgumentException If <i>k</i> is smaller than 1 or bigger than 32.
+     * @throws IllegalArgumentException If codeConsumer is null.
+     */
+    public void forEachCode(final int k, final LongConsumer codeConsumer) {
+        checkPositiveNumber("Code length (k)", k);
+        long mask = codeMask(k);
+        checkNotNullArgument("Code consumer", codeConsumer);
+        if (k > length) return;
+        long code = getCode(0, k - 1);
+        for (int i = k - 1; i < length; i++) {
+            code = ((code << BITS_PER_CODE) | innerGet(i)) & mask;
+            codeConsumer.accept(code);
+        }
+    }
+
+    /**
+     * Counts the occurrences of every code. A word is counted at once: the low and the high bits of the codes are
+     * separated by masks, and the codes 1, 2 and 3 are counted with {@link Long#bitCount(long)}. The code 0 is the
+     * rest, because the unused bits are zero.
+     *
+     * @return The occurrences indexed by code.
+     */
+    public int[] countCodes() {
+        int[] counts = new int[ALPHABET_SIZE];
+        for (long word : words) {
+            long lowBits = word & LOW_BIT_MASK;
+            long highBits = (word >>> 1) & LOW_BIT_MASK;
+            counts[1] += Long.bitCount(lowBits & ~highBits);
+            counts[2] += Long.bitCount(highBits & ~lowBits);
+            counts[3] += Long.bitCount(lowBits & highBits);
+        }
+        counts[0] = length - counts[1] - counts[2] - counts[3];
+        return counts;
+    }
+
+    /**
+     * Returns the copy of the packed words.
+     *
+     * @return The copy of the packed words.
+     */
+    public long[] getWords() {
+        return words.clone();
+    }
+
+    /**
+     * Cuts a part of the sequence. The start position is inclusive, the end position is exclusive.
+     *
+     * @param startPosition The first code position inclusive.
+     * @param endPosition The last code position exclusive.
+     * @return A new {@link PackedSequence} about the part.
+     * @throws IllegalArgumentException If startPosition is negative.
+     * @throws IllegalArgumentException If endPosition is bigger than length.
+     * @throws IllegalArgumentException If startPosition is bigger than endPosition.
+     */
+    public PackedSequence subSequence(final int startPosition, final int endPosition) {
+        checkNotNegativeNumber("Start position", startPosition);
+        checkSmallerOrEqualNumberTo("End position", endPosition, "length", length);
+        checkSmallerOrEqualNumberTo("Start position", startPosition, "end position", endPosition);
+
+        int subLength = endPosition - startPosition;
+        long[] subWords = new long[wordNumber(subLength)];
+        for (int i = 0; i < subWords.length; i++) {
+            subWords[i] = wordAt(startPosition + i * CODES_PER_WORD);
+        }
+        clearUnusedBits(subWords, subLength);
+        return new PackedSequence(subWords, subLength);
+    }
+
+    /**
+     * Reads the 32 codes from the position, which can span two words. The codes after the length are zero.
+     */
+    private long wordAt(final int position) {
+        int wordIndex = position / CODES_PER_WORD;
+        int shift = bitOffset(position);
+        long word = words[wordIndex] >>> shift;
+        if (shift != 0 && wordIndex + 1 < words.length) {
+            word |= words[wordIndex + 1] << (Long.SIZE - shift);
+        }
+        return word;
+    }
+
+    /**
+     * Appends the other {@link PackedSequence} to the end of this sequence.
+     *
+     * @param otherSequence The sequence to append.
+     * @return A new {@link PackedSequence} which stands from this sequence and the other sequence.
+     * @throws IllegalArgumentException If otherSequence is null.
+     */
+    public PackedSequence append(final PackedSequence otherSequence) {
+        checkNotNullArgument("Other sequence", otherSequence);
+        int appendedLength = length + otherSequence.length;
+        long[] appendedWords = Arrays.copyOf(words, wordNumber(appendedLength));
+        int firstWord = length / CODES_PER_WORD;
+        int shift = bitOffset(length);
+        for (int i = 0; i < otherSequence.words.length; i++) {
+            long word = otherSequence.words[i];
+            appendedWords[firstWord + i] |= word << shift;
+            if (shift != 0 && firstWord + i + 1 < appendedWords.length) {
+                appendedWords[firstWord + i + 1] |= word >>> (Long.SIZE - shift);
+            }
+        }
+        return new PackedSequence(appendedWords, appendedLength);
+    }
+
+    /**
+     * Appends a single code to the end of this sequence.
+     *
+     * @param code The code (0 - 3) to append.
+     * @return A new {@link PackedSequence} which is one code longer.
+     * @throws IllegalArgumentException If code is not between 0 and 3.
+     */
+    public PackedSequence append(final int code) {
+        checkArgument(0 <= code && code < ALPHABET_SIZE, "Code should be between 0 and %s", ALPHABET_SIZE - 1);
+        long[] appendedWords = Arrays.copyOf(words, wordNumber(length + 1));
+        appendedWords[length / CODES_PER_WORD] |= (long) code << bitOffset(length);
+        return new PackedSequence(appendedWords, length + 1);
+    }
+
+    /**
+     * Replaces every code <i>c</i> with 3 - <i>c</i>. If the alphabet is ordered as A, C, G, T (or U) this is the
+     * complement of the nucleotide sequence.
+     *
+     * @return A new {@link PackedSequence} with the complement codes.
+     */
+    public PackedSequence complement() {
+        long[] complementWords = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            complementWords[i] = ~words[i];
+        }
+        clearUnusedBits(complementWords, length);
+        return new PackedSequence(complementWords, length);
+    }
+
+    /**
+     * Reverses the order of the codes.
+     *
+     * @return A new {@link PackedSequence} in reverse order.
+     */
+    public PackedSequence reverse() {
+        long[] reverseWords = new long[words.length];
+        for (int i = 0; i < length; i++) {
+            reverseWords[i / CODES_PER_WORD] |= (long) innerGet(length - 1 - i) << bitOffset(i);
+        }
+        return new PackedSequence(reverseWords, length);
+    }
+
+    /**
+     * Calculates the number of the different codes at the same positions. The calculation compares 32 codes at once.
+     *
+     * @param otherSequence The other sequence to compare with.
+     * @return The Hamming distance of the two sequences.
+     * @throws IllegalArgumentException If otherSequence is null.
+     * @throws IllegalArgumentException If the lengths of the two sequences are different.
+     */
+    public int hammingDistance(final PackedSequence otherSequence) {
+        checkNotNullArgument("Other sequence", otherSequence);
+        checkEqualNumberTo("Other sequence length", otherSequence.length, "length", length);
+        return innerHammingDistance(0, otherSequence, 0, length, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Calculates the number of the different codes between a part of this sequence and an equal length part of the
+     * other sequence. The parts need not start at word boundaries, the calculation still compares 32 codes at once
+     * without copying the parts.
+     *
+     * @param startPosition The first code position of the part of this sequence.
+     * @param otherSequence The other sequence to compare with.
+     * @param otherStartPosition The first code position of the part of the other sequence.
+     * @param partLength The length of the parts.
+     * @return The Hamming distance of the two parts.
+     * @throws IllegalArgumentException If otherSequence is null.
+     * @throws IllegalArgumentException If a start position or the part length is negative.
+     * @throws IllegalArgumentException If a part exceeds the length of its sequence.
+     */
+    public int hammingDistance(final int startPosition, final PackedSequence otherSequence,
+                               final int otherStartPosition, final int partLength) {
+        return hammingDistance(startPosition, otherSequence, otherStartPosition, partLength, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Calculates the number of the different codes between a part of this sequence and an equal length part of the
+     * other sequence, and stops as soon as the distance exceeds the threshold.
+     *
+     * @param startPosition The first code position of the part of this sequence.
+     * @param otherSequence The other sequence to compare with.
+     * @param otherStartPosition The first code position of the part of the other sequence.
+     * @param partLength The length of the parts.
+     * @param threshold The maximum interesting distance.
+     * @return The Hamming distance if it is at most the threshold, otherwise a number greater than the threshold.
+     * @throws IllegalArgumentException If otherSequence is null.
+     * @throws IllegalArgumentException If a start position, the part length or the threshold is negative.
+     * @throws IllegalArgumentException If a part exceeds the length of its sequence.
+     */
+    public int hammingDistance(final int startPosition, final PackedSequence otherSequence,
+                               final int otherStartPosition, final int partLength, final int threshold) {
+        checkNotNullArgument("Other sequence", otherSequence);
+        checkNotNegativeNumber("Start position", startPosition);
+        checkNotNegativeNumber("Other start position", otherStartPosition);
+        checkNotNegativeNumber("Part length", partLength);
+        checkNotNegativeNumber("Threshold", threshold);
+        checkSmallerOrEqualNumberTo("End position", startPosition + partLength, "length", length);
+        checkSmallerOrEqualNumberTo("Other end position", otherStartPosition + partLength, "other length",
+                otherSequence.length);
+        return innerHammingDistance(startPosition, otherSequence, otherStartPosition, partLength, threshold);
+    }
+
+    private int innerHammingDistance(final int startPosition, final PackedSequence otherSequence,
+                                     final int otherStartPosition, final int partLength, final int threshold) {
+        int distance = 0;
+        for (int i = 0; i < partLength && distance <= threshold; i += CODES_PER_WORD) {
+            long difference = wordAt(startPosition + i) ^ otherSequence.wordAt(otherStartPosition + i);
+            int remainingCodes = partLength - i;
+            if (remainingCodes < CODES_PER_WORD) {
+                difference &= (1L << (remainingCodes * BITS_PER_CODE)) - 1;
+            }
+            distance += Long.bitCount((difference | (difference >>> 1)) & LOW_BIT_MASK);
+        }
+        return distance;
+    }
+
+    /**
+     * Decodes the codes to letters with the given alphabet.
+     *
+     * @param alphabet The letters of the codes, the index of the letter is the code.
+     * @return The decoded sequence.
+     * @throws IllegalArgumentException If alphabet is null or does not contain exactly 4 letters.
+     */
+    public String decode(final char[] alphabet) {
+        validateAlphabet(alphabet);
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = alphabet[innerGet(i)];
+        }
+        return new String(letters);
+    }
+
+    /**
+     * Calculates the same hash code as the {@link String#hashCode()} of the decoded sequence without decoding it.
+     *
+     * @param alphabet The letters of the codes, the index of the letter is the code.
+     * @return The hash code of the decoded sequence.
+     * @throws IllegalArgumentException If alphabet is null or does not contain exactly 4 letters.
+     */
+    public int decodedHashCode(final char[] alphabet) {
+        return decodedHashCode(0, length, alphabet);
+    }
+
+    /**
+     * Calculates the same hash code as the {@link String#hashCode()} of the decoded part without decoding it. The
+     * start position is inclusive, the end position is exclusive.
+     *
+     * @param startPosition The first code position inclusive.
+     * @param endPosition The last code position exclusive.
+     * @param alphabet The letters of the codes, the index of the letter is the code.
+     * @return The hash code of the decoded part.
+     * @throws IllegalArgumentException If startPosition is negative.
+     * @throws IllegalArgumentException If endPosition is bigger than length.
+     * @throws IllegalArgumentException If startPosition is bigger than endPosition.
+     * @throws IllegalArgumentException If alphabet is null or does not contain exactly 4 letters.
+     */
+    public int decodedHashCode(final int startPosition, final int endPosition, final char[] alphabet) {
+        checkNotNegativeNumber("Start position", startPosition);
+        checkSmallerOrEqualNumberTo("End position", endPosition, "length", length);
+        checkSmallerOrEqualNumberTo("Start position", startPosition, "end position", endPosition);
+        validateAlphabet(alphabet);
+        int hash = 0;
+        for (int i = startPosition; i < endPosition; i++) {
+            hash = 31 * hash + alphabet[innerGet(i)];
+        }
+        return hash;
+    }
+
+    private static void validateAlphabet(final char[] alphabet) {
+        checkNotNullArgument("Alphabet", alphabet);
+        checkEqualNumberTo("Alphabet size", alphabet.length, ALPHABET_SIZE);
+    }
+
+    private static void clearUnusedBits(final long[] words, final int length) {
+        int usedBits = bitOffset(length);
+        if (usedBits != 0) {
+            words[words.length - 1] &= (1L << usedBits) - 1;
+        }
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) return true;
+        if (obj == null || !obj.getClass().equals(getClass())) return false;
+        PackedSequence rightHand = (PackedSequence) obj;
+        return length == rightHand.length && Arrays.equals(words, rightHand.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(words) + length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder codes = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            codes.append(innerGet(i));
+        }
+        return "PackedSequence{" + codes + "}";
+    }
+
+    /**
+     * Collects the codes of a {@link PackedSequence} with known length one by one. A {@link Builder} builds only one
+     * {@link PackedSequence}, and it is not thread safe.
+     */
+    public static final class Builder {
+        private final int length;
+        private long[] words;
+        private int size;
+
+        private Builder(final int length) {
+            this.length = length;
+            this.words = new long[wordNumber(length)];
+        }
+
+        /**
+         * Appends the next code.
+         *
+         * @param code The code (0 - 3) to append.
+         * @return This {@link Builder}.
+         * @throws IllegalArgumentException If code is not between 0 and 3.
+         * @throws IllegalStateException If the builder already contains <i>length</i> codes or it is already built.
+         */
+        public Builder append(final int code) {
+            checkState(words != null, "Packed sequence is already built");
+            checkArgument(0 <= code && code < ALPHABET_SIZE, "Code should be between 0 and %s", ALPHABET_SIZE - 1);
+            checkState(size < length, "Packed sequence should not contain more than %s codes", length);
+            words[size / CODES_PER_WORD] |= (long) code << bitOffset(size);
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the {@link PackedSequence} from the appended codes.
+         *
+         * @return A new {@link PackedSequence} about the appended codes.
+         * @throws IllegalStateException If the builder contains less than <i>length</i> codes or it is already built.
+         */
+        public PackedSequence build() {
+            checkState(words != null, "Packed sequence is already built");
+            checkState(size == length, "Packed sequence should contain %s codes instead of %s", length, size);
+            PackedSequence packedSequence = new PackedSequence(words, length);
+            words = null;
+            return packedSequence;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package hu.bioinformatics.biolaboratory.utils;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Unit tests for {@link ComputeContext}.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = ComputeContextTestDataProvider.class)
+public class ComputeContextTest {
+    private static final int SIZE = 1000;
+
+    @Test(dataProvider = ComputeContextTestDataProvider.INVALID_DEDICATED_POOL_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldDedicatedPoolThrowException(int parallelism) {
+        ComputeContext.dedicatedPool(parallelism);
+    }
+
+    @Test(dataProvider = ComputeContextTestDataProvider.INVALID_EXECUTOR_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldExecutorThrowException(Executor executor, int parallelism) {
+        ComputeContext.executor(executor, parallelism);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldWithParallelThresholdThrowException() {
+        ComputeContext.sequential().withParallelThreshold(-1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldSetDefaultThrowException() {
+        ComputeContext.setDefault(null);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldCallThrowException() {
+        ComputeContext.sequential().call(null);
+    }
+
+    @Test(dataProvider = ComputeContextTestDataProvider.COMPUTE_CONTEXT_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldMapReduceThrowExceptionIfSizeIsZero(ComputeContext computeContext) {
+        try (ComputeContext context = computeContext) {
+            context.mapReduce(0, 0, index -> index, Integer::sum);
+        }
+    }
+
+    @Test(dataProvider = ComputeContextTestDataProvider.COMPUTE_CONTEXT_DATA_PROVIDER_NAME)
+    public void shouldMapReduceInIndexOrder(ComputeContext computeContext) {
+        try (ComputeContext context = computeContext) {
+            String answer = context.mapReduce(SIZE, SIZE, Integer::toString, String::concat);
+            String controlAnswer = IntStream.range(0, SIZE).mapToObj(Integer::toString).collect(Collectors.joining());
+            assertThat(answer, is(equalTo(controlAnswer)));
+        }
+    }
+
+    @Test(dataProvider = ComputeContextTestDataProvider.COMPUTE_CONTEXT_DATA_PROVIDER_NAME)
+    public void shouldMapReturnInIndexOrder(ComputeContext computeContext) {
+        try (ComputeContext context = computeContext) {
+            List<Integer> answer = context.map(SIZE, SIZE, index -> index * index);
+            List<Integer> controlAnswer = IntStream.range(0, SIZE).mapToObj(index -> index * index)
+                    .collect(Collectors.toList());
+            assertThat(answer, is(equalTo(controlAnswer)));
+        }
+    }
+
+    @Test(dataProvider = ComputeContextTestDataProvider.COMPUTE_CONTEXT_DATA_PROVIDER_NAME)
+    public void shouldForEachVisitEveryIndexOnce(ComputeContext computeContext) {
+        try (ComputeContext context = computeContext) {
+            int[] visits = new int[SIZE];
+            context.forEach(SIZE, SIZE, index -> visits[index]++);
+            assertThat(IntStream.of(visits).allMatch(visit -> visit == 1), is(true));
+        }
+    }
+
+    @Test(dataProvider = ComputeContextTestDataProvider.COMPUTE_CONTEXT_DATA_PROVIDER_NAME)
+    public void shouldMapRunWithCurrentContext(ComputeContext computeContext) {
+        try (ComputeContext context = computeContext) {
+            List<ComputeContext> answer = context.call(() ->
+                    context.map(SIZE, SIZE, index -> ComputeContext.current()));
+            assertThat(answer.stream().allMatch(currentContext -> currentContext == context), is(true));
+        }
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldNestedMapReduceNotWaitForSameExecutor() {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            ComputeContext context = ComputeContext.executor(executorService, 2).withParallelThreshold(0);
+            int answer = context.mapReduce(4, 4,
+                    index -> ComputeContext.current().mapReduce(SIZE, SIZE, innerIndex -> 1, Integer::sum),
+                    Integer::sum);
+            assertThat(answer, is(equalTo(4 * SIZE)));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test(dataProvider = ComputeContextTestDataProvider.COMPUTE_CONTEXT_DATA_PROVIDER_NAME)
+    public void shouldSortRange(ComputeContext computeContext) {
+        try (ComputeContext context = computeContext) {
+            long[] values = new Random(42L).longs(100_000).toArray();
+            long[] controlValues = values.clone();
+            Arrays.sort(controlValues, 10, values.length - 10);
+            context.sort(values, 10, values.length - 10);
+            assertThat(values, is(equalTo(controlValues)));
+        }
+    }
+
+    @Test(dataProvider = ComputeContextTestDataProvider.COMPUTE_CONTEXT_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalStateException.class)
+    public void shouldMapReduceRethrowException(ComputeContext computeContext) {
+        try (ComputeContext context = computeContext) {
+            context.mapReduce(SIZE, SIZE, index -> {
+                if (index == SIZE / 2) throw new IllegalStateException();
+                return index;
+            }, Integer::sum);
+        }
+    }
+
+    @Test(dataProvider = ComputeContextTestDataProvider.IS_PARALLEL_DATA_PROVIDER_NAME)
+    public void shouldIsParallelReturn(ComputeContext computeContext, long work, boolean controlAnswer) {
+        assertThat(computeContext.isParallel(work), is(equalTo(controlAnswer)));
+    }
+
+    @Test(dataProvider = ComputeContextTestDataProvider.ESTIMATE_WORK_DATA_PROVIDER_NAME)
+    public void shouldEstimateWorkReturn(long[] factors, long controlAnswer) {
+        assertThat(ComputeContext.estimateWork(factors), is(equalTo(controlAnswer)));
+    }
+
+    public void shouldCallSetCurrentContext() {
+        ComputeContext outerContext = ComputeContext.sequential();
+        ComputeContext innerContext = ComputeContext.sequential();
+        ComputeContext answer = outerContext.call(() -> {
+            assertThat(ComputeContext.current(), is(sameInstance(outerContext)));
+            return innerContext.call(ComputeContext::current);
+        });
+        assertThat(answer, is(sameInstance(innerContext)));
+        assertThat(ComputeContext.current(), is(sameInstance(ComputeContext.getDefault())));
+    }
+
+    public void shouldSetDefaultCloseReplacedDedicatedPool() {
+        ComputeContext previousDefaultContext = ComputeContext.getDefault();
+        ComputeContext dedicatedContext = ComputeContext.dedicatedPool(2);
+        ComputeContext sharingContext = dedicatedContext.withParallelThreshold(0);
+        try {
+            ComputeContext.setDefault(dedicatedContext);
+            ComputeContext.setDefault(sharingContext);
+            assertThat(sharingContext.map(2, 0, index -> index), is(equalTo(Arrays.asList(0, 1))));
+            ComputeContext.setDefault(ComputeContext.commonPool());
+            assertThat(isShutDown(sharingContext), is(true));
+        } finally {
+            ComputeContext.setDefault(previousDefaultContext);
+        }
+    }
+
+    private static boolean isShutDown(final ComputeContext computeContext) {
+        try {
+            computeContext.sort(new Random(42L).longs(100_000).toArray(), 0, 100_000);
+            return false;
+        } catch (RejectedExecutionException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package hu.bioinformatics.biolaboratory.utils;
+
+import org.testng.annotations.DataProvider;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Provides test data for {@link ComputeContextTest}.
+ *
+ * @author Attila Radi
+ */
+public class ComputeContextTestDataProvider {
+
+    static final String INVALID_DEDICATED_POOL_DATA_PROVIDER_NAME = "invalidDedicatedPoolDataProvider";
+
+    @DataProvider(name = INVALID_DEDICATED_POOL_DATA_PROVIDER_NAME)
+    private Object[][] invalidDedicatedPoolDataProvider() {
+        return new Object[][] {
+                { 0 },
+                { -1 }
+        };
+    }
+
+    static final String INVALID_EXECUTOR_DATA_PROVIDER_NAME = "invalidExecutorDataProvider";
+
+    @DataProvider(name = INVALID_EXECUTOR_DATA_PROVIDER_NAME)
+    private Object[][] invalidExecutorDataProvider() {
+        Executor directExecutor = Runnable::run;
+        return new Object[][] {
+                { null, 2 },
+                { directExecutor, 0 },
+                { directExecutor, -1 }
+        };
+    }
+
+    static final String COMPUTE_CONTEXT_DATA_PROVIDER_NAME = "computeContextDataProvider";
+
+    @DataProvider(name = COMPUTE_CONTEXT_DATA_PROVIDER_NAME)
+    private Object[][] computeContextDataProvider() {
+        Executor directExecutor = Runnable::run;
+        Executor commonPoolExecutor = ForkJoinPool.commonPool()::execute;
+        return new Object[][] {
+                { ComputeContext.sequential() },
+                { ComputeContext.commonPool() },
+                { ComputeContext.commonPool().withParallelThreshold(0) },
+                { ComputeContext.dedicatedPool(1).withParallelThreshold(0) },
+                { ComputeContext.dedicatedPool(3).withParallelThreshold(0) },
+                { ComputeContext.executor(directExecutor, 2).withParallelThreshold(0) },
+                { ComputeContext.executor(commonPoolExecutor, 3).withParallelThreshold(0) },
+                { ComputeContext.executor(ForkJoinPool.commonPool(), 4).withParallelThreshold(0) }
+        };
+    }
+
+    static final String IS_PARALLEL_DATA_PROVIDER_NAME = "isParallelDataProvider";
+
+    @DataProvider(name = IS_PARALLEL_DATA_PROVIDER_NAME)
+    private Object[][] isParallelDataProvider() {
+        return new Object[][] {
+                { ComputeContext.sequential().withParallelThreshold(0), 1000L, false },
+                { ComputeContext.executor(Runnable::run, 2), ComputeContext.DEFAULT_PARALLEL_THRESHOLD - 1, false },
+                { ComputeContext.executor(Runnable::run, 2), ComputeContext.DEFAULT_PARALLEL_THRESHOLD, true },
+                { ComputeContext.executor(Runnable::run, 2).withParallelThreshold(10), 9L, false },
+                { ComputeContext.executor(Runnable::run, 2).withParallelThreshold(10), 10L, true }
+        };
+    }
+
+    static final String ESTIMATE_WORK_DATA_PROVIDER_NAME = "estimateWorkDataProvider";
+
+    @DataProvider(name = ESTIMATE_WORK_DATA_PROVIDER_NAME)
+    private Object[][] estimateWorkDataProvider() {
+        return new Object[][] {
+                { new long[] {}, 1L },
+                { new long[] { 3, 4, 5 }, 60L },
+                { new long[] { Long.MAX_VALUE, 0 }, 0L },
+                { new long[] { 1L << 40, 1L << 40 }, Long.MAX_VALUE },
+                { new long[] { Long.MAX_VALUE, 2, 3 }, Long.MAX_VALUE }
+        };
+    }
+}
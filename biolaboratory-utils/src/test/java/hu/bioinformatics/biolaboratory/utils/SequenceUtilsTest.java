@@ -1,7 +1,10 @@
 package hu.bioinformatics.biolaboratory.utils;
 
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.testng.Assert.fail;
@@ -37,4 +40,47 @@ public class SequenceUtilsTest {
         int comparisionValue = SequenceUtils.hammingDistanceMismatchComparator(sequence, otherSequence, mismatch);
         assertThat(comparisionValue, is(equalTo(controlComparisionValue)));
     }
-}
\ No newline at end of file
+
+    @Test(dataProvider = SequenceUtilsTestDataProvider.VALID_PACKED_HAMMING_DISTANCE_DATA_PROVIDER_NAME)
+    public void shouldPackedHammingDistanceReturnTheSameAsStringHammingDistance(String sequence, String otherSequence) {
+        long[] packedWords = pack(sequence).getWords();
+        long[] otherPackedWords = pack(otherSequence).getWords();
+        int controlHammingDistance = SequenceUtils.hammingDistance(sequence, otherSequence);
+        assertThat(SequenceUtils.hammingDistance(packedWords, otherPackedWords), is(equalTo(controlHammingDistance)));
+        for (int threshold = 0; threshold <= sequence.length(); threshold++) {
+            int hammingDistance = SequenceUtils.hammingDistance(packedWords, otherPackedWords, threshold);
+            if (controlHammingDistance <= threshold) {
+                assertThat(hammingDistance, is(equalTo(controlHammingDistance)));
+            } else {
+                assertThat(hammingDistance, is(greaterThan(threshold)));
+            }
+        }
+    }
+
+    @Test(dataProvider = SequenceUtilsTestDataProvider.INVALID_PACKED_HAMMING_DISTANCE_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldPackedHammingDistanceThrowException(long[] packedWords, long[] otherPackedWords, int threshold) {
+        SequenceUtils.hammingDistance(packedWords, otherPackedWords, threshold);
+    }
+
+    @Test(dataProvider = SequenceUtilsTestDataProvider.VALID_WINDOW_HAMMING_DISTANCES_DATA_PROVIDER_NAME)
+    public void shouldHammingDistancesReturnTheDistanceOfEveryWindow(String sequence, String pattern) {
+        int[] controlHammingDistances = new int[sequence.length() - pattern.length() + 1];
+        for (int i = 0; i < controlHammingDistances.length; i++) {
+            controlHammingDistances[i] = SequenceUtils.hammingDistance(sequence.substring(i, i + pattern.length()), pattern);
+        }
+        assertThat(SequenceUtils.hammingDistances(pack(sequence), pack(pattern)), is(equalTo(controlHammingDistances)));
+        assertThat(SequenceUtils.minimumHammingDistance(pack(sequence), pack(pattern)),
+                is(equalTo(Arrays.stream(controlHammingDistances).min().getAsInt())));
+    }
+
+    @Test(dataProvider = SequenceUtilsTestDataProvider.INVALID_WINDOW_HAMMING_DISTANCES_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldHammingDistancesThrowException(PackedSequence sequence, PackedSequence pattern) {
+        SequenceUtils.hammingDistances(sequence, pattern);
+    }
+
+    private static PackedSequence pack(final String sequence) {
+        return PackedSequence.pack(sequence, SequenceUtilsTestDataProvider.ALPHABET);
+    }
+}
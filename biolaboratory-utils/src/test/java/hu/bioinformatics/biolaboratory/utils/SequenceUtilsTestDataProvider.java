@@ -1,5 +1,6 @@
 package hu.bioinformatics.biolaboratory.utils;
 
+import hu.bioinformatics.biolaboratory.utils.datastructures.PackedSequence;
 import org.testng.annotations.DataProvider;
 
 import static hu.bioinformatics.biolaboratory.utils.SequenceUtils.EQUAL;
@@ -64,4 +65,65 @@ public class SequenceUtilsTestDataProvider {
                 { "ABCD", "BBCD", 2, SMALLER }
         };
     }
+
+    static final char[] ALPHABET = { 'A', 'C', 'G', 'T' };
+
+    private static final String LONG_SEQUENCE =
+            "CGGACTCGACAGATGTGAAGAACGACAATGTGAAGACTCGACACGACAGAGTGAAGAGAAGAGGAAACATTGTAA";
+    private static final String OTHER_LONG_SEQUENCE =
+            "CGTACTCGACAGATGTGAAGAACGACAATGTGAAGACTCGACACGACAGAGTGAAGAGAAGAGGAAACATTGTAC";
+
+    static final String VALID_PACKED_HAMMING_DISTANCE_DATA_PROVIDER_NAME = "validPackedHammingDistanceDataProvider";
+
+    @DataProvider(name = VALID_PACKED_HAMMING_DISTANCE_DATA_PROVIDER_NAME)
+    private Object[][] validPackedHammingDistanceDataProvider() {
+        return new Object[][] {
+                { "A", "A" },
+                { "A", "T" },
+                { "ACGT", "TGCA" },
+                { "GGGCCGTTGGT", "GGACCGTTGAC" },
+                { LONG_SEQUENCE, LONG_SEQUENCE },
+                { LONG_SEQUENCE, OTHER_LONG_SEQUENCE },
+                { LONG_SEQUENCE, new StringBuilder(LONG_SEQUENCE).reverse().toString() }
+        };
+    }
+
+    static final String INVALID_PACKED_HAMMING_DISTANCE_DATA_PROVIDER_NAME = "invalidPackedHammingDistanceDataProvider";
+
+    @DataProvider(name = INVALID_PACKED_HAMMING_DISTANCE_DATA_PROVIDER_NAME)
+    private Object[][] invalidPackedHammingDistanceDataProvider() {
+        return new Object[][] {
+                { null, new long[1], 0 },
+                { new long[1], null, 0 },
+                { new long[1], new long[2], 0 },
+                { new long[1], new long[1], -1 }
+        };
+    }
+
+    static final String VALID_WINDOW_HAMMING_DISTANCES_DATA_PROVIDER_NAME = "validWindowHammingDistancesDataProvider";
+
+    @DataProvider(name = VALID_WINDOW_HAMMING_DISTANCES_DATA_PROVIDER_NAME)
+    private Object[][] validWindowHammingDistancesDataProvider() {
+        return new Object[][] {
+                { "ACGT", "ACGT" },
+                { "ACGT", "T" },
+                { "GATATATGCATATACTT", "ATAT" },
+                { LONG_SEQUENCE, "GAAGA" },
+                { LONG_SEQUENCE, LONG_SEQUENCE.substring(5, 45) },
+                { LONG_SEQUENCE, OTHER_LONG_SEQUENCE.substring(1, 70) },
+                { LONG_SEQUENCE, OTHER_LONG_SEQUENCE }
+        };
+    }
+
+    static final String INVALID_WINDOW_HAMMING_DISTANCES_DATA_PROVIDER_NAME = "invalidWindowHammingDistancesDataProvider";
+
+    @DataProvider(name = INVALID_WINDOW_HAMMING_DISTANCES_DATA_PROVIDER_NAME)
+    private Object[][] invalidWindowHammingDistancesDataProvider() {
+        return new Object[][] {
+                { null, PackedSequence.pack("A", ALPHABET) },
+                { PackedSequence.pack("A", ALPHABET), null },
+                { PackedSequence.pack("A", ALPHABET), PackedSequence.pack("", ALPHABET) },
+                { PackedSequence.pack("A", ALPHABET), PackedSequence.pack("AC", ALPHABET) }
+        };
+    }
 }
@@ -0,0 +1,117 @@
+package hu.bioinformatics.biolaboratory.utils.datastructures;
+
+import com.google.common.collect.ImmutableSet;
+import hu.bioinformatics.biolaboratory.utils.datastructures.EnumCountableOccurrenceMapTestDataProvider.Base;
+import org.testng.annotations.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for {@link EnumCountableOccurrenceMap} class.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = EnumCountableOccurrenceMapTestDataProvider.class)
+public class EnumCountableOccurrenceMapTest {
+
+    @Test(dataProvider = EnumCountableOccurrenceMapTestDataProvider.INVALID_BUILD_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuildThrowException(Class<Base> keyType, int[] ordinalOccurrences) {
+        EnumCountableOccurrenceMap.build(keyType, ordinalOccurrences);
+    }
+
+    @Test
+    public void shouldBuildReturnZeroOccurrences() {
+        EnumCountableOccurrenceMap<Base> occurrenceMap = EnumCountableOccurrenceMap.build(Base.class);
+        assertThat(occurrenceMap, is(equalTo(EnumCountableOccurrenceMap.build(Base.class, new int[4]))));
+        assertThat(occurrenceMap.getElementSet(), is(equalTo(EnumSet.allOf(Base.class))));
+        assertThat(occurrenceMap.getElementsSize(), is(equalTo(4)));
+        assertThat(occurrenceMap.sumTotalOccurrence(), is(equalTo(0)));
+    }
+
+    @Test(dataProvider = EnumCountableOccurrenceMapTestDataProvider.OCCURRENCES_DATA_PROVIDER_NAME)
+    public void shouldQueriesReturnAsCountableOccurrenceMap(int[] ordinalOccurrences) {
+        EnumCountableOccurrenceMap<Base> occurrenceMap = EnumCountableOccurrenceMap.build(Base.class, ordinalOccurrences);
+        CountableOccurrenceMap<Base> controlOccurrenceMap = occurrenceMap.toCountable();
+        Set<Base> keySet = ImmutableSet.of(Base.C, Base.G);
+
+        for (Base key : Base.values()) {
+            assertThat(occurrenceMap.getOccurrence(key), is(equalTo(ordinalOccurrences[key.ordinal()])));
+            assertThat(occurrenceMap.getOccurrence(key), is(equalTo(controlOccurrenceMap.getOccurrence(key))));
+        }
+        assertThat(occurrenceMap.sumTotalOccurrence(), is(equalTo(controlOccurrenceMap.sumTotalOccurrence())));
+        assertThat(occurrenceMap.sumOccurrences(Base.A, Base.T, Base.A),
+                is(equalTo(controlOccurrenceMap.sumOccurrences(Base.A, Base.T, Base.A))));
+        assertThat(occurrenceMap.sumOccurrences(keySet), is(equalTo(controlOccurrenceMap.sumOccurrences(keySet))));
+        if (occurrenceMap.sumTotalOccurrence() > 0) {
+            assertThat(occurrenceMap.occurrenceRatio(Base.G), is(equalTo(controlOccurrenceMap.occurrenceRatio(Base.G))));
+            assertThat(occurrenceMap.accumulatedOccurrenceRatio(keySet),
+                    is(closeTo(controlOccurrenceMap.accumulatedOccurrenceRatio(keySet), 1e-12)));
+            assertThat(occurrenceMap.allOccurrenceRatios(), is(equalTo(controlOccurrenceMap.allOccurrenceRatios())));
+            assertThat(occurrenceMap.occurrenceRatios(Base.A, Base.C),
+                    is(equalTo(controlOccurrenceMap.occurrenceRatios(Base.A, Base.C))));
+        }
+        assertThat(occurrenceMap.maximumOccurrenceValue(), is(equalTo(controlOccurrenceMap.maximumOccurrenceValue())));
+        assertThat(occurrenceMap.minimumOccurrenceValue(), is(equalTo(controlOccurrenceMap.minimumOccurrenceValue())));
+        assertThat(occurrenceMap.filterMostFrequentOccurrences(),
+                is(equalTo(controlOccurrenceMap.filterMostFrequentOccurrences())));
+        assertThat(occurrenceMap.filterLessFrequentOccurrences(),
+                is(equalTo(controlOccurrenceMap.filterLessFrequentOccurrences())));
+        for (int threshold = 0; threshold <= 8; threshold++) {
+            assertThat(occurrenceMap.filterEqualsOccurrences(threshold),
+                    is(equalTo(controlOccurrenceMap.filterEqualsOccurrences(threshold))));
+            assertThat(occurrenceMap.filterGreaterOccurrences(threshold),
+                    is(equalTo(controlOccurrenceMap.filterGreaterOccurrences(threshold))));
+            assertThat(occurrenceMap.filterGreaterOrEqualsOccurrences(threshold),
+                    is(equalTo(controlOccurrenceMap.filterGreaterOrEqualsOccurrences(threshold))));
+            assertThat(occurrenceMap.filterSmallerOccurrences(threshold),
+                    is(equalTo(controlOccurrenceMap.filterSmallerOccurrences(threshold))));
+            assertThat(occurrenceMap.filterSmallerOrEqualsOccurrences(threshold),
+                    is(equalTo(controlOccurrenceMap.filterSmallerOrEqualsOccurrences(threshold))));
+        }
+    }
+
+    @Test(dataProvider = EnumCountableOccurrenceMapTestDataProvider.OCCURRENCES_DATA_PROVIDER_NAME)
+    public void shouldModificationsReturn(int[] ordinalOccurrences) {
+        EnumCountableOccurrenceMap<Base> occurrenceMap = EnumCountableOccurrenceMap.build(Base.class, ordinalOccurrences);
+        EnumCountableOccurrenceMap<Base> occurrenceMapCopy = occurrenceMap.copy();
+        assertThat(occurrenceMapCopy, allOf(is(not(sameInstance(occurrenceMap))), is(equalTo(occurrenceMap))));
+        assertThat(occurrenceMapCopy.hashCode(), is(equalTo(occurrenceMap.hashCode())));
+
+        assertThat(occurrenceMap.increase(Base.C), is(equalTo(ordinalOccurrences[Base.C.ordinal()] + 1)));
+        assertThat(occurrenceMap.add(Base.T, 3), is(equalTo(ordinalOccurrences[Base.T.ordinal()] + 3)));
+        assertThat(occurrenceMap.decrease(Base.C), is(equalTo(ordinalOccurrences[Base.C.ordinal()])));
+        assertThat(occurrenceMap.subtract(Base.T, 3), is(equalTo(ordinalOccurrences[Base.T.ordinal()])));
+        assertThat(occurrenceMap, is(equalTo(occurrenceMapCopy)));
+        occurrenceMap.increase(Base.A);
+        assertThat(occurrenceMap, is(not(equalTo(occurrenceMapCopy))));
+    }
+
+    @Test(dataProvider = EnumCountableOccurrenceMapTestDataProvider.INVALID_SUBTRACT_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldSubtractThrowException(int[] ordinalOccurrences, Base key, int number) {
+        EnumCountableOccurrenceMap.build(Base.class, ordinalOccurrences).subtract(key, number);
+    }
+
+    @Test(dataProvider = EnumCountableOccurrenceMapTestDataProvider.INVALID_THRESHOLD_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldFilterGreaterOrEqualsOccurrencesThrowException(int threshold) {
+        EnumCountableOccurrenceMap.build(Base.class).filterGreaterOrEqualsOccurrences(threshold);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldSumOccurrencesThrowExceptionForNullKey() {
+        EnumCountableOccurrenceMap.build(Base.class).sumOccurrences(Base.A, null);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void shouldGetOccurrenceThrowExceptionForOtherEnumKey() {
+        EnumCountableOccurrenceMap rawOccurrenceMap = EnumCountableOccurrenceMap.build(Base.class);
+        rawOccurrenceMap.getOccurrence(Thread.State.NEW);
+    }
+}
@@ -0,0 +1,64 @@
+package hu.bioinformatics.biolaboratory.utils.datastructures;
+
+import org.testng.annotations.DataProvider;
+
+/**
+ * Test data provider for {@link EnumCountableOccurrenceMapTest} test class.
+ *
+ * @author Attila Radi
+ */
+public class EnumCountableOccurrenceMapTestDataProvider {
+
+    /**
+     * Enum keys for the tests.
+     */
+    enum Base { A, C, G, T }
+
+    static final String INVALID_BUILD_DATA_PROVIDER_NAME = "invalidBuildDataProvider";
+
+    @DataProvider(name = INVALID_BUILD_DATA_PROVIDER_NAME)
+    private Object[][] invalidBuildDataProvider() {
+        return new Object[][] {
+                { null, new int[] { 0, 0, 0, 0 } },
+                { Base.class, null },
+                { Base.class, new int[] { 1, 2, 3 } },
+                { Base.class, new int[] { 1, 2, 3, 4, 5 } },
+                { Base.class, new int[] { 1, -2, 3, 4 } }
+        };
+    }
+
+    static final String OCCURRENCES_DATA_PROVIDER_NAME = "occurrencesDataProvider";
+
+    @DataProvider(name = OCCURRENCES_DATA_PROVIDER_NAME)
+    private Object[][] occurrencesDataProvider() {
+        return new Object[][] {
+                { new int[] { 0, 0, 0, 0 } },
+                { new int[] { 1, 0, 0, 0 } },
+                { new int[] { 1, 2, 3, 4 } },
+                { new int[] { 7, 7, 2, 7 } },
+                { new int[] { 5, 0, 5, 3 } }
+        };
+    }
+
+    static final String INVALID_SUBTRACT_DATA_PROVIDER_NAME = "invalidSubtractDataProvider";
+
+    @DataProvider(name = INVALID_SUBTRACT_DATA_PROVIDER_NAME)
+    private Object[][] invalidSubtractDataProvider() {
+        return new Object[][] {
+                { new int[] { 1, 2, 3, 4 }, null, 1 },
+                { new int[] { 1, 2, 3, 4 }, Base.A, -1 },
+                { new int[] { 0, 2, 3, 4 }, Base.A, 1 },
+                { new int[] { 1, 2, 3, 4 }, Base.C, 3 }
+        };
+    }
+
+    static final String INVALID_THRESHOLD_DATA_PROVIDER_NAME = "invalidThresholdDataProvider";
+
+    @DataProvider(name = INVALID_THRESHOLD_DATA_PROVIDER_NAME)
+    private Object[][] invalidThresholdDataProvider() {
+        return new Object[][] {
+                { -1 },
+                { Integer.MIN_VALUE }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package hu.bioinformatics.biolaboratory.utils.datastructures;
+
+import org.testng.annotations.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for {@link LongOccurrenceMap} class.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = LongOccurrenceMapTestDataProvider.class)
+public class LongOccurrenceMapTest {
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuildThrowExceptionWhenExpectedSizeIsNegative() {
+        LongOccurrenceMap.build(-1);
+    }
+
+    @Test(dataProvider = LongOccurrenceMapTestDataProvider.VALID_OCCURRENCE_DATA_PROVIDER_NAME)
+    public void shouldIncreaseCountOccurrences(long[] keys, long key, int controlOccurrence) {
+        LongOccurrenceMap occurrenceMap = createOccurrenceMap(keys);
+        assertThat(occurrenceMap.getOccurrence(key), is(equalTo(controlOccurrence)));
+    }
+
+    @Test(dataProvider = LongOccurrenceMapTestDataProvider.VALID_SIZE_DATA_PROVIDER_NAME)
+    public void shouldSizeReturn(long[] keys, int controlSize) {
+        assertThat(createOccurrenceMap(keys).size(), is(equalTo(controlSize)));
+    }
+
+    @Test(dataProvider = LongOccurrenceMapTestDataProvider.INVALID_THRESHOLD_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldFilterGreaterOrEqualsOccurrencesThrowException(int threshold) {
+        LongOccurrenceMap.build().filterGreaterOrEqualsOccurrences(threshold);
+    }
+
+    @Test(dataProvider = LongOccurrenceMapTestDataProvider.VALID_FILTER_GREATER_OR_EQUALS_OCCURRENCES_DATA_PROVIDER_NAME)
+    public void shouldFilterGreaterOrEqualsOccurrencesReturn(long[] keys, int threshold, long[] controlKeys) {
+        assertThat(createOccurrenceMap(keys).filterGreaterOrEqualsOccurrences(threshold), is(equalTo(controlKeys)));
+    }
+
+    @Test(dataProvider = LongOccurrenceMapTestDataProvider.VALID_FILTER_MOST_FREQUENT_OCCURRENCES_DATA_PROVIDER_NAME)
+    public void shouldFilterMostFrequentOccurrencesReturn(long[] keys, long[] controlKeys) {
+        assertThat(createOccurrenceMap(keys).filterMostFrequentOccurrences(), is(equalTo(controlKeys)));
+    }
+
+    public void shouldResizeKeepOccurrences() {
+        LongOccurrenceMap occurrenceMap = LongOccurrenceMap.build();
+        for (long key = 0; key < 10000; key++) {
+            occurrenceMap.increase(key * 31);
+            occurrenceMap.increase(key * 31);
+        }
+        assertThat(occurrenceMap.size(), is(equalTo(10000)));
+        assertThat(occurrenceMap.getOccurrence(9999 * 31), is(equalTo(2)));
+        assertThat(occurrenceMap.getOccurrence(1), is(equalTo(0)));
+    }
+
+    public void shouldGrowUntilMaximumCapacity() {
+        LongOccurrenceMap occurrenceMap = new LongOccurrenceMap(16, 64);
+        for (long key = 0; key < 32; key++) {
+            occurrenceMap.increase(key * 31);
+        }
+        occurrenceMap.increase(0);
+        assertThat(occurrenceMap.size(), is(equalTo(32)));
+        assertThat(occurrenceMap.getOccurrence(0), is(equalTo(2)));
+        assertThat(occurrenceMap.getOccurrence(1), is(equalTo(0)));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void shouldIncreaseThrowExceptionAboveMaximumCapacity() {
+        LongOccurrenceMap occurrenceMap = new LongOccurrenceMap(16, 64);
+        for (long key = 0; key <= 32; key++) {
+            occurrenceMap.increase(key * 31);
+        }
+    }
+
+    private static LongOccurrenceMap createOccurrenceMap(final long[] keys) {
+        LongOccurrenceMap occurrenceMap = LongOccurrenceMap.build();
+        for (long key : keys) {
+            occurrenceMap.increase(key);
+        }
+        return occurrenceMap;
+    }
+}
@@ -0,0 +1,72 @@
+package hu.bioinformatics.biolaboratory.utils.datastructures;
+
+import org.testng.annotations.DataProvider;
+
+/**
+ * Test data provider for {@link LongOccurrenceMapTest} test class.
+ *
+ * @author Attila Radi
+ */
+public class LongOccurrenceMapTestDataProvider {
+
+    private static final long[] KEYS = { 3, -1, 3, Long.MAX_VALUE, 0, 3, -1, Long.MIN_VALUE };
+
+    static final String VALID_OCCURRENCE_DATA_PROVIDER_NAME = "validOccurrenceDataProvider";
+
+    @DataProvider(name = VALID_OCCURRENCE_DATA_PROVIDER_NAME)
+    private Object[][] validOccurrenceDataProvider() {
+        return new Object[][] {
+                { new long[] {}, 0L, 0 },
+                { KEYS, 3L, 3 },
+                { KEYS, -1L, 2 },
+                { KEYS, 0L, 1 },
+                { KEYS, Long.MAX_VALUE, 1 },
+                { KEYS, Long.MIN_VALUE, 1 },
+                { KEYS, 5L, 0 }
+        };
+    }
+
+    static final String VALID_SIZE_DATA_PROVIDER_NAME = "validSizeDataProvider";
+
+    @DataProvider(name = VALID_SIZE_DATA_PROVIDER_NAME)
+    private Object[][] validSizeDataProvider() {
+        return new Object[][] {
+                { new long[] {}, 0 },
+                { KEYS, 5 }
+        };
+    }
+
+    static final String INVALID_THRESHOLD_DATA_PROVIDER_NAME = "invalidThresholdDataProvider";
+
+    @DataProvider(name = INVALID_THRESHOLD_DATA_PROVIDER_NAME)
+    private Object[][] invalidThresholdDataProvider() {
+        return new Object[][] {
+                { 0 },
+                { -1 }
+        };
+    }
+
+    static final String VALID_FILTER_GREATER_OR_EQUALS_OCCURRENCES_DATA_PROVIDER_NAME = "validFilterGreaterOrEqualsOccurrencesDataProvider";
+
+    @DataProvider(name = VALID_FILTER_GREATER_OR_EQUALS_OCCURRENCES_DATA_PROVIDER_NAME)
+    private Object[][] validFilterGreaterOrEqualsOccurrencesDataProvider() {
+        return new Object[][] {
+                { new long[] {}, 1, new long[] {} },
+                { KEYS, 1, new long[] { Long.MIN_VALUE, -1, 0, 3, Long.MAX_VALUE } },
+                { KEYS, 2, new long[] { -1, 3 } },
+                { KEYS, 3, new long[] { 3 } },
+                { KEYS, 4, new long[] {} }
+        };
+    }
+
+    static final String VALID_FILTER_MOST_FREQUENT_OCCURRENCES_DATA_PROVIDER_NAME = "validFilterMostFrequentOccurrencesDataProvider";
+
+    @DataProvider(name = VALID_FILTER_MOST_FREQUENT_OCCURRENCES_DATA_PROVIDER_NAME)
+    private Object[][] validFilterMostFrequentOccurrencesDataProvider() {
+        return new Object[][] {
+                { new long[] {}, new long[] {} },
+                { KEYS, new long[] { 3 } },
+                { new long[] { 1, 2 }, new long[] { 1, 2 } }
+        };
+    }
+}
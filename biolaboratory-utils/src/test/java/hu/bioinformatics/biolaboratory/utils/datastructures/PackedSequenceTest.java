@@ -0,0 +1,251 @@
+package hu.bioinformatics.biolaboratory.utils.datastructures;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for {@link PackedSequence} class.
+ *
+ * @author Attila Radi
+ */
+@Test(dataProviderClass = PackedSequenceTestDataProvider.class)
+public class PackedSequenceTest {
+
+    private static final char[] ALPHABET = PackedSequenceTestDataProvider.ALPHABET;
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.INVALID_PACK_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldPackThrowException(String sequence, char[] alphabet) {
+        PackedSequence.pack(sequence, alphabet);
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_SEQUENCE_DATA_PROVIDER_NAME)
+    public void shouldPackAndDecodeReturnTheSameSequence(String sequence) {
+        PackedSequence packedSequence = PackedSequence.pack(sequence, ALPHABET);
+        assertThat(packedSequence.length(), is(equalTo(sequence.length())));
+        assertThat(packedSequence.decode(ALPHABET), is(equalTo(sequence)));
+        assertThat(packedSequence.decodedHashCode(ALPHABET), is(equalTo(sequence.hashCode())));
+        for (int i = 0; i < sequence.length(); i++) {
+            assertThat(ALPHABET[packedSequence.get(i)], is(equalTo(sequence.charAt(i))));
+        }
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_SEQUENCE_DATA_PROVIDER_NAME)
+    public void shouldPackCodesReturnTheSameSequence(String sequence) {
+        PackedSequence packedSequence = PackedSequence.pack(sequence.length(),
+                index -> new String(ALPHABET).indexOf(sequence.charAt(index)));
+        assertThat(packedSequence, is(equalTo(PackedSequence.pack(sequence, ALPHABET))));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_SEQUENCE_DATA_PROVIDER_NAME)
+    public void shouldBuilderReturnTheSameSequence(String sequence) {
+        PackedSequence packedSequence = PackedSequence.pack(sequence, ALPHABET);
+        PackedSequence.Builder builder = PackedSequence.builder(sequence.length());
+        for (int i = 0; i < sequence.length(); i++) {
+            builder.append(packedSequence.get(i));
+        }
+        assertThat(builder.build(), is(equalTo(packedSequence)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuilderThrowExceptionIfLengthIsNegative() {
+        PackedSequence.builder(-1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldBuilderAppendThrowExceptionIfCodeIsInvalid() {
+        PackedSequence.builder(1).append(PackedSequence.ALPHABET_SIZE);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void shouldBuilderAppendThrowExceptionIfBuilderIsFull() {
+        PackedSequence.builder(1).append(0).append(0);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void shouldBuilderBuildThrowExceptionIfBuilderIsNotFull() {
+        PackedSequence.builder(2).append(0).build();
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void shouldBuilderBuildThrowExceptionIfAlreadyBuilt() {
+        PackedSequence.Builder builder = PackedSequence.builder(1).append(0);
+        builder.build();
+        builder.build();
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.INVALID_FROM_WORDS_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldFromWordsThrowException(long[] words, int length) {
+        PackedSequence.fromWords(words, length);
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_SEQUENCE_DATA_PROVIDER_NAME)
+    public void shouldFromWordsReturnTheSameSequence(String sequence) {
+        PackedSequence packedSequence = PackedSequence.pack(sequence, ALPHABET);
+        long[] words = packedSequence.getWords();
+        assertThat(PackedSequence.fromWords(words, sequence.length()), is(equalTo(packedSequence)));
+        assertThat(PackedSequence.fromWords(Arrays.copyOf(words, words.length + 1), sequence.length()),
+                is(equalTo(packedSequence)));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.INVALID_SUB_SEQUENCE_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldSubSequenceThrowException(String sequence, int startPosition, int endPosition) {
+        PackedSequence.pack(sequence, ALPHABET).subSequence(startPosition, endPosition);
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_SUB_SEQUENCE_DATA_PROVIDER_NAME)
+    public void shouldSubSequenceReturn(String sequence, int startPosition, int endPosition) {
+        PackedSequence subSequence = PackedSequence.pack(sequence, ALPHABET).subSequence(startPosition, endPosition);
+        assertThat(subSequence, is(equalTo(PackedSequence.pack(sequence.substring(startPosition, endPosition), ALPHABET))));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_APPEND_DATA_PROVIDER_NAME)
+    public void shouldAppendReturn(String sequence, String otherSequence) {
+        PackedSequence appendedSequence = PackedSequence.pack(sequence, ALPHABET)
+                .append(PackedSequence.pack(otherSequence, ALPHABET));
+        assertThat(appendedSequence, is(equalTo(PackedSequence.pack(sequence + otherSequence, ALPHABET))));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_SEQUENCE_DATA_PROVIDER_NAME)
+    public void shouldAppendCodeReturn(String sequence) {
+        PackedSequence appendedSequence = PackedSequence.pack(sequence, ALPHABET).append(2);
+        assertThat(appendedSequence.decode(ALPHABET), is(equalTo(sequence + ALPHABET[2])));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_COMPLEMENT_DATA_PROVIDER_NAME)
+    public void shouldComplementReturn(String sequence, String controlComplement) {
+        PackedSequence complement = PackedSequence.pack(sequence, ALPHABET).complement();
+        assertThat(complement, is(equalTo(PackedSequence.pack(controlComplement, ALPHABET))));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_SEQUENCE_DATA_PROVIDER_NAME)
+    public void shouldCountCodesReturn(String sequence) {
+        int[] controlCounts = new int[ALPHABET.length];
+        for (int i = 0; i < sequence.length(); i++) {
+            controlCounts[new String(ALPHABET).indexOf(sequence.charAt(i))]++;
+        }
+        assertThat(PackedSequence.pack(sequence, ALPHABET).countCodes(), is(equalTo(controlCounts)));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_SEQUENCE_DATA_PROVIDER_NAME)
+    public void shouldReverseReturn(String sequence) {
+        PackedSequence reverse = PackedSequence.pack(sequence, ALPHABET).reverse();
+        assertThat(reverse.decode(ALPHABET), is(equalTo(new StringBuilder(sequence).reverse().toString())));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.INVALID_HAMMING_DISTANCE_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldHammingDistanceThrowException(String sequence, String otherSequence) {
+        PackedSequence.pack(sequence, ALPHABET).hammingDistance(
+                otherSequence == null ? null : PackedSequence.pack(otherSequence, ALPHABET));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_HAMMING_DISTANCE_DATA_PROVIDER_NAME)
+    public void shouldHammingDistanceReturn(String sequence, String otherSequence, int controlHammingDistance) {
+        int hammingDistance = PackedSequence.pack(sequence, ALPHABET)
+                .hammingDistance(PackedSequence.pack(otherSequence, ALPHABET));
+        assertThat(hammingDistance, is(equalTo(controlHammingDistance)));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.INVALID_PART_HAMMING_DISTANCE_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldPartHammingDistanceThrowException(String sequence, int startPosition, String otherSequence,
+                                                        int otherStartPosition, int partLength) {
+        PackedSequence.pack(sequence, ALPHABET).hammingDistance(startPosition,
+                otherSequence == null ? null : PackedSequence.pack(otherSequence, ALPHABET), otherStartPosition,
+                partLength);
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_PART_HAMMING_DISTANCE_DATA_PROVIDER_NAME)
+    public void shouldPartHammingDistanceReturn(String sequence, int startPosition, String otherSequence,
+                                                int otherStartPosition, int partLength) {
+        int controlHammingDistance = 0;
+        for (int i = 0; i < partLength; i++) {
+            if (sequence.charAt(startPosition + i) != otherSequence.charAt(otherStartPosition + i)) {
+                controlHammingDistance++;
+            }
+        }
+        int hammingDistance = PackedSequence.pack(sequence, ALPHABET).hammingDistance(startPosition,
+                PackedSequence.pack(otherSequence, ALPHABET), otherStartPosition, partLength);
+        assertThat(hammingDistance, is(equalTo(controlHammingDistance)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldPartHammingDistanceThrowExceptionIfThresholdIsNegative() {
+        PackedSequence sequence = PackedSequence.pack("ACGT", ALPHABET);
+        sequence.hammingDistance(0, sequence, 0, 4, -1);
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_PART_HAMMING_DISTANCE_DATA_PROVIDER_NAME)
+    public void shouldPartHammingDistanceStopAboveThreshold(String sequence, int startPosition, String otherSequence,
+                                                            int otherStartPosition, int partLength) {
+        PackedSequence packedSequence = PackedSequence.pack(sequence, ALPHABET);
+        PackedSequence otherPackedSequence = PackedSequence.pack(otherSequence, ALPHABET);
+        int controlHammingDistance = packedSequence.hammingDistance(startPosition, otherPackedSequence,
+                otherStartPosition, partLength);
+        assertThat(packedSequence.hammingDistance(startPosition, otherPackedSequence, otherStartPosition, partLength,
+                controlHammingDistance), is(equalTo(controlHammingDistance)));
+        if (controlHammingDistance > 0) {
+            assertThat(packedSequence.hammingDistance(startPosition, otherPackedSequence, otherStartPosition,
+                    partLength, controlHammingDistance - 1) > controlHammingDistance - 1, is(true));
+        }
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_PART_HASH_CODE_DATA_PROVIDER_NAME)
+    public void shouldPartDecodedHashCodeReturn(String sequence, int startPosition, int endPosition) {
+        int hashCode = PackedSequence.pack(sequence, ALPHABET).decodedHashCode(startPosition, endPosition, ALPHABET);
+        assertThat(hashCode, is(equalTo(sequence.substring(startPosition, endPosition).hashCode())));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.INVALID_GET_CODE_DATA_PROVIDER_NAME,
+            expectedExceptions = IllegalArgumentException.class)
+    public void shouldGetCodeThrowException(String sequence, int startPosition, int k) {
+        PackedSequence.pack(sequence, ALPHABET).getCode(startPosition, k);
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_GET_CODE_DATA_PROVIDER_NAME)
+    public void shouldGetCodeReturn(String sequence, int startPosition, int k, long controlCode) {
+        long code = PackedSequence.pack(sequence, ALPHABET).getCode(startPosition, k);
+        assertThat(code, is(equalTo(controlCode)));
+        assertThat(PackedSequence.packCode(code, k).decode(ALPHABET),
+                is(equalTo(sequence.substring(startPosition, startPosition + k))));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_FOR_EACH_CODE_DATA_PROVIDER_NAME)
+    public void shouldForEachCodeGiveTheCodesOfAllWindows(String sequence, int k) {
+        PackedSequence packedSequence = PackedSequence.pack(sequence, ALPHABET);
+        List<Long> codes = new ArrayList<>();
+        packedSequence.forEachCode(k, codes::add);
+        assertThat(codes, hasSize(Math.max(sequence.length() - k + 1, 0)));
+        for (int i = 0; i < codes.size(); i++) {
+            assertThat(codes.get(i), is(equalTo(packedSequence.getCode(i, k))));
+        }
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_NEIGHBORHOOD_SIZE_DATA_PROVIDER_NAME)
+    public void shouldNeighborhoodSizeReturn(int k, int d, long controlSize) {
+        assertThat(PackedSequence.neighborhoodSize(k, d), is(equalTo(controlSize)));
+    }
+
+    @Test(dataProvider = PackedSequenceTestDataProvider.VALID_FOR_EACH_NEIGHBOR_DATA_PROVIDER_NAME)
+    public void shouldForEachNeighborVisitEveryNeighborOnce(String pattern, int d) {
+        int k = pattern.length();
+        PackedSequence center = PackedSequence.pack(pattern, ALPHABET);
+        List<Long> codes = new ArrayList<>();
+        PackedSequence.forEachNeighbor(center.getCode(0, k), k, d, codes::add);
+        assertThat((long) codes.size(), is(equalTo(PackedSequence.neighborhoodSize(k, d))));
+        assertThat(new HashSet<>(codes), hasSize(codes.size()));
+        for (long code : codes) {
+            assertThat(PackedSequence.packCode(code, k).hammingDistance(center) <= d, is(true));
+        }
+    }
+}
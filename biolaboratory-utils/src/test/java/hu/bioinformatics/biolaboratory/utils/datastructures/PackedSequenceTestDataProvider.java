@@ -0,0 +1,241 @@
+package hu.bioinformatics.biolaboratory.utils.datastructures;
+
+import org.testng.annotations.DataProvider;
+
+/**
+ * Test data provider for {@link PackedSequenceTest} test class.
+ *
+ * @author Attila Radi
+ */
+public class PackedSequenceTestDataProvider {
+
+    static final char[] ALPHABET = { 'A', 'C', 'G', 'T' };
+
+    private static final String LONG_SEQUENCE = "ACGTTGCAACGTTGCAACGTTGCAACGTTGCAGGGCCCAAATTTACGTAGCTAGCTAGGCTAGCTAGCTACG";
+
+    static final String INVALID_PACK_DATA_PROVIDER_NAME = "invalidPackDataProvider";
+
+    @DataProvider(name = INVALID_PACK_DATA_PROVIDER_NAME)
+    private Object[][] invalidPackDataProvider() {
+        return new Object[][] {
+                { null, ALPHABET },
+                { "ACGT", null },
+                { "ACGT", new char[] { 'A', 'C', 'G' } },
+                { "ACGU", ALPHABET },
+                { "acgt", ALPHABET },
+                { "AC\u0100T", ALPHABET }
+        };
+    }
+
+    static final String INVALID_FROM_WORDS_DATA_PROVIDER_NAME = "invalidFromWordsDataProvider";
+
+    @DataProvider(name = INVALID_FROM_WORDS_DATA_PROVIDER_NAME)
+    private Object[][] invalidFromWordsDataProvider() {
+        return new Object[][] {
+                { null, 0 },
+                { new long[1], -1 },
+                { new long[1], 33 },
+                { new long[] { 0b1100L }, 1 },
+                { new long[] { 0L, 1L }, 32 }
+        };
+    }
+
+    static final String VALID_SEQUENCE_DATA_PROVIDER_NAME = "validSequenceDataProvider";
+
+    @DataProvider(name = VALID_SEQUENCE_DATA_PROVIDER_NAME)
+    private Object[][] validSequenceDataProvider() {
+        return new Object[][] {
+                { "" },
+                { "A" },
+                { "TTTT" },
+                { "ACGTACGTACGTACGTACGTACGTACGTACGT" },
+                { LONG_SEQUENCE }
+        };
+    }
+
+    static final String INVALID_SUB_SEQUENCE_DATA_PROVIDER_NAME = "invalidSubSequenceDataProvider";
+
+    @DataProvider(name = INVALID_SUB_SEQUENCE_DATA_PROVIDER_NAME)
+    private Object[][] invalidSubSequenceDataProvider() {
+        return new Object[][] {
+                { "ACGT", -1, 2 },
+                { "ACGT", 0, 5 },
+                { "ACGT", 3, 2 }
+        };
+    }
+
+    static final String VALID_SUB_SEQUENCE_DATA_PROVIDER_NAME = "validSubSequenceDataProvider";
+
+    @DataProvider(name = VALID_SUB_SEQUENCE_DATA_PROVIDER_NAME)
+    private Object[][] validSubSequenceDataProvider() {
+        return new Object[][] {
+                { "ACGT", 0, 0 },
+                { "ACGT", 0, 4 },
+                { "ACGT", 1, 3 },
+                { LONG_SEQUENCE, 0, 32 },
+                { LONG_SEQUENCE, 5, 37 },
+                { LONG_SEQUENCE, 31, 70 },
+                { LONG_SEQUENCE, 33, LONG_SEQUENCE.length() }
+        };
+    }
+
+    static final String VALID_APPEND_DATA_PROVIDER_NAME = "validAppendDataProvider";
+
+    @DataProvider(name = VALID_APPEND_DATA_PROVIDER_NAME)
+    private Object[][] validAppendDataProvider() {
+        return new Object[][] {
+                { "", "" },
+                { "ACGT", "" },
+                { "", "ACGT" },
+                { "ACG", "TTGCA" },
+                { LONG_SEQUENCE.substring(0, 31), LONG_SEQUENCE },
+                { LONG_SEQUENCE, LONG_SEQUENCE }
+        };
+    }
+
+    static final String VALID_COMPLEMENT_DATA_PROVIDER_NAME = "validComplementDataProvider";
+
+    @DataProvider(name = VALID_COMPLEMENT_DATA_PROVIDER_NAME)
+    private Object[][] validComplementDataProvider() {
+        return new Object[][] {
+                { "", "" },
+                { "ACGT", "TGCA" },
+                { "AAAAC", "TTTTG" }
+        };
+    }
+
+    static final String INVALID_HAMMING_DISTANCE_DATA_PROVIDER_NAME = "invalidHammingDistanceDataProvider";
+
+    @DataProvider(name = INVALID_HAMMING_DISTANCE_DATA_PROVIDER_NAME)
+    private Object[][] invalidHammingDistanceDataProvider() {
+        return new Object[][] {
+                { "ACGT", null },
+                { "ACG", "ACGT" },
+                { "ACGT", "ACG" }
+        };
+    }
+
+    static final String VALID_HAMMING_DISTANCE_DATA_PROVIDER_NAME = "validHammingDistanceDataProvider";
+
+    @DataProvider(name = VALID_HAMMING_DISTANCE_DATA_PROVIDER_NAME)
+    private Object[][] validHammingDistanceDataProvider() {
+        return new Object[][] {
+                { "", "", 0 },
+                { "ACGT", "ACGT", 0 },
+                { "ACGT", "ACGA", 1 },
+                { "ACGT", "TGCA", 4 },
+                { LONG_SEQUENCE, LONG_SEQUENCE, 0 },
+                { LONG_SEQUENCE, new StringBuilder(LONG_SEQUENCE).reverse().toString(), 46 }
+        };
+    }
+
+    static final String INVALID_PART_HAMMING_DISTANCE_DATA_PROVIDER_NAME = "invalidPartHammingDistanceDataProvider";
+
+    @DataProvider(name = INVALID_PART_HAMMING_DISTANCE_DATA_PROVIDER_NAME)
+    private Object[][] invalidPartHammingDistanceDataProvider() {
+        return new Object[][] {
+                { "ACGT", 0, null, 0, 1 },
+                { "ACGT", -1, "ACGT", 0, 1 },
+                { "ACGT", 0, "ACGT", -1, 1 },
+                { "ACGT", 0, "ACGT", 0, -1 },
+                { "ACGT", 1, "ACGT", 0, 4 },
+                { "ACGT", 0, "ACG", 1, 3 }
+        };
+    }
+
+    static final String VALID_PART_HAMMING_DISTANCE_DATA_PROVIDER_NAME = "validPartHammingDistanceDataProvider";
+
+    @DataProvider(name = VALID_PART_HAMMING_DISTANCE_DATA_PROVIDER_NAME)
+    private Object[][] validPartHammingDistanceDataProvider() {
+        String reverseLongSequence = new StringBuilder(LONG_SEQUENCE).reverse().toString();
+        return new Object[][] {
+                { "ACGT", 4, "ACGT", 0, 0 },
+                { "ACGT", 1, "TCGA", 1, 2 },
+                { "AACGT", 1, "ACGTT", 0, 4 },
+                { LONG_SEQUENCE, 0, LONG_SEQUENCE, 0, LONG_SEQUENCE.length() },
+                { LONG_SEQUENCE, 3, LONG_SEQUENCE, 35, 33 },
+                { LONG_SEQUENCE, 31, reverseLongSequence, 1, 40 },
+                { LONG_SEQUENCE, 7, reverseLongSequence, 64, 8 }
+        };
+    }
+
+    static final String VALID_PART_HASH_CODE_DATA_PROVIDER_NAME = "validPartHashCodeDataProvider";
+
+    @DataProvider(name = VALID_PART_HASH_CODE_DATA_PROVIDER_NAME)
+    private Object[][] validPartHashCodeDataProvider() {
+        return new Object[][] {
+                { "ACGT", 2, 2 },
+                { "ACGT", 0, 4 },
+                { "ACGT", 1, 3 },
+                { LONG_SEQUENCE, 30, 70 },
+                { LONG_SEQUENCE, 33, LONG_SEQUENCE.length() }
+        };
+    }
+
+    static final String INVALID_GET_CODE_DATA_PROVIDER_NAME = "invalidGetCodeDataProvider";
+
+    @DataProvider(name = INVALID_GET_CODE_DATA_PROVIDER_NAME)
+    private Object[][] invalidGetCodeDataProvider() {
+        return new Object[][] {
+                { "ACGT", -1, 2 },
+                { "ACGT", 0, -1 },
+                { "ACGT", 2, 3 },
+                { LONG_SEQUENCE, 0, 33 }
+        };
+    }
+
+    static final String VALID_GET_CODE_DATA_PROVIDER_NAME = "validGetCodeDataProvider";
+
+    @DataProvider(name = VALID_GET_CODE_DATA_PROVIDER_NAME)
+    private Object[][] validGetCodeDataProvider() {
+        return new Object[][] {
+                { "ACGT", 0, 0, 0L },
+                { "ACGT", 0, 4, 0b00011011L },
+                { "ACGT", 1, 2, 0b0110L },
+                { "TTTT", 0, 4, 0xFFL },
+                { LONG_SEQUENCE, 0, 32, 0x1BE41BE41BE41BE4L },
+                { LONG_SEQUENCE, 30, 32, 0x4A9503F1B272729CL }
+        };
+    }
+
+    static final String VALID_FOR_EACH_CODE_DATA_PROVIDER_NAME = "validForEachCodeDataProvider";
+
+    @DataProvider(name = VALID_FOR_EACH_CODE_DATA_PROVIDER_NAME)
+    private Object[][] validForEachCodeDataProvider() {
+        return new Object[][] {
+                { "ACGT", 1 },
+                { "ACGT", 4 },
+                { "ACG", 4 },
+                { LONG_SEQUENCE, 9 },
+                { LONG_SEQUENCE, 32 }
+        };
+    }
+
+    static final String VALID_NEIGHBORHOOD_SIZE_DATA_PROVIDER_NAME = "validNeighborhoodSizeDataProvider";
+
+    @DataProvider(name = VALID_NEIGHBORHOOD_SIZE_DATA_PROVIDER_NAME)
+    private Object[][] validNeighborhoodSizeDataProvider() {
+        return new Object[][] {
+                { 4, 0, 1L },
+                { 4, 1, 13L },
+                { 10, 2, 436L },
+                { 4, 4, 256L },
+                { 4, 10, 256L },
+                { 15, 4, 123_841L },
+                { 32, 32, Long.MAX_VALUE }
+        };
+    }
+
+    static final String VALID_FOR_EACH_NEIGHBOR_DATA_PROVIDER_NAME = "validForEachNeighborDataProvider";
+
+    @DataProvider(name = VALID_FOR_EACH_NEIGHBOR_DATA_PROVIDER_NAME)
+    private Object[][] validForEachNeighborDataProvider() {
+        return new Object[][] {
+                { "ACGT", 0 },
+                { "ACGT", 1 },
+                { "ACGTT", 2 },
+                { "ACG", 5 },
+                { "ACGTACGTAC", 3 }
+        };
+    }
+}